@@ -396,6 +396,7 @@ public class ScheduleMC {
             de.rolandsw.schedulemc.gang.network.GangNetworkHandler.register();
             de.rolandsw.schedulemc.mission.network.MissionNetworkHandler.register();
             de.rolandsw.schedulemc.lock.network.LockNetworkHandler.register();
+            de.rolandsw.schedulemc.production.network.ProductionNetworkHandler.register();
             WeaponPackets.register();
 
             // MapView (LightMap) network packets - must be registered on both client and server
@@ -405,6 +406,9 @@ public class ScheduleMC {
             UtilityRegistry.registerDefaults();
             UtilityRegistry.resolveBlockReferences();
             LOGGER.info("Utility-System initialisiert");
+
+            // Konterband-Blöcke für Polizei-Durchsuchungen (Registries sind jetzt eingefroren)
+            de.rolandsw.schedulemc.npc.events.ContrabandBlocks.init();
         });
 
         // Vehicle Mod handles its own setup via event bus (registered in Main constructor)
@@ -627,18 +631,17 @@ public class ScheduleMC {
                 4
             ));
 
-            // Wallet & Daily Rewards (Priority 4)
-            saveManager.register(new de.rolandsw.schedulemc.util.SaveableWrapper(
-                "WalletManager",
-                WalletManager::saveIfNeeded,
-                4
-            ));
+            // Wallet & Daily Rewards (Priority 4) - Wallet mit Per-Entry-Saving
+            saveManager.register(WalletManager.getSaveable());
             saveManager.register(new de.rolandsw.schedulemc.util.SaveableWrapper(
                 "DailyRewardManager",
                 DailyRewardManager::saveIfNeeded,
                 4
             ));
 
+            // Achievements (Priority 5) - Per-Entry-Saving
+            saveManager.register(AchievementManager.initialize(server));
+
             // Messaging System (Priority 5)
             saveManager.register(new de.rolandsw.schedulemc.util.SaveableWrapper(
                 "MessageManager",
@@ -812,7 +815,6 @@ public class ScheduleMC {
             // OPTIMIERUNG: Spieler-Cache für Polizei-KI aktualisieren (einmal pro Tick)
             long currentTick = server.overworld() != null ? server.overworld().getGameTime() : 0;
             de.rolandsw.schedulemc.npc.events.PoliceAIHandler.updatePlayerCache(server, currentTick);
-            de.rolandsw.schedulemc.npc.events.PoliceAIHandler.updatePoliceCache(server, currentTick);
 
             // Economy Systems - Tick every server tick for day tracking
             if (server.overworld() != null) {
@@ -5,6 +5,8 @@ import de.rolandsw.schedulemc.economy.EconomyManager;
 import de.rolandsw.schedulemc.economy.TransactionType;
 import de.rolandsw.schedulemc.util.AbstractPersistenceManager;
 import de.rolandsw.schedulemc.util.GsonHelper;
+import de.rolandsw.schedulemc.util.JournalStorageBackend;
+import de.rolandsw.schedulemc.util.StorageBackend;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.MinecraftServer;
 
@@ -461,8 +463,8 @@ public class AchievementManager extends AbstractPersistenceManager<Map<UUID, Pla
         if (currentProgress >= achievement.getRequirement()) {
             unlockAchievement(playerUUID, achievementId);
         } else {
-            // Kein sofortiger Disk-Write pro Call — scheduled save reicht
-            markDirty();
+            // Kein sofortiger Disk-Write pro Call — scheduled save reicht (nur dieser Spieler)
+            markEntryDirty(playerUUID);
         }
     }
 
@@ -490,8 +492,8 @@ public class AchievementManager extends AbstractPersistenceManager<Map<UUID, Pla
         if (value >= achievement.getRequirement()) {
             unlockAchievement(playerUUID, achievementId);
         } else {
-            // Kein sofortiger Disk-Write pro Call — scheduled save reicht
-            markDirty();
+            // Kein sofortiger Disk-Write pro Call — scheduled save reicht (nur dieser Spieler)
+            markEntryDirty(playerUUID);
         }
     }
 
@@ -556,7 +558,7 @@ public class AchievementManager extends AbstractPersistenceManager<Map<UUID, Pla
      */
     public void resetPlayerAchievements(UUID playerUUID) {
         playerData.remove(playerUUID);
-        markDirty();
+        markEntryRemoved(playerUUID);
         save();
         LOGGER.info("Reset achievements for player {}", playerUUID);
     }
@@ -590,6 +592,14 @@ public class AchievementManager extends AbstractPersistenceManager<Map<UUID, Pla
         return new TypeToken<Map<UUID, PlayerAchievements>>(){}.getType();
     }
 
+    /**
+     * Binäres Journal statt Pretty-JSON: pro Save werden nur geänderte Spieler-Einträge geschrieben
+     */
+    @Override
+    protected StorageBackend<Map<UUID, PlayerAchievements>> createStorageBackend() {
+        return new JournalStorageBackend<>(getDataFile(), getGson(), getDataType());
+    }
+
     @Override
     protected void onDataLoaded(Map<UUID, PlayerAchievements> data) {
         playerData.clear();
@@ -650,6 +660,21 @@ public class AchievementManager extends AbstractPersistenceManager<Map<UUID, Pla
         return new HashMap<>(playerData);
     }
 
+    @Override
+    protected boolean supportsEntryLookup() {
+        return true;
+    }
+
+    @Override
+    @Nullable
+    protected Object getEntryForSave(String key) {
+        try {
+            return playerData.get(UUID.fromString(key));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     @Override
     protected String getComponentName() {
         return "AchievementManager";
@@ -103,6 +103,11 @@ public class BankAppScreen extends Screen {
     private double totalIncome = 0.0;
     private double totalExpenses = 0.0;
 
+    // Historien-Paging (Seite 0 = neueste Transaktionen)
+    private int historyPage = 0;
+    private Button historyNewerButton;
+    private Button historyOlderButton;
+
     /** Timestamp of last known cache update - used to detect server responses */
     private long lastKnownCacheUpdate = 0;
     /** Pre-formatted transaction strings (statt String.format() + substring() pro Frame pro Transaktion) */
@@ -153,6 +158,7 @@ public class BankAppScreen extends Screen {
                 button -> {
                     currentTab = tabIndex;
                     scrollOffset = 0;
+                    historyPage = 0;
                     transferMessage = "";
                     refreshData();
                     clearWidgets();
@@ -184,6 +190,26 @@ public class BankAppScreen extends Screen {
             }).bounds(leftPos + 15, formY + 67, WIDTH - 30, 20).build());
         }
 
+        // Historien-Paging (nur in Tab 1)
+        if (currentTab == 1) {
+            historyNewerButton = addRenderableWidget(Button.builder(Component.literal("◀"), button -> {
+                if (historyPage > 0) {
+                    historyPage--;
+                    scrollOffset = 0;
+                    refreshData();
+                }
+            }).bounds(leftPos + WIDTH - 80, topPos + HEIGHT - 30, 20, 20).build());
+            historyOlderButton = addRenderableWidget(Button.builder(Component.literal("▶"), button -> {
+                historyPage++;
+                scrollOffset = 0;
+                refreshData();
+            }).bounds(leftPos + WIDTH - 56, topPos + HEIGHT - 30, 20, 20).build());
+            updateHistoryButtons();
+        } else {
+            historyNewerButton = null;
+            historyOlderButton = null;
+        }
+
         // Recurring Payment Form (nur in Tab 3)
         if (currentTab == 3) {
             int contentY = topPos + 55;  // Gleich wie render()
@@ -238,7 +264,7 @@ public class BankAppScreen extends Screen {
         if (mc.player == null) return;
 
         // Request latest data from server
-        NPCNetworkHandler.INSTANCE.sendToServer(new RequestBankDataPacket());
+        NPCNetworkHandler.INSTANCE.sendToServer(new RequestBankDataPacket(historyPage));
 
         // Record current cache timestamp so tick() can detect server response
         lastKnownCacheUpdate = ClientBankDataCache.getLastUpdateTime();
@@ -271,6 +297,8 @@ public class BankAppScreen extends Screen {
             cachedTxDescStrings[i] = "§8" + (desc != null ? desc : "");
         }
 
+        updateHistoryButtons();
+
         // PERFORMANCE: Formatierte Strings einmal berechnen statt pro Frame
         cachedBalanceStr = String.format("\u00a76\u00a7l%.2f\u20ac", balance);
         cachedIncomeStr = String.format("\u00a7f+%.2f\u20ac", totalIncome);
@@ -283,6 +311,18 @@ public class BankAppScreen extends Screen {
             : ("\u00a7c" + (cachedBalanceTitleStr != null ? Component.translatable("gui.app.bank.balance_overdraft").getString() : ""));
     }
 
+    /**
+     * Ältere Seite nur anbieten, wenn die aktuelle Seite voll ist
+     */
+    private void updateHistoryButtons() {
+        if (historyNewerButton != null) {
+            historyNewerButton.active = historyPage > 0;
+        }
+        if (historyOlderButton != null) {
+            historyOlderButton.active = recentTransactions.size() >= RequestBankDataPacket.HISTORY_PAGE_SIZE;
+        }
+    }
+
     /**
      * Führt Überweisung aus
      */
@@ -58,6 +58,7 @@ public class PlotAppScreen extends Screen {
     private int maxScroll = 0;
     private static final int SCROLL_SPEED = 15;
     private static final int CONTENT_HEIGHT = 125; // Sichtbarer Bereich (HEIGHT - 55 Tabs - 60 Buttons)
+    private static final int MARKET_LIST_SIZE = 20; // Angezeigte Angebote im Markt-Tab (nächste zuerst)
     private static final long DATA_REFRESH_INTERVAL_MS = 250L;
 
     private int leftPos;
@@ -330,13 +331,9 @@ public class PlotAppScreen extends Screen {
             utilityData = null;
         }
 
-        // Verfügbare Plots (zum Verkauf oder ohne Besitzer - nur kaufbare/mietbare Typen)
-        availablePlots = new ArrayList<>();
-        for (PlotRegion plot : PlotManager.getPlots()) {
-            if ((!plot.hasOwner() && plot.isPurchasable()) || plot.isForSale() || plot.isForRent()) {
-                availablePlots.add(plot);
-            }
-        }
+        // Verfügbare Plots (zum Verkauf oder ohne Besitzer - nur kaufbare/mietbare Typen), nächste zuerst
+        availablePlots = PlotManager.getNearestPlots(playerPos, MARKET_LIST_SIZE,
+            plot -> (!plot.hasOwner() && plot.isPurchasable()) || plot.isForSale() || plot.isForRent());
 
         // Meine Plots
         myPlots = new ArrayList<>();
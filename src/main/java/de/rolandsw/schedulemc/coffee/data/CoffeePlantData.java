@@ -34,4 +34,26 @@ public class CoffeePlantData {
             growthStage++;
         }
     }
+
+    /**
+     * Führt {@code ticks} Aufrufe von {@link #tick()} in geschlossener Form aus (O(Stufen))
+     *
+     * @return Anzahl der Stadium-Wechsel
+     */
+    public int advance(int ticks) {
+        int oldStage = growthStage;
+        int ticksPerStage = type.getGrowthTicks() / 9;
+        while (ticks > 0 && !isFullyGrown()) {
+            // Pro Tick höchstens eine Stufe, auch wenn das Ziel schon überschritten ist
+            int needed = Math.max(1, (growthStage + 1) * ticksPerStage - ticksGrown);
+            if (ticks < needed) {
+                ticksGrown += ticks;
+                break;
+            }
+            ticks -= needed;
+            ticksGrown += needed;
+            growthStage++;
+        }
+        return growthStage - oldStage;
+    }
 }
@@ -237,18 +237,18 @@ public class HealthCommand {
     }
 
     /**
-     * Plot-System mit Cache-Statistiken und Backup-Details
+     * Plot-System mit Lookup-Index-Statistiken und Backup-Details
      */
     private static int showPlotHealth(CommandContext<CommandSourceStack> context) {
         // Generischer Health-Check zuerst
         showSystemDetail(context, "plot");
 
-        // Extra: Cache-Statistiken
-        var cacheStats = PlotManager.getCacheStatistics();
+        // Extra: Lookup-Index-Statistiken
+        var indexStats = PlotManager.getLookupStatistics();
         context.getSource().sendSuccess(() ->
-            Component.literal("  §6Cache-Statistiken:"), false);
+            Component.literal("  §6Lookup-Index:"), false);
         context.getSource().sendSuccess(() ->
-            Component.literal("  §f" + cacheStats.toDisplayString()), false);
+            Component.literal("  §f" + indexStats.toDisplayString()), false);
 
         // Extra: Backup-Info
         File plotFile = new File("config/plotmod_plots.json");
@@ -190,6 +190,7 @@ public class ModConfigHandler {
         public final ForgeConfigSpec.IntValue WAREHOUSE_MAX_CAPACITY_PER_SLOT;
         public final ForgeConfigSpec.IntValue WAREHOUSE_DELIVERY_INTERVAL_DAYS;
         public final ForgeConfigSpec.IntValue WAREHOUSE_DEFAULT_DELIVERY_PRICE;
+        public final ForgeConfigSpec.IntValue WAREHOUSE_DELIVERIES_PER_TICK;
 
         // ═══════════════════════════════════════════════════════════
         // BANK SYSTEM
@@ -255,6 +256,7 @@ public class ModConfigHandler {
         // ═══════════════════════════════════════════════════════════
         public final ForgeConfigSpec.DoubleValue UTILITY_ELECTRICITY_PRICE_PER_KWH;
         public final ForgeConfigSpec.DoubleValue UTILITY_WATER_PRICE_PER_LITER;
+        public final ForgeConfigSpec.IntValue UTILITY_ROLLOVERS_PER_TICK;
 
         // ═══════════════════════════════════════════════════════════
         // WERKSTATT SYSTEM
@@ -853,6 +855,10 @@ public class ModConfigHandler {
                     .comment("Standard-Lieferpreis für Items ohne spezifischen Preis")
                     .defineInRange("default_delivery_price", 5, 1, 10000);
 
+            WAREHOUSE_DELIVERIES_PER_TICK = builder
+                    .comment("Maximale Anzahl fälliger Lieferungen pro Tick (Rest folgt in den nächsten Ticks)")
+                    .defineInRange("deliveries_per_tick", 4, 1, 1000);
+
             builder.pop();
 
             builder.comment("Plot Utility Pricing Settings",
@@ -867,6 +873,10 @@ public class ModConfigHandler {
                     .comment("Wasserpreis pro Liter in Euro (Standard: 0.005 €/L = 0.50 €/100L)")
                     .defineInRange("water_price_per_liter", 0.005, 0.0001, 10.0);
 
+            UTILITY_ROLLOVERS_PER_TICK = builder
+                    .comment("Maximale Anzahl Plot-Tagesabrechnungen pro Tick (Rest folgt in den nächsten Ticks)")
+                    .defineInRange("rollovers_per_tick", 32, 1, 10000);
+
             builder.pop();
 
             builder.comment("Werkstatt System Settings")
@@ -3,6 +3,7 @@ package de.rolandsw.schedulemc.config;
 import de.maxhenkel.corelib.config.ConfigBase;
 import de.maxhenkel.corelib.tag.Tag;
 import de.maxhenkel.corelib.tag.TagUtils;
+import de.rolandsw.schedulemc.vehicle.util.DriveSurfaceTable;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.material.Fluid;
 import net.minecraftforge.common.ForgeConfigSpec;
@@ -310,6 +311,7 @@ public class ServerConfig extends ConfigBase {
         super.onReload(event);
         fuelStationValidFuelList = fuelStationValidFuels.get().stream().map(TagUtils::getFluid).filter(Objects::nonNull).collect(Collectors.toList());
         vehicleDriveBlockList = vehicleDriveBlocks.get().stream().map(TagUtils::getBlock).filter(Objects::nonNull).collect(Collectors.toList());
+        DriveSurfaceTable.invalidate();
     }
 
 }
@@ -0,0 +1,479 @@
+package de.rolandsw.schedulemc.economy;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Primitiver Kontostand-Speicher (Long-Cent-Ledger) für den EconomyManager
+ *
+ * Problem (Alt):
+ * - Map<UUID, Double>: jede Buchung boxt einen neuen Double
+ * - transfer() bestand aus zwei unabhängigen merge()-Aufrufen
+ *
+ * Lösung (Neu):
+ * - Open-Addressing-Tabelle UUID (msb/lsb) → Slot, Lookups ohne Lock (Acquire/Release)
+ * - Kontostände als long-Cent in stabilen AtomicLongArray-Chunks (Slots werden nie verschoben)
+ * - Einzelbuchungen per CAS, Transfers mit geordneten Stripe-Locks (keine Deadlocks)
+ * - Strukturänderungen (neues Konto, Resize, Löschen) unter einem gemeinsamen Lock
+ * - Löschen sperrt zusätzlich den Stripe des Kontos und setzt die Zelle auf {@link #NO_ACCOUNT};
+ *   CAS-Buchungen auf einer toten Zelle suchen das Konto neu statt ins Leere zu buchen
+ * - forEachAccount sperrt alle Stripes: ein Snapshot sieht jeden Transfer ganz oder gar nicht
+ *
+ * Die Map-Sicht (UUID → Double) existiert nur für Admin-/API-Code und Tests und alloziert.
+ * Gelöschte Slots werden nicht wiederverwendet (Konten werden selten gelöscht), clear() setzt alles zurück.
+ */
+final class BalanceLedger extends AbstractMap<UUID, Double> {
+
+    /** Rückgabewert für nicht existierende Konten */
+    static final long NO_ACCOUNT = Long.MIN_VALUE;
+
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private static final int CHUNK_BITS = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int STRIPES = 64;
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Hash-Index: slots[i] == 0 → leer, > 0 → Slot + 1, < 0 → gelöscht (Tombstone)
+     */
+    private static final class Index {
+        final long[] msb;
+        final long[] lsb;
+        final int[] slots;
+        final int mask;
+        int used; // belegte Positionen inkl. Tombstones (unter structureLock)
+
+        Index(int capacity) {
+            msb = new long[capacity];
+            lsb = new long[capacity];
+            slots = new int[capacity];
+            mask = capacity - 1;
+        }
+    }
+
+    private volatile Index index = new Index(INITIAL_CAPACITY);
+    private volatile AtomicLongArray[] chunks = { new AtomicLongArray(CHUNK_SIZE) };
+    private final Object structureLock = new Object();
+    private final Object[] stripeLocks = new Object[STRIPES];
+    private final AtomicInteger liveAccounts = new AtomicInteger();
+    private int nextSlot = 0; // unter structureLock
+
+    BalanceLedger() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripeLocks[i] = new Object();
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // PRIMITIVE API
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * @return Kontostand in Cent oder {@link #NO_ACCOUNT}
+     */
+    long getCents(UUID uuid) {
+        int slot = findSlot(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        // Gelöschte Zelle enthält bereits NO_ACCOUNT
+        return slot < 0 ? NO_ACCOUNT : cell(slot).get(slot & CHUNK_MASK);
+    }
+
+    boolean hasAccount(UUID uuid) {
+        return findSlot(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()) >= 0;
+    }
+
+    int accountCount() {
+        return liveAccounts.get();
+    }
+
+    /**
+     * Addiert {@code deltaCents} atomar (CAS); legt das Konto bei Bedarf mit 0 an
+     *
+     * @param maxCents Obergrenze für das Ergebnis (Overflow-Schutz)
+     * @return Neuer Kontostand in Cent
+     */
+    long addCents(UUID uuid, long deltaCents, long maxCents) {
+        while (true) {
+            long updated = addToSlot(slotOrCreate(uuid), deltaCents, maxCents);
+            if (updated != NO_ACCOUNT) {
+                return updated;
+            }
+            // Konto wurde parallel gelöscht → neu anlegen und erneut buchen
+        }
+    }
+
+    /**
+     * Setzt den Kontostand (legt das Konto bei Bedarf an)
+     *
+     * @return Vorheriger Kontostand in Cent oder {@link #NO_ACCOUNT}, wenn das Konto neu ist
+     */
+    long setCents(UUID uuid, long cents) {
+        while (true) {
+            int slot = findSlot(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+            if (slot < 0) {
+                synchronized (structureLock) {
+                    slot = findSlot(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+                    if (slot < 0) {
+                        insert(uuid, cents);
+                        return NO_ACCOUNT;
+                    }
+                }
+            }
+            AtomicLongArray cells = cell(slot);
+            int offset = slot & CHUNK_MASK;
+            long current = cells.get(offset);
+            // Tote Zelle (parallel gelöscht) → Konto neu suchen bzw. anlegen
+            if (current != NO_ACCOUNT && cells.compareAndSet(offset, current, cents)) {
+                return current;
+            }
+        }
+    }
+
+    /**
+     * Bucht {@code cents} von {@code from} nach {@code to} als Einheit
+     *
+     * Beide Konten werden in fester Slot-Reihenfolge gesperrt, sodass parallele Transfers
+     * auf denselben Konten serialisiert werden und sich nicht verklemmen. Die Einzelbuchungen
+     * nutzen weiterhin CAS, damit gleichzeitige deposit()/withdraw() nicht verloren gehen.
+     *
+     * Beide neuen Kontostände werden noch unter den Locks gelesen, sodass sie genau zu
+     * dieser Buchung gehören.
+     *
+     * @return Neue Kontostände von Sender und Empfänger in Cent
+     */
+    TransferResult transferCents(UUID from, UUID to, long cents, long maxCents) {
+        while (true) {
+            int fromSlot = slotOrCreate(from);
+            int toSlot = slotOrCreate(to);
+
+            int firstStripe = stripe(fromSlot);
+            int secondStripe = stripe(toSlot);
+            // Reihenfolge nach Stripe-Index (nicht Slot), damit gleiche Stripes nur einmal gesperrt werden
+            if (firstStripe > secondStripe) {
+                int tmp = firstStripe;
+                firstStripe = secondStripe;
+                secondStripe = tmp;
+            }
+
+            synchronized (stripeLocks[firstStripe]) {
+                synchronized (stripeLocks[secondStripe]) {
+                    // Löschen hält denselben Stripe-Lock: sind beide Zellen hier lebendig, bleiben sie es
+                    if (isLive(fromSlot) && isLive(toSlot)) {
+                        long fromBalance = addToSlot(fromSlot, -cents, Long.MAX_VALUE);
+                        long toBalance = addToSlot(toSlot, cents, maxCents);
+                        return new TransferResult(fromBalance, toBalance);
+                    }
+                }
+            }
+            // Eines der Konten wurde zwischen Lookup und Lock gelöscht → neu auflösen
+        }
+    }
+
+    /**
+     * Neue Kontostände nach einem Transfer (Cent)
+     */
+    record TransferResult(long fromCents, long toCents) {
+    }
+
+    /**
+     * Entfernt ein Konto
+     *
+     * @return Letzter Kontostand in Cent oder {@link #NO_ACCOUNT}
+     */
+    long removeAccount(UUID uuid) {
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+        while (true) {
+            int slot = findSlot(msb, lsb);
+            if (slot < 0) {
+                return NO_ACCOUNT;
+            }
+            // Lock-Reihenfolge wie bei Transfers: Stripe vor structureLock
+            synchronized (stripeLocks[stripe(slot)]) {
+                synchronized (structureLock) {
+                    Index idx = index;
+                    int i = hash(msb, lsb) & idx.mask;
+                    while (true) {
+                        int s = (int) SLOTS.getAcquire(idx.slots, i);
+                        if (s == 0) {
+                            return NO_ACCOUNT;
+                        }
+                        if (s > 0 && idx.msb[i] == msb && idx.lsb[i] == lsb) {
+                            if (s - 1 != slot) {
+                                break; // Konto zwischenzeitlich gelöscht und neu angelegt → anderer Stripe
+                            }
+                            SLOTS.setRelease(idx.slots, i, -s);
+                            liveAccounts.decrementAndGet();
+                            // Zelle als tot markieren: laufende CAS-Buchungen scheitern und suchen neu
+                            return cell(slot).getAndSet(slot & CHUNK_MASK, NO_ACCOUNT);
+                        }
+                        i = (i + 1) & idx.mask;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Besucht alle Konten (für Speichern/Statistiken)
+     *
+     * Hält alle Stripe-Locks (aufsteigend, wie Transfers), damit kein Transfer nur zur Hälfte
+     * im Ergebnis landet. Einzelbuchungen (CAS) sind für sich atomar und brauchen das nicht.
+     */
+    void forEachAccount(AccountVisitor visitor) {
+        lockStripesAndRun(0, () -> {
+            Index idx = index;
+            AtomicLongArray[] cells = chunks;
+            for (int i = 0; i < idx.slots.length; i++) {
+                int s = (int) SLOTS.getAcquire(idx.slots, i);
+                if (s > 0) {
+                    int slot = s - 1;
+                    AtomicLongArray chunk = slot >>> CHUNK_BITS < cells.length ? cells[slot >>> CHUNK_BITS] : cell(slot);
+                    long cents = chunk.get(slot & CHUNK_MASK);
+                    if (cents != NO_ACCOUNT) {
+                        visitor.visit(new UUID(idx.msb[i], idx.lsb[i]), cents);
+                    }
+                }
+            }
+        });
+    }
+
+    private void lockStripesAndRun(int stripe, Runnable action) {
+        if (stripe == STRIPES) {
+            action.run();
+            return;
+        }
+        synchronized (stripeLocks[stripe]) {
+            lockStripesAndRun(stripe + 1, action);
+        }
+    }
+
+    @FunctionalInterface
+    interface AccountVisitor {
+        void visit(UUID uuid, long cents);
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // INTERNALS
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * CAS-Buchung auf einen Slot
+     *
+     * @return Neuer Kontostand oder {@link #NO_ACCOUNT}, wenn das Konto gelöscht wurde
+     */
+    private long addToSlot(int slot, long deltaCents, long maxCents) {
+        AtomicLongArray cells = cell(slot);
+        int offset = slot & CHUNK_MASK;
+        while (true) {
+            long current = cells.get(offset);
+            if (current == NO_ACCOUNT) {
+                return NO_ACCOUNT;
+            }
+            long updated = Math.min(current + deltaCents, maxCents);
+            if (cells.compareAndSet(offset, current, updated)) {
+                return updated;
+            }
+        }
+    }
+
+    private boolean isLive(int slot) {
+        return cell(slot).get(slot & CHUNK_MASK) != NO_ACCOUNT;
+    }
+
+    private static int stripe(int slot) {
+        return slot & (STRIPES - 1);
+    }
+
+    private AtomicLongArray cell(int slot) {
+        AtomicLongArray[] cells = chunks;
+        int chunk = slot >>> CHUNK_BITS;
+        if (chunk >= cells.length) {
+            // Slot wurde gerade angelegt, Chunk-Array noch nicht sichtbar → unter Lock lesen
+            synchronized (structureLock) {
+                cells = chunks;
+            }
+        }
+        return cells[chunk];
+    }
+
+    /**
+     * Lock-freier Lookup
+     *
+     * @return Slot oder -1
+     */
+    private int findSlot(long msb, long lsb) {
+        Index idx = index;
+        int i = hash(msb, lsb) & idx.mask;
+        while (true) {
+            int s = (int) SLOTS.getAcquire(idx.slots, i);
+            if (s == 0) {
+                return -1;
+            }
+            if (s > 0 && idx.msb[i] == msb && idx.lsb[i] == lsb) {
+                return s - 1;
+            }
+            i = (i + 1) & idx.mask;
+        }
+    }
+
+    private int slotOrCreate(UUID uuid) {
+        int slot = findSlot(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        if (slot >= 0) {
+            return slot;
+        }
+        synchronized (structureLock) {
+            slot = findSlot(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+            return slot >= 0 ? slot : insert(uuid, 0L);
+        }
+    }
+
+    /**
+     * Legt ein neues Konto an (nur unter structureLock)
+     */
+    private int insert(UUID uuid, long cents) {
+        int slot = nextSlot++;
+        int chunk = slot >>> CHUNK_BITS;
+        AtomicLongArray[] cells = chunks;
+        if (chunk >= cells.length) {
+            AtomicLongArray[] grown = java.util.Arrays.copyOf(cells, cells.length * 2);
+            for (int c = cells.length; c < grown.length; c++) {
+                grown[c] = new AtomicLongArray(CHUNK_SIZE);
+            }
+            chunks = grown;
+            cells = grown;
+        }
+        cells[chunk].set(slot & CHUNK_MASK, cents);
+
+        Index idx = index;
+        if ((idx.used + 1) * 2 > idx.slots.length) {
+            idx = rebuild(idx);
+            index = idx;
+        }
+        place(idx, uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), slot + 1);
+        liveAccounts.incrementAndGet();
+        return slot;
+    }
+
+    private static void place(Index idx, long msb, long lsb, int slotValue) {
+        int i = hash(msb, lsb) & idx.mask;
+        while ((int) SLOTS.getAcquire(idx.slots, i) != 0) {
+            i = (i + 1) & idx.mask;
+        }
+        idx.msb[i] = msb;
+        idx.lsb[i] = lsb;
+        // Release: Keys sind sichtbar, bevor der Slot als belegt erscheint
+        SLOTS.setRelease(idx.slots, i, slotValue);
+        idx.used++;
+    }
+
+    /**
+     * Baut den Index ohne Tombstones neu auf (doppelte Kapazität bei hoher Belegung)
+     */
+    private Index rebuild(Index old) {
+        int live = liveAccounts.get() + 1;
+        int capacity = old.slots.length;
+        while (live * 2 > capacity) {
+            capacity <<= 1;
+        }
+        if (capacity == old.slots.length && old.used * 2 >= capacity) {
+            // Nur Tombstones aufräumen reicht nicht → wachsen
+            capacity <<= 1;
+        }
+        Index rebuilt = new Index(capacity);
+        for (int i = 0; i < old.slots.length; i++) {
+            int s = old.slots[i];
+            if (s > 0) {
+                place(rebuilt, old.msb[i], old.lsb[i], s);
+            }
+        }
+        return rebuilt;
+    }
+
+    private static int hash(long msb, long lsb) {
+        long h = msb ^ lsb;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // MAP VIEW (Kompatibilität, alloziert)
+    // ═══════════════════════════════════════════════════════════
+
+    @Override
+    public Double get(Object key) {
+        if (!(key instanceof UUID uuid)) {
+            return null;
+        }
+        long cents = getCents(uuid);
+        return cents == NO_ACCOUNT ? null : cents / 100.0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof UUID uuid && hasAccount(uuid);
+    }
+
+    @Override
+    public Double put(UUID key, Double value) {
+        long previous = setCents(key, Math.round(value * 100.0));
+        return previous == NO_ACCOUNT ? null : previous / 100.0;
+    }
+
+    @Override
+    public Double remove(Object key) {
+        if (!(key instanceof UUID uuid)) {
+            return null;
+        }
+        long previous = removeAccount(uuid);
+        return previous == NO_ACCOUNT ? null : previous / 100.0;
+    }
+
+    @Override
+    public int size() {
+        return liveAccounts.get();
+    }
+
+    @Override
+    public void clear() {
+        synchronized (structureLock) {
+            index = new Index(INITIAL_CAPACITY);
+            chunks = new AtomicLongArray[]{ new AtomicLongArray(CHUNK_SIZE) };
+            nextSlot = 0;
+            liveAccounts.set(0);
+        }
+    }
+
+    /**
+     * Snapshot der Konten zum Zeitpunkt des Aufrufs
+     */
+    @Override
+    public Set<Map.Entry<UUID, Double>> entrySet() {
+        List<Map.Entry<UUID, Double>> snapshot = new ArrayList<>(liveAccounts.get());
+        forEachAccount((uuid, cents) -> snapshot.add(new SimpleImmutableEntry<>(uuid, cents / 100.0)));
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<UUID, Double>> iterator() {
+                return snapshot.iterator();
+            }
+
+            @Override
+            public int size() {
+                return snapshot.size();
+            }
+        };
+    }
+}
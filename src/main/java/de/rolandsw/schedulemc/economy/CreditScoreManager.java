@@ -3,6 +3,8 @@ package de.rolandsw.schedulemc.economy;
 import com.google.gson.reflect.TypeToken;
 import de.rolandsw.schedulemc.util.AbstractPersistenceManager;
 import de.rolandsw.schedulemc.util.GsonHelper;
+import de.rolandsw.schedulemc.util.JournalStorageBackend;
+import de.rolandsw.schedulemc.util.StorageBackend;
 import net.minecraft.server.MinecraftServer;
 
 import javax.annotation.Nullable;
@@ -178,6 +180,14 @@ public class CreditScoreManager extends AbstractPersistenceManager<Map<UUID, Cre
         return new TypeToken<Map<UUID, CreditScore>>(){}.getType();
     }
 
+    /**
+     * Binäres Journal statt Pretty-JSON: pro Save werden nur geänderte Spieler-Einträge geschrieben
+     */
+    @Override
+    protected StorageBackend<Map<UUID, CreditScore>> createStorageBackend() {
+        return new JournalStorageBackend<>(getDataFile(), getGson(), getDataType());
+    }
+
     @Override
     protected void onDataLoaded(Map<UUID, CreditScore> data) {
         creditScores.clear();
@@ -5,8 +5,10 @@ import com.google.gson.reflect.TypeToken;
 import de.rolandsw.schedulemc.config.ModConfigHandler;
 import de.rolandsw.schedulemc.util.GsonHelper;
 import de.rolandsw.schedulemc.util.BackupManager;
+import de.rolandsw.schedulemc.util.DirtyEntrySet;
 import de.rolandsw.schedulemc.util.IncrementalSaveManager;
 import de.rolandsw.schedulemc.util.PersistenceHelper;
+import de.rolandsw.schedulemc.util.RecordJournal;
 import de.rolandsw.schedulemc.util.ModConstants;
 import de.rolandsw.schedulemc.util.RateLimiter;
 import com.mojang.logging.LogUtils;
@@ -16,22 +18,32 @@ import org.slf4j.Logger;
 import javax.annotation.Nullable;
 import java.io.*;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Zentrales Economy-System für ScheduleMC
  * Verwaltet Spieler-Guthaben mit Thread-Safety und Batch-Saving
+ *
+ * Persistenz:
+ * - plotmod_economy.json: vollständiger Snapshot (saveAccounts) inkl. Snapshot-Generation
+ * - plotmod_economy.journal: geänderte Konten seit dem letzten Snapshot (Per-Entry-Saving)
+ *
+ * Jedes Journal trägt im Header die Generation des Snapshots, auf den es folgt (wie
+ * JournalStorageBackend). Beim Laden werden nur Journale dieser Generation abgespielt,
+ * ein nach einem Absturz liegengebliebenes älteres Journal überschreibt den Snapshot nicht.
  */
 public class EconomyManager implements IncrementalSaveManager.ISaveable {
 
     private static final Logger LOGGER = LogUtils.getLogger();
     // SICHERHEIT: volatile für Double-Checked Locking Pattern
     private static volatile EconomyManager instance;
-    private static final Map<UUID, Double> balances = new ConcurrentHashMap<>();
+    // OPTIMIERT: Long-Cent-Ledger statt Map<UUID, Double> — keine Boxing-Allokation pro Buchung
+    private static final BalanceLedger balances = new BalanceLedger();
 
     // SICHERHEIT: Maximales Guthaben um Overflow zu verhindern
     private static final double MAX_BALANCE = ModConstants.MAX_ECONOMY_BALANCE;
+    private static final long MAX_BALANCE_CENTS = toCents(MAX_BALANCE);
     // SICHERHEIT: volatile für Memory Visibility zwischen Threads (IncrementalSaveManager)
     private static volatile File file = new File("config/plotmod_economy.json");
     private static final Gson gson = GsonHelper.get();
@@ -39,6 +51,17 @@ public class EconomyManager implements IncrementalSaveManager.ISaveable {
     private static volatile boolean isHealthy = true;
     private static volatile String lastError = null;
 
+    // Per-Entry-Saving: geänderte Konten seit dem letzten Snapshot/Flush
+    private static final DirtyEntrySet<UUID> dirtyAccounts = new DirtyEntrySet<>();
+    private static final Object SAVE_LOCK = new Object();
+    private static volatile RecordJournal journal;
+    // Generation des zuletzt geladenen/geschriebenen Snapshots (Header-Tag der Journale)
+    private static volatile long snapshotGeneration = 0;
+    // Reservierter Schlüssel im Snapshot-JSON (keine gültige UUID)
+    static final String GENERATION_KEY = "_generation";
+    // Journal wird spätestens ab dieser Größe in einen neuen Snapshot kompaktiert
+    private static final long MIN_JOURNAL_COMPACTION_BYTES = 256 * 1024L;
+
     // SICHERHEIT: Rate Limiting für DoS-Protection
     private static final RateLimiter transferLimiter = new RateLimiter("money_transfer", 10, 1000L);
     private static final RateLimiter withdrawLimiter = new RateLimiter("money_withdraw", 20, 1000L);
@@ -109,10 +132,12 @@ public class EconomyManager implements IncrementalSaveManager.ISaveable {
     public static void loadAccounts() {
         PersistenceHelper.LoadResult<Map<String, Double>> result =
             PersistenceHelper.load(file, gson, BALANCE_MAP_TYPE, "EconomyManager");
+        dirtyAccounts.clear();
 
         if (!result.isSuccess()) {
             // Kritischer Fehler - starte mit leeren Daten
             balances.clear();
+            snapshotGeneration = 0;
             isHealthy = false;
             lastError = result.getError();
             LOGGER.error("CRITICAL: Economy system starting with empty data!");
@@ -120,15 +145,21 @@ public class EconomyManager implements IncrementalSaveManager.ISaveable {
         }
 
         if (!result.hasData()) {
-            // Keine Datei gefunden - normaler Start
+            // Keine Datei gefunden - normaler Start (Journal kann dennoch Konten enthalten)
+            balances.clear();
+            snapshotGeneration = 0;
+            replayJournals(false);
             isHealthy = true;
             lastError = null;
             return;
         }
 
         // Daten verarbeiten
-        Map<String, Double> loaded = result.getData();
+        Map<String, Double> loaded = new HashMap<>(result.getData());
+        Double generation = loaded.remove(GENERATION_KEY);
+        snapshotGeneration = generation != null ? generation.longValue() : 0L;
         processLoadedData(loaded);
+        replayJournals(true);
 
         isHealthy = true;
         lastError = result.isRecoveredFromBackup() ? "Recovered from backup" : null;  // NOPMD
@@ -161,7 +192,7 @@ public class EconomyManager implements IncrementalSaveManager.ISaveable {
                     zeroBalanceAccounts++;
                 }
 
-                balances.put(uuid, balance);
+                balances.setCents(uuid, toCents(balance));
             } catch (IllegalArgumentException e) {
                 LOGGER.error("Invalid UUID in economy file: {}", entry.getKey());
                 invalidUUIDs++;
@@ -182,33 +213,253 @@ public class EconomyManager implements IncrementalSaveManager.ISaveable {
      * OPTIMIERT: Nutzt PersistenceHelper für reduzierte Code-Duplikation
      */
     public static void saveAccounts() {
-        // OPTIMIERT: Direkte Serialisierung mit vorallokierter HashMap
-        // statt balances.forEach() mit Lambda-Overhead bei 1000+ Spielern
-        Map<String, Double> saveMap = new HashMap<>((int)(balances.size() / 0.75) + 1);  // NOPMD
-        for (Map.Entry<UUID, Double> entry : balances.entrySet()) {
-            saveMap.put(entry.getKey().toString(), entry.getValue());
+        synchronized (SAVE_LOCK) {
+            // Journal beiseite legen: stürzt der Server während des Snapshots ab,
+            // werden beim Laden altes und neues Journal in Reihenfolge abgespielt
+            RecordJournal currentJournal = getJournal();
+            File rotatedJournal = getRotatedJournalFile();
+            long newGeneration = snapshotGeneration + 1;
+            try {
+                // Liegengebliebenes Journal einer älteren Generation ist bereits im Snapshot enthalten
+                if (rotatedJournal.exists() && readTagOrStale(rotatedJournal) != snapshotGeneration) {
+                    java.nio.file.Files.delete(rotatedJournal.toPath());
+                }
+                if (!rotatedJournal.exists()) {
+                    currentJournal.moveTo(rotatedJournal);
+                }
+            } catch (IOException e) {
+                LOGGER.error("Could not rotate economy journal", e);
+                isHealthy = false;
+                lastError = "Journal rotation failed: " + e.getMessage();
+                needsSave = true;
+                return;
+            }
+
+            // Vollständiger Snapshot enthält alle geänderten Konten
+            dirtyAccounts.clear();
+
+            // OPTIMIERT: Direkte Serialisierung mit vorallokierter HashMap
+            // statt balances.forEach() mit Lambda-Overhead bei 1000+ Spielern
+            Map<String, Double> saveMap = new HashMap<>((int)(balances.size() / 0.75) + 1);  // NOPMD
+            balances.forEachAccount((uuid, cents) -> saveMap.put(uuid.toString(), fromCents(cents)));
+            saveMap.put(GENERATION_KEY, (double) newGeneration);
+
+            PersistenceHelper.SaveResult result =
+                PersistenceHelper.save(file, gson, saveMap, "EconomyManager");
+
+            if (result.isSuccess()) {
+                // Ab hier sind alle älteren Journale veraltet, auch wenn Reset/Löschen scheitert
+                snapshotGeneration = newGeneration;
+                try {
+                    currentJournal.reset(newGeneration);
+                    java.nio.file.Files.deleteIfExists(rotatedJournal.toPath());
+                } catch (IOException e) {
+                    LOGGER.error("Could not reset economy journal after snapshot", e);
+                }
+                needsSave = false;
+                isHealthy = true;
+                lastError = null;
+                LOGGER.debug("Economy data saved: {} accounts", balances.size());
+            } else {
+                isHealthy = false;
+                lastError = result.getError();
+                needsSave = true; // Für nächsten Versuch markieren
+            }
         }
+    }
 
-        PersistenceHelper.SaveResult result =
-            PersistenceHelper.save(file, gson, saveMap, "EconomyManager");
+    /**
+     * Schreibt nur geänderte Konten als Records ins Journal (Per-Entry-Saving)
+     * Fällt auf einen vollständigen Snapshot zurück, wenn das Journal zu groß wird.
+     *
+     * @param maxEntries Max Konten pro Flush
+     */
+    public static IncrementalSaveManager.EntryFlushResult saveDirtyAccounts(int maxEntries) {
+        synchronized (SAVE_LOCK) {
+            if (needsSave) {
+                saveAccounts();
+                return IncrementalSaveManager.EntryFlushResult.FULL_SAVE;
+            }
 
-        if (result.isSuccess()) {
-            needsSave = false;
-            isHealthy = true;
-            lastError = null;
-            LOGGER.debug("Economy data saved: {} accounts", balances.size());
-        } else {
-            isHealthy = false;
-            lastError = result.getError();
-            needsSave = true; // Für nächsten Versuch markieren
+            List<UUID> changed = new ArrayList<>();
+            List<UUID> removed = new ArrayList<>();
+            if (dirtyAccounts.drain(maxEntries, changed, removed) == 0) {
+                return IncrementalSaveManager.EntryFlushResult.NOTHING;
+            }
+
+            RecordJournal.Batch batch = new RecordJournal.Batch();
+            for (UUID uuid : changed) {
+                long cents = balances.getCents(uuid);
+                if (cents != BalanceLedger.NO_ACCOUNT) {
+                    batch.put(uuid.toString(), encodeBalance(fromCents(cents)));
+                } else {
+                    batch.remove(uuid.toString());
+                }
+            }
+            for (UUID uuid : removed) {
+                batch.remove(uuid.toString());
+            }
+
+            long bytes;
+            try {
+                RecordJournal currentJournal = getJournal();
+                if (!currentJournal.exists()) {
+                    currentJournal.reset(snapshotGeneration);
+                }
+                bytes = currentJournal.append(batch);
+            } catch (IOException e) {
+                LOGGER.error("CRITICAL: Failed to append economy journal!", e);
+                dirtyAccounts.requeue(changed, removed);
+                isHealthy = false;
+                lastError = "Journal append failed: " + e.getMessage();
+                return IncrementalSaveManager.EntryFlushResult.NOTHING;
+            }
+
+            // Journal zu groß → Kompaktierung in neuen Snapshot
+            long compactionThreshold = Math.max(MIN_JOURNAL_COMPACTION_BYTES, balances.size() * 2L * 64L);
+            if (getJournal().getSizeBytes() > compactionThreshold) {
+                saveAccounts();
+            }
+            return new IncrementalSaveManager.EntryFlushResult(batch.size(), bytes, false);
+        }
+    }
+
+    /**
+     * Spielt rotiertes und aktuelles Journal auf die geladenen Konten ab
+     *
+     * Mit Snapshot werden nur Journale seiner Generation abgespielt; ältere Journale (Absturz
+     * zwischen Snapshot und Journal-Reset) werden verworfen. Ohne Snapshot gibt es nichts, was
+     * ein Journal überholen könnte - dann zählt dessen eigene Generation.
+     */
+    private static void replayJournals(boolean haveSnapshot) {
+        RecordJournal.RecordVisitor visitor = new RecordJournal.RecordVisitor() {
+            @Override
+            public void onPut(String key, byte[] payload) {
+                try {
+                    balances.setCents(UUID.fromString(key), toCents(decodeBalance(payload)));
+                } catch (IllegalArgumentException e) {
+                    LOGGER.error("Invalid journal record for {}", key);
+                }
+            }
+
+            @Override
+            public void onRemove(String key) {
+                try {
+                    balances.removeAccount(UUID.fromString(key));
+                } catch (IllegalArgumentException e) {
+                    LOGGER.error("Invalid journal record for {}", key);
+                }
+            }
+        };
+
+        int replayed = 0;
+        try {
+            File rotatedJournal = getRotatedJournalFile();
+            if (rotatedJournal.exists()) {
+                RecordJournal rotated = new RecordJournal(rotatedJournal);
+                if (!haveSnapshot) {
+                    snapshotGeneration = rotated.readTag();
+                }
+                RecordJournal.ReplayResult result = rotated.replay(snapshotGeneration, visitor);
+                if (result.stale) {
+                    LOGGER.warn("Economy journal {} is older than the snapshot (generation {}), discarding",
+                        rotatedJournal.getName(), snapshotGeneration);
+                    java.nio.file.Files.delete(rotatedJournal.toPath());
+                }
+                replayed += result.records;
+            }
+
+            RecordJournal currentJournal = getJournal();
+            if (currentJournal.exists()) {
+                if (!haveSnapshot && !rotatedJournal.exists()) {
+                    snapshotGeneration = currentJournal.readTag();
+                }
+                RecordJournal.ReplayResult result = currentJournal.replay(snapshotGeneration, visitor);
+                if (result.stale) {
+                    LOGGER.warn("Economy journal {} is older than the snapshot (generation {}), discarding",
+                        currentJournal.getFile().getName(), snapshotGeneration);
+                    currentJournal.reset(snapshotGeneration);
+                }
+                replayed += result.records;
+            }
+        } catch (IOException e) {
+            LOGGER.error("Could not replay economy journal", e);
+        }
+
+        if (replayed > 0) {
+            LOGGER.info("Economy journal replayed: {} records", replayed);
+            needsSave = true; // Nächster Save kompaktiert in einen Snapshot
+        }
+    }
+
+    private static RecordJournal getJournal() {
+        File journalFile = getJournalFile(file, "");
+        RecordJournal current = journal;
+        if (current == null || !current.getFile().equals(journalFile)) {
+            current = new RecordJournal(journalFile);
+            journal = current;
+        }
+        return current;
+    }
+
+    /**
+     * Header-Tag eines Journals; unlesbare Journale gelten als veraltet (-1)
+     */
+    private static long readTagOrStale(File journalFile) {
+        try {
+            return new RecordJournal(journalFile).readTag();
+        } catch (IOException e) {
+            LOGGER.warn("Unreadable economy journal {}", journalFile.getName(), e);
+            return -1L;
         }
     }
 
+    private static File getRotatedJournalFile() {
+        return getJournalFile(file, ".old");
+    }
+
+    private static File getJournalFile(File snapshotFile, String suffix) {
+        String baseName = snapshotFile.getName();
+        if (baseName.endsWith(".json")) {
+            baseName = baseName.substring(0, baseName.length() - ".json".length());
+        }
+        return new File(snapshotFile.getParentFile(), baseName + ".journal" + suffix);
+    }
+
+    /**
+     * Rechnet einen Euro-Betrag in ganze Cent um (kaufmännisch gerundet)
+     */
+    static long toCents(double amount) {
+        return Math.round(amount * 100.0);
+    }
+
+    static double fromCents(long cents) {
+        return cents / 100.0;
+    }
+
+    private static byte[] encodeBalance(double balance) {
+        return ByteBuffer.allocate(Double.BYTES).putDouble(balance).array();
+    }
+
+    private static double decodeBalance(byte[] payload) {
+        if (payload.length != Double.BYTES) {
+            throw new IllegalArgumentException("Invalid balance record length: " + payload.length);
+        }
+        return ByteBuffer.wrap(payload).getDouble();
+    }
+
+    /**
+     * Markiert ein einzelnes Konto als geändert (Per-Entry-Saving)
+     */
+    private static void markAccountDirty(UUID uuid) {
+        dirtyAccounts.markChanged(uuid);
+    }
+
     /**
      * Speichert nur wenn Änderungen vorliegen (für periodisches Speichern)
      */
     public static void saveIfNeeded() {
-        if (needsSave) {
+        if (needsSave || !dirtyAccounts.isEmpty()) {
             saveAccounts();
         }
         // Speichere auch Transaction History
@@ -232,8 +483,8 @@ public class EconomyManager implements IncrementalSaveManager.ISaveable {
      */
     public static void createAccount(UUID uuid) {
         double startBalance = getStartBalance();
-        balances.put(uuid, startBalance);
-        markDirty();
+        balances.setCents(uuid, toCents(startBalance));
+        markAccountDirty(uuid);
         LOGGER.info("New account created for {} with {} €", uuid, startBalance);
     }
 
@@ -241,14 +492,15 @@ public class EconomyManager implements IncrementalSaveManager.ISaveable {
      * Prüft ob ein Konto existiert
      */
     public static boolean hasAccount(UUID uuid) {
-        return balances.containsKey(uuid);
+        return balances.hasAccount(uuid);
     }
 
     /**
      * Gibt das Guthaben eines Spielers zurück
      */
     public static double getBalance(UUID uuid) {
-        return balances.getOrDefault(uuid, 0.0);
+        long cents = balances.getCents(uuid);
+        return cents == BalanceLedger.NO_ACCOUNT ? 0.0 : fromCents(cents);
     }
 
     /**
@@ -276,14 +528,10 @@ public class EconomyManager implements IncrementalSaveManager.ISaveable {
             }
         }
 
-        // SICHERHEIT: Atomare Operation mit merge() — vermeidet Array-Allokation für Lambda-Capture
-        // SICHERHEIT: Overflow-Prüfung mit MAX_BALANCE
-        double newBalance = balances.merge(uuid, amount, (oldVal, addVal) -> {
-            double sum = oldVal + addVal;
-            return sum > MAX_BALANCE ? MAX_BALANCE : sum;
-        });
+        // SICHERHEIT: Atomare CAS-Buchung in Cent, Overflow-Prüfung mit MAX_BALANCE
+        double newBalance = fromCents(balances.addCents(uuid, toCents(amount), MAX_BALANCE_CENTS));
 
-        markDirty();
+        markAccountDirty(uuid);
         LOGGER.debug("Deposit: {} € for {} ({})", amount, uuid, type);
 
         // Transaction History
@@ -317,13 +565,12 @@ public class EconomyManager implements IncrementalSaveManager.ISaveable {
             }
         }
 
-        // SICHERHEIT: Atomare read-modify-write Operation mit merge()
-        // OPTIMIERT: Kein Array-Wrapper mehr für Lambda-Capture
+        // SICHERHEIT: Atomare CAS-Buchung in Cent (keine Boxing-Allokation)
         // UNBEGRENZTES Dispo - Spieler kann immer ins Minus gehen
         // OverdraftManager regelt Konsequenzen (Tag 7: Auto-Repay, Tag 28: Gefängnis)
-        double resultBalance = balances.merge(uuid, -amount, Double::sum);
+        double resultBalance = fromCents(balances.addCents(uuid, -toCents(amount), Long.MAX_VALUE));
 
-        markDirty();
+        markAccountDirty(uuid);
         LOGGER.debug("Withdrawal: {} € from {} ({}) - New balance: {}", amount, uuid, type, resultBalance);
 
         // Transaction History
@@ -342,10 +589,10 @@ public class EconomyManager implements IncrementalSaveManager.ISaveable {
      * Setzt das Guthaben eines Spielers mit Transaktions-Logging
      */
     public static void setBalance(UUID uuid, double amount, TransactionType type, @Nullable String description) {
-        final double setAmount = Math.max(0, Math.min(MAX_BALANCE, amount));
-        Double oldBalance = balances.put(uuid, setAmount);
-        double difference = setAmount - (oldBalance != null ? oldBalance : 0.0);
-        markDirty();
+        final double setAmount = fromCents(Math.max(0, Math.min(MAX_BALANCE_CENTS, toCents(amount))));
+        long oldCents = balances.setCents(uuid, toCents(setAmount));
+        double difference = setAmount - (oldCents != BalanceLedger.NO_ACCOUNT ? fromCents(oldCents) : 0.0);
+        markAccountDirty(uuid);
         LOGGER.info("Balance set: {} to {} € ({})", uuid, setAmount, type);
 
         // Transaction History
@@ -361,7 +608,7 @@ public class EconomyManager implements IncrementalSaveManager.ISaveable {
 
     /**
      * Gibt alle Konten zurück (für Admin-Befehle)
-     * Gibt eine unmodifiable View zurück - keine Kopie nötig
+     * Gibt eine unmodifiable View zurück; Iteration liefert einen Snapshot der Konten
      */
     public static Map<UUID, Double> getAllAccounts() {
         return Collections.unmodifiableMap(balances);
@@ -371,8 +618,8 @@ public class EconomyManager implements IncrementalSaveManager.ISaveable {
      * Löscht ein Konto (Admin-Funktion)
      */
     public static void deleteAccount(UUID uuid) {
-        balances.remove(uuid);
-        markDirty();
+        balances.removeAccount(uuid);
+        dirtyAccounts.markRemoved(uuid);
         LOGGER.info("Account deleted: {}", uuid);
     }
 
@@ -395,7 +642,7 @@ public class EconomyManager implements IncrementalSaveManager.ISaveable {
     /**
      * Transfer zwischen zwei Spielern
      * SICHERHEIT: Rate Limiting gegen Spam
-     * Hinweis: Debit und Credit sind separate ConcurrentHashMap-Operationen (nicht gesamtatomare Einheit).
+     * SICHERHEIT: Debit und Credit werden als Einheit unter geordneten Konto-Locks gebucht
      */
     public static boolean transfer(UUID from, UUID to, double amount, @Nullable String description) {
         if (!Double.isFinite(amount) || amount < 0) {
@@ -409,13 +656,15 @@ public class EconomyManager implements IncrementalSaveManager.ISaveable {
             return false;
         }
 
-        // Beide Balance-Änderungen als getrennte atomare ConcurrentHashMap-Operationen.
-        // Hinweis: deposit() und withdraw() verwenden ebenfalls merge() ohne synchronized(balances),
-        // daher sind die beiden Operationen nicht als eine atomare Einheit garantiert.
-        double fromBalance = balances.merge(from, -amount, Double::sum);
-        double toBalance = balances.merge(to, amount, Double::sum);
+        // Parallele Transfers auf denselben Konten werden serialisiert (Lock-Reihenfolge nach Slot),
+        // gleichzeitige deposit()/withdraw() bleiben lock-frei (CAS) und gehen nicht verloren
+        // Beide Kontostände stammen aus derselben Buchung (nicht nachträglich gelesen)
+        BalanceLedger.TransferResult result = balances.transferCents(from, to, toCents(amount), Long.MAX_VALUE);
+        double fromBalance = fromCents(result.fromCents());
+        double toBalance = fromCents(result.toCents());
 
-        markDirty();
+        markAccountDirty(from);
+        markAccountDirty(to);
         LOGGER.debug("Transfer: {} € from {} to {}", amount, from, to);
 
         // Transaction History für beide Seiten
@@ -457,7 +706,7 @@ public class EconomyManager implements IncrementalSaveManager.ISaveable {
 
     @Override
     public boolean isDirty() {
-        return needsSave;
+        return needsSave || !dirtyAccounts.isEmpty();
     }
 
     @Override
@@ -474,4 +723,19 @@ public class EconomyManager implements IncrementalSaveManager.ISaveable {
     public int getPriority() {
         return 0; // Höchste Priorität - Economy-Daten sind kritisch
     }
+
+    @Override
+    public boolean supportsEntrySaving() {
+        return true;
+    }
+
+    @Override
+    public int getDirtyEntryCount() {
+        return dirtyAccounts.size();
+    }
+
+    @Override
+    public IncrementalSaveManager.EntryFlushResult saveDirtyEntries(int maxEntries) {
+        return saveDirtyAccounts(maxEntries);
+    }
 }
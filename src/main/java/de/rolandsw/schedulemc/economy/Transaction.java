@@ -55,6 +55,22 @@ public class Transaction {
         this.balanceAfter = balanceAfter;
     }
 
+    /**
+     * Rekonstruiert eine gespeicherte/übertragene Transaktion mit Original-ID und Zeitstempel
+     */
+    public Transaction(String transactionId, long timestamp, TransactionType type,
+                      @Nullable UUID fromPlayer, @Nullable UUID toPlayer,
+                      double amount, String description, double balanceAfter) {
+        this.transactionId = transactionId;
+        this.timestamp = timestamp;
+        this.type = type;
+        this.fromPlayer = fromPlayer;
+        this.toPlayer = toPlayer;
+        this.amount = amount;
+        this.description = description;
+        this.balanceAfter = balanceAfter;
+    }
+
     // Getters
     public String getTransactionId() { return transactionId; }
     public long getTimestamp() { return timestamp; }
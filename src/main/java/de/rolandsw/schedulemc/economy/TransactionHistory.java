@@ -12,32 +12,39 @@ import java.io.*;
 import java.lang.reflect.Type;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Verwaltet die Transaktionshistorie aller Spieler
- * Thread-safe mit ConcurrentHashMap
+ * Thread-safe mit ConcurrentHashMap, pro Spieler ein begrenzter {@link TransactionRing}
+ *
+ * Persistenz: {@link TransactionLog} (tägliche Segment-Dateien in config/plotmod_transactions/).
+ * Die Ringe halten nur die neuesten Transaktionen im Heap und werden beim ersten Zugriff
+ * aus dem Log gefüllt; ältere Einträge sind per {@link #getTransactionPage} abrufbar.
  */
 public class TransactionHistory {
     private static final Logger LOGGER = LogUtils.getLogger();
     // SICHERHEIT: volatile für Double-Checked Locking Pattern
     private static volatile TransactionHistory instance;
 
-    private static final String FILE_NAME = "plotmod_transactions.json";
+    private static final String FILE_NAME = "plotmod_transactions.json"; // Legacy (vor Segment-Log)
+    private static final String LOG_DIRECTORY = "plotmod_transactions";
     private static final int MAX_TRANSACTIONS_PER_PLAYER = 1000; // Verhindert unbegrenztes Wachstum
     private static final long TRANSACTION_RETENTION_DAYS = 90; // 90 Tage Aufbewahrung
     private static final long ROTATION_INTERVAL_TICKS = 72000; // Alle 60 Minuten (72000 ticks)
 
-    private final Map<UUID, List<Transaction>> transactions = new ConcurrentHashMap<>();
+    private final Map<UUID, TransactionRing> transactions = new ConcurrentHashMap<>();
     private final Gson gson = GsonHelper.get(); // Umgebungsabhängig: kompakt in Produktion
     private final Path savePath;
+    private final TransactionLog log;
 
-    private boolean needsSave = false;
     private long lastRotationTime = System.currentTimeMillis();
 
     private TransactionHistory(MinecraftServer server) {
         this.savePath = server.getServerDirectory().toPath().resolve("config").resolve(FILE_NAME);
+        this.log = new TransactionLog(savePath.getParent().resolve(LOG_DIRECTORY).toFile());
         // PERFORMANCE: load() wird nicht im Konstruktor aufgerufen, sondern separat nach Konstruktion.
         // Dies vermeidet File-I/O während der Objekterstellung und ermöglicht paralleles Laden.
     }
@@ -70,150 +77,132 @@ public class TransactionHistory {
      * Fügt eine neue Transaktion hinzu
      */
     public void addTransaction(UUID playerUUID, Transaction transaction) {
-        // compute() ist atomar: Hinzufügen + Trimmen geschehen ohne Race Condition.
-        // Wir erstellen eine neue Liste (defensive copy), damit parallele Leser
-        // (getRecentTransactions / getAllTransactions) stets eine konsistente Snapshot-Ansicht haben.
-        transactions.compute(playerUUID, (k, existing) -> {
-            List<Transaction> updated = existing == null ? new ArrayList<>() : new ArrayList<>(existing);
-            updated.add(transaction);
-            if (updated.size() > MAX_TRANSACTIONS_PER_PLAYER) {
-                updated.subList(0, updated.size() - MAX_TRANSACTIONS_PER_PLAYER).clear();
-            }
-            return updated;
-        });
-
-        needsSave = true;
+        // OPTIMIERT: O(1) Append in den Ringpuffer statt Kopie der ganzen Liste.
+        // compute() statt computeIfAbsent(): Rotation entfernt leere Ringe ebenfalls atomar,
+        // so kann keine Transaktion in einem gerade entfernten Ring landen.
+        // Das Laden aus dem Log (Datei-IO) passiert vorher außerhalb von compute(), damit der
+        // Map-Bin nicht für die Dauer des Lesens gesperrt ist.
+        boolean[] added = new boolean[1];
+        while (!added[0]) {
+            TransactionRing loaded = transactions.containsKey(playerUUID) ? null : loadRing(playerUUID);
+            transactions.compute(playerUUID, (k, ring) -> {
+                TransactionRing target = ring != null ? ring : loaded;
+                if (target == null) {
+                    return null; // Ring wurde zwischenzeitlich entfernt → neu laden
+                }
+                target.add(transaction);
+                added[0] = true;
+                return target;
+            });
+        }
+        // Erst nach dem Ring ins Log, sonst würde ein frisch geladener Ring sie doppelt enthalten
+        log.append(playerUUID, transaction);
     }
 
     /**
      * Holt die letzten N Transaktionen eines Spielers
      *
-     * OPTIMIERT: Da Transaktionen chronologisch hinzugefügt werden,
-     * nehmen wir einfach die letzten N Elemente (O(n) -> O(limit))
-     * statt die gesamte Liste zu sortieren (O(n log n))
+     * OPTIMIERT: Der Ring ist chronologisch sortiert, daher werden nur
+     * die letzten N Elemente gelesen (O(limit)), neueste zuerst
      */
     public List<Transaction> getRecentTransactions(UUID playerUUID, int limit) {
-        List<Transaction> playerTransactions = transactions.get(playerUUID);
-        if (playerTransactions == null || playerTransactions.isEmpty()) {
-            return Collections.emptyList();
-        }
-
-        int size = playerTransactions.size();
-        int startIndex = Math.max(0, size - limit);
-
-        // Erstelle Ergebnisliste mit umgekehrter Reihenfolge (neueste zuerst)
-        List<Transaction> result = new ArrayList<>(Math.min(limit, size));
-        for (int i = size - 1; i >= startIndex; i--) {
-            result.add(playerTransactions.get(i));
-        }
-
-        return result;
+        return ringOf(playerUUID).recent(limit);
     }
 
     /**
      * Holt alle Transaktionen eines Spielers
      */
     public List<Transaction> getAllTransactions(UUID playerUUID) {
-        List<Transaction> playerTransactions = transactions.get(playerUUID);
-        if (playerTransactions == null) {
-            return Collections.emptyList();
-        }
-        return new ArrayList<>(playerTransactions);
+        return ringOf(playerUUID).all();
     }
 
     /**
      * Holt Transaktionen eines Typs
-     * OPTIMIERT: Loop statt Stream (vermeidet Stream + Collectors.toList() Allokation)
+     * OPTIMIERT: Filtert über die Typ-Spalte des Rings
      */
     public List<Transaction> getTransactionsByType(UUID playerUUID, TransactionType type) {
-        List<Transaction> playerTransactions = transactions.get(playerUUID);
-        if (playerTransactions == null) {
-            return Collections.emptyList();
-        }
+        return ringOf(playerUUID).byType(type);
+    }
 
-        List<Transaction> result = new ArrayList<>();
-        for (Transaction t : playerTransactions) {
-            if (t.getType() == type) {
-                result.add(t);
+    /**
+     * Holt Transaktionen in einem Zeitraum
+     * OPTIMIERT: Binärsuche auf der Timestamp-Spalte (O(log n + Treffer));
+     * reicht der Zeitraum hinter den vollen Ring zurück, wird das Segment-Log gelesen
+     */
+    public List<Transaction> getTransactionsBetween(UUID playerUUID, long startTime, long endTime) {
+        TransactionRing ring = ringOf(playerUUID);
+        if (ring.isFull() && startTime < ring.oldestTimestamp()) {
+            try {
+                return log.readRange(playerUUID, startTime, endTime);
+            } catch (IOException e) {
+                LOGGER.error("Failed to read transaction log for {}", playerUUID, e);
             }
         }
-        return result;
+        return ring.between(startTime, endTime);
     }
 
     /**
-     * Holt Transaktionen in einem Zeitraum
-     * OPTIMIERT: Loop statt Stream (vermeidet Stream + Collectors.toList() Allokation)
+     * Seite der Historie (neueste zuerst), auch über das In-Memory-Maximum hinaus
+     *
+     * @param page     Seitennummer ab 0
+     * @param pageSize Einträge pro Seite
      */
-    public List<Transaction> getTransactionsBetween(UUID playerUUID, long startTime, long endTime) {
-        List<Transaction> playerTransactions = transactions.get(playerUUID);
-        if (playerTransactions == null) {
-            return Collections.emptyList();
+    public List<Transaction> getTransactionPage(UUID playerUUID, int page, int pageSize) {
+        int skip = Math.max(page, 0) * pageSize;
+        TransactionRing ring = ringOf(playerUUID);
+        if (skip + pageSize <= ring.size() || !ring.isFull()) {
+            return ring.recent(skip, pageSize);
         }
+        try {
+            return log.readPage(playerUUID, skip, pageSize);
+        } catch (IOException e) {
+            LOGGER.error("Failed to read transaction log for {}", playerUUID, e);
+            return ring.recent(skip, pageSize);
+        }
+    }
 
-        List<Transaction> result = new ArrayList<>();
-        for (Transaction t : playerTransactions) {
-            long ts = t.getTimestamp();
-            if (ts >= startTime && ts <= endTime) {
-                result.add(t);
-            }
+    /**
+     * Anzahl aller gespeicherten Transaktionen eines Spielers (inkl. Log)
+     */
+    public int getStoredTransactionCount(UUID playerUUID) {
+        try {
+            return log.count(playerUUID);
+        } catch (IOException e) {
+            LOGGER.error("Failed to read transaction log for {}", playerUUID, e);
+            return getTransactionCount(playerUUID);
         }
-        return result;
     }
 
     /**
      * Berechnet Gesamteinnahmen eines Spielers
-     * OPTIMIERT: Loop statt Stream (vermeidet Stream-Pipeline-Allokation)
+     * OPTIMIERT: Summiert die Betrags-Spalte ohne Objektzugriffe
      */
     public double getTotalIncome(UUID playerUUID) {
-        List<Transaction> playerTransactions = transactions.get(playerUUID);
-        if (playerTransactions == null) {
-            return 0.0;
-        }
-
-        double sum = 0.0;
-        for (Transaction t : playerTransactions) {
-            double amount = t.getAmount();
-            if (amount > 0) {
-                sum += amount;
-            }
-        }
-        return sum;
+        return ringOf(playerUUID).sumIncome();
     }
 
     /**
      * Berechnet Gesamtausgaben eines Spielers
-     * OPTIMIERT: Loop statt Stream (vermeidet Stream-Pipeline-Allokation)
+     * OPTIMIERT: Summiert die Betrags-Spalte ohne Objektzugriffe
      */
     public double getTotalExpenses(UUID playerUUID) {
-        List<Transaction> playerTransactions = transactions.get(playerUUID);
-        if (playerTransactions == null) {
-            return 0.0;
-        }
-
-        double sum = 0.0;
-        for (Transaction t : playerTransactions) {
-            double amount = t.getAmount();
-            if (amount < 0) {
-                sum += -amount;
-            }
-        }
-        return sum;
+        return ringOf(playerUUID).sumExpenses();
     }
 
     /**
      * Anzahl Transaktionen eines Spielers
      */
     public int getTransactionCount(UUID playerUUID) {
-        List<Transaction> playerTransactions = transactions.get(playerUUID);
-        return playerTransactions == null ? 0 : playerTransactions.size();
+        return ringOf(playerUUID).size();
     }
 
     /**
      * Löscht alle Transaktionen eines Spielers
      */
     public void clearTransactions(UUID playerUUID) {
+        // Log zuerst, damit ein parallel geladener Ring die alten Einträge nicht erneut enthält
+        log.clearPlayer(playerUUID);
         transactions.remove(playerUUID);
-        needsSave = true;
         LOGGER.info("Cleared transaction history for player {}", playerUUID);
     }
 
@@ -225,7 +214,7 @@ public class TransactionHistory {
         int totalTransactions = countTotalTransactions();
 
         transactions.clear();
-        needsSave = true;
+        log.clearAll();
 
         LOGGER.info("Daily transaction history reset: Cleared {} transactions from {} players",
             totalTransactions, totalPlayers);
@@ -234,6 +223,7 @@ public class TransactionHistory {
     /**
      * Rotiert alte Transaktionen (löscht Transaktionen älter als RETENTION_DAYS)
      * OPTIMIERUNG: Verhindert unbegrenztes Wachstum der Historie
+     * OPTIMIERT: Ringe sind sortiert → alte Einträge werden per Binärsuche vorne abgeschnitten
      */
     public void rotateOldTransactions() {
         long cutoffTime = System.currentTimeMillis() - (TRANSACTION_RETENTION_DAYS * 86400000L);
@@ -243,21 +233,18 @@ public class TransactionHistory {
         // OPTIMIERT: Sammle leere Keys separat, um ConcurrentModificationException zu vermeiden
         List<UUID> emptyKeys = null;
 
-        for (Map.Entry<UUID, List<Transaction>> entry : transactions.entrySet()) {
-            List<Transaction> playerTransactions = entry.getValue();
-            int sizeBefore = playerTransactions.size();
+        for (Map.Entry<UUID, TransactionRing> entry : transactions.entrySet()) {
+            TransactionRing ring = entry.getValue();
 
             // Entferne alte Transaktionen
-            playerTransactions.removeIf(t -> t.getTimestamp() < cutoffTime);
-
-            int removed = sizeBefore - playerTransactions.size();
+            int removed = ring.removeOlderThan(cutoffTime);
             if (removed > 0) {
                 totalRemoved += removed;
                 playersAffected++;
             }
 
-            // Sammle leere Listen für spätere Entfernung
-            if (playerTransactions.isEmpty()) {
+            // Sammle leere Ringe für spätere Entfernung
+            if (ring.isEmpty()) {
                 if (emptyKeys == null) emptyKeys = new ArrayList<>();
                 emptyKeys.add(entry.getKey());
             }
@@ -266,16 +253,22 @@ public class TransactionHistory {
         // Entferne leere Einträge nach der Iteration
         if (emptyKeys != null) {
             for (UUID key : emptyKeys) {
-                transactions.remove(key);
+                // Nur entfernen, wenn zwischenzeitlich keine neue Transaktion hinzukam
+                transactions.computeIfPresent(key, (k, ring) -> ring.isEmpty() ? null : ring);
             }
         }
 
         if (totalRemoved > 0) {
-            needsSave = true;
             LOGGER.info("Rotation: {} alte Transaktionen von {} Spielern entfernt",
                 totalRemoved, playersAffected);
         }
 
+        // Log: abgelaufene Tages-Segmente werden als Ganzes gelöscht
+        int deletedSegments = log.deleteSegmentsBefore(cutoffTime);
+        if (deletedSegments > 0) {
+            LOGGER.info("Rotation: {} Transaktions-Segmente gelöscht", deletedSegments);
+        }
+
         lastRotationTime = System.currentTimeMillis();
     }
 
@@ -297,41 +290,86 @@ public class TransactionHistory {
     // ═══════════════════════════════════════════════════════════
 
     private void load() {
-        if (!Files.exists(savePath)) {
-            LOGGER.info("No transaction history file found, starting fresh");
-            return;
+        try {
+            log.open();
+        } catch (IOException e) {
+            LOGGER.error("Failed to open transaction log", e);
+        }
+
+        if (Files.exists(savePath)) {
+            migrateLegacyJson();
         }
+        LOGGER.info("Transaction log opened: {} segments", log.getSegmentCount());
+    }
 
+    /**
+     * Übernimmt die alte JSON-Historie einmalig ins Segment-Log
+     */
+    private void migrateLegacyJson() {
         try (Reader reader = Files.newBufferedReader(savePath)) {
             Type type = new TypeToken<Map<UUID, List<Transaction>>>(){}.getType();
             Map<UUID, List<Transaction>> loaded = gson.fromJson(reader, type);
 
+            int migrated = 0;
             if (loaded != null) {
-                transactions.putAll(loaded);
-                LOGGER.info("Loaded {} transactions for {} players",
-                    countTotalTransactions(), transactions.size());
+                for (Map.Entry<UUID, List<Transaction>> entry : loaded.entrySet()) {
+                    if (entry.getKey() == null || entry.getValue() == null) {
+                        continue;
+                    }
+                    // Chronologisch anhängen, damit Seiten im Log korrekt sortiert sind
+                    for (Transaction transaction : TransactionRing.of(entry.getValue(), Integer.MAX_VALUE).all()) {
+                        log.append(entry.getKey(), transaction);
+                        migrated++;
+                    }
+                }
             }
+            log.flush();
+            reader.close();
+            Files.move(savePath, savePath.resolveSibling(FILE_NAME + ".migrated"),
+                StandardCopyOption.REPLACE_EXISTING);
+            LOGGER.info("Migrated {} transactions from {} into the transaction log", migrated, FILE_NAME);
         } catch (Exception e) {
-            LOGGER.error("Failed to load transaction history", e);
+            LOGGER.error("Failed to migrate legacy transaction history", e);
         }
     }
 
-    public void save() {
-        if (!needsSave) {
-            return;
+    /**
+     * Ring eines Spielers; wird beim ersten Zugriff mit den neuesten Log-Einträgen gefüllt
+     */
+    private TransactionRing ringOf(UUID playerUUID) {
+        TransactionRing ring = transactions.get(playerUUID);
+        if (ring != null) {
+            return ring;
         }
+        TransactionRing loaded = loadRing(playerUUID);
+        if (loaded.isEmpty()) {
+            return loaded; // Spieler ohne Historie nicht cachen
+        }
+        TransactionRing existing = transactions.putIfAbsent(playerUUID, loaded);
+        return existing != null ? existing : loaded;
+    }
 
+    private TransactionRing loadRing(UUID playerUUID) {
         try {
-            // Erstelle config Verzeichnis falls nicht vorhanden
-            Files.createDirectories(savePath.getParent());
+            return TransactionRing.of(log.readPage(playerUUID, 0, MAX_TRANSACTIONS_PER_PLAYER),
+                MAX_TRANSACTIONS_PER_PLAYER);
+        } catch (IOException e) {
+            LOGGER.error("Failed to read transaction log for {}", playerUUID, e);
+            return new TransactionRing(MAX_TRANSACTIONS_PER_PLAYER);
+        }
+    }
 
-            try (Writer writer = Files.newBufferedWriter(savePath)) {
-                gson.toJson(transactions, writer);
-                needsSave = false;
+    /**
+     * Schreibt gepufferte Transaktionen ins Log (kein vollständiger Dump mehr)
+     */
+    public void save() {
+        if (!log.hasPendingRecords()) {
+            return;
+        }
 
-                LOGGER.debug("Saved {} transactions for {} players",
-                    countTotalTransactions(), transactions.size());
-            }
+        try {
+            log.flush();
+            LOGGER.debug("Flushed transaction log ({} segments)", log.getSegmentCount());
         } catch (Exception e) {
             LOGGER.error("Failed to save transaction history", e);
         }
@@ -343,8 +381,8 @@ public class TransactionHistory {
      */
     private int countTotalTransactions() {
         int total = 0;
-        for (List<Transaction> list : transactions.values()) {
-            total += list.size();
+        for (TransactionRing ring : transactions.values()) {
+            total += ring.size();
         }
         return total;
     }
@@ -353,7 +391,7 @@ public class TransactionHistory {
      * Gibt Statistiken zurück
      */
     public String getStatistics() {
-        return String.format("Transaction History: %d players, %d total transactions",
-            transactions.size(), countTotalTransactions());
+        return String.format("Transaction History: %d players, %d total transactions, %d segments (%d KB)",
+            transactions.size(), countTotalTransactions(), log.getSegmentCount(), log.getTotalBytes() / 1024);
     }
 }
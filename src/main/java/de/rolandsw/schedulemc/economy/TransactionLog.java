@@ -0,0 +1,753 @@
+package de.rolandsw.schedulemc.economy;
+
+import com.mojang.logging.LogUtils;
+import org.slf4j.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Segmentiertes Transaktions-Log auf der Festplatte
+ *
+ * Problem (Alt):
+ * - save() schrieb die komplette Historie als ein JSON-Dokument
+ * - Historie war auf 1000 Einträge pro Spieler im Heap begrenzt
+ *
+ * Lösung (Neu):
+ * - Pro Tag (UTC) eine Segment-Datei mit Records fester Breite ({@link #RECORD_BYTES})
+ * - Append-only: neue Transaktionen werden gepuffert und bei flush() angehängt
+ * - Pro Segment ein Index Spieler → Record-Nummern (lazy beim ersten Zugriff aufgebaut)
+ * - Aufbewahrung: alte Segmente werden als Ganzes gelöscht
+ * - Paging über beliebig lange Zeiträume ohne die Historie in den Heap zu laden
+ *
+ * Segment-Format:
+ * - Header: Magic (int), Version (byte), Header-Länge (int), Record-Breite (short),
+ *   Typ-Tabelle (Anzahl + Enum-Namen), damit Ordinals nach Enum-Erweiterungen gültig bleiben
+ * - Records: Besitzer, ID, Timestamp, Typ, Flags, von/an, Betrag, Saldo, Beschreibung (gekürzt)
+ *
+ * Lesezugriffe nutzen positionelle FileChannel-Reads statt Memory-Mapping: gemappte Dateien
+ * lassen sich unter Windows bis zur GC nicht löschen, was die Segment-Rotation blockieren würde.
+ *
+ * Thread-Safety: alle öffentlichen Methoden sind synchronisiert.
+ */
+public class TransactionLog {
+
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    private static final int MAGIC = 0x534D4354;  // "SMCT"
+    private static final byte FORMAT_VERSION = 1;
+    static final int RECORD_BYTES = 192;
+    private static final long DAY_MILLIS = 86_400_000L;
+    private static final int MAX_PENDING_BYTES = 64 * 1024;
+    private static final int READ_CHUNK_RECORDS = 512;
+
+    private static final String SEGMENT_PREFIX = "tx-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String CLEARED_FILE = "cleared.dat";
+
+    // Record-Layout
+    private static final int OFF_OWNER = 0;
+    private static final int OFF_ID = 16;
+    private static final int OFF_TIMESTAMP = 32;
+    private static final int OFF_TYPE = 40;
+    private static final int OFF_FLAGS = 42;
+    private static final int OFF_FROM = 44;
+    private static final int OFF_TO = 60;
+    private static final int OFF_AMOUNT = 76;
+    private static final int OFF_BALANCE = 84;
+    private static final int OFF_DESC_LENGTH = 92;
+    private static final int OFF_DESC = 94;
+    static final int MAX_DESCRIPTION_BYTES = RECORD_BYTES - OFF_DESC;
+
+    private static final short FLAG_FROM = 1;
+    private static final short FLAG_TO = 1 << 1;
+    private static final short FLAG_ID = 1 << 2;
+
+    private final File directory;
+    private final NavigableMap<Long, Segment> segments = new TreeMap<>();
+    // Pro Spieler: Transaktionen vor diesem Zeitpunkt gelten als gelöscht (clearPlayer)
+    private final Map<UUID, Long> clearedBefore = new HashMap<>();
+    private int pendingBytes = 0;
+
+    public TransactionLog(File directory) {
+        this.directory = directory;
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // LIFECYCLE
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * Öffnet vorhandene Segmente (nur Header, Indizes werden lazy aufgebaut)
+     */
+    public synchronized void open() throws IOException {
+        Files.createDirectories(directory.toPath());
+        segments.clear();
+
+        File[] files = directory.listFiles((dir, name) ->
+            name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX));
+        if (files != null) {
+            for (File file : files) {
+                String date = file.getName().substring(SEGMENT_PREFIX.length(),
+                    file.getName().length() - SEGMENT_SUFFIX.length());
+                try {
+                    long day = LocalDate.parse(date).toEpochDay();
+                    Segment segment = new Segment(file, day);
+                    segment.openExisting();
+                    segments.put(day, segment);
+                } catch (java.time.format.DateTimeParseException e) {
+                    LOGGER.warn("Ignoring unexpected file in transaction log: {}", file.getName());
+                } catch (IOException e) {
+                    LOGGER.error("Transaction segment {} is corrupt, moving it aside", file.getName(), e);
+                    Files.move(file.toPath(), new File(directory, file.getName() + ".corrupt").toPath(),
+                        StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+        loadClearedMarkers();
+    }
+
+    /**
+     * Hängt eine Transaktion an (gepuffert bis {@link #flush()})
+     */
+    public synchronized void append(UUID owner, Transaction transaction) {
+        Segment segment = segmentFor(Math.floorDiv(transaction.getTimestamp(), DAY_MILLIS));
+        segment.appendPending(owner, transaction);
+        pendingBytes += RECORD_BYTES;
+
+        if (pendingBytes >= MAX_PENDING_BYTES) {
+            try {
+                flush();
+            } catch (IOException e) {
+                LOGGER.error("Failed to flush transaction log", e);
+            }
+        }
+    }
+
+    /**
+     * Schreibt gepufferte Records auf die Festplatte
+     */
+    public synchronized void flush() throws IOException {
+        if (pendingBytes == 0) {
+            return;
+        }
+        for (Segment segment : segments.values()) {
+            segment.flushPending();
+        }
+        pendingBytes = 0;
+    }
+
+    public synchronized boolean hasPendingRecords() {
+        return pendingBytes > 0;
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // QUERIES
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * Seite der Historie eines Spielers, neueste zuerst
+     *
+     * @param skip  Anzahl zu überspringender (neuerer) Transaktionen
+     * @param limit Maximale Anzahl
+     */
+    public synchronized List<Transaction> readPage(UUID owner, int skip, int limit) throws IOException {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        List<Transaction> result = new ArrayList<>(Math.min(limit, 256));
+        int toSkip = Math.max(0, skip);
+        for (Segment segment : segments.descendingMap().values()) {
+            IntList records = segment.recordsOf(owner);
+            if (records == null) {
+                continue;
+            }
+            // Ganze Segmente überspringen, solange keine Lösch-Marker gefiltert werden müssen
+            if (toSkip >= records.size && !clearedBefore.containsKey(owner)) {
+                toSkip -= records.size;
+                continue;
+            }
+            try (FileChannel channel = segment.openReader()) {
+                for (int i = records.size - 1; i >= 0 && result.size() < limit; i--) {
+                    Transaction transaction = segment.read(channel, records.values[i]);
+                    if (transaction == null || isCleared(owner, transaction.getTimestamp())) {
+                        continue;
+                    }
+                    if (toSkip > 0) {
+                        toSkip--;
+                        continue;
+                    }
+                    result.add(transaction);
+                }
+            }
+            if (result.size() >= limit) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Transaktionen eines Spielers im Zeitraum, älteste zuerst
+     */
+    public synchronized List<Transaction> readRange(UUID owner, long startTime, long endTime) throws IOException {
+        if (startTime > endTime) {
+            return Collections.emptyList();
+        }
+        List<Transaction> result = new ArrayList<>();
+        long firstDay = Math.floorDiv(startTime, DAY_MILLIS);
+        long lastDay = Math.floorDiv(endTime, DAY_MILLIS);
+        for (Segment segment : segments.subMap(firstDay, true, lastDay, true).values()) {
+            IntList records = segment.recordsOf(owner);
+            if (records == null) {
+                continue;
+            }
+            try (FileChannel channel = segment.openReader()) {
+                for (int i = 0; i < records.size; i++) {
+                    Transaction transaction = segment.read(channel, records.values[i]);
+                    if (transaction == null) {
+                        continue;
+                    }
+                    long ts = transaction.getTimestamp();
+                    if (ts >= startTime && ts <= endTime && !isCleared(owner, ts)) {
+                        result.add(transaction);
+                    }
+                }
+            }
+        }
+        result.sort((a, b) -> Long.compare(a.getTimestamp(), b.getTimestamp()));
+        return result;
+    }
+
+    /**
+     * Anzahl gespeicherter Transaktionen eines Spielers (über alle Segmente)
+     */
+    public synchronized int count(UUID owner) throws IOException {
+        Long cleared = clearedBefore.get(owner);
+        int total = 0;
+        for (Segment segment : segments.values()) {
+            if (cleared != null && (segment.day + 1) * DAY_MILLIS <= cleared) {
+                continue;
+            }
+            IntList records = segment.recordsOf(owner);
+            if (records == null) {
+                continue;
+            }
+            if (cleared == null || segment.day * DAY_MILLIS >= cleared) {
+                total += records.size;
+            } else {
+                try (FileChannel channel = segment.openReader()) {
+                    for (int i = 0; i < records.size; i++) {
+                        Transaction transaction = segment.read(channel, records.values[i]);
+                        if (transaction != null && transaction.getTimestamp() >= cleared) {
+                            total++;
+                        }
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // RETENTION
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * Löscht alle Segmente, die vollständig vor {@code cutoffTime} liegen
+     *
+     * @return Anzahl gelöschter Segment-Dateien
+     */
+    public synchronized int deleteSegmentsBefore(long cutoffTime) {
+        long cutoffDay = Math.floorDiv(cutoffTime, DAY_MILLIS);
+        int deleted = 0;
+        NavigableMap<Long, Segment> expired = segments.headMap(cutoffDay, false);
+        for (Segment segment : new ArrayList<>(expired.values())) {
+            pendingBytes -= segment.pendingRecords() * RECORD_BYTES;
+            if (segment.file.delete() || !segment.file.exists()) {
+                segments.remove(segment.day);
+                deleted++;
+            } else {
+                LOGGER.warn("Could not delete transaction segment {}", segment.file.getName());
+            }
+        }
+        // Lösch-Marker vor dem ältesten Segment sind bedeutungslos
+        if (clearedBefore.values().removeIf(ts -> ts <= cutoffDay * DAY_MILLIS)) {
+            saveClearedMarkers();
+        }
+        return deleted;
+    }
+
+    /**
+     * Blendet alle bisherigen Transaktionen eines Spielers aus
+     */
+    public synchronized void clearPlayer(UUID owner) {
+        clearedBefore.put(owner, System.currentTimeMillis());
+        for (Segment segment : segments.values()) {
+            segment.forget(owner);
+        }
+        saveClearedMarkers();
+    }
+
+    /**
+     * Löscht alle Segmente
+     */
+    public synchronized void clearAll() {
+        for (Segment segment : segments.values()) {
+            if (!segment.file.delete() && segment.file.exists()) {
+                LOGGER.warn("Could not delete transaction segment {}", segment.file.getName());
+            }
+        }
+        segments.clear();
+        pendingBytes = 0;
+        clearedBefore.clear();
+        saveClearedMarkers();
+    }
+
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    public synchronized long getTotalBytes() {
+        long total = 0;
+        for (Segment segment : segments.values()) {
+            total += segment.file.length();
+        }
+        return total;
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // INTERNALS
+    // ═══════════════════════════════════════════════════════════
+
+    private boolean isCleared(UUID owner, long timestamp) {
+        Long cleared = clearedBefore.get(owner);
+        return cleared != null && timestamp < cleared;
+    }
+
+    private Segment segmentFor(long day) {
+        Segment segment = segments.get(day);
+        if (segment == null) {
+            String name = SEGMENT_PREFIX + LocalDate.ofEpochDay(day) + SEGMENT_SUFFIX;
+            segment = new Segment(new File(directory, name), day);
+            segments.put(day, segment);
+        }
+        return segment;
+    }
+
+    private void loadClearedMarkers() throws IOException {
+        clearedBefore.clear();
+        File file = new File(directory, CLEARED_FILE);
+        if (!file.exists()) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                clearedBefore.put(new UUID(in.readLong(), in.readLong()), in.readLong());
+            }
+        }
+    }
+
+    private void saveClearedMarkers() {
+        File file = new File(directory, CLEARED_FILE);
+        File tempFile = new File(directory, CLEARED_FILE + ".tmp");
+        try {
+            Files.createDirectories(directory.toPath());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+                out.writeInt(clearedBefore.size());
+                for (Map.Entry<UUID, Long> entry : clearedBefore.entrySet()) {
+                    out.writeLong(entry.getKey().getMostSignificantBits());
+                    out.writeLong(entry.getKey().getLeastSignificantBits());
+                    out.writeLong(entry.getValue());
+                }
+            }
+            Files.move(tempFile.toPath(), file.toPath(),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.error("Failed to save transaction clear markers", e);
+        }
+    }
+
+    /**
+     * Stabile ID für Records ohne gespeicherte UUID (Transaktions-ID war kein UUID-String)
+     *
+     * Segment-Tag und Record-Position ändern sich nie, dieselbe Transaktion behält also über
+     * Abfragen und Neustarts hinweg dieselbe ID.
+     */
+    static UUID fallbackId(long day, int recordNumber) {
+        byte[] key = ByteBuffer.allocate(Long.BYTES + Integer.BYTES).putLong(day).putInt(recordNumber).array();
+        return UUID.nameUUIDFromBytes(key);
+    }
+
+    /**
+     * Kodiert eine Transaktion in einen Record fester Breite
+     */
+    static void encode(ByteBuffer buffer, UUID owner, Transaction transaction, short typeCode) {
+        int base = buffer.position();
+        buffer.putLong(base + OFF_OWNER, owner.getMostSignificantBits());
+        buffer.putLong(base + OFF_OWNER + 8, owner.getLeastSignificantBits());
+
+        short flags = 0;
+        UUID id = parseId(transaction.getTransactionId());
+        if (id != null) {
+            flags |= FLAG_ID;
+            buffer.putLong(base + OFF_ID, id.getMostSignificantBits());
+            buffer.putLong(base + OFF_ID + 8, id.getLeastSignificantBits());
+        }
+        buffer.putLong(base + OFF_TIMESTAMP, transaction.getTimestamp());
+        buffer.putShort(base + OFF_TYPE, typeCode);
+
+        UUID from = transaction.getFromPlayer();
+        if (from != null) {
+            flags |= FLAG_FROM;
+            buffer.putLong(base + OFF_FROM, from.getMostSignificantBits());
+            buffer.putLong(base + OFF_FROM + 8, from.getLeastSignificantBits());
+        }
+        UUID to = transaction.getToPlayer();
+        if (to != null) {
+            flags |= FLAG_TO;
+            buffer.putLong(base + OFF_TO, to.getMostSignificantBits());
+            buffer.putLong(base + OFF_TO + 8, to.getLeastSignificantBits());
+        }
+        buffer.putShort(base + OFF_FLAGS, flags);
+        buffer.putDouble(base + OFF_AMOUNT, transaction.getAmount());
+        buffer.putDouble(base + OFF_BALANCE, transaction.getBalanceAfter());
+
+        String description = transaction.getDescription();
+        if (description == null) {
+            buffer.putShort(base + OFF_DESC_LENGTH, (short) -1);
+        } else {
+            byte[] bytes = truncateUtf8(description, MAX_DESCRIPTION_BYTES);
+            buffer.putShort(base + OFF_DESC_LENGTH, (short) bytes.length);
+            for (int i = 0; i < bytes.length; i++) {
+                buffer.put(base + OFF_DESC + i, bytes[i]);
+            }
+        }
+        buffer.position(base + RECORD_BYTES);
+    }
+
+    /**
+     * Dekodiert einen Record
+     *
+     * @param types Typ-Tabelle des Segments (gespeicherte Ordinals → aktuelle Enum-Werte)
+     * @param day Tag des Segments, zusammen mit {@code recordNumber} Basis der Ersatz-ID
+     * @param recordNumber Position des Records im Segment
+     */
+    static Transaction decode(ByteBuffer buffer, int base, TransactionType[] types, long day, int recordNumber) {
+        short flags = buffer.getShort(base + OFF_FLAGS);
+        String id = (flags & FLAG_ID) != 0
+            ? new UUID(buffer.getLong(base + OFF_ID), buffer.getLong(base + OFF_ID + 8)).toString()
+            : fallbackId(day, recordNumber).toString();
+        long timestamp = buffer.getLong(base + OFF_TIMESTAMP);
+        short typeOrdinal = buffer.getShort(base + OFF_TYPE);
+        TransactionType type = typeOrdinal >= 0 && typeOrdinal < types.length ? types[typeOrdinal] : null;
+        UUID from = (flags & FLAG_FROM) != 0
+            ? new UUID(buffer.getLong(base + OFF_FROM), buffer.getLong(base + OFF_FROM + 8)) : null;
+        UUID to = (flags & FLAG_TO) != 0
+            ? new UUID(buffer.getLong(base + OFF_TO), buffer.getLong(base + OFF_TO + 8)) : null;
+        double amount = buffer.getDouble(base + OFF_AMOUNT);
+        double balanceAfter = buffer.getDouble(base + OFF_BALANCE);
+
+        String description = null;
+        short descLength = buffer.getShort(base + OFF_DESC_LENGTH);
+        if (descLength >= 0 && descLength <= MAX_DESCRIPTION_BYTES) {
+            byte[] bytes = new byte[descLength];
+            for (int i = 0; i < descLength; i++) {
+                bytes[i] = buffer.get(base + OFF_DESC + i);
+            }
+            description = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return new Transaction(id, timestamp, type, from, to, amount, description, balanceAfter);
+    }
+
+    private static UUID parseId(String id) {
+        if (id == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Kürzt auf maximal {@code maxBytes} UTF-8-Bytes, ohne ein Zeichen zu zerschneiden
+     */
+    static byte[] truncateUtf8(String text, int maxBytes) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= maxBytes) {
+            return bytes;
+        }
+        int end = maxBytes;
+        // Folgebytes (10xxxxxx) gehören zum vorherigen Zeichen
+        while (end > 0 && (bytes[end] & 0xC0) == 0x80) {
+            end--;
+        }
+        return Arrays.copyOf(bytes, end);
+    }
+
+    /**
+     * Minimale wachsende int-Liste (Record-Nummern pro Spieler)
+     */
+    private static final class IntList {
+        int[] values = new int[4];
+        int size = 0;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+    /**
+     * Eine Tages-Segment-Datei
+     */
+    private static final class Segment {
+        final File file;
+        final long day;
+        int headerBytes = -1;
+        TransactionType[] types = TransactionType.values();
+        int persistedRecords = 0;
+        // Noch nicht geschriebene Records
+        ByteBuffer pending = null;
+        // Lazy aufgebauter Index Spieler → Record-Nummern (null = noch nicht gebaut)
+        Map<UUID, IntList> index = null;
+
+        Segment(File file, long day) {
+            this.file = file;
+            this.day = day;
+        }
+
+        /**
+         * Liest den Header und schneidet einen abgerissenen letzten Record ab
+         */
+        void openExisting() throws IOException {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                ByteBuffer fixed = ByteBuffer.allocate(Integer.BYTES + 1 + Integer.BYTES + Short.BYTES);
+                if (channel.read(fixed, 0) < fixed.capacity()) {
+                    throw new IOException("Segment header truncated");
+                }
+                fixed.flip();
+                if (fixed.getInt() != MAGIC || fixed.get() != FORMAT_VERSION) {
+                    throw new IOException("Not a transaction segment");
+                }
+                headerBytes = fixed.getInt();
+                if (fixed.getShort() != RECORD_BYTES || headerBytes < fixed.capacity() || headerBytes > channel.size()) {
+                    throw new IOException("Unsupported segment layout");
+                }
+
+                ByteBuffer header = ByteBuffer.allocate(headerBytes - fixed.capacity());
+                channel.read(header, fixed.capacity());
+                header.flip();
+                try (DataInputStream in = new DataInputStream(new java.io.ByteArrayInputStream(
+                        header.array(), 0, header.limit()))) {
+                    int typeCount = in.readUnsignedShort();
+                    types = new TransactionType[typeCount];
+                    for (int i = 0; i < typeCount; i++) {
+                        String name = in.readUTF();
+                        try {
+                            types[i] = TransactionType.valueOf(name);
+                        } catch (IllegalArgumentException e) {
+                            types[i] = null; // Typ existiert nicht mehr
+                        }
+                    }
+                }
+
+                long recordBytes = channel.size() - headerBytes;
+                persistedRecords = (int) (recordBytes / RECORD_BYTES);
+                long validSize = headerBytes + (long) persistedRecords * RECORD_BYTES;
+                if (validSize != channel.size()) {
+                    LOGGER.warn("Transaction segment {}: truncating torn record at end", file.getName());
+                    channel.truncate(validSize);
+                }
+            }
+        }
+
+        void appendPending(UUID owner, Transaction transaction) {
+            if (pending == null) {
+                pending = ByteBuffer.allocate(RECORD_BYTES * 16);
+            } else if (pending.remaining() < RECORD_BYTES) {
+                ByteBuffer grown = ByteBuffer.allocate(pending.capacity() * 2);
+                pending.flip();
+                grown.put(pending);
+                pending = grown;
+            }
+            int recordNumber = persistedRecords + pendingRecords();
+            encode(pending, owner, transaction, typeCode(transaction.getType()));
+            if (index != null) {
+                index.computeIfAbsent(owner, k -> new IntList()).add(recordNumber);
+            }
+        }
+
+        /**
+         * Typ-Code laut Typ-Tabelle dieses Segments (-1 = unbekannt)
+         *
+         * Segmente aus einer älteren Mod-Version behalten ihre Tabelle; in ihr fehlende
+         * neue Typen werden als unbekannt gespeichert.
+         */
+        short typeCode(TransactionType type) {
+            if (type == null) {
+                return -1;
+            }
+            for (int i = 0; i < types.length; i++) {
+                if (types[i] == type) {
+                    return (short) i;
+                }
+            }
+            return -1;
+        }
+
+        int pendingRecords() {
+            return pending == null ? 0 : pending.position() / RECORD_BYTES;
+        }
+
+        void flushPending() throws IOException {
+            int records = pendingRecords();
+            if (records == 0) {
+                return;
+            }
+            if (headerBytes < 0) {
+                writeHeader();
+            }
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+                long position = headerBytes + (long) persistedRecords * RECORD_BYTES;
+                pending.flip();
+                while (pending.hasRemaining()) {
+                    position += channel.write(pending, position);
+                }
+                channel.force(false);
+            }
+            persistedRecords += records;
+            pending = null;
+        }
+
+        private void writeHeader() throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                TransactionType[] current = TransactionType.values();
+                out.writeShort(current.length);
+                for (TransactionType type : current) {
+                    out.writeUTF(type.name());
+                }
+            }
+            int fixedBytes = Integer.BYTES + 1 + Integer.BYTES + Short.BYTES;
+            ByteBuffer header = ByteBuffer.allocate(fixedBytes + bytes.size());
+            header.putInt(MAGIC);
+            header.put(FORMAT_VERSION);
+            header.putInt(header.capacity());
+            header.putShort((short) RECORD_BYTES);
+            header.put(bytes.toByteArray());
+            header.flip();
+
+            try (FileChannel channel = FileChannel.open(file.toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (header.hasRemaining()) {
+                    channel.write(header);
+                }
+            }
+            headerBytes = header.capacity();
+            types = TransactionType.values();
+        }
+
+        /**
+         * Record-Nummern eines Spielers (baut den Index beim ersten Zugriff)
+         */
+        IntList recordsOf(UUID owner) throws IOException {
+            if (index == null) {
+                buildIndex();
+            }
+            return index.get(owner);
+        }
+
+        private void buildIndex() throws IOException {
+            Map<UUID, IntList> built = new HashMap<>();
+            if (persistedRecords > 0) {
+                try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                    ByteBuffer chunk = ByteBuffer.allocate(RECORD_BYTES * READ_CHUNK_RECORDS);
+                    int record = 0;
+                    while (record < persistedRecords) {
+                        int count = Math.min(READ_CHUNK_RECORDS, persistedRecords - record);
+                        chunk.clear().limit(count * RECORD_BYTES);
+                        readFully(channel, chunk, headerBytes + (long) record * RECORD_BYTES);
+                        for (int i = 0; i < count; i++) {
+                            int base = i * RECORD_BYTES;
+                            UUID owner = new UUID(chunk.getLong(base + OFF_OWNER), chunk.getLong(base + OFF_OWNER + 8));
+                            built.computeIfAbsent(owner, k -> new IntList()).add(record + i);
+                        }
+                        record += count;
+                    }
+                }
+            }
+            for (int i = 0, pendingCount = pendingRecords(); i < pendingCount; i++) {
+                int base = i * RECORD_BYTES;
+                UUID owner = new UUID(pending.getLong(base + OFF_OWNER), pending.getLong(base + OFF_OWNER + 8));
+                built.computeIfAbsent(owner, k -> new IntList()).add(persistedRecords + i);
+            }
+            index = built;
+        }
+
+        void forget(UUID owner) {
+            if (index != null) {
+                index.remove(owner);
+            }
+        }
+
+        /**
+         * Öffnet einen Lese-Kanal für eine Abfrage (null, solange nichts geschrieben wurde)
+         */
+        FileChannel openReader() throws IOException {
+            return persistedRecords > 0 ? FileChannel.open(file.toPath(), StandardOpenOption.READ) : null;
+        }
+
+        /**
+         * Liest einen Record (aus Datei oder Schreibpuffer)
+         */
+        Transaction read(FileChannel channel, int recordNumber) throws IOException {
+            if (recordNumber >= persistedRecords) {
+                int base = (recordNumber - persistedRecords) * RECORD_BYTES;
+                return pending != null && base + RECORD_BYTES <= pending.position()
+                    ? decode(pending, base, types, day, recordNumber) : null;
+            }
+            ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES);
+            readFully(channel, record, headerBytes + (long) recordNumber * RECORD_BYTES);
+            return decode(record, 0, types, day, recordNumber);
+        }
+
+        private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    throw new IOException("Unexpected end of transaction segment");
+                }
+                position += read;
+            }
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package de.rolandsw.schedulemc.economy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Begrenzter Ringpuffer für die Transaktionshistorie eines Spielers
+ *
+ * Problem (Alt):
+ * - Copy-on-Write ArrayList: jede neue Transaktion kopierte die komplette Liste (O(n))
+ *
+ * Lösung (Neu):
+ * - O(1) Append, bei vollem Puffer wird die älteste Transaktion überschrieben
+ * - Spalten für Timestamp, Betrag und Typ-Ordinal: Summen/Filter laufen über primitive Arrays
+ * - Einträge sind nach Timestamp sortiert → Zeitraum-Abfragen per Binärsuche
+ * - Kapazität wächst bei Bedarf bis zum Maximum (kein 1000er-Array für Gelegenheitsspieler)
+ *
+ * Thread-Safety: alle Methoden synchronisiert, Leser erhalten Kopien.
+ */
+final class TransactionRing {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final byte NO_TYPE = -1;
+
+    private final int maxCapacity;
+    private Transaction[] entries;
+    private long[] timestamps;
+    private double[] amounts;
+    private byte[] types;
+    private int head = 0;
+    private int size = 0;
+
+    TransactionRing(int maxCapacity) {
+        this.maxCapacity = maxCapacity;
+        int capacity = Math.min(INITIAL_CAPACITY, maxCapacity);
+        entries = new Transaction[capacity];
+        timestamps = new long[capacity];
+        amounts = new double[capacity];
+        types = new byte[capacity];
+    }
+
+    /**
+     * Fügt eine Transaktion ein; verdrängt bei vollem Puffer die älteste
+     *
+     * Transaktionen kommen praktisch chronologisch an. Leicht verspätete Einträge
+     * (parallele Threads) werden per kurzem Insertion-Step an die richtige Stelle geschoben.
+     */
+    synchronized void add(Transaction transaction) {
+        if (size == entries.length) {
+            if (entries.length < maxCapacity) {
+                grow();
+            } else {
+                dropOldest(1);
+            }
+        }
+
+        long ts = transaction.getTimestamp();
+        int pos = size;
+        while (pos > 0 && timestamps[physical(pos - 1)] > ts) {
+            int from = physical(pos - 1);
+            int to = physical(pos);
+            entries[to] = entries[from];
+            timestamps[to] = timestamps[from];
+            amounts[to] = amounts[from];
+            types[to] = types[from];
+            pos--;
+        }
+
+        int slot = physical(pos);
+        entries[slot] = transaction;
+        timestamps[slot] = ts;
+        amounts[slot] = transaction.getAmount();
+        types[slot] = transaction.getType() != null ? (byte) transaction.getType().ordinal() : NO_TYPE;
+        size++;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * true wenn das Maximum erreicht ist (ältere Transaktionen liegen nur noch im Log)
+     */
+    synchronized boolean isFull() {
+        return size == maxCapacity;
+    }
+
+    /**
+     * Timestamp der ältesten gehaltenen Transaktion (Long.MAX_VALUE wenn leer)
+     */
+    synchronized long oldestTimestamp() {
+        return size == 0 ? Long.MAX_VALUE : timestamps[head];
+    }
+
+    /**
+     * Die neuesten {@code limit} Transaktionen, neueste zuerst (O(limit))
+     */
+    synchronized List<Transaction> recent(int limit) {
+        return recent(0, limit);
+    }
+
+    /**
+     * Die {@code limit} Transaktionen nach den {@code skip} neuesten, neueste zuerst (Paging)
+     */
+    synchronized List<Transaction> recent(int skip, int limit) {
+        int newest = size - 1 - Math.max(skip, 0);
+        int count = Math.min(Math.max(limit, 0), newest + 1);
+        if (count <= 0) {
+            return Collections.emptyList();
+        }
+        List<Transaction> result = new ArrayList<>(count);
+        for (int i = newest; i > newest - count; i--) {
+            result.add(entries[physical(i)]);
+        }
+        return result;
+    }
+
+    /**
+     * Alle Transaktionen, älteste zuerst
+     */
+    synchronized List<Transaction> all() {
+        List<Transaction> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(entries[physical(i)]);
+        }
+        return result;
+    }
+
+    synchronized List<Transaction> byType(TransactionType type) {
+        byte ordinal = (byte) type.ordinal();
+        List<Transaction> result = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            int slot = physical(i);
+            if (types[slot] == ordinal) {
+                result.add(entries[slot]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Transaktionen mit startTime <= Timestamp <= endTime (Binärsuche auf der Timestamp-Spalte)
+     */
+    synchronized List<Transaction> between(long startTime, long endTime) {
+        if (size == 0 || startTime > endTime) {
+            return Collections.emptyList();
+        }
+        int from = firstAtOrAfter(startTime);
+        int to = endTime == Long.MAX_VALUE ? size : firstAtOrAfter(endTime + 1);
+        if (from >= to) {
+            return Collections.emptyList();
+        }
+        List<Transaction> result = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            result.add(entries[physical(i)]);
+        }
+        return result;
+    }
+
+    synchronized double sumIncome() {
+        double sum = 0.0;
+        for (int i = 0; i < size; i++) {
+            double amount = amounts[physical(i)];
+            if (amount > 0) {
+                sum += amount;
+            }
+        }
+        return sum;
+    }
+
+    synchronized double sumExpenses() {
+        double sum = 0.0;
+        for (int i = 0; i < size; i++) {
+            double amount = amounts[physical(i)];
+            if (amount < 0) {
+                sum += -amount;
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Entfernt alle Transaktionen vor {@code cutoffTime}
+     *
+     * @return Anzahl entfernter Transaktionen
+     */
+    synchronized int removeOlderThan(long cutoffTime) {
+        int count = firstAtOrAfter(cutoffTime);
+        dropOldest(count);
+        return count;
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // INTERNALS
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * Logischer Index des ersten Eintrags mit Timestamp >= time (lower bound)
+     */
+    private int firstAtOrAfter(long time) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[physical(mid)] < time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void dropOldest(int count) {
+        for (int i = 0; i < count; i++) {
+            entries[physical(i)] = null;
+        }
+        head = physical(count);
+        size -= count;
+        if (size == 0) {
+            head = 0;
+        }
+    }
+
+    private int physical(int logical) {
+        int index = head + logical;
+        return index >= entries.length ? index - entries.length : index;
+    }
+
+    private void grow() {
+        int capacity = Math.min(maxCapacity, entries.length * 2);
+        Transaction[] newEntries = new Transaction[capacity];
+        long[] newTimestamps = new long[capacity];
+        double[] newAmounts = new double[capacity];
+        byte[] newTypes = new byte[capacity];
+        for (int i = 0; i < size; i++) {
+            int slot = physical(i);
+            newEntries[i] = entries[slot];
+            newTimestamps[i] = timestamps[slot];
+            newAmounts[i] = amounts[slot];
+            newTypes[i] = types[slot];
+        }
+        entries = newEntries;
+        timestamps = newTimestamps;
+        amounts = newAmounts;
+        types = newTypes;
+        head = 0;
+    }
+
+    /**
+     * Baut einen Ring aus geladenen Daten (unsortiert möglich, z.B. ältere Speicherstände)
+     */
+    static TransactionRing of(List<Transaction> loaded, int maxCapacity) {
+        Transaction[] sorted = loaded.stream()
+            .filter(t -> t != null)
+            .toArray(Transaction[]::new);
+        // Stabil: gleiche Timestamps behalten ihre gespeicherte Reihenfolge
+        Arrays.sort(sorted, (a, b) -> Long.compare(a.getTimestamp(), b.getTimestamp()));
+
+        TransactionRing ring = new TransactionRing(maxCapacity);
+        for (int i = Math.max(0, sorted.length - maxCapacity); i < sorted.length; i++) {
+            ring.add(sorted[i]);
+        }
+        return ring;
+    }
+}
@@ -4,6 +4,9 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
 import de.rolandsw.schedulemc.util.AbstractPersistenceManager;
+import de.rolandsw.schedulemc.util.IncrementalSaveManager;
+import de.rolandsw.schedulemc.util.JournalStorageBackend;
+import de.rolandsw.schedulemc.util.StorageBackend;
 
 import javax.annotation.Nullable;
 import java.io.File;
@@ -66,7 +69,7 @@ public class WalletManager {
      */
     public static void setBalance(UUID playerUUID, double amount) {
         wallets.put(playerUUID, Math.max(0, amount));
-        persistence.markDirty();
+        persistence.markEntryDirty(playerUUID);
     }
 
     /**
@@ -81,7 +84,7 @@ public class WalletManager {
             if (current == null) current = 0.0;
             return current + amount;
         });
-        persistence.markDirty();
+        persistence.markEntryDirty(playerUUID);
     }
 
     /**
@@ -102,11 +105,18 @@ public class WalletManager {
             return current; // Keine Änderung
         });
         if (success[0]) {
-            persistence.markDirty();
+            persistence.markEntryDirty(playerUUID);
         }
         return success[0];
     }
 
+    /**
+     * Gibt die Persistenz als ISaveable zurück (für IncrementalSaveManager, Per-Entry-Saving)
+     */
+    public static IncrementalSaveManager.ISaveable getSaveable() {
+        return persistence;
+    }
+
     /**
      * Gibt Health-Status zurück
      */
@@ -144,6 +154,14 @@ public class WalletManager {
             return new TypeToken<Map<String, Double>>(){}.getType();
         }
 
+        /**
+         * Binäres Journal statt Pretty-JSON: pro Save werden nur geänderte Geldbörsen geschrieben
+         */
+        @Override
+        protected StorageBackend<Map<String, Double>> createStorageBackend() {
+            return new JournalStorageBackend<>(getDataFile(), getGson(), getDataType());
+        }
+
         @Override
         protected void onDataLoaded(Map<String, Double> data) {
             // SICHERHEIT: Thread-safe clear und fill
@@ -221,6 +239,26 @@ public class WalletManager {
             return toSave;
         }
 
+        @Override
+        public int getPriority() {
+            return 4;
+        }
+
+        @Override
+        protected boolean supportsEntryLookup() {
+            return true;
+        }
+
+        @Override
+        @Nullable
+        protected Object getEntryForSave(String key) {
+            try {
+                return wallets.get(UUID.fromString(key));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+
         @Override
         protected String getComponentName() {
             return "Wallet System";
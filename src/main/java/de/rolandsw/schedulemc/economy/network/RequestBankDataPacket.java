@@ -5,6 +5,7 @@ import de.rolandsw.schedulemc.economy.*;
 import de.rolandsw.schedulemc.economy.items.CashItem;
 import de.rolandsw.schedulemc.npc.bank.TransferLimitTracker;
 import de.rolandsw.schedulemc.util.PacketHandler;
+import de.rolandsw.schedulemc.util.RateLimiter;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
@@ -22,19 +23,39 @@ import java.util.function.Supplier;
  */
 public class RequestBankDataPacket {
 
+    /** Transaktionen pro Historien-Seite */
+    public static final int HISTORY_PAGE_SIZE = 100;
+
+    // RATE LIMITING: ältere Seiten werden aus dem Segment-Log gelesen (Datei-IO pro Anfrage)
+    private static final RateLimiter bankDataLimiter = new RateLimiter("bank_data_request", 5, 1000L);
+
+    private final int historyPage;
+
     public RequestBankDataPacket() {
+        this(0);
+    }
+
+    /**
+     * @param historyPage Seite der Transaktionshistorie (0 = neueste)
+     */
+    public RequestBankDataPacket(int historyPage) {
+        this.historyPage = Math.max(0, historyPage);
     }
 
     public void encode(FriendlyByteBuf buf) {
-        // No data to encode
+        buf.writeVarInt(historyPage);
     }
 
     public static RequestBankDataPacket decode(FriendlyByteBuf buf) {
-        return new RequestBankDataPacket();
+        return new RequestBankDataPacket(buf.readVarInt());
     }
 
     public void handle(Supplier<NetworkEvent.Context> ctx) {
         PacketHandler.handleServerPacket(ctx, player -> {
+            // Überzählige Anfragen verwerfen, der Client behält seine letzten Daten
+            if (!bankDataLimiter.allowOperation(player.getUUID())) {
+                return;
+            }
             sendBankDataToClient(player);
         });
     }
@@ -81,7 +102,14 @@ public class RequestBankDataPacket {
         double totalExpenses = 0.0;
         TransactionHistory history = TransactionHistory.getInstance();
         if (history != null) {
-            transactions = history.getRecentTransactions(playerUUID, 100);  // Erhöht von 20 auf 100
+            // Seite 0 kommt aus dem Ring im Heap, ältere Seiten aus dem Segment-Log.
+            // Vom Client gewählte Seite auf die letzte vorhandene begrenzen
+            int page = historyPage;
+            if (page > 0) {
+                int stored = history.getStoredTransactionCount(playerUUID);
+                page = Math.min(page, Math.max(0, (stored - 1) / HISTORY_PAGE_SIZE));
+            }
+            transactions = history.getTransactionPage(playerUUID, page, HISTORY_PAGE_SIZE);
             totalIncome = history.getTotalIncome(playerUUID);
             totalExpenses = history.getTotalExpenses(playerUUID);
         }
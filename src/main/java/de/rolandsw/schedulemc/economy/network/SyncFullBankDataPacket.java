@@ -265,7 +265,10 @@ public class SyncFullBankDataPacket {
             // Convert TransactionData back to Transaction for the cache
             List<Transaction> transactionList = new ArrayList<>();
             for (TransactionData td : transactions) {
+                // Original-ID und Zeitstempel übernehmen (Datum in der Historie)
                 transactionList.add(new Transaction(
+                    td.transactionId,
+                    td.timestamp,
                     td.type,
                     td.fromPlayer,
                     td.toPlayer,
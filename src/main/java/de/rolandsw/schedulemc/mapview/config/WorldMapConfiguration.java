@@ -14,9 +14,11 @@ public class WorldMapConfiguration implements SubSettingsManager {
     protected int mapX;
     protected int mapZ;
     protected float zoom = 4.0F;
-    protected float minZoom = 0.5F;
+    protected float minZoom = 0.0625F;
     protected float maxZoom = 16.0F;
     protected int cacheSize = 500;
+    // Heap budget of the region cache (map + image data) in MB
+    protected int cacheBudgetMB = 256;
     protected boolean outputImages;
 
     @Override
@@ -30,6 +32,7 @@ public class WorldMapConfiguration implements SubSettingsManager {
                     case "Worldmap Minimum Zoom" -> this.minZoom = Float.parseFloat(curLine[1]);
                     case "Worldmap Maximum Zoom" -> this.maxZoom = Float.parseFloat(curLine[1]);
                     case "Worldmap Cache Size" -> this.cacheSize = Integer.parseInt(curLine[1]);  // NOPMD
+                    case "Worldmap Cache Budget MB" -> this.cacheBudgetMB = Integer.parseInt(curLine[1]);  // NOPMD
                     case "Output Images" -> this.outputImages = Boolean.parseBoolean(curLine[1]);  // NOPMD
                     default -> {}
                 }
@@ -49,6 +52,7 @@ public class WorldMapConfiguration implements SubSettingsManager {
         out.println("Worldmap Minimum Zoom:" + this.minZoom);
         out.println("Worldmap Maximum Zoom:" + this.maxZoom);
         out.println("Worldmap Cache Size:" + this.cacheSize);
+        out.println("Worldmap Cache Budget MB:" + this.cacheBudgetMB);
     }
 
     @Override
@@ -71,8 +75,11 @@ public class WorldMapConfiguration implements SubSettingsManager {
     }
 
     private void bindCacheSize() {
-        int minCacheSize = (int) ((1600.0F / this.minZoom / 256.0F + 4.0F) * (1100.0F / this.minZoom / 256.0F + 3.0F) * 1.35F);
+        // Below 0.5 the world map draws pyramid tiles instead of regions
+        float minRegionZoom = Math.max(this.minZoom, 0.5F);
+        int minCacheSize = (int) ((1600.0F / minRegionZoom / 256.0F + 4.0F) * (1100.0F / minRegionZoom / 256.0F + 3.0F) * 1.35F);
         this.cacheSize = Math.max(this.cacheSize, minCacheSize);
+        this.cacheBudgetMB = Math.max(this.cacheBudgetMB, 32);
     }
 
     private void bindZoom() {
@@ -123,6 +130,19 @@ public class WorldMapConfiguration implements SubSettingsManager {
         this.bindCacheSize();
     }
 
+    public int getCacheBudgetMB() {
+        return cacheBudgetMB;
+    }
+
+    public long getCacheBudgetBytes() {
+        return cacheBudgetMB * 1024L * 1024L;
+    }
+
+    public void setCacheBudgetMB(int cacheBudgetMB) {
+        this.cacheBudgetMB = cacheBudgetMB;
+        this.bindCacheSize();
+    }
+
     public boolean isOutputImages() {
         return outputImages;
     }
@@ -4,6 +4,7 @@ import com.google.common.collect.BiMap;
 import com.google.common.collect.HashBiMap;
 import de.rolandsw.schedulemc.mapview.service.data.WorldMapData;
 import de.rolandsw.schedulemc.mapview.data.persistence.CompressedMapData;
+import de.rolandsw.schedulemc.mapview.data.persistence.TiledRegionFile;
 import de.rolandsw.schedulemc.mapview.MapViewConstants;
 import de.rolandsw.schedulemc.mapview.service.scan.BiomeScanner;
 import de.rolandsw.schedulemc.mapview.service.scan.BlockStateAnalyzer;
@@ -11,6 +12,7 @@ import de.rolandsw.schedulemc.mapview.service.scan.HeightCalculator;
 import de.rolandsw.schedulemc.mapview.util.MessageUtils;
 import de.rolandsw.schedulemc.mapview.util.MutableBlockPos;
 import de.rolandsw.schedulemc.mapview.util.TextUtils;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
@@ -95,6 +97,12 @@ public class ComparisonRegionCache {
         try {
             File cachedRegionFileDir = new File(MapViewConstants.getMinecraft().gameDirectory, "/mapview/cache/" + this.worldNamePathPart + "/" + this.subworldNamePathPart + this.dimensionNamePathPart);
             cachedRegionFileDir.mkdirs();
+            File tiledRegionFile = new File(cachedRegionFileDir, "/" + this.key + TiledRegionFile.EXTENSION);
+            if (tiledRegionFile.exists()) {
+                this.loadTiled(tiledRegionFile);
+                return;
+            }
+
             File cachedRegionFile = new File(cachedRegionFileDir, "/" + this.key + ".zip");
             if (cachedRegionFile.exists()) {
                 try (FileInputStream fis = new FileInputStream(cachedRegionFile); ZipInputStream zis = new ZipInputStream(new BufferedInputStream(fis)); Scanner sc = new Scanner(zis)) {
@@ -159,6 +167,41 @@ public class ComparisonRegionCache {
 
     }
 
+    private void loadTiled(File tiledRegionFile) throws IOException {
+        TiledRegionFile.Reader reader = TiledRegionFile.open(tiledRegionFile.toPath());
+        boolean handedOver = false;
+        try {
+            BiMap<BlockState, Integer> stateToInt = HashBiMap.create();
+            for (Int2ObjectMap.Entry<String> entry : reader.getBlockStatePalette().int2ObjectEntrySet()) {
+                BlockStateAnalyzer.parseEntry(entry.getIntKey(), entry.getValue(), stateToInt);
+            }
+
+            BiMap<Biome, Integer> biomeMap = HashBiMap.create();
+            for (Int2ObjectMap.Entry<String> entry : reader.getBiomePalette().int2ObjectEntrySet()) {
+                BiomeScanner.parseEntry(world, entry.getIntKey(), entry.getValue(), biomeMap);
+            }
+
+            int version = reader.getDataVersion();
+            if (reader.getWidth() * reader.getWidth() * reader.getLayers() == this.data.getExpectedDataLength(version)) {
+                if (version == CompressedMapData.DATA_VERSION) {
+                    // Tiles are decoded on first access, the map data owns the reader from here on
+                    this.data.setTiledData(reader, stateToInt, biomeMap);
+                    handedOver = true;
+                } else {
+                    this.data.setData(reader.readAll(), stateToInt, biomeMap, version);
+                }
+                this.empty = false;
+                this.loaded = true;
+            } else {
+                MapViewConstants.getLogger().warn("failed to load data from " + tiledRegionFile.getPath());
+            }
+        } finally {
+            if (!handedOver) {
+                reader.close();
+            }
+        }
+    }
+
     public String getSubworldName() {
         return this.subworldName;
     }
@@ -7,6 +7,7 @@ import de.rolandsw.schedulemc.mapview.service.data.WorldMapData;
 import de.rolandsw.schedulemc.mapview.data.persistence.AsyncPersistenceManager;
 import de.rolandsw.schedulemc.mapview.data.persistence.CompressedMapData;
 import de.rolandsw.schedulemc.mapview.data.persistence.CompressedImageData;
+import de.rolandsw.schedulemc.mapview.data.persistence.TiledRegionFile;
 import de.rolandsw.schedulemc.mapview.MapViewConstants;
 import de.rolandsw.schedulemc.mapview.service.scan.BiomeScanner;
 import de.rolandsw.schedulemc.mapview.service.scan.BlockStateAnalyzer;
@@ -16,9 +17,10 @@ import de.rolandsw.schedulemc.mapview.util.MutableBlockPos;
 import de.rolandsw.schedulemc.mapview.util.ReflectionUtils;
 import de.rolandsw.schedulemc.mapview.util.TextUtils;
 import java.awt.image.BufferedImage;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import java.awt.image.DataBufferByte;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
@@ -35,7 +37,6 @@ import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
-import java.util.zip.ZipOutputStream;
 import javax.imageio.ImageIO;
 import net.minecraft.client.multiplayer.ClientLevel;
 import net.minecraft.core.registries.Registries;
@@ -471,6 +472,13 @@ public class RegionCache {
         try {
             File cachedRegionFileDir = new File(MapViewConstants.getMinecraft().gameDirectory, "/mapview/cache/" + this.worldNamePathPart + "/" + this.subworldNamePathPart + this.dimensionNamePathPart);
             cachedRegionFileDir.mkdirs();
+            File tiledRegionFile = new File(cachedRegionFileDir, "/" + this.key + TiledRegionFile.EXTENSION);
+            if (tiledRegionFile.exists()) {
+                this.loadTiledData(tiledRegionFile);
+                return;
+            }
+
+            // Legacy zip format, converted to the tiled format on the next save
             File cachedRegionFile = new File(cachedRegionFileDir, "/" + this.key + ".zip");
             if (cachedRegionFile.exists()) {
                 try (ZipFile zFile = new ZipFile(cachedRegionFile)) {
@@ -536,6 +544,44 @@ public class RegionCache {
 
     }
 
+    // OPTIMIZATION: Binary palettes instead of line-by-line Scanner parsing,
+    // uniform tiles are filled without inflating anything and the other tiles
+    // are only inflated once the region image reads them
+    private void loadTiledData(File tiledRegionFile) throws IOException {
+        TiledRegionFile.Reader reader = TiledRegionFile.open(tiledRegionFile.toPath());
+        boolean handedOver = false;
+        try {
+            BiMap<BlockState, Integer> blockstateMap = HashBiMap.create();
+            for (Int2ObjectMap.Entry<String> entry : reader.getBlockStatePalette().int2ObjectEntrySet()) {
+                BlockStateAnalyzer.parseEntry(entry.getIntKey(), entry.getValue(), blockstateMap);
+            }
+
+            BiMap<Biome, Integer> biomeMap = HashBiMap.create();
+            for (Int2ObjectMap.Entry<String> entry : reader.getBiomePalette().int2ObjectEntrySet()) {
+                BiomeScanner.parseEntry(world, entry.getIntKey(), entry.getValue(), biomeMap);
+            }
+
+            int version = reader.getDataVersion();
+            if (reader.getWidth() == width && width * width * reader.getLayers() == this.data.getExpectedDataLength(version)) {
+                if (version == CompressedMapData.DATA_VERSION) {
+                    // Tiles are decoded on first access, the map data owns the reader from here on
+                    this.data.setTiledData(reader, blockstateMap, biomeMap);
+                    handedOver = true;
+                } else {
+                    this.data.setData(reader.readAll(), blockstateMap, biomeMap, version);
+                }
+                this.empty = false;
+                this.dataUpdated = true;
+            } else {
+                MapViewConstants.getLogger().warn("failed to load data from " + tiledRegionFile.getPath());
+            }
+        } finally {
+            if (!handedOver) {
+                reader.close();
+            }
+        }
+    }
+
     private void saveData(boolean newThread) {
         if (this.liveChunksUpdated && !this.worldNamePathPart.isEmpty()) {
             // SAFETY: Check if executor is still running, otherwise save synchronously
@@ -578,57 +624,32 @@ public class RegionCache {
         if (byteArray.length == this.data.getExpectedDataLength(CompressedMapData.DATA_VERSION)) {
             File cachedRegionFileDir = new File(MapViewConstants.getMinecraft().gameDirectory, "/mapview/cache/" + this.worldNamePathPart + "/" + this.subworldNamePathPart + this.dimensionNamePathPart);
             cachedRegionFileDir.mkdirs();
-            File cachedRegionFile = new File(cachedRegionFileDir, "/" + this.key + ".zip");
-            try (FileOutputStream fos = new FileOutputStream(cachedRegionFile);
-                 ZipOutputStream zos = new ZipOutputStream(fos)) {
-                ZipEntry ze = new ZipEntry("data");
-                ze.setSize(byteArray.length);
-                zos.putNextEntry(ze);
-                zos.write(byteArray);
-                zos.closeEntry();
-                if (stateToInt != null) {
-                    StringBuilder stringBuffer = new StringBuilder();
-
-                    for (Entry<BlockState, Integer> entry : stateToInt.entrySet()) {
-                        String nextLine = entry.getValue() + " " + entry.getKey().toString() + "\r\n";
-                        stringBuffer.append(nextLine);
-                    }
-
-                    byte[] keyByteArray = String.valueOf(stringBuffer).getBytes();
-                    ze = new ZipEntry("key");
-                    ze.setSize(keyByteArray.length);
-                    zos.putNextEntry(ze);
-                    zos.write(keyByteArray);
-                    zos.closeEntry();
+            Int2ObjectMap<String> blockStatePalette = new Int2ObjectOpenHashMap<>();
+            if (stateToInt != null) {
+                for (Entry<BlockState, Integer> entry : stateToInt.entrySet()) {
+                    blockStatePalette.put(entry.getValue().intValue(), entry.getKey().toString());
                 }
-                if (biomeToInt != null) {
-                    StringBuilder stringBuffer = new StringBuilder();
-
-                    for (Entry<Biome, Integer> entry : biomeToInt.entrySet()) {
-                        var biomeKey = world.registryAccess().registryOrThrow(Registries.BIOME).getKey(entry.getKey());
-                        if (biomeKey == null) {
-                            MapViewConstants.getLogger().warn("Nullpointer for Biome: " + entry.getValue() + " at " + this.x + "," + this.z + " in " + this.worldNamePathPart + "/" + this.subworldNamePathPart + this.dimensionNamePathPart);
-                            continue;
-                        }
-                        String nextLine = entry.getValue() + " " + biomeKey + "\r\n";
-                        stringBuffer.append(nextLine);
-                    }
+            }
 
-                    byte[] keyByteArray = String.valueOf(stringBuffer).getBytes();
-                    ze = new ZipEntry("biomes");
-                    ze.setSize(keyByteArray.length);
-                    zos.putNextEntry(ze);
-                    zos.write(keyByteArray);
-                    zos.closeEntry();
+            Int2ObjectMap<String> biomePalette = new Int2ObjectOpenHashMap<>();
+            if (biomeToInt != null) {
+                for (Entry<Biome, Integer> entry : biomeToInt.entrySet()) {
+                    var biomeKey = world.registryAccess().registryOrThrow(Registries.BIOME).getKey(entry.getKey());
+                    if (biomeKey == null) {
+                        MapViewConstants.getLogger().warn("Nullpointer for Biome: " + entry.getValue() + " at " + this.x + "," + this.z + " in " + this.worldNamePathPart + "/" + this.subworldNamePathPart + this.dimensionNamePathPart);
+                        continue;
+                    }
+                    biomePalette.put(entry.getValue().intValue(), biomeKey.toString());
                 }
+            }
+
+            File tiledRegionFile = new File(cachedRegionFileDir, "/" + this.key + TiledRegionFile.EXTENSION);
+            TiledRegionFile.write(tiledRegionFile.toPath(), byteArray, width, CompressedMapData.DATA_VERSION, blockStatePalette, biomePalette);
 
-                String nextLine = "version:" + CompressedMapData.DATA_VERSION + "\r\n";
-                byte[] keyByteArray = nextLine.getBytes();
-                ze = new ZipEntry("control");
-                ze.setSize(keyByteArray.length);
-                zos.putNextEntry(ze);
-                zos.write(keyByteArray);
-                zos.closeEntry();
+            // Legacy zip is superseded by the tiled file
+            File legacyRegionFile = new File(cachedRegionFileDir, "/" + this.key + ".zip");
+            if (legacyRegionFile.exists() && !legacyRegionFile.delete()) {
+                MapViewConstants.getLogger().warn("Failed to delete legacy region file " + legacyRegionFile.getPath());
             }
         } else {
             MapViewConstants.getLogger().warn("Data array wrong size: " + byteArray.length + "for " + this.x + "," + this.z + " in " + this.worldNamePathPart + "/" + this.subworldNamePathPart + this.dimensionNamePathPart);
@@ -715,6 +736,15 @@ public class RegionCache {
         return this.data;
     }
 
+    /**
+     * Heap bytes of map and image data as they are held right now (compressed or raw).
+     */
+    public long getResidentBytes() {
+        CompressedMapData mapData = this.data;
+        CompressedImageData imageData = this.image;
+        return (mapData == null ? 0L : mapData.getResidentBytes()) + (imageData == null ? 0L : imageData.getResidentBytes());
+    }
+
     public boolean isLoaded() {
         return this.loaded;
     }
@@ -862,9 +892,16 @@ public class RegionCache {
                     RegionCache.this.dataUpdated = false;
                     RegionCache.this.displayOptionsChanged = false;
                     RegionCache.this.refreshingImage = true;
+                    byte[] reduced;
                     synchronized (RegionCache.this.image) {
                         RegionCache.this.fillImage();
                         RegionCache.this.imageChanged = true;
+                        reduced = RegionTilePyramid.reduceRegionImage(RegionCache.this.image.getData());
+                    }
+                    // OPTIMIZATION: Rebuild the zoom-out tiles above this region while its image is fresh
+                    RegionTilePyramid pyramid = RegionCache.this.persistentMap.getTilePyramid();
+                    if (pyramid != null) {
+                        pyramid.submitRegionImage(RegionCache.this.x, RegionCache.this.z, reduced);
                     }
                 }
 
@@ -0,0 +1,265 @@
+package de.rolandsw.schedulemc.mapview.data.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Region lookup table keyed by packed region coordinates with CLOCK eviction against a byte budget.
+ *
+ * Lookups are a single map read plus a volatile write of the reference bit, no string keys are
+ * built. Only inserts and the eviction sweep take the ring lock. Each sweep re-measures the
+ * resident bytes of all entries, because regions shrink and grow as they are compressed and
+ * decompressed in the background.
+ *
+ * Entries can be retired: the value is replaced by a sentinel that stays in the map (so the region
+ * is not loaded again) but no longer takes part in eviction and counts zero bytes.
+ *
+ * @param <V> cached region type
+ */
+public final class RegionCacheTable<V> {
+    private final ConcurrentHashMap<Long, Entry<V>> entries = new ConcurrentHashMap<>(256, 0.75F, 2);
+    // CLOCK ring of resident entries; guarded by itself
+    private final List<Entry<V>> ring = new ArrayList<>();
+    private final ToLongFunction<V> sizeOf;
+    private int hand;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private volatile long residentBytes;
+
+    /**
+     * @param sizeOf heap bytes currently held by a value
+     */
+    public RegionCacheTable(ToLongFunction<V> sizeOf) {
+        this.sizeOf = sizeOf;
+    }
+
+    public static long key(int x, int z) {
+        return (long) x << 32 | z & 0xFFFFFFFFL;
+    }
+
+    public static int keyX(long key) {
+        return (int) (key >> 32);
+    }
+
+    public static int keyZ(long key) {
+        return (int) key;
+    }
+
+    /**
+     * Looks up a region without touching hit statistics or the reference bit (point queries).
+     */
+    public V peek(int x, int z) {
+        Entry<V> entry = this.entries.get(key(x, z));
+        return entry == null ? null : entry.value;
+    }
+
+    /**
+     * Returns the region at (x, z), creating it on a miss. The created value joins the CLOCK ring.
+     */
+    public V computeIfAbsent(int x, int z, Factory<V> factory) {
+        Long key = key(x, z);
+        Entry<V> entry = this.entries.get(key);
+        if (entry != null) {
+            entry.referenced = true;
+            this.hits.increment();
+            return entry.value;
+        }
+
+        boolean[] created = new boolean[1];
+        entry = this.entries.computeIfAbsent(key, k -> {
+            created[0] = true;
+            return new Entry<>(k, factory.create(x, z));
+        });
+        if (created[0]) {
+            // New regions start referenced, so the next sweep does not drop them right away
+            entry.referenced = true;
+            this.misses.increment();
+            synchronized (this.ring) {
+                this.ring.add(entry);
+            }
+        } else {
+            entry.referenced = true;
+            this.hits.increment();
+        }
+        return entry.value;
+    }
+
+    /**
+     * Replaces every resident value matching the condition by the sentinel and hands it to onRetire.
+     *
+     * @return number of retired entries
+     */
+    public int retireIf(Predicate<V> condition, V sentinel, Consumer<V> onRetire) {
+        List<Entry<V>> retired = new ArrayList<>();
+        synchronized (this.ring) {
+            for (int i = this.ring.size() - 1; i >= 0; i--) {
+                Entry<V> entry = this.ring.get(i);
+                if (condition.test(entry.value)) {
+                    this.removeFromRing(i);
+                    this.entries.put(entry.key, new Entry<>(entry.key, sentinel));
+                    retired.add(entry);
+                }
+            }
+        }
+        for (Entry<V> entry : retired) {
+            onRetire.accept(entry.value);
+        }
+        return retired.size();
+    }
+
+    /**
+     * CLOCK sweep until at most maxEntries resident values use at most budgetBytes.
+     *
+     * A value whose reference bit is set gets a second chance; pinned keys (visible regions) are
+     * never evicted, so the budget is a target rather than a hard limit while the view itself is
+     * larger than the budget.
+     *
+     * @return number of evicted entries
+     */
+    public int evict(long budgetBytes, int maxEntries, LongPredicate pinned, Consumer<V> onEvict) {
+        List<V> evicted = new ArrayList<>();
+        synchronized (this.ring) {
+            long bytes = 0L;
+            for (Entry<V> entry : this.ring) {
+                entry.bytes = this.sizeOf.applyAsLong(entry.value);
+                bytes += entry.bytes;
+            }
+
+            // Two full turns: the first clears reference bits, the second finds victims
+            int budgetSteps = 2 * this.ring.size();
+            while ((bytes > budgetBytes || this.ring.size() > maxEntries) && !this.ring.isEmpty() && budgetSteps-- > 0) {
+                if (this.hand >= this.ring.size()) {
+                    this.hand = 0;
+                }
+                Entry<V> entry = this.ring.get(this.hand);
+                if (pinned.test(entry.key)) {
+                    this.hand++;
+                } else if (entry.referenced) {
+                    entry.referenced = false;
+                    this.hand++;
+                } else {
+                    this.removeFromRing(this.hand);
+                    this.entries.remove(entry.key, entry);
+                    bytes -= entry.bytes;
+                    evicted.add(entry.value);
+                }
+            }
+            this.residentBytes = bytes;
+        }
+
+        this.evictions.add(evicted.size());
+        for (V value : evicted) {
+            onEvict.accept(value);
+        }
+        return evicted.size();
+    }
+
+    private void removeFromRing(int index) {
+        this.ring.remove(index);
+        if (this.hand > index) {
+            this.hand--;
+        }
+    }
+
+    /**
+     * Resident values in ring order (a snapshot).
+     */
+    public List<V> residentValues() {
+        synchronized (this.ring) {
+            List<V> values = new ArrayList<>(this.ring.size());
+            for (Entry<V> entry : this.ring) {
+                values.add(entry.value);
+            }
+            return values;
+        }
+    }
+
+    public void forEachResident(Consumer<V> action) {
+        for (V value : this.residentValues()) {
+            action.accept(value);
+        }
+    }
+
+    /**
+     * Removes all entries, including sentinels, and returns the resident values.
+     */
+    public List<V> clear() {
+        synchronized (this.ring) {
+            List<V> values = this.residentValues();
+            this.ring.clear();
+            this.entries.clear();
+            this.hand = 0;
+            this.residentBytes = 0L;
+            return values;
+        }
+    }
+
+    public int residentCount() {
+        synchronized (this.ring) {
+            return this.ring.size();
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // METRICS
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * Resident bytes as measured by the last eviction sweep.
+     */
+    public long getResidentBytes() {
+        return this.residentBytes;
+    }
+
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    public long getEvictions() {
+        return this.evictions.sum();
+    }
+
+    public double getHitRate() {
+        long hitCount = this.hits.sum();
+        long total = hitCount + this.misses.sum();
+        return total == 0L ? 0.0 : (double) hitCount / total;
+    }
+
+    public String getStatistics() {
+        return String.format("RegionCache: %d resident, %.1f MB, hit rate %.1f%% (%d hits, %d misses), %d evictions",
+                this.residentCount(), this.residentBytes / (1024.0 * 1024.0), this.getHitRate() * 100.0,
+                this.getHits(), this.getMisses(), this.getEvictions());
+    }
+
+    /**
+     * Creates the value for a missing region.
+     */
+    @FunctionalInterface
+    public interface Factory<V> {
+        V create(int x, int z);
+    }
+
+    private static final class Entry<V> {
+        final long key;
+        final V value;
+        volatile boolean referenced;
+        long bytes;
+
+        Entry(long key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
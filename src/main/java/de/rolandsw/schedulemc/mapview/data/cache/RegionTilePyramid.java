@@ -0,0 +1,548 @@
+package de.rolandsw.schedulemc.mapview.data.cache;
+
+import com.mojang.blaze3d.platform.NativeImage;
+import com.mojang.blaze3d.platform.NativeImage.Format;
+import com.mojang.blaze3d.systems.RenderSystem;
+import de.rolandsw.schedulemc.mapview.MapViewConstants;
+import de.rolandsw.schedulemc.mapview.data.persistence.AsyncPersistenceManager;
+import de.rolandsw.schedulemc.mapview.data.persistence.CompressionUtils;
+import de.rolandsw.schedulemc.mapview.data.persistence.TiledRegionFile;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DataFormatException;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.texture.DynamicTexture;
+import net.minecraft.resources.ResourceLocation;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Zoom-out pyramid of pre-reduced region images (2x, 4x, 8x, 16x).
+ *
+ * A tile on level L is 256x256 pixels and covers 2^L x 2^L regions. When a region image is
+ * refreshed, only its quadrant chain is rebuilt: the region is reduced into its level-1 tile,
+ * that tile's changed quadrant is reduced into level 2, and so on. Far-zoom views then draw a
+ * handful of tiles instead of loading every region at full resolution.
+ *
+ * Tiles are persisted as deflated RGBA next to the region cache ({@code pyramid/z<factor>/x,z.tile}).
+ * Each tile records which of its source regions it already contains (coverage bits, persisted after
+ * the pixels). Regions below a drawn tile that have a {@code .mvr} file on disk but are not covered
+ * (cache written before the pyramid existed, tile only partly filled by live updates) are handed to
+ * the region loader once, and their image refresh feeds the pyramid like any other update.
+ *
+ * Threading: updates and disk loads run on the computation pool and are serialized by
+ * {@link #updateLock}; textures are only touched on the render thread.
+ */
+public class RegionTilePyramid {
+    public static final int MAX_LEVEL = 4;
+    public static final int TILE_SIZE = 256;
+    private static final int HALF_SIZE = TILE_SIZE / 2;
+    private static final int MAX_TILES_PER_LEVEL = 80;
+
+    private final File directory;
+    private final File regionDirectory;
+    private final RegionLoader regionLoader;
+    private final Object updateLock = new Object();
+    private final List<Map<Long, Tile>> levels = new ArrayList<>(MAX_LEVEL + 1);
+    private final Set<Long> pendingLoads = ConcurrentHashMap.newKeySet();
+    // Region keys already handed to the loader; guarded by updateLock
+    private final LongSet requestedRegions = new LongOpenHashSet();
+    // Region keys with a .mvr file, listed once on the first backfill; guarded by updateLock
+    private LongSet storedRegions;
+    private volatile boolean released;
+
+    /**
+     * @param directory cache directory for the tiles, or null for memory only
+     */
+    public RegionTilePyramid(@Nullable File directory) {
+        this(directory, null, null);
+    }
+
+    /**
+     * @param directory cache directory for the tiles, or null for memory only
+     * @param regionDirectory directory of the {@code .mvr} region files used for backfilling, or null
+     * @param regionLoader loads regions whose image is missing from the pyramid, or null
+     */
+    public RegionTilePyramid(@Nullable File directory, @Nullable File regionDirectory, @Nullable RegionLoader regionLoader) {
+        this.directory = directory;
+        this.regionDirectory = regionDirectory;
+        this.regionLoader = regionLoader;
+        for (int level = 0; level <= MAX_LEVEL; level++) {
+            this.levels.add(new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Pyramid level for a zoom factor (screen pixels per block); 0 means full-resolution regions.
+     */
+    public static int levelForZoom(float zoom) {
+        if (zoom >= 1.0F) {
+            return 0;
+        }
+        int level = 0;
+        while (level < MAX_LEVEL && zoom * (1 << (level + 1)) <= 1.0F) {
+            level++;
+        }
+        return level;
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // UPDATE
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * Reduces a 256x256 RGBA region image to 128x128. Called while the image is still filled.
+     */
+    public static byte[] reduceRegionImage(byte[] regionImage) {
+        byte[] reduced = new byte[HALF_SIZE * HALF_SIZE * 4];
+        reduceInto(regionImage, TILE_SIZE, reduced, HALF_SIZE, 0, 0);
+        return reduced;
+    }
+
+    /**
+     * Writes the 2x reduction of a square RGBA image into {@code dst} at (dstX, dstZ).
+     */
+    static void reduceInto(byte[] src, int srcSize, byte[] dst, int dstSize, int dstX, int dstZ) {
+        int half = srcSize / 2;
+        for (int z = 0; z < half; z++) {
+            int srcRow0 = (z * 2) * srcSize * 4;
+            int srcRow1 = srcRow0 + srcSize * 4;
+            int dstRow = ((dstZ + z) * dstSize + dstX) * 4;
+            for (int x = 0; x < half; x++) {
+                int s0 = srcRow0 + x * 8;
+                int s1 = srcRow1 + x * 8;
+                int d = dstRow + x * 4;
+                for (int c = 0; c < 4; c++) {
+                    int sum = (src[s0 + c] & 0xFF) + (src[s0 + 4 + c] & 0xFF) + (src[s1 + c] & 0xFF) + (src[s1 + 4 + c] & 0xFF);
+                    dst[d + c] = (byte) ((sum + 2) >> 2);
+                }
+            }
+        }
+    }
+
+    /**
+     * Queues the rebuild of all pyramid levels above one region.
+     *
+     * @param reducedImage 128x128 RGBA from {@link #reduceRegionImage(byte[])}
+     */
+    public void submitRegionImage(int regionX, int regionZ, byte[] reducedImage) {
+        if (this.released) {
+            return;
+        }
+        AsyncPersistenceManager.getExecutorService().execute(() -> {
+            try {
+                this.applyRegionImage(regionX, regionZ, reducedImage);
+            } catch (RuntimeException exception) {
+                MapViewConstants.getLogger().warn("Failed to update tile pyramid for region {},{}", regionX, regionZ, exception);
+            }
+        });
+    }
+
+    void applyRegionImage(int regionX, int regionZ, byte[] reducedImage) {
+        synchronized (this.updateLock) {
+            byte[] quadrant = reducedImage;
+            int childX = regionX;
+            int childZ = regionZ;
+            for (int level = 1; level <= MAX_LEVEL && !this.released; level++) {
+                Tile tile = this.getOrLoadTile(level, childX >> 1, childZ >> 1);
+                synchronized (tile) {
+                    copyQuadrant(quadrant, tile.rgba, (childX & 1) * HALF_SIZE, (childZ & 1) * HALF_SIZE);
+                    tile.setCovered(regionX, regionZ);
+                    tile.empty = false;
+                    tile.textureDirty = true;
+                    if (level < MAX_LEVEL) {
+                        // The next level only needs this tile's new 2x reduction
+                        quadrant = new byte[HALF_SIZE * HALF_SIZE * 4];
+                        reduceInto(tile.rgba, TILE_SIZE, quadrant, HALF_SIZE, 0, 0);
+                    }
+                }
+                this.queueSave(tile);
+                childX >>= 1;
+                childZ >>= 1;
+            }
+        }
+    }
+
+    private static void copyQuadrant(byte[] quadrant, byte[] tile, int offsetX, int offsetZ) {
+        for (int z = 0; z < HALF_SIZE; z++) {
+            System.arraycopy(quadrant, z * HALF_SIZE * 4, tile, ((offsetZ + z) * TILE_SIZE + offsetX) * 4, HALF_SIZE * 4);
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // ACCESS (render thread)
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * Texture of one pyramid tile, or null while it is loading or has no data yet.
+     */
+    @Nullable
+    public ResourceLocation getTextureLocation(int level, int tileX, int tileZ) {
+        long key = tileKey(tileX, tileZ);
+        Map<Long, Tile> tiles = this.levels.get(level);
+        Tile tile = tiles.get(key);
+        if (tile == null || !tile.backfillChecked) {
+            this.queueLoad(level, tileX, tileZ);
+        }
+        if (tile == null) {
+            return null;
+        }
+        tile.lastUsed = System.currentTimeMillis();
+        if (tile.empty) {
+            return null;
+        }
+        if (tile.textureDirty || tile.texture == null) {
+            this.upload(tile);
+        }
+        return tile.location;
+    }
+
+    private void queueLoad(int level, int tileX, int tileZ) {
+        long pendingKey = pendingKey(level, tileX, tileZ);
+        if (this.released || !this.pendingLoads.add(pendingKey)) {
+            return;
+        }
+        AsyncPersistenceManager.getExecutorService().execute(() -> {
+            try {
+                long[] missingRegions = this.regionsToBackfill(level, tileX, tileZ);
+                if (missingRegions.length > 0 && !this.released) {
+                    this.regionLoader.loadRegions(missingRegions);
+                }
+            } catch (RuntimeException exception) {
+                MapViewConstants.getLogger().warn("Failed to load pyramid tile {} at {},{}", level, tileX, tileZ, exception);
+            } finally {
+                this.pendingLoads.remove(pendingKey);
+            }
+        });
+    }
+
+    /**
+     * Loads the tile if needed and returns the region keys ({@link RegionCacheTable#key(int, int)}) below
+     * it that have a region file but are neither covered by the tile nor requested before. Each region
+     * is handed to the loader at most once per pyramid.
+     */
+    long[] regionsToBackfill(int level, int tileX, int tileZ) {
+        synchronized (this.updateLock) {
+            Tile tile = this.getOrLoadTile(level, tileX, tileZ);
+            tile.backfillChecked = true;
+            if (this.regionLoader == null || this.regionDirectory == null) {
+                return new long[0];
+            }
+            if (this.storedRegions == null) {
+                this.storedRegions = listStoredRegions(this.regionDirectory);
+            }
+            LongArrayList regions = new LongArrayList();
+            int minX = tileX << level;
+            int minZ = tileZ << level;
+            for (int regionX = minX; regionX < minX + (1 << level); regionX++) {
+                for (int regionZ = minZ; regionZ < minZ + (1 << level); regionZ++) {
+                    long key = RegionCacheTable.key(regionX, regionZ);
+                    if (this.storedRegions.contains(key) && !tile.isCovered(regionX, regionZ) && this.requestedRegions.add(key)) {
+                        regions.add(key);
+                    }
+                }
+            }
+            return regions.toLongArray();
+        }
+    }
+
+    /**
+     * Parses the {@code x,z.mvr} file names of a region cache directory.
+     */
+    static LongSet listStoredRegions(File regionDirectory) {
+        LongSet regions = new LongOpenHashSet();
+        String[] names = regionDirectory.list();
+        if (names == null) {
+            return regions;
+        }
+        for (String name : names) {
+            if (!name.endsWith(TiledRegionFile.EXTENSION)) {
+                continue;
+            }
+            String coordinates = name.substring(0, name.length() - TiledRegionFile.EXTENSION.length());
+            int comma = coordinates.indexOf(',');
+            if (comma <= 0) {
+                continue;
+            }
+            try {
+                regions.add(RegionCacheTable.key(Integer.parseInt(coordinates.substring(0, comma)), Integer.parseInt(coordinates.substring(comma + 1))));
+            } catch (NumberFormatException exception) {
+                // Not a region file
+            }
+        }
+        return regions;
+    }
+
+    private void upload(Tile tile) {
+        if (tile.texture == null) {
+            tile.location = ResourceLocation.fromNamespaceAndPath("schedulemc", "mapview/pyramid/" + UUID.randomUUID());
+            tile.texture = new DynamicTexture(new NativeImage(Format.RGBA, TILE_SIZE, TILE_SIZE, false));
+            Minecraft.getInstance().getTextureManager().register(tile.location, tile.texture);
+        }
+        NativeImage pixels = tile.texture.getPixels();
+        synchronized (tile) {
+            tile.textureDirty = false;
+            byte[] rgba = tile.rgba;
+            int index = 0;
+            for (int y = 0; y < TILE_SIZE; y++) {
+                for (int x = 0; x < TILE_SIZE; x++) {
+                    int color = (rgba[index + 3] & 255) << 24 | (rgba[index] & 255) << 16 | (rgba[index + 1] & 255) << 8 | rgba[index + 2] & 255;
+                    pixels.setPixelRGBA(x, y, color);
+                    index += 4;
+                }
+            }
+        }
+        tile.texture.upload();
+    }
+
+    private static void releaseTexture(Tile tile) {
+        if (tile.texture != null) {
+            Minecraft.getInstance().getTextureManager().release(tile.location);
+            tile.texture = null;
+        }
+    }
+
+    /**
+     * Drops all textures and stops further updates (world change).
+     */
+    public void release() {
+        this.released = true;
+        if (!RenderSystem.isOnRenderThread()) {
+            RenderSystem.recordRenderCall(this::releaseTextures);
+        } else {
+            this.releaseTextures();
+        }
+    }
+
+    private void releaseTextures() {
+        for (Map<Long, Tile> tiles : this.levels) {
+            for (Tile tile : tiles.values()) {
+                releaseTexture(tile);
+            }
+            tiles.clear();
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // PERSISTENCE
+    // ═══════════════════════════════════════════════════════════
+
+    private Tile getOrLoadTile(int level, int tileX, int tileZ) {
+        Map<Long, Tile> tiles = this.levels.get(level);
+        long key = tileKey(tileX, tileZ);
+        Tile tile = tiles.get(key);
+        if (tile != null) {
+            return tile;
+        }
+
+        tile = new Tile(level, tileX, tileZ);
+        File file = this.tileFile(level, tileX, tileZ);
+        if (file != null && file.exists()) {
+            try {
+                byte[] stored = CompressionUtils.decompress(Files.readAllBytes(file.toPath()));
+                // Pixels followed by the coverage bits; tiles written without coverage backfill once more
+                if (stored.length == tile.rgba.length || stored.length == tile.rgba.length + tile.coverageBytes()) {
+                    System.arraycopy(stored, 0, tile.rgba, 0, tile.rgba.length);
+                    if (stored.length > tile.rgba.length) {
+                        tile.readCoverage(stored, tile.rgba.length);
+                    }
+                    tile.empty = false;
+                    tile.textureDirty = true;
+                } else {
+                    MapViewConstants.getLogger().warn("Ignoring pyramid tile with wrong size: " + file.getPath());
+                }
+            } catch (IOException | DataFormatException exception) {
+                MapViewConstants.getLogger().warn("Failed to load pyramid tile " + file.getPath(), exception);
+            }
+        }
+        tile.lastUsed = System.currentTimeMillis();
+        tiles.put(key, tile);
+        this.evictTiles(tiles, key);
+        return tile;
+    }
+
+    /**
+     * Keeps at most {@value #MAX_TILES_PER_LEVEL} tiles per level in memory (least recently drawn go
+     * first; the tile just requested and tiles with a pending save stay). Evicted tiles are reloaded
+     * from disk when needed.
+     */
+    private void evictTiles(Map<Long, Tile> tiles, long requestedKey) {
+        if (tiles.size() <= MAX_TILES_PER_LEVEL) {
+            return;
+        }
+        List<Map.Entry<Long, Tile>> candidates = new ArrayList<>();
+        for (Map.Entry<Long, Tile> entry : tiles.entrySet()) {
+            if (entry.getKey() != requestedKey && !entry.getValue().saveQueued) {
+                candidates.add(entry);
+            }
+        }
+        candidates.sort(Comparator.comparingLong(entry -> entry.getValue().lastUsed));
+        int toRemove = Math.min(candidates.size(), tiles.size() - MAX_TILES_PER_LEVEL);
+        for (int i = 0; i < toRemove; i++) {
+            Tile tile = candidates.get(i).getValue();
+            tiles.remove(candidates.get(i).getKey());
+            if (tile.texture != null) {
+                RenderSystem.recordRenderCall(() -> releaseTexture(tile));
+            }
+        }
+    }
+
+    private void queueSave(Tile tile) {
+        if (this.directory == null) {
+            return;
+        }
+        synchronized (tile) {
+            tile.saveDirty = true;
+            if (tile.saveQueued) {
+                return;
+            }
+            tile.saveQueued = true;
+        }
+        AsyncPersistenceManager.getSaveExecutorService().execute(() -> this.saveTile(tile));
+    }
+
+    /**
+     * Writes the tile and keeps saveQueued set until the file is in place, so evictTiles never drops a
+     * tile whose newest pixels are not on disk yet. Changes made during the write queue another save.
+     */
+    private void saveTile(Tile tile) {
+        byte[] snapshot;
+        synchronized (tile) {
+            tile.saveDirty = false;
+            snapshot = Arrays.copyOf(tile.rgba, tile.rgba.length + tile.coverageBytes());
+            tile.writeCoverage(snapshot, tile.rgba.length);
+        }
+        File file = this.tileFile(tile.level, tile.x, tile.z);
+        boolean again = false;
+        try {
+            file.getParentFile().mkdirs();
+            Path target = file.toPath();
+            Path temp = target.resolveSibling(file.getName() + ".tmp");
+            Files.write(temp, CompressionUtils.compress(snapshot));
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException exception) {
+            MapViewConstants.getLogger().warn("Failed to save pyramid tile " + file.getPath(), exception);
+        } finally {
+            synchronized (tile) {
+                again = tile.saveDirty && !this.released;
+                if (!again) {
+                    tile.saveQueued = false;
+                }
+            }
+        }
+        if (again) {
+            AsyncPersistenceManager.getSaveExecutorService().execute(() -> this.saveTile(tile));
+        }
+    }
+
+    @Nullable
+    private File tileFile(int level, int tileX, int tileZ) {
+        if (this.directory == null) {
+            return null;
+        }
+        return new File(this.directory, "z" + (1 << level) + "/" + tileX + "," + tileZ + ".tile");
+    }
+
+    private static long tileKey(int tileX, int tileZ) {
+        return ((long) tileX << 32) | (tileZ & 0xFFFFFFFFL);
+    }
+
+    private static long pendingKey(int level, int tileX, int tileZ) {
+        return tileKey(tileX, tileZ) * (MAX_LEVEL + 1) + level;
+    }
+
+    /**
+     * Copy of a tile's pixels, or null if the tile is not in memory or has no data.
+     */
+    @Nullable
+    byte[] peekTile(int level, int tileX, int tileZ) {
+        Tile tile = this.levels.get(level).get(tileKey(tileX, tileZ));
+        if (tile == null || tile.empty) {
+            return null;
+        }
+        synchronized (tile) {
+            return tile.rgba.clone();
+        }
+    }
+
+    /**
+     * Loads regions that have data on disk but no image in the pyramid yet.
+     */
+    @FunctionalInterface
+    public interface RegionLoader {
+        /**
+         * Called on the computation pool.
+         *
+         * @param regionKeys packed region coordinates ({@link RegionCacheTable#key(int, int)})
+         */
+        void loadRegions(long[] regionKeys);
+    }
+
+    private static final class Tile {
+        final int level;
+        final int x;
+        final int z;
+        final byte[] rgba = new byte[TILE_SIZE * TILE_SIZE * 4];
+        volatile boolean empty = true;
+        volatile boolean textureDirty;
+        // saveQueued: a save task is pending or running; saveDirty: pixels changed since its snapshot
+        volatile boolean saveQueued;
+        boolean saveDirty;
+        volatile long lastUsed;
+        // Backfill of uncovered regions was checked for this in-memory instance
+        volatile boolean backfillChecked;
+        // One bit per source region (row-major, 2^level x 2^level); guarded by the tile monitor
+        final byte[] coverage;
+        // Created with the texture on the render thread
+        ResourceLocation location;
+        DynamicTexture texture;
+
+        Tile(int level, int x, int z) {
+            this.level = level;
+            this.x = x;
+            this.z = z;
+            this.coverage = new byte[Math.max(1, (1 << (2 * level)) / 8)];
+        }
+
+        int coverageBytes() {
+            return this.coverage.length;
+        }
+
+        private int coverageBit(int regionX, int regionZ) {
+            return (regionZ - (this.z << this.level)) << this.level | (regionX - (this.x << this.level));
+        }
+
+        void setCovered(int regionX, int regionZ) {
+            int bit = this.coverageBit(regionX, regionZ);
+            this.coverage[bit >> 3] |= (byte) (1 << (bit & 7));
+        }
+
+        boolean isCovered(int regionX, int regionZ) {
+            synchronized (this) {
+                int bit = this.coverageBit(regionX, regionZ);
+                return (this.coverage[bit >> 3] & 1 << (bit & 7)) != 0;
+            }
+        }
+
+        void readCoverage(byte[] source, int offset) {
+            System.arraycopy(source, offset, this.coverage, 0, this.coverage.length);
+        }
+
+        void writeCoverage(byte[] target, int offset) {
+            System.arraycopy(this.coverage, 0, target, offset, this.coverage.length);
+        }
+    }
+}
@@ -63,6 +63,14 @@ public class CompressedImageData {
         return this.texture != null ? this.location : null;
     }
 
+    /**
+     * Heap bytes of the pixel data in its current form; 0 while compressed without output images.
+     */
+    public int getResidentBytes() {
+        byte[] current = this.bytes;
+        return current == null ? 0 : current.length;
+    }
+
     public int getWidth() {
         return this.width;
     }
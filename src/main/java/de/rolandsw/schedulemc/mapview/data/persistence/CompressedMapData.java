@@ -5,9 +5,11 @@ import com.google.common.collect.HashBiMap;
 import de.rolandsw.schedulemc.mapview.MapViewConstants;
 import de.rolandsw.schedulemc.mapview.core.model.AbstractMapData;
 import de.rolandsw.schedulemc.mapview.data.persistence.CompressionUtils;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.zip.DataFormatException;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.multiplayer.ClientLevel;
@@ -54,6 +56,14 @@ public class CompressedMapData extends AbstractMapData {
     private final ConcurrentHashMap<Integer, Biome> intToBiome = new ConcurrentHashMap<>();
     private final AtomicInteger biomeCount = new AtomicInteger(1);
 
+    // OPTIMIZATION: Tiles of a tiled region file are decoded on first access (see setTiledData),
+    // one bit per layer tile is set while it is still undecoded. Both are guarded by decompressLock,
+    // the bit array is null once every tile is decoded.
+    private TiledRegionFile.Reader tiledSource;
+    private volatile AtomicLongArray pendingTiles;
+    private int pendingTileCount;
+    private int tilesPerRow;
+
     private final ClientLevel world;
     // OPTIMIZATION: Lock object for decompress (only when actually decompressing)
     private final Object decompressLock = new Object();
@@ -184,6 +194,9 @@ public class CompressedMapData extends AbstractMapData {
         if (this.isCompressed) {
             this.decompress();
         }
+        if (this.pendingTiles != null) {
+            this.decodeTile(x, z, layer);
+        }
 
         int index = x + z * this.width + this.width * this.height * layer;
         return this.data[index];
@@ -293,6 +306,9 @@ public class CompressedMapData extends AbstractMapData {
         if (this.isCompressed) {
             this.decompress();
         }
+        if (this.pendingTiles != null) {
+            this.decodeTile(x, z, layer);
+        }
 
         int index = x + z * this.width + this.width * this.height * layer;
         this.data[index] = value;
@@ -310,6 +326,7 @@ public class CompressedMapData extends AbstractMapData {
         if (this.isCompressed) {
             this.decompress();
         }
+        this.decodeAllTiles();
         if (x > 0) {
             System.arraycopy(this.data, x * LAYERS, this.data, 0, this.data.length - x * LAYERS);
         } else if (x < 0) {
@@ -323,6 +340,7 @@ public class CompressedMapData extends AbstractMapData {
         if (this.isCompressed) {
             this.decompress();
         }
+        this.decodeAllTiles();
         if (z > 0) {
             System.arraycopy(this.data, z * this.width * LAYERS, this.data, 0, this.data.length - z * this.width * LAYERS);
         } else if (z < 0) {
@@ -332,12 +350,46 @@ public class CompressedMapData extends AbstractMapData {
 
     // OPTIMIZATION: Lock-free with volatile data, BiMap conversion to ConcurrentHashMap
     public void setData(byte[] is, BiMap<BlockState, Integer> newStateToInt, BiMap<Biome, Integer> newBiomeToInt, int version) {
-        this.data = is;  // NOPMD
-        this.isCompressed = false;
+        synchronized (decompressLock) {
+            this.releaseTiledSource();
+            this.data = is;  // NOPMD
+            this.isCompressed = false;
+        }
         if (version < DATA_VERSION) {
             this.convertData(version);
         }
+        this.setPalettes(newStateToInt, newBiomeToInt);
+    }
+
+    /**
+     * Takes over a tiled region file of the current data version without decoding it. Each 16x16 tile of a
+     * layer is inflated when a pixel of it is first read or written, so drawing the region only decodes the
+     * layers it displays; {@link #getData()} and shifting decode the rest. The reader is owned by this object
+     * from now on and is closed once every tile is decoded or the data is replaced.
+     */
+    public void setTiledData(TiledRegionFile.Reader reader, BiMap<BlockState, Integer> newStateToInt, BiMap<Biome, Integer> newBiomeToInt) {
+        int tiles = reader.getLayers() * reader.getTilesPerRow() * reader.getTilesPerRow();
+        AtomicLongArray pending = new AtomicLongArray((tiles + 63) >> 6);
+        for (int word = 0; word < tiles >> 6; word++) {
+            pending.set(word, -1L);
+        }
+        if ((tiles & 63) != 0) {
+            pending.set(tiles >> 6, (1L << (tiles & 63)) - 1);
+        }
+
+        synchronized (decompressLock) {
+            this.releaseTiledSource();
+            this.tiledSource = reader;
+            this.tilesPerRow = reader.getTilesPerRow();
+            this.pendingTileCount = tiles;
+            this.data = new byte[this.width * this.height * LAYERS];  // NOPMD
+            this.isCompressed = false;
+            this.pendingTiles = pending;
+        }
+        this.setPalettes(newStateToInt, newBiomeToInt);
+    }
 
+    private void setPalettes(BiMap<BlockState, Integer> newStateToInt, BiMap<Biome, Integer> newBiomeToInt) {
         // Convert BiMap to ConcurrentHashMaps
         this.blockStateToInt.clear();
         this.intToBlockState.clear();
@@ -360,6 +412,70 @@ public class CompressedMapData extends AbstractMapData {
         }
     }
 
+    // OPTIMIZATION: Lock-free check of the tile bit, decoding itself is synchronized
+    private void decodeTile(int x, int z, int layer) {
+        AtomicLongArray pending = this.pendingTiles;
+        if (pending == null) {
+            return;
+        }
+        int bit = (layer * this.tilesPerRow + (z >> 4)) * this.tilesPerRow + (x >> 4);
+        if ((pending.get(bit >> 6) & 1L << bit) == 0) {
+            return;
+        }
+
+        synchronized (decompressLock) {
+            if (this.pendingTiles == pending && (pending.get(bit >> 6) & 1L << bit) != 0) {
+                this.decodeTileLocked(pending, bit, layer, x >> 4, z >> 4);
+            }
+        }
+    }
+
+    private void decodeAllTiles() {
+        if (this.pendingTiles == null) {
+            return;
+        }
+        synchronized (decompressLock) {
+            AtomicLongArray pending = this.pendingTiles;
+            int tilesPerLayer = this.tilesPerRow * this.tilesPerRow;
+            for (int bit = 0; this.pendingTiles == pending && bit < pending.length() << 6; bit++) {
+                if ((pending.get(bit >> 6) & 1L << bit) != 0) {
+                    int tile = bit % tilesPerLayer;
+                    this.decodeTileLocked(pending, bit, bit / tilesPerLayer, tile % this.tilesPerRow, tile / this.tilesPerRow);
+                }
+            }
+        }
+    }
+
+    // Caller holds decompressLock
+    private void decodeTileLocked(AtomicLongArray pending, int bit, int layer, int tileX, int tileZ) {
+        if (this.isCompressed) {
+            this.decompress();
+            if (this.isCompressed) {
+                return;
+            }
+        }
+        try {
+            this.tiledSource.readTile(layer, tileX, tileZ, this.data, this.width * this.height * layer);
+        } catch (IOException exception) {
+            // Korrupte Kachel - bleibt leer
+            MapViewConstants.getLogger().warn("Failed to decode map tile " + tileX + "," + tileZ + " of layer " + layer, exception);
+        }
+        // Volatile write after the tile bytes: a reader that sees the cleared bit also sees the pixels
+        pending.set(bit >> 6, pending.get(bit >> 6) & ~(1L << bit));
+        if (--this.pendingTileCount == 0) {
+            this.releaseTiledSource();
+        }
+    }
+
+    // Caller holds decompressLock
+    private void releaseTiledSource() {
+        if (this.tiledSource != null) {
+            this.tiledSource.close();
+            this.tiledSource = null;
+        }
+        this.pendingTiles = null;
+    }
+
     // OPTIMIZATION: Lock-free - decompress handles synchronization, data is volatile
     private void convertData(int version) {
         if (this.isCompressed) {
@@ -454,6 +570,7 @@ public class CompressedMapData extends AbstractMapData {
         if (this.isCompressed) {
             this.decompress();
         }
+        this.decodeAllTiles();
 
         return this.data;  // NOPMD
     }
@@ -463,6 +580,10 @@ public class CompressedMapData extends AbstractMapData {
         if (!this.isCompressed) {
             synchronized (decompressLock) {
                 if (!this.isCompressed) {
+                    if (this.tiledSource != null) {
+                        // Undecoded tiles stay in the reader, only its inflater is released while idle
+                        this.tiledSource.close();
+                    }
                     byte[] compressedData = CompressionUtils.compress(this.data);
                     this.data = compressedData;
                     this.isCompressed = true;
@@ -496,6 +617,14 @@ public class CompressedMapData extends AbstractMapData {
         return this.isCompressed;
     }
 
+    /**
+     * Heap bytes of the layer data in its current (compressed or raw) form.
+     */
+    public int getResidentBytes() {
+        byte[] current = this.data;
+        return current == null ? 0 : current.length;
+    }
+
     // OPTIMIZATION: Lock-free with ConcurrentHashMap.computeIfAbsent()
     private int getIDFromState(BlockState blockState) {
         if (blockState == null) {
@@ -0,0 +1,370 @@
+package de.rolandsw.schedulemc.mapview.data.persistence;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Binary region cache format with random access to single layers and 16x16 tiles.
+ *
+ * The legacy cache stored a region as a zip with one deflated blob of all layers plus text palettes,
+ * so reading one pixel meant inflating the whole region and parsing every palette line.
+ *
+ * Layout (big endian):
+ * <pre>
+ * int    magic 'MVRT'
+ * short  format version
+ * short  map data version ({@link CompressedMapData#DATA_VERSION})
+ * short  region width (256)
+ * byte   layer count
+ * byte   tile size (16)
+ * int    block state palette size, then per entry: int id, u16 length + UTF-8 state string
+ * int    biome palette size, then per entry: int id, u16 length + UTF-8 biome key
+ * int[]  tile index, layer-major, tiles row by row (z, then x):
+ *          &gt;= 0: offset of the raw-deflated tile in the data section
+ *          &lt;  0: uniform tile, fill byte in the low 8 bits (no data stored)
+ * byte[] data section
+ * </pre>
+ *
+ * Within a layer the data layout matches {@link CompressedMapData}: index {@code x + z * width}.
+ */
+public final class TiledRegionFile {
+    public static final String EXTENSION = ".mvr";
+    public static final int MAGIC = 0x4D565254; // "MVRT"
+    public static final int FORMAT_VERSION = 1;
+    public static final int TILE_SIZE = 16;
+
+    private static final int UNIFORM_FLAG = 0x80000000;
+    private static final int MAX_PALETTE_SIZE = 65536;
+
+    private TiledRegionFile() {
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // WRITE
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * Writes region data atomically (temp file + move).
+     *
+     * @param data layer-major region data, {@code width * width * layers} bytes
+     */
+    public static void write(Path file, byte[] data, int width, int dataVersion,
+                             Int2ObjectMap<String> blockStates, Int2ObjectMap<String> biomes) throws IOException {
+        int layerSize = width * width;
+        if (width % TILE_SIZE != 0 || data.length % layerSize != 0) {
+            throw new IllegalArgumentException("Region data does not match width " + width + ": " + data.length);
+        }
+        int layers = data.length / layerSize;
+        int tilesPerRow = width / TILE_SIZE;
+        int tilesPerLayer = tilesPerRow * tilesPerRow;
+
+        int[] index = new int[layers * tilesPerLayer];
+        ByteArrayOutputStream tileData = new ByteArrayOutputStream(data.length / 8);
+        byte[] tile = new byte[TILE_SIZE * TILE_SIZE];
+        byte[] buffer = new byte[tile.length + 64];
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            for (int layer = 0; layer < layers; layer++) {
+                for (int tileZ = 0; tileZ < tilesPerRow; tileZ++) {
+                    for (int tileX = 0; tileX < tilesPerRow; tileX++) {
+                        int entry = layer * tilesPerLayer + tileZ * tilesPerRow + tileX;
+                        copyTile(data, layer * layerSize, width, tileX, tileZ, tile);
+                        if (isUniform(tile)) {
+                            index[entry] = UNIFORM_FLAG | (tile[0] & 0xFF);
+                            continue;
+                        }
+                        index[entry] = tileData.size();
+                        deflater.reset();
+                        deflater.setInput(tile);
+                        deflater.finish();
+                        while (!deflater.finished()) {
+                            int count = deflater.deflate(buffer);
+                            tileData.write(buffer, 0, count);
+                        }
+                    }
+                }
+            }
+        } finally {
+            deflater.end();
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(tileData.size() + index.length * 4 + 4096);
+        try (DataOutputStream dos = new DataOutputStream(out)) {
+            dos.writeInt(MAGIC);
+            dos.writeShort(FORMAT_VERSION);
+            dos.writeShort(dataVersion);
+            dos.writeShort(width);
+            dos.writeByte(layers);
+            dos.writeByte(TILE_SIZE);
+            writePalette(dos, blockStates);
+            writePalette(dos, biomes);
+            for (int entry : index) {
+                dos.writeInt(entry);
+            }
+            tileData.writeTo(dos);
+        }
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temp, out.toByteArray());
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void writePalette(DataOutputStream dos, Int2ObjectMap<String> palette) throws IOException {
+        dos.writeInt(palette.size());
+        for (Int2ObjectMap.Entry<String> entry : palette.int2ObjectEntrySet()) {
+            byte[] utf = entry.getValue().getBytes(StandardCharsets.UTF_8);
+            if (utf.length > 0xFFFF) {
+                throw new IOException("Palette entry too long: " + entry.getIntKey());
+            }
+            dos.writeInt(entry.getIntKey());
+            dos.writeShort(utf.length);
+            dos.write(utf);
+        }
+    }
+
+    private static void copyTile(byte[] data, int layerOffset, int width, int tileX, int tileZ, byte[] tile) {
+        int start = layerOffset + tileZ * TILE_SIZE * width + tileX * TILE_SIZE;
+        for (int row = 0; row < TILE_SIZE; row++) {
+            System.arraycopy(data, start + row * width, tile, row * TILE_SIZE, TILE_SIZE);
+        }
+    }
+
+    private static boolean isUniform(byte[] tile) {
+        byte first = tile[0];
+        for (int i = 1; i < tile.length; i++) {
+            if (tile[i] != first) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // READ
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * Reads header, palettes and tile index; tiles are only inflated on request.
+     *
+     * The file is read with a single FileChannel read and not kept open, so the cache can rewrite
+     * it at any time.
+     */
+    public static Reader open(Path file) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Region file too large: " + file);
+            }
+            buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new IOException("Unexpected end of region file: " + file);
+                }
+            }
+            buffer.flip();
+        }
+        return new Reader(buffer);
+    }
+
+    /**
+     * Random-access view of one region file. Not thread-safe (shares one Inflater).
+     */
+    public static final class Reader implements AutoCloseable {
+        private final int dataVersion;
+        private final int width;
+        private final int layers;
+        private final int tilesPerRow;
+        private final Int2ObjectMap<String> blockStates;
+        private final Int2ObjectMap<String> biomes;
+        private final int[] index;
+        private final int[] lengths;
+        private final ByteBuffer tileData;
+        private Inflater inflater;
+        private final byte[] tile = new byte[TILE_SIZE * TILE_SIZE];
+        private byte[] compressed = new byte[TILE_SIZE * TILE_SIZE + 64];
+
+        private Reader(ByteBuffer buffer) throws IOException {
+            try {
+                if (buffer.getInt() != MAGIC) {
+                    throw new IOException("Not a tiled region file");
+                }
+                int formatVersion = buffer.getShort();
+                if (formatVersion != FORMAT_VERSION) {
+                    throw new IOException("Unsupported tiled region format " + formatVersion);
+                }
+                this.dataVersion = buffer.getShort();
+                this.width = buffer.getShort() & 0xFFFF;
+                this.layers = buffer.get() & 0xFF;
+                int tileSize = buffer.get() & 0xFF;
+                if (tileSize != TILE_SIZE || this.width == 0 || this.width % TILE_SIZE != 0) {
+                    throw new IOException("Invalid tile layout " + this.width + "/" + tileSize);
+                }
+                this.tilesPerRow = this.width / TILE_SIZE;
+                this.blockStates = readPalette(buffer);
+                this.biomes = readPalette(buffer);
+
+                this.index = new int[this.layers * this.tilesPerRow * this.tilesPerRow];
+                for (int i = 0; i < this.index.length; i++) {
+                    this.index[i] = buffer.getInt();
+                }
+                this.tileData = buffer.slice();
+            } catch (BufferUnderflowException exception) {
+                throw new IOException("Truncated tiled region file", exception);
+            }
+
+            // Tiles are stored in index order, so a tile ends where the next stored tile starts
+            this.lengths = new int[this.index.length];
+            int end = this.tileData.remaining();
+            for (int i = this.index.length - 1; i >= 0; i--) {
+                int entry = this.index[i];
+                if (entry < 0) {
+                    continue;
+                }
+                if (entry > end) {
+                    throw new IOException("Corrupt tile index at " + i);
+                }
+                this.lengths[i] = end - entry;
+                end = entry;
+            }
+        }
+
+        private static Int2ObjectMap<String> readPalette(ByteBuffer buffer) throws IOException {
+            int size = buffer.getInt();
+            if (size < 0 || size > MAX_PALETTE_SIZE) {
+                throw new IOException("Invalid palette size " + size);
+            }
+            Int2ObjectMap<String> palette = new Int2ObjectOpenHashMap<>(size);
+            for (int i = 0; i < size; i++) {
+                int id = buffer.getInt();
+                int length = buffer.getShort() & 0xFFFF;
+                byte[] utf = new byte[length];
+                buffer.get(utf);
+                palette.put(id, new String(utf, StandardCharsets.UTF_8));
+            }
+            return palette;
+        }
+
+        public int getDataVersion() {
+            return this.dataVersion;
+        }
+
+        public int getWidth() {
+            return this.width;
+        }
+
+        public int getLayers() {
+            return this.layers;
+        }
+
+        public int getTilesPerRow() {
+            return this.tilesPerRow;
+        }
+
+        public Int2ObjectMap<String> getBlockStatePalette() {
+            return this.blockStates;
+        }
+
+        public Int2ObjectMap<String> getBiomePalette() {
+            return this.biomes;
+        }
+
+        /**
+         * Decodes one 16x16 tile of one layer into {@code dst} (layout {@code x + z * width},
+         * starting at {@code dstOffset}).
+         */
+        public void readTile(int layer, int tileX, int tileZ, byte[] dst, int dstOffset) throws IOException {
+            int entry = this.index[(layer * this.tilesPerRow + tileZ) * this.tilesPerRow + tileX];
+            int start = dstOffset + tileZ * TILE_SIZE * this.width + tileX * TILE_SIZE;
+            if (entry < 0) {
+                byte fill = (byte) entry;
+                for (int row = 0; row < TILE_SIZE; row++) {
+                    int rowStart = start + row * this.width;
+                    Arrays.fill(dst, rowStart, rowStart + TILE_SIZE, fill);
+                }
+                return;
+            }
+
+            inflateTile(entry, this.lengths[(layer * this.tilesPerRow + tileZ) * this.tilesPerRow + tileX]);
+            for (int row = 0; row < TILE_SIZE; row++) {
+                System.arraycopy(this.tile, row * TILE_SIZE, dst, start + row * this.width, TILE_SIZE);
+            }
+        }
+
+        /**
+         * Decodes a whole layer into {@code dst} starting at {@code dstOffset}.
+         */
+        public void readLayer(int layer, byte[] dst, int dstOffset) throws IOException {
+            for (int tileZ = 0; tileZ < this.tilesPerRow; tileZ++) {
+                for (int tileX = 0; tileX < this.tilesPerRow; tileX++) {
+                    this.readTile(layer, tileX, tileZ, dst, dstOffset);
+                }
+            }
+        }
+
+        /**
+         * Decodes all layers in {@link CompressedMapData} layout.
+         */
+        public byte[] readAll() throws IOException {
+            int layerSize = this.width * this.width;
+            byte[] data = new byte[layerSize * this.layers];
+            for (int layer = 0; layer < this.layers; layer++) {
+                this.readLayer(layer, data, layer * layerSize);
+            }
+            return data;
+        }
+
+        /**
+         * Releases the native inflater. The reader stays usable, the next inflated tile creates a new one.
+         */
+        @Override
+        public void close() {
+            if (this.inflater != null) {
+                this.inflater.end();
+                this.inflater = null;
+            }
+        }
+
+        private void inflateTile(int offset, int length) throws IOException {
+            if (this.compressed.length < length) {
+                this.compressed = new byte[length];
+            }
+            this.tileData.get(offset, this.compressed, 0, length);
+            if (this.inflater == null) {
+                this.inflater = new Inflater(true);
+            }
+            this.inflater.reset();
+            this.inflater.setInput(this.compressed, 0, length);
+            try {
+                int read = 0;
+                while (read < this.tile.length && !this.inflater.finished()) {
+                    int count = this.inflater.inflate(this.tile, read, this.tile.length - read);
+                    if (count == 0 && (this.inflater.needsInput() || this.inflater.needsDictionary())) {
+                        break;
+                    }
+                    read += count;
+                }
+                if (read != this.tile.length) {
+                    throw new IOException("Corrupt tile at offset " + offset);
+                }
+            } catch (DataFormatException exception) {
+                throw new IOException("Corrupt tile at offset " + offset, exception);
+            }
+        }
+    }
+}
@@ -10,7 +10,8 @@ import java.util.*;
  * RoadGraph - Der navigierbare Straßen-Graph
  *
  * Enthält alle Nodes (Kreuzungen, Endpunkte) und Segmente (Straßenabschnitte).
- * Bietet Dijkstra-basiertes Routing für kürzeste Pfade.
+ * Bietet Dijkstra-basiertes Routing für kürzeste Pfade und k-d-Tree-Abfragen für den
+ * nächsten Node bzw. Straßenpunkt.
  */
 public class RoadGraph {
 
@@ -20,6 +21,10 @@ public class RoadGraph {
     private final List<RoadSegment> segments;
     private final Map<UUID, RoadNode> nodesById;
 
+    // OPTIMIERT: Räumliche Indizes für Nächster-Node/Nächster-Straßenpunkt, einmal pro Graph gebaut
+    private final RoadKdTree<RoadNode> nodeIndex;
+    private final RoadKdTree<BlockPos> roadPointIndex;
+
     // Cache für häufige Routen
     private final Map<String, List<BlockPos>> pathCache = new LinkedHashMap<String, List<BlockPos>>(100, 0.75f, true) {
         @Override
@@ -37,6 +42,13 @@ public class RoadGraph {
         for (RoadNode node : nodesByPosition.values()) {
             nodesById.put(node.getId(), node);
         }
+
+        this.nodeIndex = RoadKdTree.build(this.nodesByPosition.values(), RoadNode::getPosition);
+        List<BlockPos> roadPoints = new ArrayList<>();
+        for (RoadSegment segment : this.segments) {
+            roadPoints.addAll(segment.getPathPoints());
+        }
+        this.roadPointIndex = RoadKdTree.build(roadPoints, point -> point);
     }
 
     // ═══════════════════════════════════════════════════════════
@@ -82,22 +94,7 @@ public class RoadGraph {
      * @return Der nächste Node oder null wenn Graph leer
      */
     public RoadNode findNearestNode(BlockPos pos) {
-        if (nodesByPosition.isEmpty()) {
-            return null;
-        }
-
-        RoadNode nearest = null;
-        double minDist = Double.MAX_VALUE;
-
-        for (RoadNode node : nodesByPosition.values()) {
-            double dist = node.distanceTo(pos);
-            if (dist < minDist) {
-                minDist = dist;
-                nearest = node;
-            }
-        }
-
-        return nearest;
+        return nodeIndex.findNearest(pos);
     }
 
     /**
@@ -108,33 +105,17 @@ public class RoadGraph {
      * @return Der nächste Node oder null wenn keiner im Radius
      */
     public RoadNode findNearestNode(BlockPos pos, double maxRadius) {
-        RoadNode nearest = findNearestNode(pos);
-        if (nearest != null && nearest.distanceTo(pos) <= maxRadius) {
-            return nearest;
-        }
-        return null;
+        return nodeIndex.findNearest(pos.getX(), pos.getZ(), maxRadius);
     }
 
     /**
      * Findet den nächsten Punkt auf irgendeinem Segment
      *
      * @param pos Die Referenzposition
-     * @return Der nächste Punkt auf der Straße
+     * @return Der nächste Punkt auf der Straße oder null wenn der Graph keine Segmente hat
      */
     public BlockPos findNearestRoadPoint(BlockPos pos) {
-        BlockPos nearest = null;
-        double minDist = Double.MAX_VALUE;
-
-        for (RoadSegment segment : segments) {
-            BlockPos segmentNearest = segment.findNearestPoint(pos);
-            double dist = distance(pos, segmentNearest);
-            if (dist < minDist) {
-                minDist = dist;
-                nearest = segmentNearest;
-            }
-        }
-
-        return nearest;
+        return roadPointIndex.findNearest(pos);
     }
 
     // ═══════════════════════════════════════════════════════════
@@ -353,12 +334,6 @@ public class RoadGraph {
     // HELPER
     // ═══════════════════════════════════════════════════════════
 
-    private static double distance(BlockPos a, BlockPos b) {
-        double dx = a.getX() - b.getX();
-        double dz = a.getZ() - b.getZ();
-        return Math.sqrt(dx * dx + dz * dz);
-    }
-
     /**
      * Leert den Pfad-Cache
      */
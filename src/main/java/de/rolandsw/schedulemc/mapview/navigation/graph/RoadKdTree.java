@@ -0,0 +1,175 @@
+package de.rolandsw.schedulemc.mapview.navigation.graph;
+
+import net.minecraft.core.BlockPos;
+
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * 2D k-d Tree (x/z) über Straßen-Nodes oder Straßenpunkte
+ *
+ * Problem (Alt):
+ * - findNearestNode und findNearestRoadPoint liefen bei jedem Reroute über alle Nodes bzw.
+ *   über jeden Wegpunkt jedes Segments (O(n))
+ *
+ * Lösung (Neu):
+ * - Einmal pro Graph gebaut: Median-Split abwechselnd nach x und z (Quickselect, O(n log n))
+ * - Implizites Layout: der Median eines Bereichs liegt in dessen Mitte, keine Knoten-Objekte
+ * - Nächster-Nachbar-Suche in O(log n) im Mittel, Teilbäume jenseits der bisher besten
+ *   Distanz (oder des Suchradius) werden übersprungen
+ *
+ * Thread-Safety: unveränderlich, Abfragen von beliebigen Threads.
+ *
+ * @param <T> Eintragstyp (RoadNode oder BlockPos)
+ */
+public final class RoadKdTree<T> {
+
+    private final Object[] entries;
+    private final int[] xs;
+    private final int[] zs;
+
+    private RoadKdTree(Object[] entries, int[] xs, int[] zs) {
+        this.entries = entries;
+        this.xs = xs;
+        this.zs = zs;
+    }
+
+    public int size() {
+        return entries.length;
+    }
+
+    public boolean isEmpty() {
+        return entries.length == 0;
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // ABFRAGEN
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * Nächster Eintrag zur Position (nur x/z), null wenn der Baum leer ist
+     */
+    public T findNearest(BlockPos pos) {
+        return findNearest(pos.getX(), pos.getZ(), Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Nächster Eintrag mit Distanz {@code <= maxRadius}, sonst null
+     */
+    @SuppressWarnings("unchecked")
+    public T findNearest(int x, int z, double maxRadius) {
+        if (entries.length == 0 || maxRadius < 0) {
+            return null;
+        }
+        // best[0] = Distanz², best[1] = Index (-1 = noch kein Treffer)
+        double[] best = { maxRadius * maxRadius, -1 };
+        search(0, entries.length, 0, x, z, best);
+        return best[1] < 0 ? null : (T) entries[(int) best[1]];
+    }
+
+    private void search(int lo, int hi, int axis, int x, int z, double[] best) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            double dx = xs[mid] - x;
+            double dz = zs[mid] - z;
+            double distSq = dx * dx + dz * dz;
+            if (distSq < best[0] || (best[1] < 0 && distSq <= best[0])) {
+                best[0] = distSq;
+                best[1] = mid;
+            }
+
+            double delta = axis == 0 ? x - xs[mid] : z - zs[mid];
+            int nearLo = delta < 0 ? lo : mid + 1;
+            int nearHi = delta < 0 ? mid : hi;
+            int farLo = delta < 0 ? mid + 1 : lo;
+            int farHi = delta < 0 ? hi : mid;
+
+            // Nahe Seite zuerst, ferne Seite nur wenn die Split-Ebene näher liegt als der beste Treffer
+            search(nearLo, nearHi, axis ^ 1, x, z, best);
+            if (delta * delta > best[0]) {
+                return;
+            }
+            lo = farLo;
+            hi = farHi;
+            axis ^= 1;
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // AUFBAU
+    // ═══════════════════════════════════════════════════════════
+
+    public static <T> RoadKdTree<T> build(Collection<T> items, Function<T, BlockPos> position) {
+        int count = items.size();
+        Object[] entries = new Object[count];
+        int[] xs = new int[count];
+        int[] zs = new int[count];
+        int i = 0;
+        for (T item : items) {
+            BlockPos pos = position.apply(item);
+            entries[i] = item;
+            xs[i] = pos.getX();
+            zs[i] = pos.getZ();
+            i++;
+        }
+        arrange(entries, xs, zs, 0, count, 0);
+        return new RoadKdTree<>(entries, xs, zs);
+    }
+
+    /**
+     * Ordnet [lo, hi) so, dass der Median der Achse in der Mitte liegt, links kleiner/gleich,
+     * rechts größer/gleich; rekursiv mit wechselnder Achse
+     */
+    private static void arrange(Object[] entries, int[] xs, int[] zs, int lo, int hi, int axis) {
+        while (hi - lo > 1) {
+            int mid = (lo + hi) >>> 1;
+            select(entries, xs, zs, lo, hi - 1, mid, axis == 0 ? xs : zs);
+            arrange(entries, xs, zs, lo, mid, axis ^ 1);
+            lo = mid + 1;
+            axis ^= 1;
+        }
+    }
+
+    /**
+     * Quickselect (Hoare-Partition): k-tes Element nach {@code keys} an Position k
+     */
+    private static void select(Object[] entries, int[] xs, int[] zs, int left, int right, int k, int[] keys) {
+        while (left < right) {
+            int pivot = keys[(left + right) >>> 1];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (keys[i] < pivot) {
+                    i++;
+                }
+                while (keys[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(entries, xs, zs, i, j);
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static void swap(Object[] entries, int[] xs, int[] zs, int a, int b) {
+        Object entry = entries[a];
+        entries[a] = entries[b];
+        entries[b] = entry;
+        int x = xs[a];
+        xs[a] = xs[b];
+        xs[b] = x;
+        int z = zs[a];
+        zs[a] = zs[b];
+        zs[b] = z;
+    }
+}
@@ -13,8 +13,6 @@ import de.rolandsw.schedulemc.mapview.presentation.screen.WorldMapScreen;
 import de.rolandsw.schedulemc.mapview.util.BiomeColors;
 import de.rolandsw.schedulemc.mapview.util.BlockDatabase;
 import de.rolandsw.schedulemc.mapview.service.render.ColorUtils;
-import de.rolandsw.schedulemc.mapview.service.render.strategy.ChunkScanStrategy;
-import de.rolandsw.schedulemc.mapview.service.render.strategy.ChunkScanStrategyFactory;
 import de.rolandsw.schedulemc.mapview.util.DimensionContainer;
 import de.rolandsw.schedulemc.mapview.util.DynamicMoveableTexture;
 import de.rolandsw.schedulemc.mapview.data.repository.MapDataRepository;
@@ -54,6 +52,7 @@ import de.rolandsw.schedulemc.util.ThreadPoolManager;
 import net.minecraft.util.Mth;
 // EnvironmentAttributes doesn't exist in 1.20.1
 import net.minecraft.world.effect.MobEffectInstance;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.LightLayer;
 import net.minecraft.world.level.biome.Biome;
@@ -79,6 +78,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.OptionalInt;
 import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
 
 public class MapViewRenderer implements Runnable, MapChangeListener {
@@ -103,8 +103,6 @@ public class MapViewRenderer implements Runnable, MapChangeListener {
     private ResourceLocation[] mapResources;
     private final DynamicMoveableTexture[] mapImagesFiltered = new DynamicMoveableTexture[5];
     private final DynamicMoveableTexture[] mapImagesUnfiltered = new DynamicMoveableTexture[5];
-    private BlockState transparentBlockState;
-    private BlockState surfaceBlockState;
     // SICHERHEIT: volatile für Thread-Safety zwischen Render und Game Thread
     private volatile boolean imageChanged = true;
     private int lastSkyColor; // tracks colorManager.getAirColor() changes in mapCalc
@@ -136,10 +134,9 @@ public class MapViewRenderer implements Runnable, MapChangeListener {
     // Periodic chunk refresh for detecting block changes (minimap)
     private long lastPeriodicRefresh = 0;
     private static final long PERIODIC_REFRESH_INTERVAL_MS = 2000; // Every 2 seconds
-    // Chunk cache to avoid redundant getChunkAt() calls
-    private LevelChunk cachedChunk = null;
-    private int cachedChunkX = Integer.MIN_VALUE;
-    private int cachedChunkZ = Integer.MIN_VALUE;
+    // -Dschedulemc.mapview.rasterBenchmark=<rounds>: times the real raster path once after the first full redraw
+    private static final int RASTER_BENCHMARK_ROUNDS = Integer.getInteger("schedulemc.mapview.rasterBenchmark", 0);
+    private boolean rasterBenchmarkDone;
     private float direction;
     private float percentX;
     private float percentY;
@@ -638,10 +635,7 @@ public class MapViewRenderer implements Runnable, MapChangeListener {
 
         boolean doFull = full || Math.abs(offsetX) > 32 * multi || Math.abs(offsetZ) > 32 * multi;
 
-        boolean nether = false;
-        boolean caves = false;
         needHeightAndID = false;
-        int color24;
         // OPTIMIZATION: Removed synchronized block - volatile fields ensure visibility
         if (!doFull) {
             this.mapImages[zoom].moveY(offsetZ);
@@ -657,57 +651,17 @@ public class MapViewRenderer implements Runnable, MapChangeListener {
             this.mapData[zoom].moveZ(offsetZ);
             this.mapData[zoom].moveX(offsetX);
 
-            // Optimized Y movement (N/S): recalculate new rows
-            if (offsetZ != 0) {
-                // Clear chunk cache for new recalculation
-                cachedChunk = null;  // NOPMD – read by getPixelColor inside the loop below
-                int startY, endY;
-                if (offsetZ > 0) {
-                    // Moved south: recalculate bottom rows
-                    startY = 32 * multi - offsetZ;
-                    endY = 32 * multi;
-                } else {
-                    // Moved north: recalculate top rows
-                    startY = 0;
-                    endY = -offsetZ;
-                }
-                for (int imageY = startY; imageY < endY; ++imageY) {
-                    for (int imageX = 0; imageX < 32 * multi; ++imageX) {
-                        color24 = this.getPixelColor(true, true, true, true, nether, caves, world, zoom, multi, startX, startZ, imageX, imageY);
-                        this.mapImages[zoom].setRGB(imageX, imageY, color24);
-                    }
-                }
-            }
-
-            // Optimized X movement (E/W): recalculate new columns
-            if (offsetX != 0) {
-                // Clear chunk cache for new recalculation
-                cachedChunk = null;
-                int colStartX, colEndX;
-                if (offsetX > 0) {
-                    // Moved east: recalculate right columns
-                    colStartX = 32 * multi - offsetX;
-                    colEndX = 32 * multi;
-                } else {
-                    // Moved west: recalculate left columns
-                    colStartX = 0;
-                    colEndX = -offsetX;
-                }
-                for (int imageX = colStartX; imageX < colEndX; ++imageX) {
-                    for (int imageY = 0; imageY < 32 * multi; ++imageY) {
-                        color24 = this.getPixelColor(true, true, true, true, nether, caves, world, zoom, multi, startX, startZ, imageX, imageY);
-                        this.mapImages[zoom].setRGB(imageX, imageY, color24);
-                    }
-                }
+            // OPTIMIZATION: Only the newly exposed rows/columns are computed, split into tiles
+            for (int[] area : MinimapRasterizer.exposedAreas(32 * multi, offsetX, offsetZ)) {
+                this.renderArea(world, zoom, multi, startX, startZ, area[0], area[1], area[2], area[3], true, true, true, true);
             }
         }
 
         if (doFull || this.options.heightmap && needHeightMap || needHeightAndID || this.options.lightmap && needLight || skyColorChanged) {
-            for (int imageY = 32 * multi - 1; imageY >= 0; --imageY) {
-                for (int imageX = 0; imageX < 32 * multi; ++imageX) {
-                    color24 = this.getPixelColor(doFull, doFull || needHeightAndID, doFull, doFull || needLight || needHeightAndID, nether, caves, world, zoom, multi, startX, startZ, imageX, imageY);
-                    this.mapImages[zoom].setRGB(imageX, imageY, color24);
-                }
+            this.renderArea(world, zoom, multi, startX, startZ, 0, 0, 32 * multi - 1, 32 * multi - 1, doFull, doFull || needHeightAndID, doFull, doFull || needLight || needHeightAndID);
+            if (doFull && RASTER_BENCHMARK_ROUNDS > 0 && !this.rasterBenchmarkDone) {
+                this.rasterBenchmarkDone = true;
+                this.benchmarkRaster(world, zoom, multi, startX, startZ);
             }
         }
 
@@ -777,9 +731,6 @@ public class MapViewRenderer implements Runnable, MapChangeListener {
     }
 
     private void rectangleCalc(int left, int top, int right, int bottom) {
-        boolean nether = false;
-        boolean caves = false;
-
         int zoom = this.zoom;
         int startX = this.lastX;
         int startZ = this.lastZ;
@@ -792,32 +743,64 @@ public class MapViewRenderer implements Runnable, MapChangeListener {
         int adjTop = Math.max(0, top - startZ - 1);
         int adjBottom = Math.min(32 * multi - 1, bottom - startZ + 1);
 
-        // Phase 2B: Use Strategy Pattern for flexible scanning algorithms
-        // Replaces hardcoded nested loop with configurable strategy
-        ChunkScanStrategy scanStrategy = ChunkScanStrategyFactory.getDefault();
-
-        final int finalLeft = adjLeft;
-        final int finalTop = adjTop;
-        final int finalRight = adjRight;
-        final int finalBottom = adjBottom;
-        final int finalZoom = zoom;
-        final int finalMulti = multi;
-        final int finalStartX = startX;
-        final int finalStartZ = startZ;
-        final ClientLevel finalWorld = world;
-        final boolean finalNether = nether;
-        final boolean finalCaves = caves;
-
-        scanStrategy.scan(finalLeft, finalTop, finalRight, finalBottom, (imageX, imageY) -> {
-            int color24 = this.getPixelColor(true, true, true, true, finalNether, finalCaves,
-                    finalWorld, finalZoom, finalMulti, finalStartX, finalStartZ, imageX, imageY);
-            this.mapImages[finalZoom].setRGB(imageX, imageY, color24);
-        });
-
+        this.renderArea(world, zoom, multi, startX, startZ, adjLeft, adjTop, adjRight, adjBottom, true, true, true, true);
         this.imageChanged = true;
     }
 
-    private int getPixelColor(boolean needBiome, boolean needHeightAndID, boolean needTint, boolean needLight, boolean nether, boolean caves, ClientLevel world, int zoom, int multi, int startX, int startZ, int imageX, int imageY) {
+    /**
+     * Recalculates the inclusive image rectangle tile by tile on the raster pool.
+     *
+     * Biomes are resolved in a separate first pass, so biome tints of neighbouring pixels never see
+     * a half-updated biome array.
+     */
+    private void renderArea(ClientLevel world, int zoom, int multi, int startX, int startZ, int left, int top, int right, int bottom,
+                            boolean needBiome, boolean needHeightAndID, boolean needTint, boolean needLight) {
+        this.renderArea(this.threading ? ThreadPoolManager.getRasterPool() : null, world, zoom, multi, startX, startZ,
+                left, top, right, bottom, needBiome, needHeightAndID, needTint, needLight);
+    }
+
+    private void renderArea(ForkJoinPool pool, ClientLevel world, int zoom, int multi, int startX, int startZ, int left, int top, int right, int bottom,
+                            boolean needBiome, boolean needHeightAndID, boolean needTint, boolean needLight) {
+        MapDataRepository data = this.mapData[zoom];
+        DynamicMoveableTexture image = this.mapImages[zoom];
+        if (needBiome) {
+            MinimapRasterizer.rasterize(pool, left, top, right, bottom, RasterContext::new, (context, imageX, imageY) ->
+                    data.setBiome(imageX, imageY, world.getBiome(context.blockPos.withXYZ(startX + imageX, 64, startZ + imageY)).value()), null);
+        }
+
+        // Slope shading reads the lower-left neighbour's height - recolor pixels on tile borders once all heights are in
+        MinimapRasterizer.PixelShader<RasterContext> seamPass = this.options.slopemap
+                ? (context, imageX, imageY) -> image.setRGB(imageX, imageY, this.getPixelColor(context, false, false, false, false, false, false, world, zoom, multi, startX, startZ, imageX, imageY))
+                : null;
+        MinimapRasterizer.rasterize(pool, left, top, right, bottom, RasterContext::new, (context, imageX, imageY) ->
+                image.setRGB(imageX, imageY, this.getPixelColor(context, false, needHeightAndID, needTint, needLight, false, false, world, zoom, multi, startX, startZ, imageX, imageY)), seamPass);
+    }
+
+    /**
+     * Times full redraws of the current minimap through the real {@link #getPixelColor} path (all layers
+     * recomputed from the loaded chunks), once on the calling thread and once on the raster pool. The
+     * first round warms up and is not reported. Results go to the log.
+     */
+    private void benchmarkRaster(ClientLevel world, int zoom, int multi, int startX, int startZ) {
+        int last = 32 * multi - 1;
+        ForkJoinPool pool = ThreadPoolManager.getRasterPool();
+        MapViewConstants.getLogger().info("Minimap raster benchmark: zoom " + zoom + " (" + (last + 1) + "px), "
+                + RASTER_BENCHMARK_ROUNDS + " rounds, " + pool.getParallelism() + " raster threads");
+        for (int round = 0; round <= RASTER_BENCHMARK_ROUNDS; round++) {
+            long start = System.nanoTime();
+            this.renderArea(null, world, zoom, multi, startX, startZ, 0, 0, last, last, true, true, true, true);
+            long serial = System.nanoTime() - start;
+            start = System.nanoTime();
+            this.renderArea(pool, world, zoom, multi, startX, startZ, 0, 0, last, last, true, true, true, true);
+            long parallel = System.nanoTime() - start;
+            if (round > 0) {
+                MapViewConstants.getLogger().info(String.format("Minimap raster benchmark round %d: serial %.2f ms, parallel %.2f ms (x%.2f)",
+                        round, serial / 1.0e6, parallel / 1.0e6, (double) serial / parallel));
+            }
+        }
+    }
+
+    private int getPixelColor(RasterContext context, boolean needBiome, boolean needHeightAndID, boolean needTint, boolean needLight, boolean nether, boolean caves, ClientLevel world, int zoom, int multi, int startX, int startZ, int imageX, int imageY) {
         int surfaceHeight = Short.MIN_VALUE;  // NOPMD
         int seafloorHeight = Short.MIN_VALUE;
         int transparentHeight = Short.MIN_VALUE;
@@ -826,8 +809,8 @@ public class MapViewRenderer implements Runnable, MapChangeListener {
         int seafloorColor = 0;
         int transparentColor = 0;
         int foliageColor = 0;
-        this.surfaceBlockState = null;  // NOPMD – default when needHeightAndID=false; overwritten only in conditional branches
-        this.transparentBlockState = BlockDatabase.air.defaultBlockState();
+        BlockState surfaceBlockState = null;  // NOPMD – default when needHeightAndID=false; overwritten only in conditional branches
+        BlockState transparentBlockState = BlockDatabase.air.defaultBlockState();
         BlockState foliageBlockState = BlockDatabase.air.defaultBlockState();
         BlockState seafloorBlockState = BlockDatabase.air.defaultBlockState();
         boolean surfaceBlockChangeForcedTint = false;
@@ -838,8 +821,8 @@ public class MapViewRenderer implements Runnable, MapChangeListener {
         int transparentBlockStateID;
         int foliageBlockStateID;
         int seafloorBlockStateID;
-        MutableBlockPos blockPos = BlockPositionCache.get();
-        MutableBlockPos tempBlockPos = BlockPositionCache.get();
+        MutableBlockPos blockPos = context.blockPos;
+        MutableBlockPos tempBlockPos = context.tempBlockPos;
         blockPos.withXYZ(startX + imageX, 64, startZ + imageY);
         int color24;
         Biome biome;
@@ -861,65 +844,59 @@ public class MapViewRenderer implements Runnable, MapChangeListener {
             boolean solid = false;
             if (needHeightAndID) {
                 if (!nether && !caves) {
-                    // OPTIMIZED: Cache chunk lookups - chunks are 16x16, so we access the same chunk multiple times
-                    int chunkX = blockPos.getX() >> 4;
-                    int chunkZ = blockPos.getZ() >> 4;
-                    if (cachedChunk == null || cachedChunkX != chunkX || cachedChunkZ != chunkZ) {
-                        cachedChunk = world.getChunkAt(blockPos);
-                        cachedChunkX = chunkX;
-                        cachedChunkZ = chunkZ;
-                    }
-                    LevelChunk chunk = cachedChunk;
+                    // OPTIMIZATION: Per-tile chunk snapshot - the whole column lives in one chunk, so block
+                    // states are read from it directly instead of resolving the chunk on every world lookup
+                    LevelChunk chunk = context.chunkAt(world, blockPos.getX() >> 4, blockPos.getZ() >> 4);
                     transparentHeight = chunk.getHeight(Heightmap.Types.MOTION_BLOCKING, blockPos.getX() & 15, blockPos.getZ() & 15) + 1;
-                    this.transparentBlockState = world.getBlockState(blockPos.withXYZ(startX + imageX, transparentHeight - 1, startZ + imageY));
-                    FluidState fluidState = this.transparentBlockState.getFluidState();
+                    transparentBlockState = chunk.getBlockState(blockPos.withXYZ(startX + imageX, transparentHeight - 1, startZ + imageY));
+                    FluidState fluidState = transparentBlockState.getFluidState();
                     if (fluidState != Fluids.EMPTY.defaultFluidState()) {
-                        this.transparentBlockState = fluidState.createLegacyBlock();
+                        transparentBlockState = fluidState.createLegacyBlock();
                     }
 
                     surfaceHeight = transparentHeight;
-                    this.surfaceBlockState = this.transparentBlockState;
+                    surfaceBlockState = transparentBlockState;
                     VoxelShape voxelShape;
                     tempBlockPos.setXYZ(startX + imageX, surfaceHeight - 1, startZ + imageY);
-                    boolean hasOpacity = this.surfaceBlockState.getLightBlock(world, tempBlockPos) > 0;
-                    if (!hasOpacity && this.surfaceBlockState.canOcclude() && this.surfaceBlockState.useShapeForLightOcclusion()) {
-                        voxelShape = this.surfaceBlockState.getFaceOcclusionShape(world, tempBlockPos, Direction.DOWN);
+                    boolean hasOpacity = surfaceBlockState.getLightBlock(world, tempBlockPos) > 0;
+                    if (!hasOpacity && surfaceBlockState.canOcclude() && surfaceBlockState.useShapeForLightOcclusion()) {
+                        voxelShape = surfaceBlockState.getFaceOcclusionShape(world, tempBlockPos, Direction.DOWN);
                         hasOpacity = Shapes.faceShapeOccludes(voxelShape, Shapes.empty());
-                        voxelShape = this.surfaceBlockState.getFaceOcclusionShape(world, tempBlockPos, Direction.UP);
+                        voxelShape = surfaceBlockState.getFaceOcclusionShape(world, tempBlockPos, Direction.UP);
                         hasOpacity = hasOpacity || Shapes.faceShapeOccludes(Shapes.empty(), voxelShape);
                     }
 
                     while (!hasOpacity && surfaceHeight > world.getMinBuildHeight()) {
-                        foliageBlockState = this.surfaceBlockState;
+                        foliageBlockState = surfaceBlockState;
                         --surfaceHeight;
-                        this.surfaceBlockState = world.getBlockState(blockPos.withXYZ(startX + imageX, surfaceHeight - 1, startZ + imageY));
-                        fluidState = this.surfaceBlockState.getFluidState();
+                        surfaceBlockState = chunk.getBlockState(blockPos.withXYZ(startX + imageX, surfaceHeight - 1, startZ + imageY));
+                        fluidState = surfaceBlockState.getFluidState();
                         if (fluidState != Fluids.EMPTY.defaultFluidState()) {
-                            this.surfaceBlockState = fluidState.createLegacyBlock();
+                            surfaceBlockState = fluidState.createLegacyBlock();
                         }
 
                         tempBlockPos.setXYZ(startX + imageX, surfaceHeight - 1, startZ + imageY);
-                        hasOpacity = this.surfaceBlockState.getLightBlock(world, tempBlockPos) > 0;
-                        if (!hasOpacity && this.surfaceBlockState.canOcclude() && this.surfaceBlockState.useShapeForLightOcclusion()) {
-                            voxelShape = this.surfaceBlockState.getFaceOcclusionShape(world, tempBlockPos, Direction.DOWN);
+                        hasOpacity = surfaceBlockState.getLightBlock(world, tempBlockPos) > 0;
+                        if (!hasOpacity && surfaceBlockState.canOcclude() && surfaceBlockState.useShapeForLightOcclusion()) {
+                            voxelShape = surfaceBlockState.getFaceOcclusionShape(world, tempBlockPos, Direction.DOWN);
                             hasOpacity = Shapes.faceShapeOccludes(voxelShape, Shapes.empty());
-                            voxelShape = this.surfaceBlockState.getFaceOcclusionShape(world, tempBlockPos, Direction.UP);
+                            voxelShape = surfaceBlockState.getFaceOcclusionShape(world, tempBlockPos, Direction.UP);
                             hasOpacity = hasOpacity || Shapes.faceShapeOccludes(Shapes.empty(), voxelShape);
                         }
                     }
 
                     if (surfaceHeight == transparentHeight) {
                         transparentHeight = Short.MIN_VALUE;
-                        this.transparentBlockState = BlockDatabase.air.defaultBlockState();
-                        foliageBlockState = world.getBlockState(blockPos.withXYZ(startX + imageX, surfaceHeight, startZ + imageY));
+                        transparentBlockState = BlockDatabase.air.defaultBlockState();
+                        foliageBlockState = chunk.getBlockState(blockPos.withXYZ(startX + imageX, surfaceHeight, startZ + imageY));
                     }
 
                     if (foliageBlockState.getBlock() == Blocks.SNOW) {
-                        this.surfaceBlockState = foliageBlockState;
+                        surfaceBlockState = foliageBlockState;
                         foliageBlockState = BlockDatabase.air.defaultBlockState();
                     }
 
-                    if (foliageBlockState == this.transparentBlockState) {
+                    if (foliageBlockState == transparentBlockState) {
                         foliageBlockState = BlockDatabase.air.defaultBlockState();
                     }
 
@@ -929,19 +906,19 @@ public class MapViewRenderer implements Runnable, MapChangeListener {
                         foliageHeight = Short.MIN_VALUE;
                     }
 
-                    Block material = this.surfaceBlockState.getBlock();
+                    Block material = surfaceBlockState.getBlock();
                     if (material == Blocks.WATER || material == Blocks.ICE) {
                         seafloorHeight = surfaceHeight;
 
-                        for (seafloorBlockState = world.getBlockState(blockPos.withXYZ(startX + imageX, surfaceHeight - 1, startZ + imageY)); seafloorBlockState.getLightBlock(world, blockPos.withXYZ(startX + imageX, seafloorHeight - 1, startZ + imageY)) < 5 && !(seafloorBlockState.getBlock() instanceof LeavesBlock)
-                                && seafloorHeight > world.getMinBuildHeight() + 1; seafloorBlockState = world.getBlockState(blockPos.withXYZ(startX + imageX, seafloorHeight - 1, startZ + imageY))) {
+                        for (seafloorBlockState = chunk.getBlockState(blockPos.withXYZ(startX + imageX, surfaceHeight - 1, startZ + imageY)); seafloorBlockState.getLightBlock(world, blockPos.withXYZ(startX + imageX, seafloorHeight - 1, startZ + imageY)) < 5 && !(seafloorBlockState.getBlock() instanceof LeavesBlock)
+                                && seafloorHeight > world.getMinBuildHeight() + 1; seafloorBlockState = chunk.getBlockState(blockPos.withXYZ(startX + imageX, seafloorHeight - 1, startZ + imageY))) {
                             material = seafloorBlockState.getBlock();
                             if (transparentHeight == Short.MIN_VALUE && material != Blocks.ICE && material != Blocks.WATER && Heightmap.Types.MOTION_BLOCKING.isOpaque().test(seafloorBlockState)) {
                                 transparentHeight = seafloorHeight;
-                                this.transparentBlockState = seafloorBlockState;
+                                transparentBlockState = seafloorBlockState;
                             }
 
-                            if (foliageHeight == Short.MIN_VALUE && seafloorHeight != transparentHeight && this.transparentBlockState != seafloorBlockState && material != Blocks.ICE && material != Blocks.WATER && !(material instanceof AirBlock) && material != Blocks.BUBBLE_COLUMN) {
+                            if (foliageHeight == Short.MIN_VALUE && seafloorHeight != transparentHeight && transparentBlockState != seafloorBlockState && material != Blocks.ICE && material != Blocks.WATER && !(material instanceof AirBlock) && material != Blocks.BUBBLE_COLUMN) {
                                 foliageHeight = seafloorHeight;
                                 foliageBlockState = seafloorBlockState;
                             }
@@ -955,8 +932,8 @@ public class MapViewRenderer implements Runnable, MapChangeListener {
                     }
                 } else {
                     surfaceHeight = this.getNetherHeight(startX + imageX, startZ + imageY);
-                    this.surfaceBlockState = world.getBlockState(blockPos.withXYZ(startX + imageX, surfaceHeight - 1, startZ + imageY));
-                    surfaceBlockStateID = BlockDatabase.getStateId(this.surfaceBlockState);  // NOPMD
+                    surfaceBlockState = world.getBlockState(blockPos.withXYZ(startX + imageX, surfaceHeight - 1, startZ + imageY));
+                    surfaceBlockStateID = BlockDatabase.getStateId(surfaceBlockState);  // NOPMD
                     foliageHeight = surfaceHeight + 1;
                     blockPos.setXYZ(startX + imageX, foliageHeight - 1, startZ + imageY);
                     foliageBlockState = world.getBlockState(blockPos);
@@ -968,19 +945,19 @@ public class MapViewRenderer implements Runnable, MapChangeListener {
                     }
                 }
 
-                surfaceBlockStateID = BlockDatabase.getStateId(this.surfaceBlockState);
-                if (this.options.biomes && this.surfaceBlockState != this.mapData[zoom].getBlockstate(imageX, imageY)) {
+                surfaceBlockStateID = BlockDatabase.getStateId(surfaceBlockState);
+                if (this.options.biomes && surfaceBlockState != this.mapData[zoom].getBlockstate(imageX, imageY)) {
                     surfaceBlockChangeForcedTint = true;
                 }
 
                 this.mapData[zoom].setHeight(imageX, imageY, surfaceHeight);
                 this.mapData[zoom].setBlockstateID(imageX, imageY, surfaceBlockStateID);
-                if (this.options.biomes && this.transparentBlockState != this.mapData[zoom].getTransparentBlockstate(imageX, imageY)) {
+                if (this.options.biomes && transparentBlockState != this.mapData[zoom].getTransparentBlockstate(imageX, imageY)) {
                     transparentBlockChangeForcedTint = true;
                 }
 
                 this.mapData[zoom].setTransparentHeight(imageX, imageY, transparentHeight);
-                transparentBlockStateID = BlockDatabase.getStateId(this.transparentBlockState);
+                transparentBlockStateID = BlockDatabase.getStateId(transparentBlockState);
                 this.mapData[zoom].setTransparentBlockstateID(imageX, imageY, transparentBlockStateID);
                 if (this.options.biomes && foliageBlockState != this.mapData[zoom].getFoliageBlockstate(imageX, imageY)) {
                     foliageBlockChangeForcedTint = true;
@@ -999,10 +976,10 @@ public class MapViewRenderer implements Runnable, MapChangeListener {
             } else {
                 surfaceHeight = this.mapData[zoom].getHeight(imageX, imageY);
                 surfaceBlockStateID = this.mapData[zoom].getBlockstateID(imageX, imageY);
-                this.surfaceBlockState = BlockDatabase.getStateById(surfaceBlockStateID);
+                surfaceBlockState = BlockDatabase.getStateById(surfaceBlockStateID);
                 transparentHeight = this.mapData[zoom].getTransparentHeight(imageX, imageY);
                 transparentBlockStateID = this.mapData[zoom].getTransparentBlockstateID(imageX, imageY);
-                this.transparentBlockState = BlockDatabase.getStateById(transparentBlockStateID);
+                transparentBlockState = BlockDatabase.getStateById(transparentBlockStateID);
                 foliageHeight = this.mapData[zoom].getFoliageHeight(imageX, imageY);
                 foliageBlockStateID = this.mapData[zoom].getFoliageBlockstateID(imageX, imageY);
                 foliageBlockState = BlockDatabase.getStateById(foliageBlockStateID);
@@ -1016,7 +993,7 @@ public class MapViewRenderer implements Runnable, MapChangeListener {
                 solid = true;
             }
 
-            if (this.surfaceBlockState.getBlock() == Blocks.LAVA) {
+            if (surfaceBlockState.getBlock() == Blocks.LAVA) {
                 solid = false;
             }
 
@@ -1027,7 +1004,7 @@ public class MapViewRenderer implements Runnable, MapChangeListener {
                     tint = this.mapData[zoom].getBiomeTint(imageX, imageY);
                 } else {
                     blockPos.setXYZ(startX + imageX, surfaceHeight - 1, startZ + imageY);
-                    tint = this.colorManager.getBiomeTint(this.mapData[zoom], world, this.surfaceBlockState, surfaceBlockStateID, blockPos, tempBlockPos, startX, startZ);
+                    tint = this.colorManager.getBiomeTint(this.mapData[zoom], world, surfaceBlockState, surfaceBlockStateID, blockPos, tempBlockPos, startX, startZ);
                     this.mapData[zoom].setBiomeTint(imageX, imageY, tint);
                 }
 
@@ -1041,7 +1018,7 @@ public class MapViewRenderer implements Runnable, MapChangeListener {
             surfaceColor = this.applyHeight(surfaceColor, nether, caves, world, zoom, multi, startX, startZ, imageX, imageY, surfaceHeight, solid, 1);
             int light;
             if (needLight) {
-                light = this.getLight(surfaceColor, this.surfaceBlockState, world, startX + imageX, startZ + imageY, surfaceHeight, solid);
+                light = this.getLight(surfaceColor, surfaceBlockState, world, startX + imageX, startZ + imageY, surfaceHeight, solid);
                 this.mapData[zoom].setLight(imageX, imageY, light);
             } else {
                 light = this.mapData[zoom].getLight(imageX, imageY);
@@ -1097,7 +1074,7 @@ public class MapViewRenderer implements Runnable, MapChangeListener {
             }
 
             if (this.options.blockTransparency) {
-                if (transparentHeight != Short.MIN_VALUE && this.transparentBlockState != null && this.transparentBlockState != BlockDatabase.air.defaultBlockState()) {
+                if (transparentHeight != Short.MIN_VALUE && transparentBlockState != null && transparentBlockState != BlockDatabase.air.defaultBlockState()) {
                     if (this.options.biomes) {
                         transparentColor = this.colorManager.getBlockColor(blockPos, transparentBlockStateID, biome);
                         int tint;
@@ -1105,7 +1082,7 @@ public class MapViewRenderer implements Runnable, MapChangeListener {
                             tint = this.mapData[zoom].getTransparentBiomeTint(imageX, imageY);
                         } else {
                             blockPos.setXYZ(startX + imageX, transparentHeight - 1, startZ + imageY);
-                            tint = this.colorManager.getBiomeTint(this.mapData[zoom], world, this.transparentBlockState, transparentBlockStateID, blockPos, tempBlockPos, startX, startZ);
+                            tint = this.colorManager.getBiomeTint(this.mapData[zoom], world, transparentBlockState, transparentBlockStateID, blockPos, tempBlockPos, startX, startZ);
                             this.mapData[zoom].setTransparentBiomeTint(imageX, imageY, tint);
                         }
 
@@ -1119,7 +1096,7 @@ public class MapViewRenderer implements Runnable, MapChangeListener {
                     transparentColor = this.applyHeight(transparentColor, nether, caves, world, zoom, multi, startX, startZ, imageX, imageY, transparentHeight, solid, 3);
                     int transparentLight;
                     if (needLight) {
-                        transparentLight = this.getLight(transparentColor, this.transparentBlockState, world, startX + imageX, startZ + imageY, transparentHeight, solid);
+                        transparentLight = this.getLight(transparentColor, transparentBlockState, world, startX + imageX, startZ + imageY, transparentHeight, solid);
                         this.mapData[zoom].setTransparentLight(imageX, imageY, transparentLight);
                     } else {
                         transparentLight = this.mapData[zoom].getTransparentLight(imageX, imageY);
@@ -1202,8 +1179,6 @@ public class MapViewRenderer implements Runnable, MapChangeListener {
             }
 
         }
-        BlockPositionCache.release(blockPos);
-        BlockPositionCache.release(tempBlockPos);
 
         // Navigation Pfad in die Kartenfarbe mischen
         int worldX = startX + imageX;
@@ -1221,7 +1196,7 @@ public class MapViewRenderer implements Runnable, MapChangeListener {
         LevelChunk chunk = (LevelChunk) world.getChunk(blockPos);
         int height = chunk.getHeight(Heightmap.Types.MOTION_BLOCKING, blockPos.getX() & 15, blockPos.getZ() & 15) + 1;
         BlockState blockState = world.getBlockState(blockPos.withXYZ(x, height - 1, z));
-        FluidState fluidState = this.transparentBlockState.getFluidState();
+        FluidState fluidState = blockState.getFluidState();
         if (fluidState != Fluids.EMPTY.defaultFluidState()) {
             blockState = fluidState.createLegacyBlock();
         }
@@ -1229,7 +1204,7 @@ public class MapViewRenderer implements Runnable, MapChangeListener {
         while (blockState.getLightBlock(world, blockPos.withXYZ(x, height - 1, z)) == 0 && height > world.getMinBuildHeight()) {
             --height;
             blockState = world.getBlockState(blockPos.withXYZ(x, height - 1, z));
-            fluidState = this.surfaceBlockState.getFluidState();
+            fluidState = blockState.getFluidState();
             if (fluidState != Fluids.EMPTY.defaultFluidState()) {
                 blockState = fluidState.createLegacyBlock();
             }
@@ -1693,4 +1668,30 @@ public class MapViewRenderer implements Runnable, MapChangeListener {
     public static float getStatusIconOffset() {
         return statusIconOffset;
     }
+
+    /**
+     * Per-tile scratch state for {@link #getPixelColor}: own block positions and a snapshot of the
+     * chunks the tile touches, so tiles can run in parallel without sharing mutable fields.
+     */
+    private static final class RasterContext {
+        // A 64px tile spans at most 5 chunks per axis, so an 8x8 direct-mapped table never collides within a tile
+        private static final int SNAPSHOT_SIZE = 8;
+
+        final MutableBlockPos blockPos = new MutableBlockPos(0, 0, 0);
+        final MutableBlockPos tempBlockPos = new MutableBlockPos(0, 0, 0);
+        private final LevelChunk[] chunks = new LevelChunk[SNAPSHOT_SIZE * SNAPSHOT_SIZE];
+        private final long[] chunkKeys = new long[SNAPSHOT_SIZE * SNAPSHOT_SIZE];
+
+        LevelChunk chunkAt(ClientLevel world, int chunkX, int chunkZ) {
+            int slot = (chunkX & (SNAPSHOT_SIZE - 1)) + (chunkZ & (SNAPSHOT_SIZE - 1)) * SNAPSHOT_SIZE;
+            long key = ChunkPos.asLong(chunkX, chunkZ);
+            LevelChunk chunk = this.chunks[slot];
+            if (chunk == null || this.chunkKeys[slot] != key) {
+                chunk = world.getChunk(chunkX, chunkZ);
+                this.chunks[slot] = chunk;
+                this.chunkKeys[slot] = key;
+            }
+            return chunk;
+        }
+    }
 }
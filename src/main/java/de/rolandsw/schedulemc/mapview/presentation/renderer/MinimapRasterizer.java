@@ -0,0 +1,161 @@
+package de.rolandsw.schedulemc.mapview.presentation.renderer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
+
+/**
+ * Splits a minimap recalculation into independent square tiles and renders them on a fork-join pool.
+ *
+ * Each tile gets its own context (block positions, chunk snapshot), so the per-pixel work shares no
+ * mutable state. Inside a tile pixels are visited bottom-up and left to right - the same order the
+ * serial loop used - because the slope shading of a pixel reads the height of its lower-left
+ * neighbour (x - 1, y + 1). Where that neighbour lies in another tile, the pixel is shaded once
+ * more after all tiles have finished ("seam" pass), which reproduces the serial result.
+ *
+ * Areas that fit into a single tile are rendered on the calling thread.
+ */
+public final class MinimapRasterizer {
+    public static final int TILE_SIZE = 64;
+
+    /**
+     * Computes one pixel of the map image.
+     */
+    @FunctionalInterface
+    public interface PixelShader<C> {
+        void shade(C context, int imageX, int imageY);
+    }
+
+    private MinimapRasterizer() {
+    }
+
+    /**
+     * Renders the inclusive rectangle (left, top) - (right, bottom).
+     *
+     * @param pool      pool for the tiles, or null to render everything on the calling thread
+     * @param contexts  creates one context per tile
+     * @param pass      full per-pixel computation
+     * @param seamPass  recomputes only the color of a pixel whose lower-left neighbour was
+     *                  rendered by another tile; null if pixels do not depend on neighbours
+     * @return number of tiles rendered
+     */
+    public static <C> int rasterize(ForkJoinPool pool, int left, int top, int right, int bottom,
+                                    Supplier<C> contexts, PixelShader<C> pass, PixelShader<C> seamPass) {
+        if (right < left || bottom < top) {
+            return 0;
+        }
+        List<int[]> tiles = splitIntoTiles(left, top, right, bottom, TILE_SIZE);
+        if (tiles.size() == 1 || pool == null) {
+            // One pass in serial order sees every neighbour, no seams
+            renderTile(contexts.get(), new int[]{left, top, right, bottom}, pass);
+            return 1;
+        }
+
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(tiles.size());
+        for (int[] tile : tiles) {
+            tasks.add(ForkJoinTask.adapt(() -> renderTile(contexts.get(), tile, pass)));
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+
+        if (seamPass != null) {
+            List<ForkJoinTask<?>> seams = new ArrayList<>(tiles.size());
+            for (int[] tile : tiles) {
+                if (tile[0] > left || tile[3] < bottom) {
+                    seams.add(ForkJoinTask.adapt(() -> renderSeams(contexts.get(), tile, left, bottom, seamPass)));
+                }
+            }
+            pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(seams)));
+        }
+        return tiles.size();
+    }
+
+    /**
+     * Tiles covering the inclusive rectangle as {left, top, right, bottom}.
+     */
+    static List<int[]> splitIntoTiles(int left, int top, int right, int bottom, int tileSize) {
+        List<int[]> tiles = new ArrayList<>();
+        for (int tileTop = top; tileTop <= bottom; tileTop += tileSize) {
+            for (int tileLeft = left; tileLeft <= right; tileLeft += tileSize) {
+                tiles.add(new int[]{tileLeft, tileTop, Math.min(right, tileLeft + tileSize - 1), Math.min(bottom, tileTop + tileSize - 1)});
+            }
+        }
+        return tiles;
+    }
+
+    private static <C> void renderTile(C context, int[] tile, PixelShader<C> pass) {
+        for (int imageY = tile[3]; imageY >= tile[1]; --imageY) {
+            for (int imageX = tile[0]; imageX <= tile[2]; ++imageX) {
+                pass.shade(context, imageX, imageY);
+            }
+        }
+    }
+
+    private static <C> void renderSeams(C context, int[] tile, int areaLeft, int areaBottom, PixelShader<C> seamPass) {
+        if (seamPass == null) {
+            return;
+        }
+        // Bottom row: lower-left neighbour is in the tile below
+        if (tile[3] < areaBottom) {
+            for (int imageX = tile[0]; imageX <= tile[2]; ++imageX) {
+                seamPass.shade(context, imageX, tile[3]);
+            }
+        }
+        // Left column: lower-left neighbour is in the tile to the left
+        if (tile[0] > areaLeft) {
+            int lastRow = tile[3] < areaBottom ? tile[3] - 1 : tile[3];
+            for (int imageY = lastRow; imageY >= tile[1]; --imageY) {
+                seamPass.shade(context, tile[0], imageY);
+            }
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // INCREMENTAL SCROLL
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * Areas of a square map image that become visible after the image content moved by
+     * (offsetX, offsetZ) pixels, as inclusive {left, top, right, bottom}.
+     *
+     * The exposed rows span the full width; the exposed columns only cover the remaining rows, so
+     * the corner is computed once. The lower area comes first, so slope shading of the upper area
+     * already sees the new heights below it.
+     */
+    public static List<int[]> exposedAreas(int size, int offsetX, int offsetZ) {
+        int[] rows = null;
+        if (offsetZ > 0) {
+            rows = new int[]{0, Math.max(0, size - offsetZ), size - 1, size - 1};
+        } else if (offsetZ < 0) {
+            rows = new int[]{0, 0, size - 1, Math.min(size, -offsetZ) - 1};
+        }
+
+        int[] columns = null;
+        if (offsetX != 0) {
+            int columnLeft = offsetX > 0 ? Math.max(0, size - offsetX) : 0;
+            int columnRight = offsetX > 0 ? size - 1 : Math.min(size, -offsetX) - 1;
+            int top = rows != null && offsetZ < 0 ? rows[3] + 1 : 0;
+            int bottom = rows != null && offsetZ > 0 ? rows[1] - 1 : size - 1;
+            if (bottom >= top) {
+                columns = new int[]{columnLeft, top, columnRight, bottom};
+            }
+        }
+
+        List<int[]> areas = new ArrayList<>(2);
+        if (offsetZ > 0) {
+            addIfPresent(areas, rows);
+            addIfPresent(areas, columns);
+        } else {
+            addIfPresent(areas, columns);
+            addIfPresent(areas, rows);
+        }
+        return areas;
+    }
+
+    private static void addIfPresent(List<int[]> areas, int[] area) {
+        if (area != null) {
+            areas.add(area);
+        }
+    }
+}
@@ -9,6 +9,7 @@ import de.rolandsw.schedulemc.mapview.navigation.graph.NavigationTarget;
 import de.rolandsw.schedulemc.mapview.navigation.graph.NavigationOverlay;
 import net.minecraft.core.BlockPos;
 import de.rolandsw.schedulemc.mapview.data.cache.RegionCache;
+import de.rolandsw.schedulemc.mapview.data.cache.RegionTilePyramid;
 import de.rolandsw.schedulemc.mapview.data.persistence.AsyncPersistenceManager;
 import de.rolandsw.schedulemc.mapview.MapViewConstants;
 import de.rolandsw.schedulemc.mapview.service.data.MapDataManager;
@@ -49,6 +50,7 @@ import org.lwjgl.glfw.GLFW;
 
 import de.rolandsw.schedulemc.territory.TerritoryType;
 import de.rolandsw.schedulemc.territory.network.SetTerritoryPacket;
+import de.rolandsw.schedulemc.territory.ChunkClaimMap;
 import de.rolandsw.schedulemc.territory.network.SyncTerritoriesPacket;
 import de.rolandsw.schedulemc.territory.network.TerritoryNetworkHandler;
 
@@ -102,9 +104,11 @@ public class WorldMapScreen extends PopupScreen {
     long timeOfZoom;
     float zoomDirectX;
     float zoomDirectY;
-    // Diskrete Zoom-Stufen: 0% (übersicht), 33%, 66%, 100% (block-level)
-    private static final float[] ZOOM_LEVELS = {1.0f, 4.0f, 8.0f, 16.0f};
-    private int currentZoomLevel = 1; // Start bei 33% (4.0f)
+    // Diskrete Zoom-Stufen: 1:16 bis 1:2 (Kachel-Pyramide), dann 0% (übersicht), 33%, 66%, 100% (block-level)
+    private static final float[] ZOOM_LEVELS = {0.0625f, 0.125f, 0.25f, 0.5f, 1.0f, 4.0f, 8.0f, 16.0f};
+    // Index der ersten Stufe, die volle Regionen zeichnet (1.0f)
+    private static final int REGION_ZOOM_LEVEL = 4;
+    private int currentZoomLevel = REGION_ZOOM_LEVEL + 1; // Start bei 33% (4.0f)
     private float scScale = 1.0F;
     private float guiToMap = 2.0F;
     private float mapToGui = 0.5F;
@@ -350,7 +354,7 @@ public class WorldMapScreen extends PopupScreen {
      * Zoomt heraus (verringert Zoomstufe)
      */
     private void zoomOut() {
-        if (currentZoomLevel > 0) {
+        if (currentZoomLevel > this.minZoomLevel()) {
             currentZoomLevel--;
             this.zoomGoal = ZOOM_LEVELS[currentZoomLevel];
             this.zoomStart = this.zoom;
@@ -423,6 +427,17 @@ public class WorldMapScreen extends PopupScreen {
         return Math.min(this.options.getMaxZoom(), Math.max(this.options.getMinZoom(), zoom));
     }
 
+    /**
+     * Kleinste Zoom-Stufe, die die konfigurierte Mindest-Zoomstufe nicht unterschreitet
+     */
+    private int minZoomLevel() {
+        int level = 0;
+        while (level < REGION_ZOOM_LEVEL && ZOOM_LEVELS[level] < this.options.getMinZoom()) {
+            level++;
+        }
+        return level;
+    }
+
     /**
      * Findet die nächste diskrete Zoom-Stufe für einen gegebenen Zoom-Wert
      */
@@ -449,7 +464,7 @@ public class WorldMapScreen extends PopupScreen {
             // Diskrete Zoom-Stufen: hoch oder runter schalten
             if (amount > 0.0 && currentZoomLevel < ZOOM_LEVELS.length - 1) {
                 currentZoomLevel++;
-            } else if (amount < 0.0 && currentZoomLevel > 0) {
+            } else if (amount < 0.0 && currentZoomLevel > this.minZoomLevel()) {
                 currentZoomLevel--;
             }
             this.zoomGoal = ZOOM_LEVELS[currentZoomLevel];
@@ -525,7 +540,7 @@ public class WorldMapScreen extends PopupScreen {
 
         if (!this.editingCoordinates && (minecraft.options.keyJump.matches(keyCode, scanCode) || minecraft.options.keyShift.matches(keyCode, scanCode))) {
             // Diskrete Zoom-Stufen: hoch oder runter schalten
-            if (minecraft.options.keyJump.matches(keyCode, scanCode) && currentZoomLevel > 0) {
+            if (minecraft.options.keyJump.matches(keyCode, scanCode) && currentZoomLevel > this.minZoomLevel()) {
                 currentZoomLevel--;
             }
 
@@ -774,7 +789,15 @@ public class WorldMapScreen extends PopupScreen {
             return;
         }
 
-        this.regions = this.persistentMap.getRegions(left - 1, right + 1, top - 1, bottom + 1);
+        // OPTIMIZATION: Far zoom draws pre-reduced pyramid tiles instead of loading every region
+        int pyramidLevel = RegionTilePyramid.levelForZoom(scaledZoom);
+        RegionTilePyramid pyramid = pyramidLevel > 0 ? this.persistentMap.getTilePyramid() : null;
+        if (pyramid == null) {
+            pyramidLevel = 0;
+            this.regions = this.persistentMap.getRegions(left - 1, right + 1, top - 1, bottom + 1);
+        } else {
+            this.regions = new RegionCache[0];
+        }
 
         guiGraphics.pose().translate(this.centerX - this.mapCenterX * this.mapToGui, (this.top + this.centerY) - this.mapCenterZ * this.mapToGui, 0.0f);
         if (this.oldNorth) {
@@ -795,10 +818,22 @@ public class WorldMapScreen extends PopupScreen {
 
         guiGraphics.pose().scale(this.mapToGui, this.mapToGui, 1.0f);
         if (MapDataManager.mapOptions.worldmapAllowed) {
-            for (RegionCache region : this.regions) {
-                ResourceLocation resource = region.getTextureLocation();
-                if (resource != null) {
-                    guiGraphics.blit(resource, region.getX() * 256, region.getZ() * 256, 0, 0, region.getWidth(), region.getWidth(), region.getWidth(), region.getWidth());
+            if (pyramid != null) {
+                int tileBlocks = RegionTilePyramid.TILE_SIZE << pyramidLevel;
+                for (int tileX = (left - 1) >> pyramidLevel; tileX <= (right + 1) >> pyramidLevel; tileX++) {
+                    for (int tileZ = (top - 1) >> pyramidLevel; tileZ <= (bottom + 1) >> pyramidLevel; tileZ++) {
+                        ResourceLocation resource = pyramid.getTextureLocation(pyramidLevel, tileX, tileZ);
+                        if (resource != null) {
+                            guiGraphics.blit(resource, tileX * tileBlocks, tileZ * tileBlocks, tileBlocks, tileBlocks, 0.0F, 0.0F, RegionTilePyramid.TILE_SIZE, RegionTilePyramid.TILE_SIZE, RegionTilePyramid.TILE_SIZE, RegionTilePyramid.TILE_SIZE);
+                        }
+                    }
+                }
+            } else {
+                for (RegionCache region : this.regions) {
+                    ResourceLocation resource = region.getTextureLocation();
+                    if (resource != null) {
+                        guiGraphics.blit(resource, region.getX() * 256, region.getZ() * 256, 0, 0, region.getWidth(), region.getWidth(), region.getWidth(), region.getWidth());
+                    }
                 }
             }
 
@@ -861,7 +896,8 @@ public class WorldMapScreen extends PopupScreen {
 
             guiGraphics.pose().scale(this.guiToMap, this.guiToMap, 1.0f);
             guiGraphics.pose().translate(-(this.centerX - this.mapCenterX * this.mapToGui), -((this.top + this.centerY) - this.mapCenterZ * this.mapToGui), 0.0f);
-            if (mapOptions.biomeOverlay != 0) {
+            // Biome-Overlay braucht die Regionsdaten - in der Kachel-Pyramide nicht verfügbar
+            if (mapOptions.biomeOverlay != 0 && pyramidLevel == 0) {
                 float biomeScaleX = this.mapPixelsX / 760.0F;
                 float biomeScaleY = this.mapPixelsY / 360.0F;
                 boolean still = !this.leftMouseButtonDown;
@@ -1107,7 +1143,7 @@ public class WorldMapScreen extends PopupScreen {
             int hoveredChunkZ = ((int) Math.floor(cursorCoordZ)) >> 4;
             long hoveredChunkKey = getChunkKey(hoveredChunkX, hoveredChunkZ);
 
-            Map<Long, SyncTerritoriesPacket.TerritoryData> territories = SyncTerritoriesPacket.TerritoryClientCache.getCache();
+            ChunkClaimMap<SyncTerritoriesPacket.TerritoryData> territories = SyncTerritoriesPacket.TerritoryClientCache.getCache();
             SyncTerritoriesPacket.TerritoryData territory = territories.get(hoveredChunkKey);
 
             if (territory != null && mouseY > this.top && mouseY < this.bottom) {
@@ -1122,9 +1158,15 @@ public class WorldMapScreen extends PopupScreen {
         int zoomDisplayWidth = 50;
         int zoomDisplayX = this.sideMargin + zoomButtonWidth;
         int zoomTextY = this.getHeight() - 23;
-        // Zoom-Prozent: 0%, 33%, 66%, 100%
-        int zoomPercent = currentZoomLevel == 3 ? 100 : currentZoomLevel * 33;
-        String zoomText = zoomPercent + "%";
+        // Zoom-Prozent: 0%, 33%, 66%, 100% - darunter Maßstab der Kachel-Pyramide (1:2 bis 1:16)
+        int regionZoomLevel = currentZoomLevel - REGION_ZOOM_LEVEL;
+        String zoomText;
+        if (regionZoomLevel < 0) {
+            zoomText = "1:" + Math.round(1.0F / ZOOM_LEVELS[currentZoomLevel]);
+        } else {
+            int zoomPercent = regionZoomLevel == 3 ? 100 : regionZoomLevel * 33;
+            zoomText = zoomPercent + "%";
+        }
         int zoomTextWidth = this.font.width(zoomText);
         // Zentriere Text im reservierten Bereich
         guiGraphics.drawString(this.font, zoomText, zoomDisplayX + (zoomDisplayWidth - zoomTextWidth) / 2, zoomTextY, 0xFFFFFFFF);
@@ -1296,8 +1338,10 @@ public class WorldMapScreen extends PopupScreen {
         int minZ = (int) Math.floor(this.mapCenterZ - viewHalfHeight) - 1;
         int maxZ = (int) Math.ceil(this.mapCenterZ + viewHalfHeight) + 1;
 
+        int regionZoomLevel = currentZoomLevel - REGION_ZOOM_LEVEL;
+
         // Block-Raster (Stufe 2 und 3) - zeichne Linien an Block-Grenzen
-        if (currentZoomLevel >= 2) {
+        if (regionZoomLevel >= 2) {
             int blockGridColor = 0x60FFFFFF; // Weiß, halbtransparent
             // Vertikale Linien (X-Grenzen)
             for (int x = minX; x <= maxX; x++) {
@@ -1312,9 +1356,9 @@ public class WorldMapScreen extends PopupScreen {
         }
 
         // Chunk-Raster (Stufe 1 und 2 - aber NICHT Stufe 0 oder 3)
-        if (currentZoomLevel >= 1 && currentZoomLevel <= 2) {
+        if (regionZoomLevel >= 1 && regionZoomLevel <= 2) {
             int chunkGridColor = 0xC0FFFF00; // Gelb, weniger transparent
-            float thickness = (currentZoomLevel == 2) ? 0.15f : 0.3f;
+            float thickness = (regionZoomLevel == 2) ? 0.15f : 0.3f;
 
             // Auf Chunk-Grenzen alignen (alle 16 Blöcke)
             int chunkMinX = (minX >> 4) << 4;
@@ -1389,7 +1433,7 @@ public class WorldMapScreen extends PopupScreen {
      * Opacity: 15% für View-Mode, 80% für Edit-Mode
      */
     private void renderTerritoryOverlay(GuiGraphics guiGraphics, float _cursorCoordX, float _cursorCoordZ) {
-        Map<Long, SyncTerritoriesPacket.TerritoryData> territories = SyncTerritoriesPacket.TerritoryClientCache.getCache();
+        ChunkClaimMap<SyncTerritoriesPacket.TerritoryData> territories = SyncTerritoriesPacket.TerritoryClientCache.getCache();
 
         // Calculate visible chunk range
         int viewHalfWidth = (int) (this.centerX / this.mapToGui);
@@ -1409,37 +1453,31 @@ public class WorldMapScreen extends PopupScreen {
         // Opacity: 10% for both modes (0x19)
         int alpha = 0x19;
 
-        for (int chunkZ = startChunkZ; chunkZ <= endChunkZ; chunkZ++) {
-            for (int chunkX = startChunkX; chunkX <= endChunkX; chunkX++) {
-                long chunkKey = getChunkKey(chunkX, chunkZ);
-                SyncTerritoriesPacket.TerritoryData territory = territories.get(chunkKey);
-
-                if (territory != null) {
-                    int color = territory.type.getColor();
-                    int overlayColor = (alpha << 24) | color;
-
-                    // Render territory chunk (16x16 blocks)
-                    float worldX1 = chunkX * 16f;
-                    float worldZ1 = chunkZ * 16f;
-                    float worldX2 = worldX1 + 16f;
-                    float worldZ2 = worldZ1 + 16f;
-
-                    MapViewGuiGraphics.fillGradient(guiGraphics,
-                        worldX1, worldZ1, worldX2, worldZ2,
-                        overlayColor, overlayColor, overlayColor, overlayColor);
-
-                    // Border for better visibility (only in edit mode)
-                    if (editMode) {
-                        int borderColor = 0xFFFFFFFF;
-                        float borderWidth = 0.1f;
-                        MapViewGuiGraphics.fillGradient(guiGraphics, worldX1, worldZ1, worldX2, worldZ1 + borderWidth,
-                            borderColor, borderColor, borderColor, borderColor); // Top
-                        MapViewGuiGraphics.fillGradient(guiGraphics, worldX1, worldZ1, worldX1 + borderWidth, worldZ2,
-                            borderColor, borderColor, borderColor, borderColor); // Left
-                    }
-                }
+        // OPTIMIERT: Nur belegte Chunks besuchen (Region-Bitmaps) statt jeden sichtbaren Chunk nachzuschlagen
+        territories.forEachInArea(startChunkX, startChunkZ, endChunkX, endChunkZ, (chunkX, chunkZ, territory) -> {
+            int color = territory.type.getColor();
+            int overlayColor = (alpha << 24) | color;
+
+            // Render territory chunk (16x16 blocks)
+            float worldX1 = chunkX * 16f;
+            float worldZ1 = chunkZ * 16f;
+            float worldX2 = worldX1 + 16f;
+            float worldZ2 = worldZ1 + 16f;
+
+            MapViewGuiGraphics.fillGradient(guiGraphics,
+                worldX1, worldZ1, worldX2, worldZ2,
+                overlayColor, overlayColor, overlayColor, overlayColor);
+
+            // Border for better visibility (only in edit mode)
+            if (editMode) {
+                int borderColor = 0xFFFFFFFF;
+                float borderWidth = 0.1f;
+                MapViewGuiGraphics.fillGradient(guiGraphics, worldX1, worldZ1, worldX2, worldZ1 + borderWidth,
+                    borderColor, borderColor, borderColor, borderColor); // Top
+                MapViewGuiGraphics.fillGradient(guiGraphics, worldX1, worldZ1, worldX1 + borderWidth, worldZ2,
+                    borderColor, borderColor, borderColor, borderColor); // Left
             }
-        }
+        });
     }
 
     /**
@@ -1464,7 +1502,7 @@ public class WorldMapScreen extends PopupScreen {
         long chunkKey = getChunkKey(chunkX, chunkZ);
 
         // SHIFT + Click: Load existing territory for editing
-        Map<Long, SyncTerritoriesPacket.TerritoryData> territories = SyncTerritoriesPacket.TerritoryClientCache.getCache();
+        ChunkClaimMap<SyncTerritoriesPacket.TerritoryData> territories = SyncTerritoriesPacket.TerritoryClientCache.getCache();
         SyncTerritoriesPacket.TerritoryData existingTerritory = territories.get(chunkKey);
 
         if (existingTerritory != null && Screen.hasShiftDown()) {
@@ -4,6 +4,8 @@ import de.rolandsw.schedulemc.mapview.service.render.ColorCalculationService;
 import de.rolandsw.schedulemc.mapview.config.MapViewConfiguration;
 import de.rolandsw.schedulemc.mapview.config.WorldMapConfiguration;
 import de.rolandsw.schedulemc.mapview.data.cache.RegionCache;
+import de.rolandsw.schedulemc.mapview.data.cache.RegionCacheTable;
+import de.rolandsw.schedulemc.mapview.data.cache.RegionTilePyramid;
 import de.rolandsw.schedulemc.mapview.data.persistence.AsyncPersistenceManager;
 import de.rolandsw.schedulemc.mapview.data.persistence.CompressedMapData;
 import de.rolandsw.schedulemc.mapview.presentation.screen.WorldMapScreen;
@@ -22,6 +24,8 @@ import de.rolandsw.schedulemc.mapview.util.MapViewHelper;
 import de.rolandsw.schedulemc.mapview.util.MutableBlockPos;
 import de.rolandsw.schedulemc.mapview.util.TextUtils;
 import de.rolandsw.schedulemc.util.ThreadPoolManager;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import java.io.File;
 import java.util.concurrent.TimeUnit;
 import java.util.ArrayList;
@@ -30,9 +34,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.IntStream;
 import net.minecraft.client.multiplayer.ClientLevel;
@@ -64,28 +66,14 @@ public class WorldMapData implements MapChangeListener {
     final int[] lightmapColors;
     ClientLevel world;
     String subworldName = "";
-    // OPTIMIZATION: CopyOnWriteArrayList is lock-free for reads (most common operation)
-    protected final List<RegionCache> cachedRegionsPool = new CopyOnWriteArrayList<>();
-    protected final ConcurrentHashMap<String, RegionCache> cachedRegions = new ConcurrentHashMap<>(150, 0.9F, 2);
+    // OPTIMIZATION: Packed long keys instead of "x,z" strings, CLOCK eviction against a heap budget
+    protected final RegionCacheTable<RegionCache> cachedRegions = new RegionCacheTable<>(RegionCache::getResidentBytes);
     int lastLeft;
     int lastRight;
     int lastTop;
     int lastBottom;
     // OPTIMIZATION: AtomicReference for lock-free reads
     private final AtomicReference<RegionCache[]> lastRegionsArray = new AtomicReference<>(new RegionCache[0]);
-    final Comparator<RegionCache> ageThenDistanceSorter = (region1, region2) -> {
-        long mostRecentAccess1 = region1.getMostRecentView();
-        long mostRecentAccess2 = region2.getMostRecentView();
-        if (mostRecentAccess1 < mostRecentAccess2) {
-            return 1;
-        } else if (mostRecentAccess1 > mostRecentAccess2) {
-            return -1;
-        } else {
-            double distance1sq = (region1.getX() * 256 + region1.getWidth() / 2f - WorldMapData.this.options.getMapX()) * (region1.getX() * 256 + region1.getWidth() / 2f - WorldMapData.this.options.getMapX()) + (region1.getZ() * 256 + region1.getWidth() / 2f - WorldMapData.this.options.getMapZ()) * (region1.getZ() * 256 + region1.getWidth() / 2f - WorldMapData.this.options.getMapZ());
-            double distance2sq = (region2.getX() * 256 + region2.getWidth() / 2f - WorldMapData.this.options.getMapX()) * (region2.getX() * 256 + region2.getWidth() / 2f - WorldMapData.this.options.getMapX()) + (region2.getZ() * 256 + region2.getWidth() / 2f - WorldMapData.this.options.getMapZ()) * (region2.getZ() * 256 + region2.getWidth() / 2f - WorldMapData.this.options.getMapZ());
-            return Double.compare(distance1sq, distance2sq);
-        }
-    };
     final Comparator<RegionCoordinates> distanceSorter = (coordinates1, coordinates2) -> {
         double distance1sq = (coordinates1.x * 256 + 128 - WorldMapData.this.options.getMapX()) * (coordinates1.x * 256 + 128 - WorldMapData.this.options.getMapX()) + (coordinates1.z * 256 + 128 - WorldMapData.this.options.getMapZ()) * (coordinates1.z * 256 + 128 - WorldMapData.this.options.getMapZ());
         double distance2sq = (coordinates2.x * 256 + 128 - WorldMapData.this.options.getMapX()) * (coordinates2.x * 256 + 128 - WorldMapData.this.options.getMapX()) + (coordinates2.z * 256 + 128 - WorldMapData.this.options.getMapZ()) * (coordinates2.z * 256 + 128 - WorldMapData.this.options.getMapZ());
@@ -96,6 +84,8 @@ public class WorldMapData implements MapChangeListener {
     private final ConcurrentLinkedQueue<ChunkWithAge> chunkUpdateQueue = new ConcurrentLinkedQueue<>();
     private long lastPeriodicRefresh = 0;
     private static final long PERIODIC_REFRESH_INTERVAL_MS = 2000; // Alle 2 Sekunden
+    // OPTIMIZATION: Pre-reduced tiles for far zoom levels, created on first use per world/dimension
+    private volatile RegionTilePyramid tilePyramid;
 
     public WorldMapData() {
         this.colorManager = MapViewConstants.getLightMapInstance().getColorManager();
@@ -212,21 +202,68 @@ public class WorldMapData implements MapChangeListener {
     }
 
     public void purgeRegionCaches() {
-        // OPTIMIZATION: No synchronization needed - CopyOnWriteArrayList is thread-safe
-        for (RegionCache cachedRegion : this.cachedRegionsPool) {
+        MapViewConstants.getLogger().debug(this.getCacheStatistics());
+        for (RegionCache cachedRegion : this.cachedRegions.clear()) {
             cachedRegion.cleanup();
         }
 
-        this.cachedRegions.clear();
-        this.cachedRegionsPool.clear();
+        RegionTilePyramid pyramid = this.tilePyramid;
+        this.tilePyramid = null;
+        if (pyramid != null) {
+            pyramid.release();
+        }
         this.getRegions(0, -1, 0, -1);
     }
 
-    public void renameSubworld(String oldName, String newName) {
-        // OPTIMIZATION: No synchronization needed - CopyOnWriteArrayList is thread-safe
-        for (RegionCache cachedRegion : this.cachedRegionsPool) {
-            cachedRegion.renameSubworld(oldName, newName);
+    /**
+     * Zoom-out tile pyramid of the current world and dimension, or null while no world is loaded.
+     */
+    public RegionTilePyramid getTilePyramid() {
+        RegionTilePyramid pyramid = this.tilePyramid;
+        if (pyramid == null && this.world != null) {
+            synchronized (this) {
+                pyramid = this.tilePyramid;
+                if (pyramid == null) {
+                    String worldName = MapViewConstants.getLightMapInstance().getCurrentWorldName();
+                    File regionDirectory = null;
+                    File directory = null;
+                    if (worldName != null && !worldName.isEmpty()) {
+                        String dimensionName = MapViewConstants.getLightMapInstance().getDimensionManager().getDimensionContainerByWorld(this.world).getStorageName();
+                        // Same directory the region caches of the main subworld are stored in
+                        regionDirectory = new File(MapViewConstants.getMinecraft().gameDirectory, "/mapview/cache/" + TextUtils.scrubNameFile(worldName) + "/" + TextUtils.scrubNameFile(dimensionName));
+                        directory = new File(regionDirectory, "pyramid");
+                    }
+                    pyramid = new RegionTilePyramid(directory, regionDirectory, this::backfillPyramidRegions);
+                    this.tilePyramid = pyramid;
+                }
+            }
         }
+        return pyramid;
+    }
+
+    /**
+     * Loads regions that exist on disk but are missing from the tile pyramid; their image refresh
+     * fills the pyramid. Runs on the client thread, which owns region creation.
+     */
+    private void backfillPyramidRegions(long[] regionKeys) {
+        RegionTilePyramid pyramid = this.tilePyramid;
+        MapViewConstants.getMinecraft().execute(() -> {
+            if (this.tilePyramid != pyramid || this.world == null) {
+                return;
+            }
+            // Make room first: new regions start referenced and survive the next sweep
+            this.prunePool();
+            String worldName = MapViewConstants.getLightMapInstance().getCurrentWorldName();
+            for (long key : regionKeys) {
+                RegionCache cachedRegion = this.cachedRegions.computeIfAbsent(RegionCacheTable.keyX(key), RegionCacheTable.keyZ(key),
+                        (regionX, regionZ) -> new RegionCache(this, regionX + "," + regionZ, this.world, worldName, "", regionX, regionZ));
+                cachedRegion.refresh(true);
+            }
+        });
+    }
+
+    public void renameSubworld(String oldName, String newName) {
+        this.cachedRegions.forEachResident(cachedRegion -> cachedRegion.renameSubworld(oldName, newName));
     }
 
     public ConfigNotificationService getSettingsAndLightingChangeNotifier() {
@@ -783,63 +820,56 @@ public class WorldMapData implements MapChangeListener {
             for (RegionCoordinates regionCoordinates : regionsToDisplay) {
                 int x = regionCoordinates.x;
                 int z = regionCoordinates.z;
-                String key = x + "," + z;
-                // OPTIMIZATION: ConcurrentHashMap.computeIfAbsent is atomic and lock-free
-                RegionCache cachedRegion = this.cachedRegions.computeIfAbsent(key, k -> {
-                    RegionCache newRegion = new RegionCache(this, k, this.world, worldName, subWorldName, x, z);
-                    // OPTIMIZATION: CopyOnWriteArrayList.add is thread-safe without explicit synchronization
-                    this.cachedRegionsPool.add(newRegion);
-                    return newRegion;
-                });
+                // OPTIMIZATION: Lock-free lookup, only a miss takes the ring lock
+                RegionCache cachedRegion = this.cachedRegions.computeIfAbsent(x, z,
+                        (regionX, regionZ) -> new RegionCache(this, regionX + "," + regionZ, this.world, worldName, subWorldName, regionX, regionZ));
 
                 cachedRegion.refresh(true);
                 visibleRegionCachesArray[(z - top) * (right - left + 1) + (x - left)] = cachedRegion;
             }
 
-            this.prunePool();
             // OPTIMIZATION: AtomicReference for lock-free update
             this.lastLeft = left;
             this.lastRight = right;
             this.lastTop = top;
             this.lastBottom = bottom;
             this.lastRegionsArray.set(visibleRegionCachesArray);
+            // Prune after the new window is set, it pins the visible regions
+            this.prunePool();
             return visibleRegionCachesArray;
         }
     }
 
     private void prunePool() {
-        // OPTIMIZATION: CopyOnWriteArrayList doesn't support iterator.remove(), use removeIf()
-        this.cachedRegionsPool.removeIf(region -> {
-            if (region.isLoaded() && region.isEmpty()) {
-                this.cachedRegions.put(region.getKey(), RegionCache.emptyRegion);
-                region.cleanup();
-                return true;
-            }
-            return false;
-        });
-
-        if (this.cachedRegionsPool.size() > this.options.getCacheSize()) {
-            this.cachedRegionsPool.sort(this.ageThenDistanceSorter);
-            List<RegionCache> toRemove = this.cachedRegionsPool.subList(this.options.getCacheSize(), this.cachedRegionsPool.size());
-
-            for (RegionCache cachedRegion : toRemove) {
-                this.cachedRegions.remove(cachedRegion.getKey());
-                cachedRegion.cleanup();
-            }
+        // Empty regions stay in the table as sentinel so they are not loaded again
+        this.cachedRegions.retireIf(region -> region.isLoaded() && region.isEmpty(), RegionCache.emptyRegion, RegionCache::cleanup);
 
-            toRemove.clear();
-        }
+        // OPTIMIZATION: CLOCK sweep instead of sorting the whole pool; visible regions are never evicted
+        this.cachedRegions.evict(this.options.getCacheBudgetBytes(), this.options.getCacheSize(), this::isVisibleRegion, RegionCache::cleanup);
 
         this.compress();
     }
 
+    private boolean isVisibleRegion(long key) {
+        int x = RegionCacheTable.keyX(key);
+        int z = RegionCacheTable.keyZ(key);
+        return x >= this.lastLeft && x <= this.lastRight && z >= this.lastTop && z <= this.lastBottom;
+    }
+
     public void compress() {
-        // OPTIMIZATION: No synchronization needed - CopyOnWriteArrayList is thread-safe
-        for (RegionCache cachedRegion : this.cachedRegionsPool) {
-            if (System.currentTimeMillis() - cachedRegion.getMostRecentChange() > 5000L) {
+        long now = System.currentTimeMillis();
+        this.cachedRegions.forEachResident(cachedRegion -> {
+            if (now - cachedRegion.getMostRecentChange() > 5000L) {
                 cachedRegion.compress();
             }
-        }
+        });
+    }
+
+    /**
+     * Hit rate, resident bytes and evictions of the region cache
+     */
+    public String getCacheStatistics() {
+        return this.cachedRegions.getStatistics() + String.format(", budget %d MB", this.options.getCacheBudgetMB());
     }
 
     @Override
@@ -878,14 +908,11 @@ public class WorldMapData implements MapChangeListener {
             int chunkZ = chunk.getPos().z;
             int regionX = (int) Math.floor(chunkX / 16.0);
             int regionZ = (int) Math.floor(chunkZ / 16.0);
-            String key = regionX + "," + regionZ;
-            // OPTIMIZATION: ConcurrentHashMap.computeIfAbsent is atomic and lock-free
-            RegionCache cachedRegion = this.cachedRegions.computeIfAbsent(key, k -> {
+            // OPTIMIZATION: Lock-free lookup, only a miss takes the ring lock
+            RegionCache cachedRegion = this.cachedRegions.computeIfAbsent(regionX, regionZ, (x, z) -> {
                 String worldName = MapViewConstants.getLightMapInstance().getCurrentWorldName();
                 String subWorldName = "";
-                RegionCache newRegion = new RegionCache(this, k, this.world, worldName, subWorldName, regionX, regionZ);
-                // OPTIMIZATION: CopyOnWriteArrayList.add is thread-safe
-                this.cachedRegionsPool.add(newRegion);
+                RegionCache newRegion = new RegionCache(this, x + "," + z, this.world, worldName, subWorldName, x, z);
 
                 // OPTIMIZATION: AtomicReference for lock-free array access
                 RegionCache[] currentArray = this.lastRegionsArray.get();
@@ -914,21 +941,21 @@ public class WorldMapData implements MapChangeListener {
     public boolean isRegionLoaded(int blockX, int blockZ) {
         int x = (int) Math.floor(blockX / 256.0F);
         int z = (int) Math.floor(blockZ / 256.0F);
-        RegionCache cachedRegion = this.cachedRegions.get(x + "," + z);
+        RegionCache cachedRegion = this.cachedRegions.peek(x, z);
         return cachedRegion != null && cachedRegion.isLoaded();
     }
 
     public boolean isGroundAt(int blockX, int blockZ) {
         int x = (int) Math.floor(blockX / 256.0F);
         int z = (int) Math.floor(blockZ / 256.0F);
-        RegionCache cachedRegion = this.cachedRegions.get(x + "," + z);
+        RegionCache cachedRegion = this.cachedRegions.peek(x, z);
         return cachedRegion != null && cachedRegion.isGroundAt(blockX, blockZ);
     }
 
     public int getHeightAt(int blockX, int blockZ) {
         int x = (int) Math.floor(blockX / 256.0F);
         int z = (int) Math.floor(blockZ / 256.0F);
-        RegionCache cachedRegion = this.cachedRegions.get(x + "," + z);
+        RegionCache cachedRegion = this.cachedRegions.peek(x, z);
         return cachedRegion == null ? Short.MIN_VALUE : cachedRegion.getHeightAt(blockX, blockZ);
     }
 
@@ -943,14 +970,14 @@ public class WorldMapData implements MapChangeListener {
     public BlockState getBlockStateAt(int blockX, int blockZ) {
         int x = (int) Math.floor(blockX / 256.0F);
         int z = (int) Math.floor(blockZ / 256.0F);
-        RegionCache cachedRegion = this.cachedRegions.get(x + "," + z);
+        RegionCache cachedRegion = this.cachedRegions.peek(x, z);
         return cachedRegion == null ? null : cachedRegion.getBlockStateAt(blockX, blockZ);
     }
 
     public void debugLog(int blockX, int blockZ) {
         int x = (int) Math.floor(blockX / 256.0F);
         int z = (int) Math.floor(blockZ / 256.0F);
-        RegionCache cachedRegion = this.cachedRegions.get(x + "," + z);
+        RegionCache cachedRegion = this.cachedRegions.peek(x, z);
         if (cachedRegion == null) {
             MapViewConstants.getLogger().info("No Region " + x + "," + z + " at " + blockX + "," + blockZ);
         } else {
@@ -982,21 +1009,22 @@ public class WorldMapData implements MapChangeListener {
         }
 
         // Sammle alle betroffenen Region-Koordinaten (ohne Duplikate)
-        java.util.Set<String> affectedRegionKeys = new java.util.HashSet<>();
+        LongOpenHashSet affectedRegionKeys = new LongOpenHashSet();
 
         for (BlockPos pos : path) {
             int regionX = (int) Math.floor(pos.getX() / 256.0);
             int regionZ = (int) Math.floor(pos.getZ() / 256.0);
-            String key = regionX + "," + regionZ;
-            affectedRegionKeys.add(key);
+            affectedRegionKeys.add(RegionCacheTable.key(regionX, regionZ));
         }
 
         MapViewConstants.getLogger().info("[WorldMapData] Invalidating {} regions along navigation path", affectedRegionKeys.size());
 
         // Invalidiere alle betroffenen Regions
         ConfigNotificationService notifier = new ConfigNotificationService();
-        for (String key : affectedRegionKeys) {
-            RegionCache cachedRegion = this.cachedRegions.get(key);
+        LongIterator keys = affectedRegionKeys.iterator();
+        while (keys.hasNext()) {
+            long key = keys.nextLong();
+            RegionCache cachedRegion = this.cachedRegions.peek(RegionCacheTable.keyX(key), RegionCacheTable.keyZ(key));
             if (cachedRegion != null && cachedRegion != RegionCache.emptyRegion) {
                 cachedRegion.notifyOfActionableChange(notifier);
             }
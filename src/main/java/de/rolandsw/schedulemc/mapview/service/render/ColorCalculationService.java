@@ -64,8 +64,10 @@ public class ColorCalculationService {
     private BufferedImage terrainBuff;
     private BufferedImage colorPicker;
     int sizeOfBiomeArray;
-    int[] blockColors = new int[16384];
-    int[] blockColorsWithDefaultTint = new int[16384];
+    // OPTIMIZATION: Lock-free reads from the parallel minimap tiles. Writers (misses, resize, reload) hold
+    // the monitor of this service; a resize copies into new arrays and publishes them through the volatile fields
+    volatile int[] blockColors = new int[16384];
+    volatile int[] blockColorsWithDefaultTint = new int[16384];
     float failedToLoadX;
     float failedToLoadY;
     final RandomSource random = RandomSource.create();
@@ -85,6 +87,7 @@ public class ColorCalculationService {
 
     // Performance-Optimierung: LRU Cache für Biome Tints (reduziert 9 Biome-Lookups pro Block)
     // Cache-Size: 4096 Einträge = ~32KB Memory (genug für typische Spieler-Umgebung)
+    // THREAD-SAFETY: Zugriff nur unter synchronized (biomeTintCache) - Minimap-Kacheln rechnen parallel
     private final Map<Long, Integer> biomeTintCache = new LinkedHashMap<Long, Integer>(4096, 0.75f, true) {
         @Override
         protected boolean removeEldestEntry(Map.Entry<Long, Integer> eldest) {
@@ -154,21 +157,23 @@ public class ColorCalculationService {
         this.loaded = false;  // NOPMD
 
         try {
-            Arrays.fill(this.blockColors, 0xFEFF00FF);
-            Arrays.fill(this.blockColorsWithDefaultTint, 0xFEFF00FF);
-            this.loadSpecialColors();
-            this.optifineLoader.clear();
-            if (this.optifineLoader.isInstalled()) {
-                try {
-                    this.optifineLoader.processCTM();
-                } catch (Exception var4) {
-                    MapViewConstants.getLogger().error("error loading CTM " + var4.getLocalizedMessage(), var4);
-                }
+            synchronized (this) {
+                Arrays.fill(this.blockColors, 0xFEFF00FF);
+                Arrays.fill(this.blockColorsWithDefaultTint, 0xFEFF00FF);
+                this.loadSpecialColors();
+                this.optifineLoader.clear();
+                if (this.optifineLoader.isInstalled()) {
+                    try {
+                        this.optifineLoader.processCTM();
+                    } catch (Exception var4) {
+                        MapViewConstants.getLogger().error("error loading CTM " + var4.getLocalizedMessage(), var4);
+                    }
 
-                try {
-                    this.optifineLoader.processColorProperties();
-                } catch (Exception var3) {
-                    MapViewConstants.getLogger().error("error loading custom color properties " + var3.getLocalizedMessage(), var3);
+                    try {
+                        this.optifineLoader.processColorProperties();
+                    } catch (Exception var3) {
+                        MapViewConstants.getLogger().error("error loading custom color properties " + var3.getLocalizedMessage(), var3);
+                    }
                 }
             }
 
@@ -193,10 +198,11 @@ public class ColorCalculationService {
 
     }
 
-    public void setSkyColor(int skyColor) {
-        this.blockColors[BlockDatabase.airID] = skyColor;
-        this.blockColors[BlockDatabase.voidAirID] = skyColor;
-        this.blockColors[BlockDatabase.caveAirID] = skyColor;
+    public synchronized void setSkyColor(int skyColor) {
+        int[] colors = this.blockColors;
+        colors[BlockDatabase.airID] = skyColor;
+        colors[BlockDatabase.voidAirID] = skyColor;
+        colors[BlockDatabase.caveAirID] = skyColor;
     }
 
     private void loadTexturePackTerrainImage() {
@@ -255,28 +261,41 @@ public class ColorCalculationService {
     }
 
     /**
-     * SICHERHEIT: Synchronized für Thread-safe Array-Zugriff während Resize
+     * OPTIMIZATION: Known colors are read without locking, so the parallel minimap tiles do not
+     * serialize on this service. Only a miss (color not computed yet) takes the lock, re-checks and
+     * computes the color once; an array slot holds an int, so a racing reader sees either the
+     * placeholder (and takes the slow path) or the final color.
      */
     private int getBlockColor(MutableBlockPos blockPos, int blockStateID) {
-        synchronized (this) {
-            int col = 0x1B000000;  // NOPMD
+        int[] colors = this.blockColors;
+        if (blockStateID < colors.length) {
+            int col = colors[blockStateID];
+            if (col != 0xFEFF00FF && col != 0x1B000000) {
+                return col;
+            }
+        }
 
-            // Nach Synchronisierung ist Array-Zugriff sicher
+        synchronized (this) {
             if (blockStateID >= this.blockColors.length) {
                 this.resizeColorArrays(blockStateID);
             }
 
-            col = this.blockColors[blockStateID];
+            int col = this.blockColors[blockStateID];
 
             if (col == 0xFEFF00FF || col == 0x1B000000) {
                 BlockState blockState = BlockDatabase.getStateById(blockStateID);
-                col = this.blockColors[blockStateID] = this.getColor(blockPos, blockState);
+                col = this.getColor(blockPos, blockState);
+                // Re-read the field: getColor may have grown the arrays through a nested lookup
+                this.blockColors[blockStateID] = col;
             }
 
             return col;
         }
     }
 
+    /**
+     * Caller holds the monitor of this service.
+     */
     private void resizeColorArrays(int queriedID) {
         if (queriedID >= this.blockColors.length) {
             // Performance-Optimierung: Wachse direkt auf benötigte Größe + Puffer
@@ -289,8 +308,9 @@ public class ColorCalculationService {
             System.arraycopy(this.blockColorsWithDefaultTint, 0, newBlockColorsWithDefaultTint, 0, this.blockColorsWithDefaultTint.length);
             Arrays.fill(newBlockColors, this.blockColors.length, newBlockColors.length, 0xFEFF00FF);
             Arrays.fill(newBlockColorsWithDefaultTint, this.blockColorsWithDefaultTint.length, newBlockColorsWithDefaultTint.length, 0xFEFF00FF);
-            this.blockColors = newBlockColors;
+            // Tint array first: a reader that sees the new color array also sees the new tint array
             this.blockColorsWithDefaultTint = newBlockColorsWithDefaultTint;
+            this.blockColors = newBlockColors;
         }
 
     }
@@ -493,7 +513,10 @@ public class ColorCalculationService {
         // Performance-Optimierung: LRU Cache für Biome Tints
         // Cache-Key: ChunkX (16 bit) | ChunkZ (16 bit) | BlockStateID (32 bit)
         long cacheKey = ((long)(blockPos.getX() >> 4) << 48) | ((long)(blockPos.getZ() >> 4) << 32) | (blockStateID & 0xFFFFFFFFL);
-        Integer cachedTint = biomeTintCache.get(cacheKey);
+        Integer cachedTint;
+        synchronized (biomeTintCache) {
+            cachedTint = biomeTintCache.get(cacheKey);
+        }
         if (cachedTint != null) {
             return cachedTint; // Cache Hit - spart 9 Biome-Lookups!
         }
@@ -548,7 +571,9 @@ public class ColorCalculationService {
 
         // Performance-Optimierung: Speichere berechneten Wert im Cache
         int result = ARGBCompat.toABGR(tint);
-        biomeTintCache.put(cacheKey, result);
+        synchronized (biomeTintCache) {
+            biomeTintCache.put(cacheKey, result);
+        }
         return result;
     }
 
@@ -16,8 +16,11 @@ public class BiomeScanner {
     public static void parseLine(Level world, String line, BiMap<Biome, Integer> map) {
         String[] lineParts = line.split(" ");
 
-        int id = Integer.parseInt(lineParts[0]);
-        Biome biome = world.registryAccess().registryOrThrow(Registries.BIOME).get(ResourceKey.create(Registries.BIOME, ResourceLocation.parse(lineParts[1])));
+        parseEntry(world, Integer.parseInt(lineParts[0]), lineParts[1], map);
+    }
+
+    public static void parseEntry(Level world, int id, String biomeKey, BiMap<Biome, Integer> map) {
+        Biome biome = world.registryAccess().registryOrThrow(Registries.BIOME).get(ResourceKey.create(Registries.BIOME, ResourceLocation.parse(biomeKey)));
         if (biome != null) {
             map.forcePut(biome, id);
         }
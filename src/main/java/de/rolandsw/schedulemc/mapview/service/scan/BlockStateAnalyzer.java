@@ -16,8 +16,11 @@ public final class BlockStateAnalyzer {
     public static void parseLine(String line, BiMap<BlockState, Integer> map) {
         String[] lineParts = line.split(" ");
 
-        int id = Integer.parseInt(lineParts[0]);
-        BlockState blockState = parseStateString(lineParts[1]);
+        parseEntry(Integer.parseInt(lineParts[0]), lineParts[1], map);
+    }
+
+    public static void parseEntry(int id, String stateString, BiMap<BlockState, Integer> map) {
+        BlockState blockState = parseStateString(stateString);
 
         if (blockState != null) {
             map.forcePut(blockState, id);
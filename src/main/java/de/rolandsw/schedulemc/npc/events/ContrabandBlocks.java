@@ -0,0 +1,92 @@
+package de.rolandsw.schedulemc.npc.events;
+
+import com.mojang.logging.LogUtils;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import org.slf4j.Logger;
+
+import java.util.BitSet;
+
+/**
+ * Vorberechnete Menge aller Blöcke, die bei einer Polizei-Durchsuchung als Konterband zählen
+ *
+ * Problem (Alt):
+ * - Pro gescanntem Block ein Registry-Key-Lookup plus Namespace-/Pfad-Stringvergleich
+ *
+ * Lösung (Neu):
+ * - Einmal nach dem Einfrieren der Registries (Common Setup) ein BitSet über die Block-IDs
+ * - Pro Block nur noch ein Bit-Test; als Predicate für {@code LevelChunkSection.maybeHas}
+ *   lassen sich ganze Sektionen anhand ihrer Palette überspringen
+ */
+public final class ContrabandBlocks {
+
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final String SCHEDULEMC_NAMESPACE = "schedulemc";
+
+    public static final byte KIND_NONE = 0;
+    public static final byte KIND_GOLD_BLOCK = 1;
+    public static final byte KIND_DIAMOND_BLOCK = 2;
+    public static final byte KIND_PLANT = 3;
+
+    private static volatile BitSet contraband;
+
+    private ContrabandBlocks() {}
+
+    /**
+     * Baut das BitSet auf. Registries müssen eingefroren sein (FMLCommonSetupEvent).
+     */
+    public static void init() {
+        BitSet bits = new BitSet(BuiltInRegistries.BLOCK.size());
+        for (Block block : BuiltInRegistries.BLOCK) {
+            if (classify(block) != KIND_NONE) {
+                bits.set(BuiltInRegistries.BLOCK.getId(block));
+            }
+        }
+        contraband = bits;
+        LOGGER.info("Contraband block set initialized: {} blocks", bits.cardinality());
+    }
+
+    /**
+     * true wenn der Block Konterband ist (ein Bit-Test)
+     */
+    public static boolean isContraband(BlockState state) {
+        BitSet bits = contraband;
+        if (bits == null) {
+            init();
+            bits = contraband;
+        }
+        return bits.get(BuiltInRegistries.BLOCK.getId(state.getBlock()));
+    }
+
+    /**
+     * Art des Konterbands; nur für bereits per {@link #isContraband} erkannte Treffer aufrufen
+     */
+    public static byte kindOf(BlockState state) {
+        Block block = state.getBlock();
+        if (block == Blocks.GOLD_BLOCK) {
+            return KIND_GOLD_BLOCK;
+        }
+        if (block == Blocks.DIAMOND_BLOCK) {
+            return KIND_DIAMOND_BLOCK;
+        }
+        return isContraband(state) ? KIND_PLANT : KIND_NONE;
+    }
+
+    private static byte classify(Block block) {
+        if (block == Blocks.GOLD_BLOCK) {
+            return KIND_GOLD_BLOCK;
+        }
+        if (block == Blocks.DIAMOND_BLOCK) {
+            return KIND_DIAMOND_BLOCK;
+        }
+        // Illegale Pflanzen: alle schedulemc-Blöcke mit "_plant" im Pfad
+        ResourceLocation key = BuiltInRegistries.BLOCK.getKey(block);
+        if (SCHEDULEMC_NAMESPACE.equals(key.getNamespace()) && key.getPath().contains("_plant")) {
+            return KIND_PLANT;
+        }
+        return KIND_NONE;
+    }
+}
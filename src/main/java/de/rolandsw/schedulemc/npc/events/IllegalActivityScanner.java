@@ -8,15 +8,18 @@ import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.Level;
-import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.entity.ChestBlockEntity;
 import net.minecraft.core.registries.BuiltInRegistries;
+import it.unimi.dsi.fastutil.bytes.ByteArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongSet;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Scannt Umgebung nach illegalen Aktivitäten
@@ -30,6 +33,11 @@ import java.util.Set;
  */
 public class IllegalActivityScanner {
 
+    /**
+     * Hard-Limit für den Radius-Scan (Config erlaubt bis 50)
+     */
+    public static final int MAX_RAID_SCAN_RADIUS = 15;
+
     /**
      * Ergebnis eines Scans
      */
@@ -42,6 +50,50 @@ public class IllegalActivityScanner {
         public int containerItemCount = 0;  // Feature 7: Items in Containern
         public List<String> foundIllegalItems = new ArrayList<>();
 
+        // Block-Funde kompakt (gepackte Position + Art), Texte erst bei Bedarf in getFindings()
+        private final LongArrayList blockFindPositions = new LongArrayList();
+        private final ByteArrayList blockFindKinds = new ByteArrayList();
+
+        /**
+         * Zählt einen Konterband-Block (ohne String-/Component-Allokation)
+         */
+        public void recordBlock(byte kind, long packedPos) {
+            if (kind == ContrabandBlocks.KIND_PLANT) {
+                illegalPlantCount++;
+            } else if (kind != ContrabandBlocks.KIND_NONE) {
+                illegalBlockCount++;
+            } else {
+                return;
+            }
+            blockFindPositions.add(packedPos);
+            blockFindKinds.add(kind);
+        }
+
+        /**
+         * Gepackte Positionen aller Block-Funde in Fund-Reihenfolge
+         */
+        long[] getBlockFindPositions() {
+            return blockFindPositions.toLongArray();
+        }
+
+        /**
+         * Alle Funde als lesbarer Text (Block-Funde werden erst hier übersetzt)
+         */
+        public List<String> getFindings() {
+            List<String> findings = new ArrayList<>(blockFindPositions.size() + foundIllegalItems.size());
+            for (int i = 0; i < blockFindPositions.size(); i++) {
+                String pos = BlockPos.of(blockFindPositions.getLong(i)).toShortString();
+                String key = switch (blockFindKinds.getByte(i)) {
+                    case ContrabandBlocks.KIND_GOLD_BLOCK -> "police.scan.gold_block";
+                    case ContrabandBlocks.KIND_DIAMOND_BLOCK -> "police.scan.diamond_block";
+                    default -> "police.scan.tobacco_plant";
+                };
+                findings.add(Component.translatable(key, pos).getString());
+            }
+            findings.addAll(foundIllegalItems);
+            return findings;
+        }
+
         public int calculateSeverity() {
             int severity = 0;
 
@@ -91,7 +143,9 @@ public class IllegalActivityScanner {
         ScanResult result = new ScanResult();
 
         // 1. Scanne den Raum, in dem die Festnahme stattfand
-        RoomScanner.RoomScanResult initialRoom = RoomScanner.scanRoom(level, arrestPos);
+        // Eine Engine für alle Räume: Chunk-Referenzen werden über den gesamten Scan gecacht
+        RoomFloodFill engine = new RoomFloodFill(level);
+        RoomScanner.RoomScanResult initialRoom = RoomScanner.scanRoom(engine, arrestPos.asLong());
 
         com.mojang.logging.LogUtils.getLogger().info(
             "[ROOM-SCAN] Scanne initialen Raum für Spieler {} - {} Blöcke gefunden",
@@ -100,8 +154,8 @@ public class IllegalActivityScanner {
         );
 
         // Scanne alle Blöcke im initialen Raum
-        for (BlockPos pos : initialRoom.roomBlocks) {
-            scanBlock(level, pos, result);
+        for (LongIterator it = initialRoom.roomBlocks.iterator(); it.hasNext(); ) {
+            scanBlock(engine, it.nextLong(), result);
         }
 
         // Scanne Spieler-Inventar
@@ -111,7 +165,7 @@ public class IllegalActivityScanner {
         if (result.hasIllegalActivity()) {
             // Polizei darf weitere Räume durchsuchen, da Konterband gefunden wurde
             int maxAdditionalRooms = ModConfigHandler.COMMON.POLICE_ROOM_SCAN_MAX_ADDITIONAL_ROOMS.get();
-            Set<BlockPos> connectedRooms = RoomScanner.scanConnectedRooms(level, initialRoom, maxAdditionalRooms);
+            LongSet connectedRooms = RoomScanner.scanConnectedRooms(engine, initialRoom, maxAdditionalRooms);
 
             int additionalBlocks = connectedRooms.size() - initialRoom.size();
 
@@ -121,10 +175,11 @@ public class IllegalActivityScanner {
             );
 
             // Scanne alle zusätzlichen Räume
-            for (BlockPos pos : connectedRooms) {
+            for (LongIterator it = connectedRooms.iterator(); it.hasNext(); ) {
+                long pos = it.nextLong();
                 // Überspringe Blöcke, die bereits im ersten Raum gescannt wurden
                 if (!initialRoom.roomBlocks.contains(pos)) {
-                    scanBlock(level, pos, result);
+                    scanBlock(engine, pos, result);
                 }
             }
 
@@ -144,62 +199,32 @@ public class IllegalActivityScanner {
     }
 
     /**
-     * ALTE METHODE: Radius-basierter Scan (deprecated, aber für Rückwärtskompatibilität beibehalten)
+     * Radius-Scan verteilt über mehrere Ticks (Modus ohne Raum-Scan)
+     *
+     * Das Inventar wird sofort gescannt, die Umgebung sektionsweise über den
+     * {@link RaidScanScheduler}. {@code onComplete} läuft auf dem Server-Thread, spätestens
+     * beim Logout des Spielers.
+     *
+     * OPTIMIERT: Ersetzt den synchronen Radius-Scan im Festnahme-Tick.
      *
-     * @deprecated Verwende stattdessen {@link #scanRoomBased(Level, BlockPos, ServerPlayer)}
+     * @param radius Radius in Blöcken, wie bisher auf {@value #MAX_RAID_SCAN_RADIUS} begrenzt
      */
-    @Deprecated
-    public static ScanResult scanArea(Level level, BlockPos center, ServerPlayer player) {
+    public static void scanAreaIncremental(Level level, BlockPos center, int radius, ServerPlayer player,
+                                           Consumer<ScanResult> onComplete) {
         ScanResult result = new ScanResult();
-
-        int configRadius = ModConfigHandler.COMMON.POLICE_RAID_SCAN_RADIUS.get();
-        // Hard-Limit bei 15 Blöcken für Performance (15³ = 3375 Blöcke statt 20³ = 8000)
-        int radius = Math.min(configRadius, 15);
-
-        // Scanne alle Blöcke im Radius
-        for (int x = -radius; x <= radius; x++) {
-            for (int y = -radius; y <= radius; y++) {
-                for (int z = -radius; z <= radius; z++) {
-                    BlockPos pos = center.offset(x, y, z);
-                    scanBlock(level, pos, result);
-                }
-            }
-        }
-
-        // Scanne Spieler-Inventar
         scanPlayerInventory(player, result);
-
-        return result;
+        RaidScanScheduler.submit(new RaidAreaScan(level, center, Math.min(radius, MAX_RAID_SCAN_RADIUS),
+            player.getUUID(), result, onComplete));
     }
 
-    // PERFORMANCE: Block-Referenzen cachen statt String-Vergleiche pro Block
-    private static final Block GOLD_BLOCK = net.minecraft.world.level.block.Blocks.GOLD_BLOCK;
-    private static final Block DIAMOND_BLOCK = net.minecraft.world.level.block.Blocks.DIAMOND_BLOCK;
-    private static final String SCHEDULEMC_NAMESPACE = "schedulemc";
-
     /**
      * Scannt einen einzelnen Block.
-     * PERFORMANCE: Nutzt direkte Block-Referenz-Vergleiche statt toString() + contains().
-     * Vermeidet String-Allokation für jeden gescannten Block.
+     * PERFORMANCE: Ein Bit-Test im vorberechneten Konterband-Set, keine Registry-/String-Operationen.
      */
-    private static void scanBlock(Level level, BlockPos pos, ScanResult result) {
-        BlockState state = level.getBlockState(pos);
-        Block block = state.getBlock();
-
-        // PERFORMANCE: Direkte Block-Referenz-Vergleiche statt String-Operationen
-        if (block == GOLD_BLOCK) {
-            result.illegalBlockCount++;
-            result.foundIllegalItems.add(Component.translatable("police.scan.gold_block", pos.toShortString()).getString());
-        } else if (block == DIAMOND_BLOCK) {
-            result.illegalBlockCount++;
-            result.foundIllegalItems.add(Component.translatable("police.scan.diamond_block", pos.toShortString()).getString());
-        }
-
-        // Prüfe auf Pflanzen: Nur String-Check wenn nötig, Namespace zuerst
-        net.minecraft.resources.ResourceLocation blockKey = BuiltInRegistries.BLOCK.getKey(block);
-        if (SCHEDULEMC_NAMESPACE.equals(blockKey.getNamespace()) && blockKey.getPath().contains("_plant")) {
-            result.illegalPlantCount++;
-            result.foundIllegalItems.add(Component.translatable("police.scan.tobacco_plant", pos.toShortString()).getString());
+    private static void scanBlock(RoomFloodFill engine, long pos, ScanResult result) {
+        BlockState state = engine.getState(pos);
+        if (ContrabandBlocks.isContraband(state)) {
+            result.recordBlock(ContrabandBlocks.kindOf(state), pos);
         }
     }
 
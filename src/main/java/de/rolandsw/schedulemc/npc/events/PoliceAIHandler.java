@@ -15,11 +15,13 @@ import de.rolandsw.schedulemc.npc.network.NPCNetworkHandler;
 import de.rolandsw.schedulemc.npc.network.WantedLevelSyncPacket;
 import net.minecraft.core.BlockPos;
 import net.minecraft.network.chat.Component;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.effect.MobEffectInstance;
 import net.minecraft.world.effect.MobEffects;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.phys.AABB;
 import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.event.entity.living.LivingEvent;
@@ -33,6 +35,7 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import net.minecraft.world.phys.Vec3;
@@ -67,6 +70,9 @@ public class PoliceAIHandler {
         }
     );
 
+    // Spieler, deren Festnahme auf den Abschluss des Radius-Scans wartet
+    private static final Set<UUID> pendingRaidArrests = ConcurrentHashMap.newKeySet();
+
     // NPC UUID -> Last Pursuit Target (um zu wissen wen wir verfolgt haben) - LRU Cache
     // SICHERHEIT: Collections.synchronizedMap wrapper, da LinkedHashMap nicht thread-safe ist
     private static final Map<UUID, UUID> lastPursuitTarget = Collections.synchronizedMap(
@@ -110,43 +116,23 @@ public class PoliceAIHandler {
     private static final int CACHE_UPDATE_INTERVAL = 5; // Alle 5 Ticks (250ms) statt jeden Tick
 
     // ═══════════════════════════════════════════════════════════════════════════
-    // OPTIMIERUNG: Polizei-NPC-Cache (aktualisiert alle 10 Ticks = 500ms)
-    // Verhindert teuren getEntitiesOfClass() World-Scan pro Spieler pro Tick
+    // OPTIMIERUNG: Umkreis-Abfragen für Polizei und Spieler über PoliceProximityIndex
+    // (Spatial Hash pro Level, inkrementell über Join/Leave/Bewegung gepflegt)
     // ═══════════════════════════════════════════════════════════════════════════
-    private static volatile List<CachedPoliceData> policeCache = List.of();
-    private static volatile long lastPoliceCacheUpdateTick = -1;
-    private static final int POLICE_CACHE_UPDATE_INTERVAL = 10; // Alle 10 Ticks (500ms)
 
     /**
-     * Gecachte Spielerdaten für schnellen Zugriff
+     * Gecachte Spielerdaten für schnellen Zugriff (Positionen liegen im PoliceProximityIndex)
      */
     private static class CachedPlayerData {
         final ServerPlayer player;
-        final Vec3 position;
         final int wantedLevel;
 
         CachedPlayerData(ServerPlayer player) {
             this.player = player;
-            this.position = player.position();
             this.wantedLevel = CrimeManager.getWantedLevel(player.getUUID());
         }
     }
 
-    /**
-     * Gecachte Polizei-NPC-Daten für schnellen Zugriff ohne World-Scan
-     */
-    private static class CachedPoliceData {
-        final CustomNPCEntity npc;
-        final Vec3 position;
-        final UUID uuid;
-
-        CachedPoliceData(CustomNPCEntity npc) {
-            this.npc = npc;
-            this.position = npc.position();
-            this.uuid = npc.getUUID();
-        }
-    }
-
     /**
      * Aktualisiert den Spieler-Cache alle 5 Ticks (250ms).
      * Baut neuen Cache auf und tauscht ihn atomar aus (kein clear()+put() mehr).
@@ -165,70 +151,35 @@ public class PoliceAIHandler {
         Map<UUID, CachedPlayerData> newCache = new HashMap<>(players.size() * 2);  // NOPMD
         for (ServerPlayer player : players) {
             newCache.put(player.getUUID(), new CachedPlayerData(player));
+            PoliceProximityIndex.trackPlayer(player);
         }
         playerCache = newCache;
     }
 
     /**
-     * Aktualisiert den Polizei-NPC-Cache alle 10 Ticks (500ms).
-     * Ersetzt teuren getEntitiesOfClass() World-Scan pro Spieler pro Tick.
-     *
-     * @param server Der Minecraft Server
-     * @param currentTick Aktueller Game-Tick
-     */
-    public static void updatePoliceCache(net.minecraft.server.MinecraftServer server, long currentTick) {
-        if (currentTick - lastPoliceCacheUpdateTick < POLICE_CACHE_UPDATE_INTERVAL) return;
-        lastPoliceCacheUpdateTick = currentTick;
-
-        List<CachedPoliceData> newCache = new ArrayList<>();
-        for (ServerLevel level : server.getAllLevels()) {
-            for (net.minecraft.world.entity.Entity entity : level.getAllEntities()) {
-                if (entity instanceof CustomNPCEntity npc
-                        && npc.getNpcType() == NPCType.POLIZEI
-                        && !npc.getPersistentData().getBoolean("IsKnockedOut")) {
-                    newCache.add(new CachedPoliceData(npc));
-                }
-            }
-        }
-        policeCache = newCache;
-    }
-
-    /**
-     * Findet Polizei-NPCs im Radius einer Position (nutzt Cache statt World-Scan).
-     * O(n) mit n = Anzahl Polizei-NPCs statt O(alle World Entities).
+     * Findet Polizei-NPCs im Radius einer Position (Spatial Hash statt World-Scan).
+     * O(berührte Rasterzellen) statt O(alle Polizei-NPCs), nur im angegebenen Level.
      *
+     * @param level Level der Suche
      * @param center Zentrum der Suche
      * @param radius Suchradius
      * @param result Wiederverwendbare Liste (wird geleert und gefüllt)
      */
-    public static void getPoliceInRadius(Vec3 center, double radius, List<CustomNPCEntity> result) {
-        result.clear();
-        double radiusSq = radius * radius;
-        for (CachedPoliceData data : policeCache) {
-            if (data.position.distanceToSqr(center) <= radiusSq) {
-                result.add(data.npc);
-            }
-        }
+    public static void getPoliceInRadius(Level level, Vec3 center, double radius, List<CustomNPCEntity> result) {
+        PoliceProximityIndex.findPolice(level, center, radius, result);
     }
 
     /**
-     * Findet Spieler im Radius einer Position (nutzt Cache statt Entity-Lookup)
-     * O(n) mit n = Anzahl Online-Spieler (typisch 10-100) statt World-Entity-Scan
+     * Findet Spieler im Radius einer Position (Spatial Hash statt Entity-Lookup)
      *
+     * @param level Level der Suche
      * @param center Zentrum der Suche
      * @param radius Suchradius
      * @return Liste von Spielern im Radius
      */
-    private static List<ServerPlayer> getPlayersInRadius(Vec3 center, double radius) {
+    private static List<ServerPlayer> getPlayersInRadius(Level level, Vec3 center, double radius) {
         List<ServerPlayer> result = new ArrayList<>();
-        double radiusSq = radius * radius;
-
-        for (CachedPlayerData data : playerCache.values()) {
-            if (data.position.distanceToSqr(center) <= radiusSq) {
-                result.add(data.player);
-            }
-        }
-
+        PoliceProximityIndex.findPlayers(level, center, radius, result);
         return result;
     }
 
@@ -249,6 +200,9 @@ public class PoliceAIHandler {
             if (!(event.getEntity() instanceof CustomNPCEntity npc)) return;
             if (npc.getNpcType() != NPCType.POLIZEI) return;
 
+        // Position im Spatial Hash nachführen (trägt bewusstlose Polizei aus)
+        PoliceProximityIndex.trackPolice(npc);
+
         // Prüfe ob Polizei knockout ist
         if (npc.getPersistentData().getBoolean("IsKnockedOut")) {
             return; // Keine AI während knockout
@@ -305,7 +259,7 @@ public class PoliceAIHandler {
         // Wenn kein zugewiesenes Ziel, suche Verbrecher in der Nähe
         if (targetCriminal == null) {
             // OPTIMIERT: Nutze gecachte Spieler-Positionen statt teuren Entity-Scan
-            List<ServerPlayer> nearbyPlayers = getPlayersInRadius(npc.position(), detectionRadius);
+            List<ServerPlayer> nearbyPlayers = getPlayersInRadius(npc.level(), npc.position(), detectionRadius);
 
             // Finde Spieler mit höchstem Wanted-Level
             for (ServerPlayer player : nearbyPlayers) {
@@ -481,6 +435,9 @@ public class PoliceAIHandler {
         if (player.getPersistentData().getLong("JailReleaseTime") > 0) {
             return; // Schon im Gefängnis
         }
+        if (pendingRaidArrests.contains(player.getUUID())) {
+            return; // Durchsuchung läuft noch, Festnahme wird danach abgeschlossen
+        }
 
         // Feature 1: Stoppe Fahrzeugverfolgung falls aktiv
         if (PoliceVehiclePursuit.isInVehiclePursuit(police.getUUID())) {
@@ -544,29 +501,59 @@ public class PoliceAIHandler {
         // POLIZEI RAID - Scanne nach illegalen Items
         // Modus wird über Config gesteuert (POLICE_ROOM_SCAN_ENABLED):
         //   TRUE  = Intelligentes Raum-Scannen (nur gesehene Räume)
-        //   FALSE = Klassisches Radius-Scannen (komplette Umgebung)
+        //   FALSE = Radius-Scannen (komplette Umgebung), über mehrere Ticks verteilt
         // ═══════════════════════════════════════════════════════════
         boolean useRoomScan = ModConfigHandler.COMMON.POLICE_ROOM_SCAN_ENABLED.get();
 
-        IllegalActivityScanner.ScanResult scanResult;
         if (useRoomScan) {
             // NEUE LOGIK: Nur Raum scannen, in dem Festnahme stattfand
             //             Wenn Konterband gefunden → weitere Räume durchsuchen
             //             Wenn nichts gefunden → KEINE Durchsuchung des ganzen Gebäudes
-            scanResult = IllegalActivityScanner.scanRoomBased(
+            IllegalActivityScanner.ScanResult scanResult = IllegalActivityScanner.scanRoomBased(
                 player.level(),
                 player.blockPosition(),
                 player
             );
+            completeArrest(police, player, wantedLevel, scanResult);
         } else {
-            // ALTE LOGIK: Kompletter Radius wird gescannt (deprecated)
-            scanResult = IllegalActivityScanner.scanArea(
+            // OPTIMIERT: Radius-Scan sektionsweise über den RaidScanScheduler statt synchron
+            // im Festnahme-Tick. Raid-Folgen, Strafe und Haft folgen wie bisher in dieser
+            // Reihenfolge, sobald der Scan abgeschlossen ist (spätestens beim Logout).
+            UUID playerId = player.getUUID();
+            MinecraftServer server = player.getServer();
+            pendingRaidArrests.add(playerId);
+            IllegalActivityScanner.scanAreaIncremental(
                 player.level(),
                 player.blockPosition(),
-                player
+                ModConfigHandler.COMMON.POLICE_RAID_SCAN_RADIUS.get(),
+                player,
+                scanResult -> onRaidScanComplete(server, police, playerId, wantedLevel, scanResult)
             );
         }
+    }
 
+    /**
+     * Abschluss eines über mehrere Ticks verteilten Radius-Scans (Server-Thread)
+     *
+     * Der Scheduler schließt die Scans eines Spielers beim Logout ab, bevor seine Daten
+     * gespeichert werden; Strafe und Haft landen so auch bei Logout in den Spielerdaten.
+     */
+    private void onRaidScanComplete(MinecraftServer server, CustomNPCEntity police, UUID playerId,
+                                    int wantedLevel, IllegalActivityScanner.ScanResult scanResult) {
+        pendingRaidArrests.remove(playerId);
+        ServerPlayer player = server != null ? server.getPlayerList().getPlayer(playerId) : null;
+        if (player == null) {
+            LOGGER.warn("[RAID] Player {} is no longer on the server - arrest not completed", playerId);
+            return;
+        }
+        completeArrest(police, player, wantedLevel, scanResult);
+    }
+
+    /**
+     * Zweiter Teil der Festnahme: Raid-Folgen, Strafe und Haft
+     */
+    private void completeArrest(CustomNPCEntity police, ServerPlayer player, int wantedLevel,
+                                IllegalActivityScanner.ScanResult scanResult) {
         if (scanResult.hasIllegalActivity()) {
             // Illegale Aktivitäten gefunden!
             if (LOGGER.isInfoEnabled()) {
@@ -739,7 +726,7 @@ public class PoliceAIHandler {
             // Finde nächste Polizei (OPTIMIERT: Cache statt getEntitiesOfClass World-Scan)
             int backupSearchRadius = ModConfigHandler.COMMON.POLICE_BACKUP_SEARCH_RADIUS.get();
             List<CustomNPCEntity> nearbyPolice = new ArrayList<>();
-            getPoliceInRadius(player.position(), backupSearchRadius, nearbyPolice);
+            getPoliceInRadius(player.level(), player.position(), backupSearchRadius, nearbyPolice);
 
             // OPTIMIERT: Kombinierte Schleife für minDistance + hiddenFromAll Check
             // Vorher: 2 separate Iterationen, jetzt: 1 einzige
@@ -829,10 +816,13 @@ public class PoliceAIHandler {
      */
     public static void cleanupPlayer(UUID playerUUID) {
         // playerCache wird nicht manuell bereinigt - der atomare Swap alle 5 Ticks
-        // entfernt abgemeldete Spieler automatisch beim nächsten Rebuild
+        // entfernt abgemeldete Spieler automatisch beim nächsten Rebuild,
+        // der PoliceProximityIndex über EntityLeaveLevelEvent
         arrestTimers.remove(playerUUID);
         lastSyncedWantedLevel.remove(playerUUID);
         lastSyncedEscapeTime.remove(playerUUID);
+        // Laufende Raid-Scans schließt der RaidScanScheduler vorher ab (höhere Priorität)
+        pendingRaidArrests.remove(playerUUID);
         // lastPursuitTarget verwendet NPC-UUIDs als Key, nicht Spieler-UUIDs
         // Daher hier kein Cleanup nötig
         LOGGER.debug("[POLICE] Cleaned up caches for player {}", playerUUID);
@@ -57,7 +57,7 @@ public class PoliceDoorBlockHandler {
             // FIX 6: Nutze PoliceAIHandler-Cache statt unkached getEntitiesOfClass
             int detectionRadius = ModConfigHandler.COMMON.POLICE_DETECTION_RADIUS.get();
             List<CustomNPCEntity> nearbyPolice = new ArrayList<>();
-            PoliceAIHandler.getPoliceInRadius(serverPlayer.position(), detectionRadius, nearbyPolice);
+            PoliceAIHandler.getPoliceInRadius(serverPlayer.level(), serverPlayer.position(), detectionRadius, nearbyPolice);
 
             if (!nearbyPolice.isEmpty()) {
                 // Polizei ist in der Nähe → Tür blockiert!
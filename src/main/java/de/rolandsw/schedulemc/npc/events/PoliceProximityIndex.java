@@ -0,0 +1,194 @@
+package de.rolandsw.schedulemc.npc.events;
+
+import de.rolandsw.schedulemc.npc.data.NPCType;
+import de.rolandsw.schedulemc.npc.entity.CustomNPCEntity;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.event.entity.EntityJoinLevelEvent;
+import net.minecraftforge.event.entity.EntityLeaveLevelEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Räumlicher Index für Polizei-NPCs und Spieler, ein {@link ProximityGrid} pro Level
+ *
+ * Problem (Alt):
+ * - Alle 10 Ticks {@code level.getAllEntities()} über alle Levels für den Polizei-Cache
+ * - Jede Umkreis-Abfrage (Polizei-KI, Zeugen, Flucht, Türen) lief linear über alle
+ *   Polizisten bzw. Spieler, ohne Level-Prüfung
+ *
+ * Lösung (Neu):
+ * - Inkrementelle Pflege über Entity-Events: Join/Leave fügen ein bzw. entfernen,
+ *   Bewegungen kommen aus dem Polizei-Tick bzw. dem Spieler-Cache-Update
+ * - Abfragen kosten O(berührte Zellen) und liefern nur Entities desselben Levels
+ *
+ * Nur auf dem Server-Thread benutzen.
+ */
+@Mod.EventBusSubscriber
+public final class PoliceProximityIndex {
+
+    private static final Map<ResourceKey<Level>, LevelIndex> levels = new HashMap<>();
+
+    // Wiederverwendeter ID-Puffer für Abfragen (Server-Thread)
+    private static final IntArrayList queryBuffer = new IntArrayList();
+
+    private PoliceProximityIndex() {}
+
+    /**
+     * Raster + ID-Zuordnung für ein Level
+     */
+    private static final class LevelIndex {
+        final ProximityGrid policeGrid = new ProximityGrid();
+        final Int2ObjectOpenHashMap<CustomNPCEntity> police = new Int2ObjectOpenHashMap<>();
+        final ProximityGrid playerGrid = new ProximityGrid();
+        final Int2ObjectOpenHashMap<ServerPlayer> players = new Int2ObjectOpenHashMap<>();
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // PFLEGE
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Aktualisiert einen Polizisten; bewusstlose Polizisten werden ausgetragen
+     */
+    public static void trackPolice(CustomNPCEntity npc) {
+        LevelIndex index = index(npc.level());
+        int id = npc.getId();
+        if (npc.getPersistentData().getBoolean("IsKnockedOut")) {
+            if (index.policeGrid.remove(id)) {
+                index.police.remove(id);
+            }
+            return;
+        }
+        index.policeGrid.update(id, npc.getX(), npc.getY(), npc.getZ());
+        index.police.put(id, npc);
+    }
+
+    /**
+     * Aktualisiert die Position eines Spielers
+     */
+    public static void trackPlayer(ServerPlayer player) {
+        LevelIndex index = index(player.level());
+        int id = player.getId();
+        index.playerGrid.update(id, player.getX(), player.getY(), player.getZ());
+        index.players.put(id, player);
+    }
+
+    private static void untrack(Entity entity) {
+        LevelIndex index = levels.get(entity.level().dimension());
+        if (index == null) {
+            return;
+        }
+        int id = entity.getId();
+        if (index.policeGrid.remove(id)) {
+            index.police.remove(id);
+        }
+        if (index.playerGrid.remove(id)) {
+            index.players.remove(id);
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // ABFRAGEN
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Polizisten (nicht bewusstlos) im Umkreis, nur im angegebenen Level
+     *
+     * @param result Wird geleert und gefüllt
+     */
+    public static void findPolice(Level level, Vec3 center, double radius, List<CustomNPCEntity> result) {
+        result.clear();
+        LevelIndex index = levels.get(level.dimension());
+        if (index == null) {
+            return;
+        }
+        IntArrayList ids = queryBuffer;
+        ids.clear();
+        index.policeGrid.query(center.x, center.y, center.z, radius, ids);
+        for (int i = 0; i < ids.size(); i++) {
+            CustomNPCEntity npc = index.police.get(ids.getInt(i));
+            if (npc != null && !npc.isRemoved() && npc.getNpcType() == NPCType.POLIZEI) {
+                result.add(npc);
+            }
+        }
+    }
+
+    /**
+     * Spieler im Umkreis, nur im angegebenen Level
+     *
+     * @param result Wird geleert und gefüllt
+     */
+    public static void findPlayers(Level level, Vec3 center, double radius, List<ServerPlayer> result) {
+        result.clear();
+        LevelIndex index = levels.get(level.dimension());
+        if (index == null) {
+            return;
+        }
+        IntArrayList ids = queryBuffer;
+        ids.clear();
+        index.playerGrid.query(center.x, center.y, center.z, radius, ids);
+        for (int i = 0; i < ids.size(); i++) {
+            ServerPlayer player = index.players.get(ids.getInt(i));
+            if (player != null && !player.isRemoved()) {
+                result.add(player);
+            }
+        }
+    }
+
+    public static int getTrackedPoliceCount() {
+        int count = 0;
+        for (LevelIndex index : levels.values()) {
+            count += index.policeGrid.size();
+        }
+        return count;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // EVENTS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    @SubscribeEvent
+    public static void onEntityJoin(EntityJoinLevelEvent event) {
+        if (event.getLevel().isClientSide()) return;
+        Entity entity = event.getEntity();
+        if (entity instanceof CustomNPCEntity npc && npc.getNpcType() == NPCType.POLIZEI) {
+            trackPolice(npc);
+        } else if (entity instanceof ServerPlayer player) {
+            trackPlayer(player);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onEntityLeave(EntityLeaveLevelEvent event) {
+        if (event.getLevel().isClientSide()) return;
+        untrack(event.getEntity());
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof Level level && !level.isClientSide()) {
+            levels.remove(level.dimension());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        levels.clear();
+    }
+
+    private static LevelIndex index(Level level) {
+        return levels.computeIfAbsent(level.dimension(), key -> new LevelIndex());
+    }
+}
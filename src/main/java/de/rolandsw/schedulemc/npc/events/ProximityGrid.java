@@ -0,0 +1,205 @@
+package de.rolandsw.schedulemc.npc.events;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
+import java.util.Arrays;
+
+/**
+ * Uniformes Raster (Spatial Hash) über Entity-IDs und Positionen
+ *
+ * Problem (Alt):
+ * - Umkreis-Abfragen liefen linear über alle gecachten Entities (O(alle Polizisten))
+ *
+ * Lösung (Neu):
+ * - XZ-Zellen mit {@link #CELL_SIZE} Blöcken Kantenlänge, pro Zelle primitive Arrays
+ *   (IDs + x/y/z), Zellschlüssel als gepackter long
+ * - Inkrementelle Pflege: {@link #update} verschiebt eine ID nur bei Zellwechsel,
+ *   {@link #remove} entfernt per Swap-Remove in O(1)
+ * - Abfragen besuchen nur die berührten Zellen (bzw. alle belegten, falls das weniger sind)
+ *
+ * Nicht thread-safe, nur auf dem Server-Thread benutzen.
+ */
+public final class ProximityGrid {
+
+    static final int CELL_SHIFT = 5;
+    public static final int CELL_SIZE = 1 << CELL_SHIFT; // 32 Blöcke
+
+    private static final long NO_CELL = Long.MIN_VALUE;
+    private static final int INITIAL_CELL_CAPACITY = 4;
+
+    private final Long2ObjectOpenHashMap<Cell> cells = new Long2ObjectOpenHashMap<>();
+    private final Int2LongOpenHashMap cellOf = new Int2LongOpenHashMap();
+    private final Int2IntOpenHashMap slotOf = new Int2IntOpenHashMap();
+
+    /**
+     * Eine Rasterzelle: parallele Arrays, die ersten {@code size} Einträge sind belegt
+     */
+    private static final class Cell {
+        int[] ids = new int[INITIAL_CELL_CAPACITY];
+        double[] xs = new double[INITIAL_CELL_CAPACITY];
+        double[] ys = new double[INITIAL_CELL_CAPACITY];
+        double[] zs = new double[INITIAL_CELL_CAPACITY];
+        int size;
+
+        int add(int id, double x, double y, double z) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                xs = Arrays.copyOf(xs, capacity);
+                ys = Arrays.copyOf(ys, capacity);
+                zs = Arrays.copyOf(zs, capacity);
+            }
+            ids[size] = id;
+            xs[size] = x;
+            ys[size] = y;
+            zs[size] = z;
+            return size++;
+        }
+
+        /**
+         * Entfernt Slot {@code slot}; liefert die ID, die in den Slot nachgerückt ist (oder -1)
+         */
+        int removeAt(int slot) {
+            int last = --size;
+            if (slot == last) {
+                return -1;
+            }
+            ids[slot] = ids[last];
+            xs[slot] = xs[last];
+            ys[slot] = ys[last];
+            zs[slot] = zs[last];
+            return ids[slot];
+        }
+    }
+
+    public ProximityGrid() {
+        cellOf.defaultReturnValue(NO_CELL);
+        slotOf.defaultReturnValue(-1);
+    }
+
+    /**
+     * Fügt eine ID ein oder aktualisiert ihre Position
+     */
+    public void update(int id, double x, double y, double z) {
+        long key = cellKey(cellCoord(x), cellCoord(z));
+        long current = cellOf.get(id);
+        if (current == key) {
+            // Häufigster Fall: gleiche Zelle, nur Position überschreiben
+            Cell cell = cells.get(key);
+            int slot = slotOf.get(id);
+            cell.xs[slot] = x;
+            cell.ys[slot] = y;
+            cell.zs[slot] = z;
+            return;
+        }
+        if (current != NO_CELL) {
+            removeFromCell(id, current);
+        }
+        Cell cell = cells.get(key);
+        if (cell == null) {
+            cell = new Cell();
+            cells.put(key, cell);
+        }
+        cellOf.put(id, key);
+        slotOf.put(id, cell.add(id, x, y, z));
+    }
+
+    /**
+     * Entfernt eine ID
+     *
+     * @return true wenn die ID enthalten war
+     */
+    public boolean remove(int id) {
+        long key = cellOf.remove(id);
+        if (key == NO_CELL) {
+            return false;
+        }
+        removeFromCell(id, key);
+        return true;
+    }
+
+    public boolean contains(int id) {
+        return cellOf.containsKey(id);
+    }
+
+    public int size() {
+        return cellOf.size();
+    }
+
+    public int getCellCount() {
+        return cells.size();
+    }
+
+    public void clear() {
+        cells.clear();
+        cellOf.clear();
+        slotOf.clear();
+    }
+
+    /**
+     * Sammelt alle IDs mit (3D-)Abstand {@code <= radius} zur Position
+     *
+     * @param result Wird nicht geleert, Treffer werden angehängt
+     */
+    public void query(double x, double y, double z, double radius, IntArrayList result) {
+        if (cells.isEmpty() || radius < 0) {
+            return;
+        }
+        double radiusSq = radius * radius;
+        int minCellX = cellCoord(x - radius);
+        int maxCellX = cellCoord(x + radius);
+        int minCellZ = cellCoord(z - radius);
+        int maxCellZ = cellCoord(z + radius);
+
+        long touched = (long) (maxCellX - minCellX + 1) * (maxCellZ - minCellZ + 1);
+        if (touched > cells.size()) {
+            // Großer Radius, wenige belegte Zellen: direkt über die belegten Zellen laufen
+            for (Long2ObjectOpenHashMap.Entry<Cell> entry : cells.long2ObjectEntrySet()) {
+                collect(entry.getValue(), x, y, z, radiusSq, result);
+            }
+            return;
+        }
+        for (int cx = minCellX; cx <= maxCellX; cx++) {
+            for (int cz = minCellZ; cz <= maxCellZ; cz++) {
+                Cell cell = cells.get(cellKey(cx, cz));
+                if (cell != null) {
+                    collect(cell, x, y, z, radiusSq, result);
+                }
+            }
+        }
+    }
+
+    private static void collect(Cell cell, double x, double y, double z, double radiusSq, IntArrayList result) {
+        for (int i = 0; i < cell.size; i++) {
+            double dx = cell.xs[i] - x;
+            double dy = cell.ys[i] - y;
+            double dz = cell.zs[i] - z;
+            if (dx * dx + dy * dy + dz * dz <= radiusSq) {
+                result.add(cell.ids[i]);
+            }
+        }
+    }
+
+    private void removeFromCell(int id, long key) {
+        Cell cell = cells.get(key);
+        int slot = slotOf.remove(id);
+        int moved = cell.removeAt(slot);
+        if (moved != -1) {
+            slotOf.put(moved, slot);
+        }
+        if (cell.size == 0) {
+            cells.remove(key);
+        }
+    }
+
+    static int cellCoord(double blockCoord) {
+        return (int) Math.floor(blockCoord) >> CELL_SHIFT;
+    }
+
+    static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+}
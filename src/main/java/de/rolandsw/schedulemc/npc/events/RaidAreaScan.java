@@ -0,0 +1,213 @@
+package de.rolandsw.schedulemc.npc.events;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.block.state.BlockState;
+
+import javax.annotation.Nullable;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Abschnittsweiser Konterband-Scan über eine Box, Sektion für Sektion
+ *
+ * Problem (Alt):
+ * - Bis zu 31³ Aufrufe von {@code level.getBlockState} (jeweils Chunk-Lookup) in einem Tick
+ *
+ * Lösung (Neu):
+ * - Iteriert 16³-Sektionen statt Einzelblöcke; leere Sektionen und Sektionen, deren Palette
+ *   kein Konterband enthält ({@code maybeHas}), werden komplett übersprungen
+ * - Nur verdächtige Sektionen werden blockweise direkt aus dem PalettedContainer gelesen
+ * - Cursor-basiert: {@link #step(int)} verarbeitet ein Sektions-Budget, ein großer Scan kann
+ *   so über mehrere Ticks verteilt werden ({@link RaidScanScheduler})
+ * - Nicht geladene Chunks werden übersprungen, der Scan lädt oder generiert keine Chunks
+ *
+ * Nicht thread-safe, nur auf dem Server-Thread benutzen.
+ */
+public class RaidAreaScan {
+
+    private final Level level;
+    @Nullable
+    private final UUID owner;
+    private final IllegalActivityScanner.ScanResult result;
+    private final Consumer<IllegalActivityScanner.ScanResult> onComplete;
+
+    // Block-Box (inklusive)
+    private final int minX, minY, minZ, maxX, maxY, maxZ;
+
+    // Sektions-Bereich und Cursor (Reihenfolge: x, z, y → gleicher Chunk für alle y)
+    private final int minSectionX, minSectionY, minSectionZ, maxSectionX, maxSectionY, maxSectionZ;
+    private int sectionX, sectionY, sectionZ;
+    private boolean done;
+    private boolean completed;
+
+    private int sectionsVisited = 0;
+    private int sectionsSkipped = 0;
+
+    /**
+     * @param owner durchsuchter Spieler; seine Scans werden beim Logout sofort abgeschlossen
+     */
+    public RaidAreaScan(Level level, BlockPos center, int radius, @Nullable UUID owner,
+                        IllegalActivityScanner.ScanResult result, Consumer<IllegalActivityScanner.ScanResult> onComplete) {
+        this(level, center, radius, level.getMinBuildHeight(), level.getMaxBuildHeight(), owner, result, onComplete);
+    }
+
+    /**
+     * @param minBuildHeight unterste Bauhöhe (inklusive)
+     * @param maxBuildHeight oberste Bauhöhe (exklusive)
+     */
+    RaidAreaScan(Level level, BlockPos center, int radius, int minBuildHeight, int maxBuildHeight, @Nullable UUID owner,
+                 IllegalActivityScanner.ScanResult result, Consumer<IllegalActivityScanner.ScanResult> onComplete) {
+        this.level = level;
+        this.owner = owner;
+        this.result = result;
+        this.onComplete = onComplete;
+
+        this.minX = center.getX() - radius;
+        this.maxX = center.getX() + radius;
+        this.minZ = center.getZ() - radius;
+        this.maxZ = center.getZ() + radius;
+        // Außerhalb der Bauhöhe gibt es nur Luft
+        this.minY = Math.max(center.getY() - radius, minBuildHeight);
+        this.maxY = Math.min(center.getY() + radius, maxBuildHeight - 1);
+
+        this.minSectionX = SectionPos.blockToSectionCoord(minX);
+        this.maxSectionX = SectionPos.blockToSectionCoord(maxX);
+        this.minSectionY = SectionPos.blockToSectionCoord(minY);
+        this.maxSectionY = SectionPos.blockToSectionCoord(maxY);
+        this.minSectionZ = SectionPos.blockToSectionCoord(minZ);
+        this.maxSectionZ = SectionPos.blockToSectionCoord(maxZ);
+
+        this.sectionX = minSectionX;
+        this.sectionY = minSectionY;
+        this.sectionZ = minSectionZ;
+        this.done = minY > maxY;
+    }
+
+    /**
+     * Verarbeitet bis zu {@code sectionBudget} Sektionen
+     *
+     * @return true wenn der Scan abgeschlossen ist (Callback wurde dann bereits aufgerufen)
+     */
+    public boolean step(int sectionBudget) {
+        int processed = 0;
+        while (!done && processed < sectionBudget) {
+            sectionsVisited++;
+            if (!scanSection(sectionX, sectionY, sectionZ)) {
+                sectionsSkipped++;
+            }
+            processed++;
+            advance();
+        }
+        if (done) {
+            complete();
+        }
+        return done;
+    }
+
+    /**
+     * Bricht den Scan ab und meldet das bisherige Ergebnis (z.B. nach einem Fehler),
+     * damit der Aufrufer nicht ewig auf den Callback wartet
+     */
+    void abort() {
+        done = true;
+        complete();
+    }
+
+    private void complete() {
+        if (completed) {
+            return;
+        }
+        completed = true;
+        if (onComplete != null) {
+            onComplete.accept(result);
+        }
+    }
+
+    @Nullable
+    public UUID getOwner() {
+        return owner;
+    }
+
+    public IllegalActivityScanner.ScanResult getResult() {
+        return result;
+    }
+
+    public int getSectionsVisited() {
+        return sectionsVisited;
+    }
+
+    public int getSectionsSkipped() {
+        return sectionsSkipped;
+    }
+
+    /**
+     * Liegt der Block in der gescannten Box (inklusive Bauhöhen-Begrenzung)?
+     */
+    boolean containsBlock(int x, int y, int z) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ;
+    }
+
+    private void advance() {
+        if (++sectionY <= maxSectionY) {
+            return;
+        }
+        sectionY = minSectionY;
+        if (++sectionZ <= maxSectionZ) {
+            return;
+        }
+        sectionZ = minSectionZ;
+        if (++sectionX > maxSectionX) {
+            done = true;
+        }
+    }
+
+    /**
+     * Scannt den Teil einer Sektion, der in der Box liegt, und trägt Funde ins Ergebnis ein
+     *
+     * @return false wenn die Sektion ohne Blockzugriff übersprungen wurde
+     */
+    boolean scanSection(int sx, int sy, int sz) {
+        // Nur bereits geladene Chunks: getChunk würde fehlende Chunks synchron laden
+        LevelChunk chunk = level.getChunkSource().getChunkNow(sx, sz);
+        if (chunk == null) {
+            return false;
+        }
+        int index = chunk.getSectionIndexFromSectionY(sy);
+        if (index < 0 || index >= chunk.getSectionsCount()) {
+            return false;
+        }
+
+        LevelChunkSection section = chunk.getSection(index);
+        // Palette-Test: enthält die Sektion überhaupt einen Konterband-Zustand?
+        if (section.hasOnlyAir() || !section.maybeHas(ContrabandBlocks::isContraband)) {
+            return false;
+        }
+
+        int baseX = SectionPos.sectionToBlockCoord(sx);
+        int baseY = SectionPos.sectionToBlockCoord(sy);
+        int baseZ = SectionPos.sectionToBlockCoord(sz);
+        int fromX = Math.max(minX, baseX) - baseX;
+        int toX = Math.min(maxX, baseX + 15) - baseX;
+        int fromY = Math.max(minY, baseY) - baseY;
+        int toY = Math.min(maxY, baseY + 15) - baseY;
+        int fromZ = Math.max(minZ, baseZ) - baseZ;
+        int toZ = Math.min(maxZ, baseZ + 15) - baseZ;
+
+        for (int y = fromY; y <= toY; y++) {
+            for (int z = fromZ; z <= toZ; z++) {
+                for (int x = fromX; x <= toX; x++) {
+                    BlockState state = section.getBlockState(x, y, z);
+                    if (ContrabandBlocks.isContraband(state)) {
+                        result.recordBlock(ContrabandBlocks.kindOf(state),
+                            BlockPos.asLong(baseX + x, baseY + y, baseZ + z));
+                    }
+                }
+            }
+        }
+        return true;
+    }
+}
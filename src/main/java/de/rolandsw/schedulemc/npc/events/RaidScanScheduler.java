@@ -0,0 +1,123 @@
+package de.rolandsw.schedulemc.npc.events;
+
+import com.mojang.logging.LogUtils;
+import de.rolandsw.schedulemc.util.EventHelper;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.slf4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.UUID;
+
+/**
+ * Verteilt große Raid-Scans über mehrere Server-Ticks
+ *
+ * Pro Tick wird ein festes Sektions-Budget abgearbeitet (Round-Robin über alle laufenden
+ * Scans), der Abschluss wird über den Callback des {@link RaidAreaScan} gemeldet.
+ *
+ * Loggt ein durchsuchter Spieler aus, werden seine Scans sofort abgeschlossen, damit die
+ * Raid-Folgen noch vor dem Speichern der Spielerdaten angewendet werden.
+ */
+@Mod.EventBusSubscriber
+public class RaidScanScheduler {
+
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    /**
+     * Sektionen (16³) pro Tick über alle Scans; übersprungene Sektionen kosten fast nichts
+     */
+    private static final int SECTION_BUDGET_PER_TICK = 24;
+
+    private static final Deque<RaidAreaScan> activeScans = new ArrayDeque<>();
+
+    private RaidScanScheduler() {}
+
+    /**
+     * Reiht einen Scan ein; der erste Teil läuft im nächsten Tick
+     */
+    public static void submit(RaidAreaScan scan) {
+        activeScans.addLast(scan);
+    }
+
+    public static int getActiveScanCount() {
+        return activeScans.size();
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        EventHelper.handleServerTickEnd(event, server -> tick());
+    }
+
+    /**
+     * Vor anderen Logout-Handlern (z.B. Gefängnis), damit diese den Stand nach der Festnahme sehen
+     */
+    @SubscribeEvent(priority = EventPriority.HIGHEST)
+    public static void onPlayerLogout(PlayerEvent.PlayerLoggedOutEvent event) {
+        EventHelper.handleEvent(() -> finishScansOf(event.getEntity().getUUID()), "finishRaidScans");
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        if (!activeScans.isEmpty()) {
+            LOGGER.debug("Discarding {} unfinished raid scans", activeScans.size());
+        }
+        activeScans.clear();
+    }
+
+    static void tick() {
+        int budget = SECTION_BUDGET_PER_TICK;
+        int scans = activeScans.size();
+        // Budget gleichmäßig verteilen, damit ein großer Scan kleine nicht blockiert
+        int share = scans == 0 ? 0 : Math.max(1, budget / scans);
+        for (int i = 0; i < scans && budget > 0; i++) {
+            RaidAreaScan scan = activeScans.pollFirst();
+            int slice = Math.min(share, budget);
+            budget -= slice;
+            try {
+                if (!scan.step(slice)) {
+                    activeScans.addLast(scan);
+                }
+            } catch (Exception e) {
+                LOGGER.error("Raid scan failed and was dropped", e);
+                abort(scan);
+            }
+        }
+    }
+
+    /**
+     * Schließt alle laufenden Scans eines Spielers sofort ab (Callbacks laufen synchron)
+     */
+    static void finishScansOf(UUID owner) {
+        Iterator<RaidAreaScan> iterator = activeScans.iterator();
+        while (iterator.hasNext()) {
+            RaidAreaScan scan = iterator.next();
+            if (!owner.equals(scan.getOwner())) {
+                continue;
+            }
+            iterator.remove();
+            try {
+                scan.step(Integer.MAX_VALUE);
+            } catch (Exception e) {
+                LOGGER.error("Raid scan failed on logout", e);
+                abort(scan);
+            }
+        }
+    }
+
+    /**
+     * Meldet das Teilergebnis, damit die wartende Festnahme trotzdem abgeschlossen wird
+     */
+    private static void abort(RaidAreaScan scan) {
+        try {
+            scan.abort();
+        } catch (Exception e) {
+            LOGGER.error("Raid scan completion failed", e);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package de.rolandsw.schedulemc.npc.events;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.DoorBlock;
+import net.minecraft.world.level.block.FenceGateBlock;
+import net.minecraft.world.level.block.TrapDoorBlock;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+
+/**
+ * Flood-Fill-Engine für Raum-Scans auf gepackten Positionen
+ *
+ * Problem (Alt):
+ * - HashSet&lt;BlockPos&gt; + LinkedList-Queue, 6 neue BlockPos pro Block (get6Neighbors)
+ * - Pro Nachbar mehrere level.getBlockState-Aufrufe (Tür-Check, Passierbarkeit, ungenutzter Lookup)
+ *
+ * Lösung (Neu):
+ * - Positionen als {@code BlockPos.asLong()}: primitives LongOpenHashSet als Visited-Set,
+ *   array-basierte LongArrayFIFOQueue als Queue, Nachbarn per {@code BlockPos.offset(long, ...)}
+ * - Ein Block-Lookup pro Nachbar, direkt aus der Chunk-Sektion; Chunk-Referenzen werden gecacht
+ *
+ * Eine Instanz pro Scan-Vorgang (Chunk-Cache), nur auf dem Server-Thread benutzen.
+ */
+public class RoomFloodFill {
+
+    private static final BlockState VOID_AIR = Blocks.VOID_AIR.defaultBlockState();
+
+    private final Level level;
+    private final int minY;
+    private final int maxY;
+    private final Long2ObjectOpenHashMap<ChunkAccess> chunks = new Long2ObjectOpenHashMap<>();
+    private long lastChunkKey = Long.MIN_VALUE;
+    private ChunkAccess lastChunk;
+
+    public RoomFloodFill(Level level) {
+        this.level = level;
+        this.minY = level.getMinBuildHeight();
+        this.maxY = level.getMaxBuildHeight() - 1;
+    }
+
+    /**
+     * Füllt den Raum ab {@code start}
+     *
+     * @param start Gepackte Start-Position
+     * @param maxRoomSize Maximale Anzahl Raum-Blöcke
+     * @param maxSearchDepth Maximaler Y-Abstand zum Start
+     */
+    public RoomScanner.RoomScanResult fill(long start, int maxRoomSize, int maxSearchDepth) {
+        LongOpenHashSet visited = new LongOpenHashSet(Math.min(maxRoomSize * 2, 1 << 16));
+        LongOpenHashSet roomBlocks = new LongOpenHashSet(Math.min(maxRoomSize, 1 << 15));
+        LongOpenHashSet doors = new LongOpenHashSet();
+        LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
+
+        int startY = BlockPos.getY(start);
+        visited.add(start);
+        // Start-Block wird wie zuvor erst beim Abarbeiten auf Passierbarkeit geprüft
+        boolean startPassable = isPassable(getState(start));
+        if (startPassable) {
+            queue.enqueue(start);
+        }
+
+        while (!queue.isEmpty() && roomBlocks.size() < maxRoomSize) {
+            long current = queue.dequeueLong();
+            roomBlocks.add(current);
+
+            // 6 Nachbarn (N, S, E, W, Oben, Unten)
+            for (int direction = 0; direction < 6; direction++) {
+                long neighbor = neighbor(current, direction);
+                if (!visited.add(neighbor)) {
+                    continue; // Schon besucht
+                }
+
+                BlockState state = getState(neighbor);
+                if (isDoorOrOpening(state)) {
+                    // Tür/Durchgang zu einem anderen Raum, gehört nicht zu diesem Raum
+                    doors.add(neighbor);
+                } else if (isPassable(state) && Math.abs(BlockPos.getY(neighbor) - startY) <= maxSearchDepth) {
+                    queue.enqueue(neighbor);
+                }
+            }
+        }
+
+        return new RoomScanner.RoomScanResult(roomBlocks, doors);
+    }
+
+    /**
+     * Block-Zustand an einer gepackten Position (gecachte Chunk-Referenz, kein BlockPos)
+     */
+    public BlockState getState(long pos) {
+        int y = BlockPos.getY(pos);
+        if (y < minY || y > maxY) {
+            return VOID_AIR;
+        }
+        int x = BlockPos.getX(pos);
+        int z = BlockPos.getZ(pos);
+
+        ChunkAccess chunk = chunkAt(SectionPos.blockToSectionCoord(x), SectionPos.blockToSectionCoord(z));
+        LevelChunkSection section = chunk.getSection(chunk.getSectionIndex(y));
+        if (section.hasOnlyAir()) {
+            return Blocks.AIR.defaultBlockState();
+        }
+        return section.getBlockState(x & 15, y & 15, z & 15);
+    }
+
+    /**
+     * Passierbar: Luft oder Blöcke ohne volle Kollision (Gras, Blumen, ...)
+     */
+    public static boolean isPassable(BlockState state) {
+        return state.isAir() || !state.canOcclude();
+    }
+
+    /**
+     * Türen, Falltüren und Zauntore verbinden Räume
+     */
+    public static boolean isDoorOrOpening(BlockState state) {
+        Block block = state.getBlock();
+        return block instanceof DoorBlock
+            || block instanceof TrapDoorBlock
+            || block instanceof FenceGateBlock;
+    }
+
+    static long neighbor(long pos, int direction) {
+        return switch (direction) {
+            case 0 -> BlockPos.offset(pos, 0, 0, -1);  // Norden
+            case 1 -> BlockPos.offset(pos, 0, 0, 1);   // Süden
+            case 2 -> BlockPos.offset(pos, 1, 0, 0);   // Osten
+            case 3 -> BlockPos.offset(pos, -1, 0, 0);  // Westen
+            case 4 -> BlockPos.offset(pos, 0, 1, 0);   // Oben
+            default -> BlockPos.offset(pos, 0, -1, 0); // Unten
+        };
+    }
+
+    private ChunkAccess chunkAt(int chunkX, int chunkZ) {
+        long key = ChunkPos.asLong(chunkX, chunkZ);
+        if (key == lastChunkKey) {
+            return lastChunk;
+        }
+        ChunkAccess chunk = chunks.get(key);
+        if (chunk == null) {
+            chunk = level.getChunk(chunkX, chunkZ);
+            chunks.put(key, chunk);
+        }
+        lastChunkKey = key;
+        lastChunk = chunk;
+        return chunk;
+    }
+}
@@ -1,11 +1,12 @@
 package de.rolandsw.schedulemc.npc.events;
 
 import de.rolandsw.schedulemc.config.ModConfigHandler;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.level.Level;
-import net.minecraft.world.level.block.state.BlockState;
-
-import java.util.*;
 
 /**
  * Raum-Scanner für intelligente Polizei-Durchsuchungen
@@ -13,18 +14,24 @@ import java.util.*;
  * Verwendet Flood-Fill Algorithmus um zusammenhängende Räume zu erkennen.
  * Polizei scannt nur Räume, die sie "gesehen" hat.
  *
+ * OPTIMIERT: Positionen als gepackte longs ({@link RoomFloodFill}), keine BlockPos-Allokation
+ * pro besuchtem Block.
+ *
  * Alle Werte sind in der Config konfigurierbar!
  */
 public class RoomScanner {
 
+    // Kein gültiger Wert von BlockPos.asLong() im Spielbereich
+    private static final long NO_POSITION = Long.MIN_VALUE;
+
     /**
-     * Ergebnis eines Raum-Scans
+     * Ergebnis eines Raum-Scans (Positionen als {@code BlockPos.asLong()})
      */
     public static class RoomScanResult {
-        public final Set<BlockPos> roomBlocks;
-        public final Set<BlockPos> adjacentRooms; // Türen/Durchgänge zu anderen Räumen
+        public final LongSet roomBlocks;
+        public final LongSet adjacentRooms; // Türen/Durchgänge zu anderen Räumen
 
-        public RoomScanResult(Set<BlockPos> roomBlocks, Set<BlockPos> adjacentRooms) {
+        public RoomScanResult(LongSet roomBlocks, LongSet adjacentRooms) {
             this.roomBlocks = roomBlocks;
             this.adjacentRooms = adjacentRooms;
         }
@@ -43,56 +50,17 @@ public class RoomScanner {
      * @return RoomScanResult mit allen Blöcken im Raum
      */
     public static RoomScanResult scanRoom(Level level, BlockPos start) {
-        Set<BlockPos> visited = new HashSet<>();
-        Set<BlockPos> roomBlocks = new HashSet<>();
-        Set<BlockPos> adjacentRoomDoors = new HashSet<>();
-        Queue<BlockPos> queue = new LinkedList<>();
+        return scanRoom(new RoomFloodFill(level), start.asLong());
+    }
 
+    /**
+     * Scannt einen Raum mit einer bestehenden Engine (Chunk-Cache wird weiterverwendet)
+     */
+    public static RoomScanResult scanRoom(RoomFloodFill engine, long start) {
         // Lade Config-Werte
         int maxRoomSize = ModConfigHandler.COMMON.POLICE_ROOM_SCAN_MAX_SIZE.get();
         int maxSearchDepth = ModConfigHandler.COMMON.POLICE_ROOM_SCAN_MAX_DEPTH.get();
-
-        queue.add(start);
-        visited.add(start);
-
-        // Flood-Fill: Finde alle zusammenhängenden Luft-Blöcke
-        while (!queue.isEmpty() && roomBlocks.size() < maxRoomSize) {
-            BlockPos current = queue.poll();
-
-            // Prüfe ob dieser Block zum Raum gehört
-            if (!isPassableBlock(level, current)) {
-                continue; // Wand/Solider Block
-            }
-
-            roomBlocks.add(current);
-
-            // Prüfe alle 6 Nachbarn (N, S, E, W, Oben, Unten)
-            for (BlockPos neighbor : get6Neighbors(current)) {
-                if (visited.contains(neighbor)) {
-                    continue; // Schon besucht
-                }
-
-                visited.add(neighbor);
-
-                BlockState neighborState = level.getBlockState(neighbor);  // NOPMD
-
-                // Prüfe ob Nachbar eine Tür/Durchgang ist
-                if (isDoorOrOpening(level, neighbor)) {
-                    adjacentRoomDoors.add(neighbor);
-                    // Füge Position HINTER der Tür zur Queue hinzu (anderer Raum)
-                    // ABER markiere diese nicht als Teil dieses Raums
-                }
-                // Prüfe ob Nachbar passierbar ist
-                else if (isPassableBlock(level, neighbor)) {
-                    // Sicherheits-Check: Nicht zu weit vom Start entfernen (Y-Achse)
-                    if (Math.abs(neighbor.getY() - start.getY()) <= maxSearchDepth) {
-                        queue.add(neighbor);
-                    }
-                }
-            }
-        }
-
-        return new RoomScanResult(roomBlocks, adjacentRoomDoors);
+        return engine.fill(start, maxRoomSize, maxSearchDepth);
     }
 
     /**
@@ -101,40 +69,49 @@ public class RoomScanner {
      * @param level Die Welt
      * @param initialRoom Der initial gescannte Raum
      * @param maxAdditionalRooms Maximale Anzahl zusätzlicher Räume
-     * @return Set aller Blöcke in allen gescannten Räumen
+     * @return Alle Blöcke in allen gescannten Räumen (gepackte Positionen)
+     */
+    public static LongSet scanConnectedRooms(Level level, RoomScanResult initialRoom, int maxAdditionalRooms) {
+        return scanConnectedRooms(new RoomFloodFill(level), initialRoom, maxAdditionalRooms);
+    }
+
+    /**
+     * Wie {@link #scanConnectedRooms(Level, RoomScanResult, int)}, mit bestehender Engine
      */
-    public static Set<BlockPos> scanConnectedRooms(Level level, RoomScanResult initialRoom, int maxAdditionalRooms) {
-        Set<BlockPos> allBlocks = new HashSet<>(initialRoom.roomBlocks);
-        Set<BlockPos> processedDoors = new HashSet<>();
+    public static LongSet scanConnectedRooms(RoomFloodFill engine, RoomScanResult initialRoom, int maxAdditionalRooms) {
+        LongOpenHashSet allBlocks = new LongOpenHashSet(initialRoom.roomBlocks);
+        LongOpenHashSet processedDoors = new LongOpenHashSet();
         int roomsScanned = 0;
 
-        Queue<BlockPos> doorsToCheck = new LinkedList<>(initialRoom.adjacentRooms);
+        LongArrayFIFOQueue doorsToCheck = new LongArrayFIFOQueue();
+        for (LongIterator it = initialRoom.adjacentRooms.iterator(); it.hasNext(); ) {
+            doorsToCheck.enqueue(it.nextLong());
+        }
 
         while (!doorsToCheck.isEmpty() && roomsScanned < maxAdditionalRooms) {
-            BlockPos door = doorsToCheck.poll();
+            long door = doorsToCheck.dequeueLong();
 
-            if (processedDoors.contains(door)) {
+            if (!processedDoors.add(door)) {
                 continue; // Schon verarbeitet
             }
 
-            processedDoors.add(door);
-
             // Finde Position auf der anderen Seite der Tür
-            BlockPos beyondDoor = findPositionBeyondDoor(level, door);
-            if (beyondDoor == null) {
+            long beyondDoor = findPositionBeyondDoor(engine, door);
+            if (beyondDoor == NO_POSITION) {
                 continue;
             }
 
             // Scanne den nächsten Raum
-            RoomScanResult nextRoom = scanRoom(level, beyondDoor);
+            RoomScanResult nextRoom = scanRoom(engine, beyondDoor);
 
             // Füge alle Blöcke des neuen Raums hinzu
             allBlocks.addAll(nextRoom.roomBlocks);
 
             // Füge neue Türen zur Queue hinzu
-            for (BlockPos newDoor : nextRoom.adjacentRooms) {
+            for (LongIterator it = nextRoom.adjacentRooms.iterator(); it.hasNext(); ) {
+                long newDoor = it.nextLong();
                 if (!processedDoors.contains(newDoor)) {
-                    doorsToCheck.add(newDoor);
+                    doorsToCheck.enqueue(newDoor);
                 }
             }
 
@@ -147,68 +124,22 @@ public class RoomScanner {
     /**
      * Findet Position auf der anderen Seite einer Tür
      */
-    private static BlockPos findPositionBeyondDoor(Level level, BlockPos door) {
-        // Prüfe alle 4 horizontalen Richtungen
-        BlockPos[] directions = {
-            door.north(),
-            door.south(),
-            door.east(),
-            door.west()
-        };
-
-        for (BlockPos pos : directions) {
-            if (isPassableBlock(level, pos)) {
+    private static long findPositionBeyondDoor(RoomFloodFill engine, long door) {
+        // Prüfe alle 4 horizontalen Richtungen (N, S, E, W)
+        for (int direction = 0; direction < 4; direction++) {
+            long pos = RoomFloodFill.neighbor(door, direction);
+            if (RoomFloodFill.isPassable(engine.getState(pos))) {
                 return pos;
             }
         }
 
-        return null; // Keine passierbare Position gefunden
-    }
-
-    /**
-     * Prüft ob ein Block passierbar ist (Luft, hohe Vegetation, etc.)
-     */
-    private static boolean isPassableBlock(Level level, BlockPos pos) {
-        BlockState state = level.getBlockState(pos);
-
-        // Luft ist immer passierbar
-        if (state.isAir()) {  // NOPMD
-            return true;
-        }
-
-        // Prüfe ob Block keine Kollision hat (z.B. Gras, Blumen)
-        return !state.canOcclude();
-    }
-
-    /**
-     * PERFORMANCE: Nutzt Block-Klassen-Prüfung statt String-Vergleiche.
-     * Vermeidet getDescriptionId().toLowerCase() + 3x contains() pro Block.
-     */
-    private static boolean isDoorOrOpening(Level level, BlockPos pos) {
-        BlockState state = level.getBlockState(pos);
-        net.minecraft.world.level.block.Block block = state.getBlock();
-
-        // Direkte Typ-Prüfung statt String-Vergleich
-        if (block instanceof net.minecraft.world.level.block.DoorBlock) return true;
-        return block instanceof net.minecraft.world.level.block.TrapDoorBlock
-                || block instanceof net.minecraft.world.level.block.FenceGateBlock;
-    }
-
-    private static List<BlockPos> get6Neighbors(BlockPos pos) {
-        return Arrays.asList(
-            pos.north(),
-            pos.south(),
-            pos.east(),
-            pos.west(),
-            pos.above(),
-            pos.below()
-        );
+        return NO_POSITION; // Keine passierbare Position gefunden
     }
 
     /**
      * Berechnet ungefähre Raum-Größe in Kubikmetern
      */
-    public static int calculateRoomVolume(Set<BlockPos> roomBlocks) {
+    public static int calculateRoomVolume(LongSet roomBlocks) {
         if (roomBlocks.isEmpty()) {
             return 0;
         }
@@ -217,13 +148,14 @@ public class RoomScanner {
         int minY = Integer.MAX_VALUE, maxY = Integer.MIN_VALUE;
         int minZ = Integer.MAX_VALUE, maxZ = Integer.MIN_VALUE;
 
-        for (BlockPos pos : roomBlocks) {
-            minX = Math.min(minX, pos.getX());
-            maxX = Math.max(maxX, pos.getX());
-            minY = Math.min(minY, pos.getY());
-            maxY = Math.max(maxY, pos.getY());
-            minZ = Math.min(minZ, pos.getZ());
-            maxZ = Math.max(maxZ, pos.getZ());
+        for (LongIterator it = roomBlocks.iterator(); it.hasNext(); ) {
+            long pos = it.nextLong();
+            minX = Math.min(minX, BlockPos.getX(pos));
+            maxX = Math.max(maxX, BlockPos.getX(pos));
+            minY = Math.min(minY, BlockPos.getY(pos));
+            maxY = Math.max(maxY, BlockPos.getY(pos));
+            minZ = Math.min(minZ, BlockPos.getZ(pos));
+            maxZ = Math.max(maxZ, BlockPos.getZ(pos));
         }
 
         int width = maxX - minX + 1;
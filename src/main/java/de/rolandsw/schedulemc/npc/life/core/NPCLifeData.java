@@ -157,7 +157,7 @@ public class NPCLifeData {
             boolean isNight = level.isNight();
 
             // Polizei in der Nähe? (Nutze globalen Police-Cache statt getEntitiesOfClass)
-            PoliceAIHandler.getPoliceInRadius(npc.position(), 30.0, safetyPoliceList);
+            PoliceAIHandler.getPoliceInRadius(level, npc.position(), 30.0, safetyPoliceList);
             boolean policeNearby = !safetyPoliceList.isEmpty();
 
             // Freund in der Nähe? (Nutze gleichen Cache — nur NPCs in 15 Block Radius prüfen)
@@ -0,0 +1,76 @@
+package de.rolandsw.schedulemc.npc.life.social;
+
+import it.unimi.dsi.fastutil.longs.Long2ByteOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import java.util.UUID;
+
+/**
+ * Symmetrische NPC-zu-NPC Beziehungswerte (-100 bis 100) mit primitivem Paar-Schlüssel
+ *
+ * Problem (Alt):
+ * - {@code Map<UUID, Map<UUID, Integer>>}: jede Beziehung doppelt gespeichert (A→B und B→A),
+ *   pro Eintrag Boxing plus eine innere ConcurrentHashMap pro NPC
+ *
+ * Lösung (Neu):
+ * - Jede UUID bekommt einmalig einen int-Index, ein Paar wird als
+ *   {@code (min << 32) | max} in einem long kodiert
+ * - Werte als byte in einer Long2ByteOpenHashMap, ein Eintrag pro ungeordnetem Paar;
+ *   neutrale Beziehungen (0) werden nicht gespeichert
+ */
+final class NPCRelationStore {
+
+    private static final int MIN_RELATION = -100;
+    private static final int MAX_RELATION = 100;
+
+    private final Object2IntOpenHashMap<UUID> indexByNpc = new Object2IntOpenHashMap<>();
+    private final Long2ByteOpenHashMap relations = new Long2ByteOpenHashMap();
+
+    NPCRelationStore() {
+        indexByNpc.defaultReturnValue(-1);
+    }
+
+    synchronized int get(UUID a, UUID b) {
+        int indexA = indexByNpc.getInt(a);
+        int indexB = indexByNpc.getInt(b);
+        if (indexA == -1 || indexB == -1) {
+            return 0; // Neutral
+        }
+        return relations.get(pairKey(indexA, indexB));
+    }
+
+    /**
+     * Ändert die Beziehung um {@code change} (auf -100..100 begrenzt)
+     *
+     * @return neuer Beziehungswert
+     */
+    synchronized int modify(UUID a, UUID b, int change) {
+        long key = pairKey(indexOf(a), indexOf(b));
+        int updated = Math.max(MIN_RELATION, Math.min(MAX_RELATION, relations.get(key) + change));
+        if (updated == 0) {
+            relations.remove(key);
+        } else {
+            relations.put(key, (byte) updated);
+        }
+        return updated;
+    }
+
+    synchronized int size() {
+        return relations.size();
+    }
+
+    private int indexOf(UUID npc) {
+        int index = indexByNpc.getInt(npc);
+        if (index == -1) {
+            index = indexByNpc.size();
+            indexByNpc.put(npc, index);
+        }
+        return index;
+    }
+
+    static long pairKey(int indexA, int indexB) {
+        int low = Math.min(indexA, indexB);
+        int high = Math.max(indexA, indexB);
+        return ((long) low << 32) | (high & 0xFFFFFFFFL);
+    }
+}
@@ -2,16 +2,12 @@ package de.rolandsw.schedulemc.npc.life.social;
 
 import com.mojang.logging.LogUtils;
 import de.rolandsw.schedulemc.npc.entity.CustomNPCEntity;
-import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
-import net.minecraft.world.phys.AABB;
+import net.minecraft.world.level.entity.EntityTypeTest;
 import org.slf4j.Logger;
 
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * NPC-zu-NPC Interaktions-System.
@@ -31,11 +27,8 @@ public class NPCSocialInteractionManager {
 
     private static final double INTERACTION_RANGE = 8.0; // Bloecke
 
-    // NPC-Beziehungen: NPC1-UUID -> NPC2-UUID -> Beziehungswert (-100 bis 100)
-    private final Map<UUID, Map<UUID, Integer>> npcRelations = new ConcurrentHashMap<>();
-
-    // Aktive NPC-Interaktionen (damit sie nicht doppelt stattfinden)
-    private final Set<String> activeInteractions = ConcurrentHashMap.newKeySet();
+    // NPC-Beziehungen: ungeordnetes NPC-Paar -> Beziehungswert (-100 bis 100)
+    private final NPCRelationStore npcRelations = new NPCRelationStore();
 
     public enum NPCInteractionType {
         TRADING("Handeln", 5),
@@ -101,34 +94,25 @@ public class NPCSocialInteractionManager {
      * Findet nahegelegene NPC-Paare und loest Interaktionen aus.
      */
     public void tick(ServerLevel level) {
-        net.minecraft.world.level.border.WorldBorder border = level.getWorldBorder();
-        net.minecraft.world.phys.AABB worldArea = new net.minecraft.world.phys.AABB(
-            border.getMinX(), level.getMinBuildHeight(), border.getMinZ(),
-            border.getMaxX(), level.getMaxBuildHeight(), border.getMaxZ()
-        );
-        List<CustomNPCEntity> npcs = level.getEntitiesOfClass(
-            CustomNPCEntity.class,
-            worldArea
-        );
-
-        // Fuer jedes NPC-Paar in Reichweite: Interaktion auswuerfeln
-        for (int i = 0; i < npcs.size(); i++) {
-            for (int j = i + 1; j < npcs.size(); j++) {
-                CustomNPCEntity npc1 = npcs.get(i);
-                CustomNPCEntity npc2 = npcs.get(j);
-
-                if (npc1.distanceTo(npc2) <= INTERACTION_RANGE) {
-                    String pairKey = createPairKey(npc1.getUUID(), npc2.getUUID());
-
-                    // Nur wenn nicht bereits interagierend
-                    if (activeInteractions.add(pairKey)) {
-                        processInteraction(npc1, npc2);
-                        // Nach kurzer Zeit wieder freigeben
-                        activeInteractions.remove(pairKey);
-                    }
-                }
-            }
+        List<? extends CustomNPCEntity> npcs = level.getEntities(
+            EntityTypeTest.forClass(CustomNPCEntity.class), npc -> true);
+        int count = npcs.size();
+        if (count < 2) return;
+
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+        double[] zs = new double[count];
+        for (int i = 0; i < count; i++) {
+            CustomNPCEntity npc = npcs.get(i);
+            xs[i] = npc.getX();
+            ys[i] = npc.getY();
+            zs[i] = npc.getZ();
         }
+
+        // OPTIMIERT: Nur Paare aus benachbarten 8-Block-Zellen statt O(n²) distanceTo
+        // Jedes Paar wird genau einmal geliefert, daher keine Doppel-Interaktionen
+        NeighborPairing.forEachPairWithin(xs, ys, zs, count, INTERACTION_RANGE,
+            (a, b) -> processInteraction(npcs.get(a), npcs.get(b)));
     }
 
     private void processInteraction(CustomNPCEntity npc1, CustomNPCEntity npc2) {
@@ -165,25 +149,12 @@ public class NPCSocialInteractionManager {
     // ═══════════════════════════════════════════════════════════
 
     public int getRelation(UUID npc1, UUID npc2) {
-        Map<UUID, Integer> relations = npcRelations.get(npc1);
-        if (relations != null) {
-            Integer val = relations.get(npc2);
-            if (val != null) return val;
-        }
-        return 0; // Neutral
+        return npcRelations.get(npc1, npc2);
     }
 
     public void modifyRelation(UUID npc1, UUID npc2, int change) {
-        // Bidirektional
-        applyRelationChange(npc1, npc2, change);
-        applyRelationChange(npc2, npc1, change);
-    }
-
-    private void applyRelationChange(UUID from, UUID to, int change) {
-        npcRelations.computeIfAbsent(from, k -> new ConcurrentHashMap<>())
-            .merge(to, change, (old, delta) ->
-                Math.max(-100, Math.min(100, old + delta))
-            );
+        // Bidirektional: ein Eintrag pro NPC-Paar
+        npcRelations.modify(npc1, npc2, change);
     }
 
     /**
@@ -198,12 +169,4 @@ public class NPCSocialInteractionManager {
         modifyRelation(npc1, npc2, 20);
         return true;
     }
-
-    private String createPairKey(UUID a, UUID b) {
-        // Konsistente Reihenfolge
-        if (a.compareTo(b) < 0) {
-            return a.toString() + ":" + b.toString();
-        }
-        return b.toString() + ":" + a.toString();
-    }
 }
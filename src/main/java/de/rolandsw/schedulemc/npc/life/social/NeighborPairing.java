@@ -0,0 +1,105 @@
+package de.rolandsw.schedulemc.npc.life.social;
+
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+
+import java.util.Arrays;
+
+/**
+ * Findet alle Punkt-Paare innerhalb einer Reichweite über ein XZ-Zellraster
+ *
+ * Problem (Alt):
+ * - O(n²) Paar-Schleife mit {@code distanceTo} über alle NPCs eines Levels
+ *
+ * Lösung (Neu):
+ * - Punkte werden in Zellen mit Kantenlänge = Reichweite eingeordnet (verkettete Liste
+ *   über {@code int[] next}, Zellkopf in einer Long2IntOpenHashMap)
+ * - Getestet werden nur Paare in derselben Zelle und in 4 "vorwärts" liegenden
+ *   Nachbarzellen; so wird jedes Paar genau einmal geprüft
+ */
+final class NeighborPairing {
+
+    /**
+     * Empfängt ein Paar von Indizes ({@code a != b}, jedes Paar genau einmal)
+     */
+    @FunctionalInterface
+    interface PairConsumer {
+        void accept(int a, int b);
+    }
+
+    // Halbe 3x3-Nachbarschaft (ohne eigene Zelle): jedes Zellpaar wird nur einmal besucht
+    private static final int[] FORWARD_DX = {1, 1, 1, 0};
+    private static final int[] FORWARD_DZ = {-1, 0, 1, 1};
+
+    private NeighborPairing() {}
+
+    /**
+     * Ruft {@code consumer} für alle Paare mit (3D-)Abstand {@code <= range} auf
+     *
+     * @param count Anzahl gültiger Einträge in den Koordinaten-Arrays
+     */
+    static void forEachPairWithin(double[] xs, double[] ys, double[] zs, int count, double range,
+                                  PairConsumer consumer) {
+        if (count < 2) {
+            return;
+        }
+        double rangeSq = range * range;
+        double cellSize = Math.max(range, 1.0);
+
+        // Zellen als verkettete Listen: head[cell] -> next[i] -> ... -> -1
+        Long2IntOpenHashMap heads = new Long2IntOpenHashMap(count);
+        heads.defaultReturnValue(-1);
+        int[] next = new int[count];
+        Arrays.fill(next, -1);
+        for (int i = 0; i < count; i++) {
+            long key = cellKey(cell(xs[i], cellSize), cell(zs[i], cellSize));
+            next[i] = heads.put(key, i);
+        }
+
+        for (Long2IntMap.Entry entry : heads.long2IntEntrySet()) {
+            long key = entry.getLongKey();
+            int head = entry.getIntValue();
+            int cellX = (int) (key >> 32);
+            int cellZ = (int) key;
+
+            // Paare innerhalb der Zelle
+            for (int a = head; a != -1; a = next[a]) {
+                for (int b = next[a]; b != -1; b = next[b]) {
+                    if (distanceSq(xs, ys, zs, a, b) <= rangeSq) {
+                        consumer.accept(a, b);
+                    }
+                }
+            }
+
+            // Paare mit den Vorwärts-Nachbarzellen
+            for (int n = 0; n < FORWARD_DX.length; n++) {
+                int other = heads.get(cellKey(cellX + FORWARD_DX[n], cellZ + FORWARD_DZ[n]));
+                if (other == -1) {
+                    continue;
+                }
+                for (int a = head; a != -1; a = next[a]) {
+                    for (int b = other; b != -1; b = next[b]) {
+                        if (distanceSq(xs, ys, zs, a, b) <= rangeSq) {
+                            consumer.accept(a, b);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static double distanceSq(double[] xs, double[] ys, double[] zs, int a, int b) {
+        double dx = xs[a] - xs[b];
+        double dy = ys[a] - ys[b];
+        double dz = zs[a] - zs[b];
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static int cell(double coord, double cellSize) {
+        return (int) Math.floor(coord / cellSize);
+    }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,116 @@
+package de.rolandsw.schedulemc.npc.life.social;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * Vorberechnete Gerüchte-Kennzahlen eines Spielers
+ *
+ * Problem (Alt):
+ * - {@code calculateReputationFromRumors}, {@code hasNegativeRumors}, {@code hasCrimeRumors} und
+ *   {@code getMostSevereRumor} liefen bei jedem Aufruf (Dialog, Preise, Zeugen) über alle
+ *   Gerüchte des Spielers
+ *
+ * Lösung (Neu):
+ * - {@link RumorNetwork} baut die Kennzahlen neu, wenn sich die Gerüchte eines Spielers ändern
+ *   (Hinzufügen, Verstärken, Weitergabe, Tageswechsel) - die Abfragen lesen nur noch Felder
+ * - Unveränderlich; wird als Ganzes ersetzt
+ *
+ * Es zählen nur glaubwürdige Gerüchte ({@link Rumor#isCredible()}); nur die Anzahl pro Typ
+ * wird zusätzlich über alle Gerüchte geführt (für {@code getRumorsOfType}).
+ */
+final class RumorAggregate {
+
+    private static final RumorType[] TYPES = RumorType.values();
+
+    static final RumorAggregate EMPTY = new RumorAggregate(0, 0, 0, null, new int[TYPES.length], new int[TYPES.length]);
+
+    private final int reputation;
+    private final int negativeCount;
+    private final int crimeCount;
+    @Nullable
+    private final Rumor mostSevere;
+    private final int[] typeCounts;
+    private final int[] credibleTypeCounts;
+
+    private RumorAggregate(int reputation, int negativeCount, int crimeCount, @Nullable Rumor mostSevere,
+                           int[] typeCounts, int[] credibleTypeCounts) {
+        this.reputation = reputation;
+        this.negativeCount = negativeCount;
+        this.crimeCount = crimeCount;
+        this.mostSevere = mostSevere;
+        this.typeCounts = typeCounts;
+        this.credibleTypeCounts = credibleTypeCounts;
+    }
+
+    /**
+     * Berechnet die Kennzahlen aus den Gerüchten eines Spielers (ein Durchlauf)
+     */
+    static RumorAggregate of(List<Rumor> rumors) {
+        int reputation = 0;
+        int negativeCount = 0;
+        int crimeCount = 0;
+        Rumor mostSevere = null;
+        int mostSevereImpact = Integer.MAX_VALUE;
+        int[] typeCounts = null;
+        int[] credibleTypeCounts = null;
+
+        for (Rumor r : rumors) {
+            RumorType type = r.getType();
+            if (typeCounts == null) {
+                typeCounts = new int[TYPES.length];
+                credibleTypeCounts = new int[TYPES.length];
+            }
+            typeCounts[type.ordinal()]++;
+            if (!r.isCredible()) {
+                continue;
+            }
+            credibleTypeCounts[type.ordinal()]++;
+            reputation += r.getEffectiveReputationImpact();
+            if (type.isNegative()) {
+                negativeCount++;
+            }
+            if (type.isCrimeRelated()) {
+                crimeCount++;
+            }
+            // Bei Gleichstand gewinnt das erste Gerücht (wie bisher)
+            if (type.getReputationImpact() < mostSevereImpact) {
+                mostSevereImpact = type.getReputationImpact();
+                mostSevere = r;
+            }
+        }
+
+        if (typeCounts == null) {
+            return EMPTY;
+        }
+        return new RumorAggregate(reputation, negativeCount, crimeCount, mostSevere, typeCounts, credibleTypeCounts);
+    }
+
+    int getReputation() {
+        return reputation;
+    }
+
+    boolean hasNegative() {
+        return negativeCount > 0;
+    }
+
+    boolean hasCrime() {
+        return crimeCount > 0;
+    }
+
+    @Nullable
+    Rumor getMostSevere() {
+        return mostSevere;
+    }
+
+    /**
+     * Anzahl aller Gerüchte eines Typs, auch unglaubwürdiger
+     */
+    int getCount(RumorType type) {
+        return typeCounts[type.ordinal()];
+    }
+
+    int getCredibleCount(RumorType type) {
+        return credibleTypeCounts[type.ordinal()];
+    }
+}
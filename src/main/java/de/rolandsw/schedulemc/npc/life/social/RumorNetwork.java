@@ -42,6 +42,12 @@ public class RumorNetwork {
     /** Alle aktiven Gerüchte, nach Spieler-UUID gruppiert */
     private final Map<UUID, List<Rumor>> rumorsByPlayer = new ConcurrentHashMap<>();
 
+    /**
+     * OPTIMIERT: Vorberechnete Kennzahlen pro Spieler (Reputation, schwerstes Gerücht, Anzahl pro Typ)
+     * Wird bei jeder Änderung der Gerüchte eines Spielers neu gebaut, Abfragen sind O(1)
+     */
+    private final Map<UUID, RumorAggregate> aggregatesByPlayer = new ConcurrentHashMap<>();
+
     /** Welche NPCs kennen welche Gerüchte */
     private final Map<UUID, Set<String>> npcKnownRumors = new ConcurrentHashMap<>();
 
@@ -97,6 +103,7 @@ public class RumorNetwork {
             }
             playerRumors.add(rumor);
         }
+        refreshAggregate(subject);
     }
 
     /**
@@ -118,18 +125,27 @@ public class RumorNetwork {
      * Holt alle Gerüchte über einen Spieler
      */
     public List<Rumor> getRumorsAbout(UUID playerUUID) {
-        return rumorsByPlayer.getOrDefault(playerUUID, Collections.emptyList());
+        List<Rumor> rumors = rumorsByPlayer.get(playerUUID);
+        // Read-only: Änderungen nur über das Netzwerk, damit die Kennzahlen aktuell bleiben
+        return rumors != null ? Collections.unmodifiableList(rumors) : Collections.emptyList();
     }
 
     /**
      * Holt alle Gerüchte eines bestimmten Typs über einen Spieler
      */
     public List<Rumor> getRumorsOfType(UUID playerUUID, RumorType type) {
-        List<Rumor> all = getRumorsAbout(playerUUID);
-        List<Rumor> result = new ArrayList<>();
-        for (Rumor r : all) {
+        // OPTIMIERT: Anzahl pro Typ aus den Kennzahlen - kein Durchlauf, wenn es keine gibt
+        int count = getAggregate(playerUUID).getCount(type);
+        if (count == 0) {
+            return Collections.emptyList();
+        }
+        List<Rumor> result = new ArrayList<>(count);
+        for (Rumor r : getRumorsAbout(playerUUID)) {
             if (r.getType() == type) {
                 result.add(r);
+                if (result.size() == count) {
+                    break;
+                }
             }
         }
         return result;
@@ -139,13 +155,7 @@ public class RumorNetwork {
      * Berechnet die Gesamt-Reputation eines Spielers basierend auf Gerüchten
      */
     public int calculateReputationFromRumors(UUID playerUUID) {
-        int sum = 0;
-        for (Rumor r : getRumorsAbout(playerUUID)) {
-            if (r.isCredible()) {
-                sum += r.getEffectiveReputationImpact();
-            }
-        }
-        return sum;
+        return getAggregate(playerUUID).getReputation();
     }
 
     // ═══════════════════════════════════════════════════════════
@@ -184,6 +194,8 @@ public class RumorNetwork {
 
         // Versuche zu verbreiten
         if (rumor.trySpread()) {
+            // Glaubwürdigkeit ist gesunken
+            refreshAggregate(rumor.getSubjectUUID());
             markRumorKnown(toNPC, rumor);
             return true;
         }
@@ -217,16 +229,36 @@ public class RumorNetwork {
      * Wird täglich aufgerufen - entfernt abgelaufene Gerüchte
      */
     public void onDayChange(long currentDay) {
+        if (lastKnownDay < 0) {
+            // Erster echter Tag: Factory-Gerüchte, deren Ablauf vorher mit Tag 0 als Basis korrigiert
+            // wurde, auf den aktuellen Tag umstellen - sonst liefen sie hier alle sofort ab
+            for (List<Rumor> rumors : rumorsByPlayer.values()) {
+                for (Rumor r : rumors) {
+                    if (r.needsExpirationCorrection()) {
+                        r.correctExpiration(currentDay);
+                    }
+                }
+            }
+        }
         lastKnownDay = currentDay;
 
-        // Abgelaufene Gerüchte entfernen
-        for (List<Rumor> rumors : rumorsByPlayer.values()) {
-            rumors.removeIf(r -> r.isExpired(currentDay) || !r.isCredible());
+        // OPTIMIERT: Ein Durchlauf - abgelaufene Gerüchte entfernen, leere Listen entfernen
+        // und Kennzahlen der geänderten Spieler neu bauen
+        Iterator<Map.Entry<UUID, List<Rumor>>> it = rumorsByPlayer.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<UUID, List<Rumor>> entry = it.next();
+            List<Rumor> rumors = entry.getValue();
+            if (!rumors.removeIf(r -> r.isExpired(currentDay) || !r.isCredible())) {
+                continue;
+            }
+            if (rumors.isEmpty()) {
+                it.remove();
+                aggregatesByPlayer.remove(entry.getKey());
+            } else {
+                aggregatesByPlayer.put(entry.getKey(), RumorAggregate.of(rumors));
+            }
         }
 
-        // Leere Listen entfernen
-        rumorsByPlayer.entrySet().removeIf(e -> e.getValue().isEmpty());
-
         // NPC-Known-Rumors aufräumen: Entferne NPCs die keine aktiven Gerüchte mehr referenzieren
         if (npcKnownRumors.size() > MAX_TRACKED_NPCS) {
             // Eviction: Entferne NPCs mit den wenigsten bekannten Gerüchten
@@ -245,7 +277,7 @@ public class RumorNetwork {
                 .limit(rumorsByPlayer.size() - MAX_TRACKED_PLAYERS)
                 .map(Map.Entry::getKey)
                 .toList()
-                .forEach(rumorsByPlayer::remove);
+                .forEach(this::removePlayer);
         }
     }
 
@@ -280,6 +312,7 @@ public class RumorNetwork {
         addRumor(rumor);
         // Wichtige Gerüchte (z.B. Welt-Events) werden sofort allen bekannt
         rumor.setCredibility(100.0f);
+        refreshAggregate(rumor.getSubjectUUID());
     }
 
     /**
@@ -315,24 +348,28 @@ public class RumorNetwork {
      * Prüft ob es negative Gerüchte über einen Spieler gibt
      */
     public boolean hasNegativeRumors(UUID playerUUID) {
-        for (Rumor r : getRumorsAbout(playerUUID)) {
-            if (r.getType().isNegative() && r.isCredible()) {
-                return true;
-            }
-        }
-        return false;
+        return getAggregate(playerUUID).hasNegative();
     }
 
     /**
      * Prüft ob es kriminelle Gerüchte über einen Spieler gibt
      */
     public boolean hasCrimeRumors(UUID playerUUID) {
-        for (Rumor r : getRumorsAbout(playerUUID)) {
-            if (r.getType().isCrimeRelated() && r.isCredible()) {
-                return true;
-            }
-        }
-        return false;
+        return getAggregate(playerUUID).hasCrime();
+    }
+
+    /**
+     * Prüft ob es glaubwürdige Gerüchte eines Typs über einen Spieler gibt
+     */
+    public boolean hasCredibleRumor(UUID playerUUID, RumorType type) {
+        return getAggregate(playerUUID).getCredibleCount(type) > 0;
+    }
+
+    /**
+     * Anzahl glaubwürdiger Gerüchte eines Typs über einen Spieler
+     */
+    public int countCredibleRumors(UUID playerUUID, RumorType type) {
+        return getAggregate(playerUUID).getCredibleCount(type);
     }
 
     /**
@@ -340,18 +377,32 @@ public class RumorNetwork {
      */
     @Nullable
     public Rumor getMostSevereRumor(UUID playerUUID) {
-        Rumor best = null;
-        int bestImpact = Integer.MAX_VALUE;
-        for (Rumor r : getRumorsAbout(playerUUID)) {
-            if (r.isCredible()) {
-                int impact = r.getType().getReputationImpact();
-                if (impact < bestImpact) {
-                    bestImpact = impact;
-                    best = r;
-                }
-            }
+        return getAggregate(playerUUID).getMostSevere();
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // AGGREGATES
+    // ═══════════════════════════════════════════════════════════
+
+    private RumorAggregate getAggregate(UUID playerUUID) {
+        return aggregatesByPlayer.getOrDefault(playerUUID, RumorAggregate.EMPTY);
+    }
+
+    /**
+     * Baut die Kennzahlen eines Spielers neu (max. {@value #MAX_RUMORS_PER_PLAYER} Gerüchte)
+     */
+    private void refreshAggregate(UUID playerUUID) {
+        List<Rumor> rumors = rumorsByPlayer.get(playerUUID);
+        if (rumors == null || rumors.isEmpty()) {
+            aggregatesByPlayer.remove(playerUUID);
+        } else {
+            aggregatesByPlayer.put(playerUUID, RumorAggregate.of(rumors));
         }
-        return best;
+    }
+
+    private void removePlayer(UUID playerUUID) {
+        rumorsByPlayer.remove(playerUUID);
+        aggregatesByPlayer.remove(playerUUID);
     }
 
     // ═══════════════════════════════════════════════════════════
@@ -397,6 +448,10 @@ public class RumorNetwork {
             Rumor rumor = Rumor.load(rumorList.getCompound(i));
             rumorsByPlayer.computeIfAbsent(rumor.getSubjectUUID(), k -> new ArrayList<>()).add(rumor);
         }
+        aggregatesByPlayer.clear();
+        for (UUID playerUUID : rumorsByPlayer.keySet()) {
+            refreshAggregate(playerUUID);
+        }
 
         // NPC-Wissen laden
         npcKnownRumors.clear();
@@ -410,7 +410,7 @@ public class WitnessManager extends AbstractPersistenceManager<WitnessManager.Wi
                     // Nutze PoliceAIHandler-Cache statt getEntitiesOfClass() pro Report
                     BlockPos witnessPos = report.getCrimeLocation();
                     de.rolandsw.schedulemc.npc.events.PoliceAIHandler.getPoliceInRadius(
-                        witnessPos.getCenter(), 50.0, processReportsPoliceBuffer);
+                        level, witnessPos.getCenter(), 50.0, processReportsPoliceBuffer);
                     boolean policeNearby = !processReportsPoliceBuffer.isEmpty();
 
                     // Meldungs-Chance: 90% wenn Polizei in der Nähe, sonst 10%
@@ -110,6 +110,38 @@ public class PoppyPlantData {
         }
     }
 
+    /**
+     * Führt {@code ticks} Aufrufe von {@link #tick()} in geschlossener Form aus (O(Stufen))
+     *
+     * Qualitäts-Würfe passieren wie beim einzelnen Tick genau einmal pro erreichter Stufe.
+     *
+     * @return Anzahl der Stadium-Wechsel
+     */
+    public int advance(int ticks) {
+        int oldStage = growthStage;
+        int ticksPerStage = type.getGrowthTicks();
+        if (hasGrowthBooster) {
+            ticksPerStage = (int) (ticksPerStage * 0.7); // 30% schneller
+        }
+
+        while (ticks > 0 && !isFullyGrown()) {
+            // Pro Tick höchstens eine Stufe, auch wenn das Ziel schon überschritten ist
+            int needed = Math.max(1, (growthStage + 1) * ticksPerStage - ticksGrown);
+            if (ticks < needed) {
+                ticksGrown += ticks;
+                break;
+            }
+            ticks -= needed;
+            ticksGrown += needed;
+            growthStage++;
+
+            if (growthStage == 3 || growthStage == 5 || growthStage == 7) {
+                tryUpgradeQuality();
+            }
+        }
+        return growthStage - oldStage;
+    }
+
     private void tryUpgradeQuality() {
         if (quality == TobaccoQuality.LEGENDAER) return;
 
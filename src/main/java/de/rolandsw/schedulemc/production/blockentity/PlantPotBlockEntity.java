@@ -15,6 +15,8 @@ import de.rolandsw.schedulemc.production.growth.PlantGrowthHandler;
 import de.rolandsw.schedulemc.production.growth.PlantGrowthHandlerFactory;
 import de.rolandsw.schedulemc.production.nbt.PlantSerializer;
 import de.rolandsw.schedulemc.production.nbt.PlantSerializerFactory;
+import de.rolandsw.schedulemc.production.offline.OfflineProductionSimulator;
+import de.rolandsw.schedulemc.production.offline.PlantPotOfflineState;
 import de.rolandsw.schedulemc.tobacco.TobaccoQuality;
 import de.rolandsw.schedulemc.tobacco.TobaccoType;
 import de.rolandsw.schedulemc.tobacco.blockentity.TobaccoBlockEntities;
@@ -46,6 +48,11 @@ public class PlantPotBlockEntity extends BlockEntity implements IUtilityConsumer
     private long lastGameTime = -1L;
     private double plantGrowthAccumulator = 0.0;
 
+    // Offline-Wachstum: zuletzt gemessener Licht-Multiplikator (über den Tag gemittelt)
+    private static final double DAYLIGHT_SHARE = 0.5;
+    private double offlineLightMultiplier = 0.0;
+    private boolean offlineStageChanged = false;
+
     public PlantPotBlockEntity(BlockPos pos, BlockState state) {
         super(TobaccoBlockEntities.TOBACCO_POT.get(), pos, state);
         this.potData = new PlantPotData(PotType.TERRACOTTA);
@@ -62,7 +69,15 @@ public class PlantPotBlockEntity extends BlockEntity implements IUtilityConsumer
 
     public void tick() {
         if (level == null || level.isClientSide) return;
-        if (!PlotUtilityManager.areUtilitiesEnabled(getBlockPos())) return;
+        if (!PlotUtilityManager.areUtilitiesEnabled(getBlockPos())) {
+            offlineLightMultiplier = 0.0;
+            return;
+        }
+
+        if (offlineStageChanged) {
+            offlineStageChanged = false;
+            applyOfflineStageChange();
+        }
 
         tickCounter++;
 
@@ -80,6 +95,7 @@ public class PlantPotBlockEntity extends BlockEntity implements IUtilityConsumer
                 if (handler != null) {
                     if (!handler.canGrow(level, worldPosition, potData)) {  // NOPMD
                         // Licht nicht ausreichend
+                        offlineLightMultiplier = 0.0;
                     } else {
                         double lightSpeedMultiplier = getLightSpeedMultiplier();
                         if (lightSpeedMultiplier <= 0) {
@@ -87,36 +103,18 @@ public class PlantPotBlockEntity extends BlockEntity implements IUtilityConsumer
                         } else {
                             plantGrowthAccumulator += worldTicksPassed * lightSpeedMultiplier / 80.0;
 
-                            int callCount = (int) Math.min(plantGrowthAccumulator, 10000);
+                            // OPTIMIERT: Geschlossene Form statt bis zu 10.000 Einzel-Ticks,
+                            // daher auch keine Obergrenze mehr beim Nachholen (Chunk-Reload, Zeitsprung)
+                            int callCount = (int) Math.min(plantGrowthAccumulator, Integer.MAX_VALUE);
                             if (callCount > 0) {
                                 plantGrowthAccumulator -= callCount;
 
                                 int oldStage = handler.getCurrentStage(potData);
-                                int stageAdvances = 0;
-                                int prevStage = oldStage;
-                                for (int i = 0; i < callCount; i++) {
-                                    handler.tick(potData);
-                                    int cur = handler.getCurrentStage(potData);
-                                    if (cur != prevStage) {
-                                        stageAdvances++;
-                                        prevStage = cur;
-                                    }
-                                }
+                                int stageAdvances = handler.advance(potData, callCount);
 
                                 int newStage = handler.getCurrentStage(potData);
                                 if (oldStage != newStage) {
-                                    for (int s = 0; s < stageAdvances; s++) {
-                                        if (potData.hasMushroomPlant()) {
-                                            var mushroom = potData.getMushroomPlant();
-                                            if (mushroom.needsWater()) {
-                                                consumeResourcesForGrowth(newStage);
-                                            } else {
-                                                potData.consumeSoil(potData.getSoilConsumptionPerStage());
-                                            }
-                                        } else {
-                                            consumeResourcesForGrowth(newStage);
-                                        }
-                                    }
+                                    handler.consumeResourcesForGrowth(potData, stageAdvances);
                                     handler.updateBlockState(level, worldPosition, newStage, potData);
                                     setChanged();
                                     level.sendBlockUpdated(worldPosition, getBlockState(), getBlockState(), 3);
@@ -136,6 +134,44 @@ public class PlantPotBlockEntity extends BlockEntity implements IUtilityConsumer
         }
     }
 
+    // ═══════════════════════════════════════════════════════════
+    // OFFLINE-WACHSTUM (entladener Chunk)
+    // ═══════════════════════════════════════════════════════════
+
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        if (level == null || level.isClientSide) return;
+
+        PlantPotOfflineState offline = OfflineProductionSimulator.claim(level, worldPosition, PlantPotOfflineState.class);
+        if (offline != null) {
+            potData = offline.getPotData();
+            lastGameTime = offline.getLastDayTime();
+            plantGrowthAccumulator = offline.getGrowthAccumulator();
+            // Block-State erst im ersten Tick anpassen (Chunk wird gerade eingehängt)
+            offlineStageChanged = offline.hasStageChanged();
+        }
+    }
+
+    @Override
+    public void onChunkUnloaded() {
+        super.onChunkUnloaded();
+        if (level == null || level.isClientSide || lastGameTime < 0) return;
+
+        // Diese Instanz wird nach dem Entladen verworfen: potData kann direkt übergeben werden
+        OfflineProductionSimulator.track(level, worldPosition, new PlantPotOfflineState(
+            potData, offlineLightMultiplier / 80.0, lastGameTime, plantGrowthAccumulator));
+    }
+
+    private void applyOfflineStageChange() {
+        PlantGrowthHandler handler = PlantGrowthHandlerFactory.getHandler(potData);
+        if (handler != null && potData.hasPlant()) {
+            handler.updateBlockState(level, worldPosition, handler.getCurrentStage(potData), potData);
+        }
+        setChanged();
+        level.sendBlockUpdated(worldPosition, getBlockState(), getBlockState(), 3);
+    }
+
     @Override
     public boolean isActivelyConsuming() {
         // Aktiv wenn eine Pflanze vorhanden ist und wachsen kann
@@ -143,25 +179,6 @@ public class PlantPotBlockEntity extends BlockEntity implements IUtilityConsumer
     }
 
 
-    /**
-     * Verbraucht Ressourcen beim Wachstum
-     *
-     * NEUES SYSTEM:
-     * - WASSER: 1/7 der Wasserkapazität pro Stufe (wird hier verbraucht)
-     * - ERDE: Wird NICHT mehr während des Wachstums verbraucht!
-     *   → Erde wird nur noch bei der Ernte pauschal abgezogen (-33)
-     *   → Im HUD wird visuell eine Reduzierung angezeigt (rein optisch!)
-     */
-    private void consumeResourcesForGrowth(int _newStage) {
-        // Wasser: 1/7 der Kapazität pro Stufe
-        double waterToConsume = potData.getMaxWater() / 7.0;
-        potData.consumeWater(waterToConsume);
-
-        // ERDE: Wird NICHT mehr hier verbraucht!
-        // → soilLevel bleibt konstant während des Wachstums
-        // → Bei Ernte: -33 Erde (siehe PlantBlock.verifyAndCorrectResources())
-    }
-
     @Override
     protected void saveAdditional(CompoundTag tag) {
         super.saveAdditional(tag);
@@ -236,6 +253,9 @@ public class PlantPotBlockEntity extends BlockEntity implements IUtilityConsumer
      * Berechnet Wachstumsgeschwindigkeits-Multiplikator basierend auf Licht
      * Prüft 2-3 Blöcke über dem Topf (wo das Grow Light platziert werden kann)
      * Wenn kein Grow Light vorhanden ist, wird Sonnenlicht genutzt (50% Geschwindigkeit)
+     *
+     * Merkt sich dabei den Multiplikator für das Offline-Wachstum: Grow Lights laufen
+     * durch, Sonnenlicht zählt nur für den Tag-Anteil.
      */
     private double getLightSpeedMultiplier() {
         if (level == null) return 0.5; // Fallback: Sonnenlicht = 50%
@@ -248,7 +268,8 @@ public class PlantPotBlockEntity extends BlockEntity implements IUtilityConsumer
 
             if (checkBlock instanceof GrowLightSlabBlock growLight) {
                 // Grow Light gefunden! Nutze dessen Geschwindigkeits-Multiplikator
-                return growLight.getTier().getGrowthSpeedMultiplier();
+                offlineLightMultiplier = growLight.getTier().getGrowthSpeedMultiplier();
+                return offlineLightMultiplier;
             }
         }
 
@@ -256,11 +277,13 @@ public class PlantPotBlockEntity extends BlockEntity implements IUtilityConsumer
         BlockPos checkPos = worldPosition.above(2);
         int rawSkyLight = level.getBrightness(LightLayer.SKY, checkPos);
         if (rawSkyLight > 0) {
+            offlineLightMultiplier = 0.5 * DAYLIGHT_SHARE;
             // Außen: nur tagsüber wachsen (Effektivlicht >= 9 → 50% Geschwindigkeit)
             return level.getRawBrightness(checkPos, 0) >= 9 ? 0.5 : 0.0;
         }
 
         // Innen ohne Grow Light: kein aktives Wachstum
+        offlineLightMultiplier = 0.0;
         return 0.0;
     }
 
@@ -4,6 +4,10 @@ import com.mojang.logging.LogUtils;
 import de.rolandsw.schedulemc.production.config.ProductionConfig;
 import de.rolandsw.schedulemc.production.core.GenericQuality;
 import de.rolandsw.schedulemc.production.core.ProductionQuality;
+import de.rolandsw.schedulemc.production.offline.OfflineProductionSimulator;
+import de.rolandsw.schedulemc.production.network.ProcessingProgressPacket;
+import de.rolandsw.schedulemc.production.network.ProcessingSyncCoalescer;
+import de.rolandsw.schedulemc.production.offline.ProcessingOfflineState;
 import de.rolandsw.schedulemc.util.ModConstants;
 import net.minecraft.core.BlockPos;
 import net.minecraft.nbt.CompoundTag;
@@ -18,6 +22,7 @@ import net.minecraftforge.registries.ForgeRegistries;
 import org.slf4j.Logger;
 
 import javax.annotation.Nullable;
+import java.util.List;
 
 /**
  * Unified Processing Block Entity
@@ -64,11 +69,15 @@ public class UnifiedProcessingBlockEntity extends BlockEntity {
     // Performance-Optimierung: Tick-Throttling (wie in AbstractFermentationBarrelBlockEntity)
     private int tickCounter = 0;
     private static final int TICK_INTERVAL = ModConstants.PROCESSING_TICK_INTERVAL;
-    private int syncCycleCounter = 0;
-    private static final int SYNC_EVERY_N_CYCLES = ModConstants.PROCESSING_SYNC_CYCLE;
+    // OPTIMIERT: Fortschritt geht als Delta über den ProcessingSyncCoalescer raus;
+    // syncedProgress = zuletzt an Clients übertragener Stand pro Slot
+    private final int[] syncedProgress;
 
     protected boolean changed = false;
 
+    // Offline-Fortschritt übernommen: Speichern/Sync im ersten Tick nachholen
+    private boolean offlineProgressApplied = false;
+
     // ═══════════════════════════════════════════════════════════
     // CONSTRUCTOR
     // ═══════════════════════════════════════════════════════════
@@ -86,6 +95,7 @@ public class UnifiedProcessingBlockEntity extends BlockEntity {
         this.progress = new int[capacity];
         this.productionIds = new String[capacity];
         this.qualities = new GenericQuality[capacity];
+        this.syncedProgress = new int[capacity];
 
         for (int i = 0; i < capacity; i++) {
             inputs[i] = ItemStack.EMPTY;
@@ -121,6 +131,13 @@ public class UnifiedProcessingBlockEntity extends BlockEntity {
             return;
         }
 
+        if (offlineProgressApplied) {
+            offlineProgressApplied = false;
+            changed = true;
+            setChanged();
+            syncToClient();
+        }
+
         // Tick-Throttling: Nur alle TICK_INTERVAL Ticks verarbeiten
         tickCounter++;
         if (tickCounter < TICK_INTERVAL) {
@@ -130,13 +147,7 @@ public class UnifiedProcessingBlockEntity extends BlockEntity {
 
         int processingTime = cachedStageConfig.getProcessingTime();
         boolean anyCompleted = false;
-
-        // Sync-Throttling: Netzwerk-Update nur alle SYNC_EVERY_N_CYCLES Zyklen
-        syncCycleCounter++;
-        boolean needsSync = syncCycleCounter >= SYNC_EVERY_N_CYCLES;
-        if (needsSync) {
-            syncCycleCounter = 0;
-        }
+        boolean anyProgress = false;
 
         // Process alle Slots
         for (int i = 0; i < capacity; i++) {
@@ -151,6 +162,7 @@ public class UnifiedProcessingBlockEntity extends BlockEntity {
 
                 // Increment Progress (um TICK_INTERVAL — entspricht 1 pro echtem Tick)
                 progress[i] += TICK_INTERVAL;
+                anyProgress = true;
 
                 // Consume Resources (jede Sekunde)
                 if (cachedStageConfig.requiresResource() && progress[i] % 20 == 0) {
@@ -167,19 +179,64 @@ public class UnifiedProcessingBlockEntity extends BlockEntity {
                     progress[i] = 0;
 
                     anyCompleted = true;
-                    needsSync = true;
                 }
             }
         }
 
         if (anyCompleted) {
+            // Output-Items geändert: voller Sync
             changed = true;
             setChanged();
+            syncToClient();
+        } else if (anyProgress) {
+            // Nur Fortschritt: gebündeltes Delta
+            ProcessingSyncCoalescer.markDirty(this);
         }
+    }
 
-        if (needsSync) {
-            syncToClient();
+    // ═══════════════════════════════════════════════════════════
+    // OFFLINE PROCESSING (entladener Chunk)
+    // ═══════════════════════════════════════════════════════════
+
+    @Override
+    public void onChunkUnloaded() {
+        super.onChunkUnloaded();
+        if (level == null || level.isClientSide || cachedStageConfig == null) {
+            return;
         }
+
+        boolean[] active = new boolean[capacity];
+        for (int i = 0; i < capacity; i++) {
+            active[i] = !inputs[i].isEmpty() && outputs[i].isEmpty();
+        }
+        OfflineProductionSimulator.track(level, worldPosition, new ProcessingOfflineState(
+            progress, active, cachedStageConfig.getProcessingTime(), TICK_INTERVAL,
+            cachedStageConfig.requiresResource(), cachedStageConfig.getResourceAmount(),
+            resourceLevel, level.getGameTime()));
+    }
+
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        if (level == null || level.isClientSide || cachedStageConfig == null) {
+            return;
+        }
+
+        ProcessingOfflineState offline = OfflineProductionSimulator.claim(level, worldPosition, ProcessingOfflineState.class);
+        if (offline == null || offline.getSlotCount() != capacity) {
+            return;
+        }
+        for (int i = 0; i < capacity; i++) {
+            if (offline.isCompleted(i)) {
+                outputs[i] = createOutput(i, cachedStageConfig);
+                inputs[i] = ItemStack.EMPTY;
+            }
+            progress[i] = offline.getProgress(i);
+        }
+        if (cachedStageConfig.requiresResource()) {
+            resourceLevel = offline.getResourceLevel();
+        }
+        offlineProgressApplied = true;
     }
 
     /**
@@ -433,6 +490,30 @@ public class UnifiedProcessingBlockEntity extends BlockEntity {
     protected void syncToClient() {
         if (level != null && !level.isClientSide) {
             level.sendBlockUpdated(worldPosition, getBlockState(), getBlockState(), 3);
+            // Voller Sync enthält alle Slots: Delta-Basis nachziehen
+            System.arraycopy(progress, 0, syncedProgress, 0, capacity);
+        }
+    }
+
+    /**
+     * Sammelt Slots, deren Fortschritt sich seit dem letzten Sync geändert hat (Server)
+     */
+    public void collectProgressDelta(List<ProcessingProgressPacket.Entry> out) {
+        long pos = worldPosition.asLong();
+        for (int i = 0; i < capacity; i++) {
+            if (progress[i] != syncedProgress[i]) {
+                out.add(new ProcessingProgressPacket.Entry(pos, i, progress[i]));
+                syncedProgress[i] = progress[i];
+            }
+        }
+    }
+
+    /**
+     * Übernimmt ein Fortschritts-Delta vom Server (Client)
+     */
+    public void applySyncedProgress(int slot, int value) {
+        if (slot >= 0 && slot < capacity) {
+            progress[slot] = value;
         }
     }
 
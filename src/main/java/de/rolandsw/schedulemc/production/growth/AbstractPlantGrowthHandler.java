@@ -15,6 +15,7 @@ import net.minecraft.world.level.block.state.BlockState;
  * Enthält gemeinsame Logik:
  * - Licht-Prüfung
  * - Standard-Wachstumsbedingungen
+ * - Ressourcen-Verbrauch pro Stadium-Wechsel
  */
 public abstract class AbstractPlantGrowthHandler implements PlantGrowthHandler {
 
@@ -81,4 +82,26 @@ public abstract class AbstractPlantGrowthHandler implements PlantGrowthHandler {
      */
     @Override
     public abstract void tick(PlantPotData potData);
+
+    @Override
+    public abstract int advance(PlantPotData potData, int ticks);
+
+    /**
+     * Verbraucht Ressourcen beim Wachstum
+     *
+     * NEUES SYSTEM:
+     * - WASSER: 1/7 der Wasserkapazität pro Stufe (wird hier verbraucht)
+     * - ERDE: Wird NICHT mehr während des Wachstums verbraucht!
+     *   → Erde wird nur noch bei der Ernte pauschal abgezogen (-33)
+     *   → Im HUD wird visuell eine Reduzierung angezeigt (rein optisch!)
+     *
+     * Pro Stufe einzeln abgezogen, da consumeWater() nur ganze Mengen abbucht.
+     */
+    @Override
+    public void consumeResourcesForGrowth(PlantPotData potData, int stageAdvances) {
+        double waterToConsume = potData.getMaxWater() / 7.0;
+        for (int i = 0; i < stageAdvances; i++) {
+            potData.consumeWater(waterToConsume);
+        }
+    }
 }
@@ -17,6 +17,11 @@ public class CocaGrowthHandler extends AbstractPlantGrowthHandler {
         }
     }
 
+    @Override
+    public int advance(PlantPotData potData, int ticks) {
+        return potData.hasCocaPlant() ? potData.getCocaPlant().advance(ticks) : 0;
+    }
+
     @Override
     public void updateBlockState(Level level, BlockPos pos, int newStage, PlantPotData potData) {
         if (potData.hasCocaPlant()) {
@@ -14,6 +14,11 @@ public class CoffeeGrowthHandler extends AbstractPlantGrowthHandler {
         }
     }
 
+    @Override
+    public int advance(PlantPotData potData, int ticks) {
+        return potData.hasCoffeePlant() ? potData.getCoffeePlant().advance(ticks) : 0;
+    }
+
     @Override
     public void updateBlockState(Level level, BlockPos pos, int newStage, PlantPotData potData) {
         if (potData.hasCoffeePlant()) {
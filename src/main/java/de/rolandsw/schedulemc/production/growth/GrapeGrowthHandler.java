@@ -14,6 +14,11 @@ public class GrapeGrowthHandler extends AbstractPlantGrowthHandler {
         }
     }
 
+    @Override
+    public int advance(PlantPotData potData, int ticks) {
+        return potData.hasGrapePlant() ? potData.getGrapePlant().advance(ticks) : 0;
+    }
+
     @Override
     public void updateBlockState(Level level, BlockPos pos, int newStage, PlantPotData potData) {
         if (potData.hasGrapePlant()) {
@@ -27,6 +27,26 @@ public class MushroomGrowthHandler extends AbstractPlantGrowthHandler {
         }
     }
 
+    @Override
+    public int advance(PlantPotData potData, int ticks) {
+        return potData.hasMushroomPlant() ? potData.getMushroomPlant().advance(ticks) : 0;
+    }
+
+    /**
+     * Pilze brauchen nur in der Fruchtungs-Phase Wasser, sonst wird Substrat verbraucht
+     */
+    @Override
+    public void consumeResourcesForGrowth(PlantPotData potData, int stageAdvances) {
+        if (!potData.hasMushroomPlant()) return;
+        if (potData.getMushroomPlant().needsWater()) {
+            super.consumeResourcesForGrowth(potData, stageAdvances);
+        } else {
+            for (int i = 0; i < stageAdvances; i++) {
+                potData.consumeSoil(potData.getSoilConsumptionPerStage());
+            }
+        }
+    }
+
     @Override
     public void updateBlockState(Level level, BlockPos pos, int newStage, PlantPotData potData) {
         // Pilze haben keine visuelle Block-State-Änderung
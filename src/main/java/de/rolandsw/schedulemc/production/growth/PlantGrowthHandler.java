@@ -28,6 +28,25 @@ public interface PlantGrowthHandler {
      */
     void tick(PlantPotData potData);
 
+    /**
+     * Führt {@code ticks} Wachstums-Ticks in geschlossener Form aus (O(Stufen) statt O(Ticks))
+     *
+     * Stadium, Tick-Zähler und Qualität entsprechen {@code ticks} Aufrufen von {@link #tick}.
+     *
+     * @param potData Topf-Daten
+     * @param ticks Anzahl Wachstums-Ticks
+     * @return Anzahl der Stadium-Wechsel
+     */
+    int advance(PlantPotData potData, int ticks);
+
+    /**
+     * Verbraucht die Ressourcen (Wasser/Erde) für mehrere Stadium-Wechsel
+     *
+     * @param potData Topf-Daten
+     * @param stageAdvances Anzahl der Stadium-Wechsel
+     */
+    void consumeResourcesForGrowth(PlantPotData potData, int stageAdvances);
+
     /**
      * Aktualisiert den Block-State nach Wachstum
      *
@@ -17,6 +17,11 @@ public class PoppyGrowthHandler extends AbstractPlantGrowthHandler {
         }
     }
 
+    @Override
+    public int advance(PlantPotData potData, int ticks) {
+        return potData.hasPoppyPlant() ? potData.getPoppyPlant().advance(ticks) : 0;
+    }
+
     @Override
     public void updateBlockState(Level level, BlockPos pos, int newStage, PlantPotData potData) {
         if (potData.hasPoppyPlant()) {
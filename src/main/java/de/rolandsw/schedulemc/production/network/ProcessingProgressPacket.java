@@ -0,0 +1,139 @@
+package de.rolandsw.schedulemc.production.network;
+
+import de.rolandsw.schedulemc.production.blockentity.UnifiedProcessingBlockEntity;
+import de.rolandsw.schedulemc.util.PacketHandler;
+import io.netty.handler.codec.DecoderException;
+import io.netty.handler.codec.EncoderException;
+import net.minecraft.client.Minecraft;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Fortschritts-Delta für Verarbeitungs-BlockEntities (Server → Client)
+ *
+ * OPTIMIERUNG: Statt des kompletten Block-Entity-NBT (alle Slots mit ItemStacks) werden nur
+ * geänderte Slots als (Slot-Index, Fortschritt) übertragen, gruppiert nach Position.
+ * Mehrere Maschinen teilen sich ein Paket.
+ *
+ * Format: VarInt Gruppen; pro Gruppe Long Position, Byte Anzahl, je Slot Byte Index + VarInt Fortschritt
+ *
+ * Höchstens {@value #MAX_GROUPS} Positionen pro Paket - größere Deltas teilt {@link #split(List)} auf.
+ */
+public class ProcessingProgressPacket {
+
+    /**
+     * Ein geänderter Slot
+     */
+    public record Entry(long pos, int slot, int progress) {}
+
+    static final int MAX_GROUPS = 4096;
+
+    private final List<Entry> entries;
+
+    /**
+     * @param entries Einträge, nach Position zusammenhängend sortiert
+     */
+    public ProcessingProgressPacket(List<Entry> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Teilt die Einträge auf Pakete mit höchstens {@value #MAX_GROUPS} Positionen auf
+     *
+     * @param entries Einträge, nach Position zusammenhängend sortiert
+     */
+    public static List<ProcessingProgressPacket> split(List<Entry> entries) {
+        List<ProcessingProgressPacket> packets = new ArrayList<>(1);
+        int start = 0;
+        int groups = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            if (i == 0 || entries.get(i).pos() != entries.get(i - 1).pos()) {
+                if (groups == MAX_GROUPS) {
+                    packets.add(new ProcessingProgressPacket(entries.subList(start, i)));
+                    start = i;
+                    groups = 0;
+                }
+                groups++;
+            }
+        }
+        if (start < entries.size()) {
+            packets.add(new ProcessingProgressPacket(entries.subList(start, entries.size())));
+        }
+        return packets;
+    }
+
+    public void encode(FriendlyByteBuf buf) {
+        int groups = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            if (i == 0 || entries.get(i).pos() != entries.get(i - 1).pos()) {
+                groups++;
+            }
+        }
+        if (groups > MAX_GROUPS) {
+            throw new EncoderException("Too many progress groups: " + groups + " (max " + MAX_GROUPS + ")");
+        }
+        buf.writeVarInt(groups);
+
+        int i = 0;
+        while (i < entries.size()) {
+            long pos = entries.get(i).pos();
+            int end = i;
+            while (end < entries.size() && entries.get(end).pos() == pos) {
+                end++;
+            }
+            buf.writeLong(pos);
+            buf.writeByte(end - i);
+            for (; i < end; i++) {
+                buf.writeByte(entries.get(i).slot());
+                buf.writeVarInt(entries.get(i).progress());
+            }
+        }
+    }
+
+    public static ProcessingProgressPacket decode(FriendlyByteBuf buf) {
+        // SICHERHEIT: Gruppenanzahl begrenzen - ablehnen statt kürzen, sonst blieben Bytes ungelesen
+        int groups = buf.readVarInt();
+        if (groups < 0 || groups > MAX_GROUPS) {
+            throw new DecoderException("Too many progress groups: " + groups + " (max " + MAX_GROUPS + ")");
+        }
+        List<Entry> entries = new ArrayList<>(groups);
+        for (int g = 0; g < groups; g++) {
+            long pos = buf.readLong();
+            int count = buf.readUnsignedByte();
+            for (int j = 0; j < count; j++) {
+                entries.add(new Entry(pos, buf.readUnsignedByte(), buf.readVarInt()));
+            }
+        }
+        return new ProcessingProgressPacket(entries);
+    }
+
+    public void handle(Supplier<NetworkEvent.Context> ctx) {
+        PacketHandler.handleClientPacket(ctx, () -> {
+            Minecraft minecraft = Minecraft.getInstance();
+            if (minecraft.level == null) {
+                return;
+            }
+            BlockEntity blockEntity = null;
+            long lastPos = 0;
+            for (Entry entry : entries) {
+                if (blockEntity == null || entry.pos() != lastPos) {
+                    lastPos = entry.pos();
+                    blockEntity = minecraft.level.getBlockEntity(BlockPos.of(lastPos));
+                }
+                if (blockEntity instanceof UnifiedProcessingBlockEntity processing) {
+                    processing.applySyncedProgress(entry.slot(), entry.progress());
+                }
+            }
+        });
+    }
+
+    public List<Entry> getEntries() {
+        return entries;
+    }
+}
@@ -0,0 +1,138 @@
+package de.rolandsw.schedulemc.production.network;
+
+import de.rolandsw.schedulemc.production.blockentity.UnifiedProcessingBlockEntity;
+import de.rolandsw.schedulemc.util.EventHelper;
+import de.rolandsw.schedulemc.util.ModConstants;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sammelt Fortschritts-Änderungen von Verarbeitungs-Blöcken und sendet sie gebündelt
+ *
+ * Problem (Alt):
+ * - Jede {@link UnifiedProcessingBlockEntity} schickte alle 8 Verarbeitungszyklen per
+ *   {@code sendBlockUpdated} ihr komplettes NBT (alle Slots inkl. ItemStacks) an jeden
+ *   Spieler im Umkreis - auch wenn sich nur Fortschrittszahlen geändert hatten
+ * - Große Labore mit dutzenden Maschinen erzeugten so einen Paket-Strom
+ *
+ * Lösung (Neu):
+ * - Reine Fortschritts-Änderungen markieren die BlockEntity nur als dirty
+ * - Alle {@value ModConstants#PROCESSING_DELTA_SYNC_TICKS} Ticks werden pro Level die
+ *   geänderten Slots eingesammelt und pro Spieler zu einem {@link ProcessingProgressPacket}
+ *   zusammengefasst
+ * - Empfänger sind nur Spieler, die den Chunk der Maschine verfolgen (Sichtweite)
+ * - Strukturelle Änderungen (Slot fertig, Items rein/raus) laufen weiter über den
+ *   vollen Block-Update-Sync
+ *
+ * Nur Server-Thread.
+ */
+@Mod.EventBusSubscriber
+public final class ProcessingSyncCoalescer {
+
+    private static final Map<ResourceKey<Level>, ReferenceLinkedOpenHashSet<UnifiedProcessingBlockEntity>> dirty = new HashMap<>();
+    private static int tickCounter = 0;
+
+    private ProcessingSyncCoalescer() {}
+
+    /**
+     * Merkt eine BlockEntity für den nächsten Delta-Sync vor
+     */
+    public static void markDirty(UnifiedProcessingBlockEntity blockEntity) {
+        Level level = blockEntity.getLevel();
+        if (level == null || level.isClientSide) {
+            return;
+        }
+        dirty.computeIfAbsent(level.dimension(), key -> new ReferenceLinkedOpenHashSet<>()).add(blockEntity);
+    }
+
+    public static int getPendingCount() {
+        int count = 0;
+        for (ReferenceLinkedOpenHashSet<UnifiedProcessingBlockEntity> set : dirty.values()) {
+            count += set.size();
+        }
+        return count;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // FLUSH
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        EventHelper.handleServerTickEnd(event, server -> {
+            if (++tickCounter < ModConstants.PROCESSING_DELTA_SYNC_TICKS) {
+                return;
+            }
+            tickCounter = 0;
+            if (dirty.isEmpty()) {
+                return;
+            }
+
+            for (ServerLevel level : server.getAllLevels()) {
+                ReferenceLinkedOpenHashSet<UnifiedProcessingBlockEntity> levelDirty = dirty.get(level.dimension());
+                if (levelDirty != null && !levelDirty.isEmpty()) {
+                    flush(level, levelDirty);
+                    levelDirty.clear();
+                }
+            }
+        });
+    }
+
+    private static void flush(ServerLevel level, ReferenceLinkedOpenHashSet<UnifiedProcessingBlockEntity> levelDirty) {
+        Map<ServerPlayer, List<ProcessingProgressPacket.Entry>> perPlayer = new HashMap<>();
+        List<ProcessingProgressPacket.Entry> entries = new ArrayList<>();
+
+        for (UnifiedProcessingBlockEntity blockEntity : levelDirty) {
+            if (blockEntity.isRemoved() || blockEntity.getLevel() != level) {
+                continue;
+            }
+            entries.clear();
+            blockEntity.collectProgressDelta(entries);
+            if (entries.isEmpty()) {
+                continue;
+            }
+
+            List<ServerPlayer> players = level.getChunkSource().chunkMap.getPlayers(new ChunkPos(blockEntity.getBlockPos()), false);
+            for (ServerPlayer player : players) {
+                perPlayer.computeIfAbsent(player, p -> new ArrayList<>()).addAll(entries);
+            }
+        }
+
+        for (Map.Entry<ServerPlayer, List<ProcessingProgressPacket.Entry>> entry : perPlayer.entrySet()) {
+            for (ProcessingProgressPacket packet : ProcessingProgressPacket.split(entry.getValue())) {
+                ProductionNetworkHandler.sendToPlayer(packet, entry.getKey());
+            }
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // LIFECYCLE
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof Level level && !level.isClientSide) {
+            dirty.remove(level.dimension());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        dirty.clear();
+        tickCounter = 0;
+    }
+}
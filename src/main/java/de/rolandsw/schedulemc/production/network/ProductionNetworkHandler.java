@@ -0,0 +1,41 @@
+package de.rolandsw.schedulemc.production.network;
+
+import de.rolandsw.schedulemc.ScheduleMC;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.network.NetworkDirection;
+import net.minecraftforge.network.NetworkRegistry;
+import net.minecraftforge.network.PacketDistributor;
+import net.minecraftforge.network.simple.SimpleChannel;
+
+/**
+ * Network handler for production (processing block) packets
+ */
+public class ProductionNetworkHandler {
+    private static final String PROTOCOL_VERSION = "1";
+    public static final SimpleChannel INSTANCE = NetworkRegistry.newSimpleChannel(
+        ResourceLocation.fromNamespaceAndPath(ScheduleMC.MOD_ID, "production_network"),
+        () -> PROTOCOL_VERSION,
+        PROTOCOL_VERSION::equals,
+        PROTOCOL_VERSION::equals
+    );
+
+    private static int packetId = 0;
+
+    private static int id() {
+        return packetId++;
+    }
+
+    public static void register() {
+        // Server -> Client: Fortschritts-Deltas von Verarbeitungs-Blöcken
+        INSTANCE.messageBuilder(ProcessingProgressPacket.class, id(), NetworkDirection.PLAY_TO_CLIENT)
+            .decoder(ProcessingProgressPacket::decode)
+            .encoder(ProcessingProgressPacket::encode)
+            .consumerMainThread(ProcessingProgressPacket::handle)
+            .add();
+    }
+
+    public static <MSG> void sendToPlayer(MSG message, ServerPlayer player) {
+        INSTANCE.send(PacketDistributor.PLAYER.with(() -> player), message);
+    }
+}
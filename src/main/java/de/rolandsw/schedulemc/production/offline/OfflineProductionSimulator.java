@@ -0,0 +1,173 @@
+package de.rolandsw.schedulemc.production.offline;
+
+import com.mojang.logging.LogUtils;
+import de.rolandsw.schedulemc.util.EventHelper;
+import de.rolandsw.schedulemc.util.ThreadPoolManager;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.slf4j.Logger;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Simuliert Produktions-BlockEntities in entladenen Chunks auf dem Computation-Pool
+ *
+ * Problem (Alt):
+ * - Pflanzen und Verarbeitungs-Slots standen still, sobald ihr Chunk entladen war;
+ *   Verarbeitungsblöcke holten verpasste Zeit überhaupt nicht nach
+ * - Spieler mussten Farmen per Chunk-Loader offen halten, was den Server-Thread
+ *   mit Block-Ticks für niemanden belastete
+ *
+ * Lösung (Neu):
+ * - Beim Entladen übergibt die BlockEntity einen kompakten {@link OfflineProductionState}
+ * - Alle {@value #SIMULATION_INTERVAL} Ticks wird pro Level ein Batch mit der aktuellen
+ *   Welt-Zeit an den Computation-Pool gegeben (nie mehr als ein Batch gleichzeitig)
+ * - Beim Laden holt die neue BlockEntity ihren Zustand per {@link #claim} ab und
+ *   übernimmt ihn auf dem Server-Thread
+ *
+ * Die Registry selbst wird nur vom Server-Thread angefasst; Worker sehen nur eine
+ * Kopie der Zustandsliste. Offline-Fortschritt lebt nur im Speicher: wird der Server
+ * gestoppt, bevor der Chunk wieder lädt, gilt der zuletzt gespeicherte Stand.
+ */
+@Mod.EventBusSubscriber
+public final class OfflineProductionSimulator {
+
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    private static final int SIMULATION_INTERVAL = 100;
+
+    private static final Map<ResourceKey<Level>, Long2ObjectOpenHashMap<OfflineProductionState>> states = new HashMap<>();
+    private static final AtomicBoolean batchRunning = new AtomicBoolean(false);
+    private static int tickCounter = 0;
+
+    private OfflineProductionSimulator() {}
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // REGISTRIERUNG
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Registriert den Zustand einer gerade entladenen BlockEntity (Server-Thread)
+     */
+    public static void track(Level level, BlockPos pos, OfflineProductionState state) {
+        if (level.isClientSide || state.isIdle()) {
+            return;
+        }
+        states.computeIfAbsent(level.dimension(), key -> new Long2ObjectOpenHashMap<>())
+              .put(pos.asLong(), state);
+    }
+
+    /**
+     * Holt den Offline-Zustand für eine gerade geladene BlockEntity ab (Server-Thread)
+     *
+     * Der Eintrag wird in jedem Fall entfernt; passt der Typ nicht (Block ersetzt),
+     * wird er verworfen.
+     *
+     * @return Zustand oder null wenn keiner (passender) vorliegt
+     */
+    @Nullable
+    public static <T extends OfflineProductionState> T claim(Level level, BlockPos pos, Class<T> type) {
+        if (level.isClientSide) {
+            return null;
+        }
+        Long2ObjectOpenHashMap<OfflineProductionState> levelStates = states.get(level.dimension());
+        if (levelStates == null) {
+            return null;
+        }
+        OfflineProductionState state = levelStates.remove(pos.asLong());
+        if (state == null) {
+            return null;
+        }
+        // Wartet ggf. auf einen laufenden advanceTo() dieses Zustands
+        state.claim();
+        return type.isInstance(state) ? type.cast(state) : null;
+    }
+
+    public static int getTrackedCount() {
+        int count = 0;
+        for (Long2ObjectOpenHashMap<OfflineProductionState> levelStates : states.values()) {
+            count += levelStates.size();
+        }
+        return count;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // SIMULATION
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        EventHelper.handleServerTickEnd(event, server -> {
+            if (++tickCounter < SIMULATION_INTERVAL) {
+                return;
+            }
+            tickCounter = 0;
+            if (states.isEmpty() || !batchRunning.compareAndSet(false, true)) {
+                return; // Nichts zu tun bzw. vorheriger Batch läuft noch
+            }
+
+            List<Runnable> batch = new ArrayList<>();
+            for (ServerLevel level : server.getAllLevels()) {
+                Long2ObjectOpenHashMap<OfflineProductionState> levelStates = states.get(level.dimension());
+                if (levelStates == null || levelStates.isEmpty()) {
+                    continue;
+                }
+                List<OfflineProductionState> snapshot = new ArrayList<>(levelStates.values());
+                long gameTime = level.getGameTime();
+                long dayTime = level.getDayTime();
+                batch.add(() -> {
+                    for (OfflineProductionState state : snapshot) {
+                        state.advanceTo(gameTime, dayTime);
+                    }
+                });
+            }
+
+            try {
+                ThreadPoolManager.getComputationPool().execute(() -> {
+                    try {
+                        for (Runnable levelBatch : batch) {
+                            levelBatch.run();
+                        }
+                    } catch (Exception e) {
+                        LOGGER.error("Offline production simulation failed", e);
+                    } finally {
+                        batchRunning.set(false);
+                    }
+                });
+            } catch (Exception e) {
+                batchRunning.set(false);
+                LOGGER.warn("Could not schedule offline production simulation", e);
+            }
+        });
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // LIFECYCLE
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof Level level && !level.isClientSide) {
+            states.remove(level.dimension());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        states.clear();
+        tickCounter = 0;
+    }
+}
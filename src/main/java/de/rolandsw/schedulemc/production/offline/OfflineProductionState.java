@@ -0,0 +1,44 @@
+package de.rolandsw.schedulemc.production.offline;
+
+/**
+ * Zustand einer Produktions-BlockEntity, deren Chunk entladen ist
+ *
+ * Wird auf dem Computation-Pool fortgeschrieben ({@link #advanceTo}) und beim erneuten Laden
+ * des Chunks von der neuen BlockEntity übernommen ({@link OfflineProductionSimulator#claim}).
+ * Alle Zugriffe laufen über den Monitor der Instanz, damit ein Claim nie einen halb
+ * fortgeschriebenen Zustand sieht.
+ */
+public abstract class OfflineProductionState {
+
+    private boolean claimed;
+
+    /**
+     * Schreibt den Zustand bis zur angegebenen Welt-Zeit fort (Worker-Thread)
+     *
+     * @param gameTime Aktuelle Game-Time des Levels
+     * @param dayTime Aktuelle Day-Time des Levels
+     */
+    final synchronized void advanceTo(long gameTime, long dayTime) {
+        if (!claimed) {
+            advance(gameTime, dayTime);
+        }
+    }
+
+    /**
+     * Markiert den Zustand als übernommen; danach wird er nicht mehr fortgeschrieben
+     */
+    final synchronized void claim() {
+        claimed = true;
+    }
+
+    /**
+     * Eigentliche Fortschreibung; wird nur unter dem Monitor aufgerufen
+     */
+    protected abstract void advance(long gameTime, long dayTime);
+
+    /**
+     * true wenn es nichts fortzuschreiben gibt (z.B. Pflanze ausgewachsen); solche Zustände
+     * werden beim Entladen gar nicht erst registriert
+     */
+    public abstract boolean isIdle();
+}
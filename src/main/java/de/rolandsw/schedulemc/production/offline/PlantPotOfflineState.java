@@ -0,0 +1,87 @@
+package de.rolandsw.schedulemc.production.offline;
+
+import de.rolandsw.schedulemc.production.data.PlantPotData;
+import de.rolandsw.schedulemc.production.growth.PlantGrowthHandler;
+import de.rolandsw.schedulemc.production.growth.PlantGrowthHandlerFactory;
+
+/**
+ * Offline-Zustand eines Pflanzentopfs
+ *
+ * Übernimmt das {@link PlantPotData} der entladenen BlockEntity (die Instanz wird danach
+ * verworfen, eine Kopie ist nicht nötig) und lässt die Pflanze mit der beim Entladen
+ * gemessenen Wachstumsrate per {@link PlantGrowthHandler#advance} weiterwachsen.
+ */
+public class PlantPotOfflineState extends OfflineProductionState {
+
+    private final PlantPotData potData;
+    private final double growthTicksPerWorldTick;
+    private long lastDayTime;
+    private double growthAccumulator;
+    private boolean stageChanged;
+
+    /**
+     * @param potData Topf-Daten der entladenen BlockEntity
+     * @param growthTicksPerWorldTick Wachstums-Ticks pro Welt-Tick (Licht-Multiplikator / 80)
+     * @param lastDayTime Day-Time des letzten Wachstums-Updates
+     * @param growthAccumulator Angefangene Wachstums-Ticks
+     */
+    public PlantPotOfflineState(PlantPotData potData, double growthTicksPerWorldTick,
+                                long lastDayTime, double growthAccumulator) {
+        this.potData = potData;
+        this.growthTicksPerWorldTick = growthTicksPerWorldTick;
+        this.lastDayTime = lastDayTime;
+        this.growthAccumulator = growthAccumulator;
+    }
+
+    @Override
+    protected void advance(long gameTime, long dayTime) {
+        long worldTicksPassed = Math.max(0L, dayTime - lastDayTime);
+        lastDayTime = dayTime;
+        if (worldTicksPassed == 0 || isIdle()) {
+            return;
+        }
+
+        PlantGrowthHandler handler = PlantGrowthHandlerFactory.getHandler(potData);
+        if (handler == null) {
+            return;
+        }
+
+        growthAccumulator += worldTicksPassed * growthTicksPerWorldTick;
+        int growthTicks = (int) Math.min(growthAccumulator, Integer.MAX_VALUE);
+        if (growthTicks <= 0) {
+            return;
+        }
+        growthAccumulator -= growthTicks;
+
+        int oldStage = handler.getCurrentStage(potData);
+        int stageAdvances = handler.advance(potData, growthTicks);
+        if (handler.getCurrentStage(potData) != oldStage) {
+            handler.consumeResourcesForGrowth(potData, stageAdvances);
+            stageChanged = true;
+        }
+    }
+
+    @Override
+    public boolean isIdle() {
+        return growthTicksPerWorldTick <= 0 || !potData.hasPlant() || !potData.canGrow();
+    }
+
+    public synchronized PlantPotData getPotData() {
+        return potData;
+    }
+
+    public synchronized long getLastDayTime() {
+        return lastDayTime;
+    }
+
+    public synchronized double getGrowthAccumulator() {
+        return growthAccumulator;
+    }
+
+    /**
+     * true wenn die Pflanze offline ein neues Stadium erreicht hat (Block-State nachziehen)
+     */
+    public synchronized boolean hasStageChanged() {
+        return stageChanged;
+    }
+}
@@ -0,0 +1,116 @@
+package de.rolandsw.schedulemc.production.offline;
+
+/**
+ * Offline-Zustand einer {@code UnifiedProcessingBlockEntity}
+ *
+ * Enthält nur die Zahlen, die der Tick verändert (Fortschritt pro Slot, Resource-Stand);
+ * Output-Items werden erst beim Übernehmen auf dem Server-Thread erzeugt.
+ * Die Fortschreibung bildet die Zyklen des Ticks exakt nach (alle {@code tickInterval} Ticks
+ * +{@code tickInterval} Fortschritt, Resource-Verbrauch bei vollen Sekunden).
+ */
+public class ProcessingOfflineState extends OfflineProductionState {
+
+    private final int[] progress;
+    private final boolean[] active;
+    private final boolean[] completed;
+    private final int processingTime;
+    private final int tickInterval;
+    private final boolean requiresResource;
+    private final int resourceAmount;
+    private int resourceLevel;
+    private long lastGameTime;
+    private long pendingTicks;
+
+    /**
+     * @param progress Fortschritt pro Slot (wird kopiert)
+     * @param active Slots mit Input und leerem Output (wird kopiert)
+     */
+    public ProcessingOfflineState(int[] progress, boolean[] active, int processingTime, int tickInterval,
+                                  boolean requiresResource, int resourceAmount, int resourceLevel,
+                                  long lastGameTime) {
+        this.progress = progress.clone();
+        this.active = active.clone();
+        this.completed = new boolean[progress.length];
+        this.processingTime = processingTime;
+        this.tickInterval = tickInterval;
+        this.requiresResource = requiresResource;
+        this.resourceAmount = resourceAmount;
+        this.resourceLevel = resourceLevel;
+        this.lastGameTime = lastGameTime;
+    }
+
+    @Override
+    protected void advance(long gameTime, long dayTime) {
+        pendingTicks += Math.max(0L, gameTime - lastGameTime);
+        lastGameTime = gameTime;
+        long cycles = pendingTicks / tickInterval;
+        pendingTicks %= tickInterval;
+        if (cycles == 0 || isIdle()) {
+            return;
+        }
+
+        if (!requiresResource) {
+            // Ohne Resource sind die Slots unabhängig: geschlossene Form pro Slot
+            long gained = cycles * tickInterval;
+            for (int i = 0; i < progress.length; i++) {
+                if (active[i] && progress[i] + gained >= processingTime) {
+                    complete(i);
+                } else if (active[i]) {
+                    progress[i] += (int) gained;
+                }
+            }
+            return;
+        }
+
+        // Mit Resource teilen sich alle Slots den Vorrat: Zyklus für Zyklus wie im Tick
+        for (long cycle = 0; cycle < cycles && !isIdle(); cycle++) {
+            for (int i = 0; i < progress.length; i++) {
+                if (!active[i] || resourceLevel < resourceAmount) {
+                    continue;
+                }
+                progress[i] += tickInterval;
+                if (progress[i] % 20 == 0) {
+                    resourceLevel = Math.max(0, resourceLevel - resourceAmount);
+                }
+                if (progress[i] >= processingTime) {
+                    complete(i);
+                }
+            }
+        }
+    }
+
+    private void complete(int slot) {
+        active[slot] = false;
+        completed[slot] = true;
+        progress[slot] = 0;
+    }
+
+    @Override
+    public boolean isIdle() {
+        if (requiresResource && resourceLevel < resourceAmount) {
+            return true; // Kein Slot kann mehr fortschreiten
+        }
+        for (boolean slotActive : active) {
+            if (slotActive) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public synchronized int getProgress(int slot) {
+        return progress[slot];
+    }
+
+    public synchronized boolean isCompleted(int slot) {
+        return completed[slot];
+    }
+
+    public synchronized int getResourceLevel() {
+        return resourceLevel;
+    }
+
+    public int getSlotCount() {
+        return progress.length;
+    }
+}
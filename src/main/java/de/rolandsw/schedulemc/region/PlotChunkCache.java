@@ -1,399 +0,0 @@
-package de.rolandsw.schedulemc.region;
-
-import com.mojang.logging.LogUtils;
-import net.minecraft.core.BlockPos;
-import net.minecraft.world.level.ChunkPos;
-import org.slf4j.Logger;
-
-import javax.annotation.Nullable;
-import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
-
-/**
- * Plot Chunk Cache - Performance-Optimierung für Plot-Lookups
- *
- * Problem (Alt):
- * - PlotManager.getPlotAt() cached einzelne BlockPos
- * - Cache Miss bei naheliegenden Positionen (z.B. 100,64,100 vs 101,64,100)
- * - In dichten Bereichen: Viele Cache Misses
- *
- * Lösung (Neu):
- * - Cached komplette Chunks (16x16 Bereich)
- * - Ein Cache Hit reicht für 256 Positionen
- * - 40-60% schnellere Lookups in dichten Bereichen
- * - Automatisches Invalidierung bei Plot-Änderungen
- */
-public class PlotChunkCache {
-
-    private static final Logger LOGGER = LogUtils.getLogger();
-
-    // ═══════════════════════════════════════════════════════════
-    // CACHE DATA
-    // ═══════════════════════════════════════════════════════════
-
-    /**
-     * Chunk-basierter Cache: ChunkPos → Liste von Plots in diesem Chunk
-     */
-    private final Map<ChunkPos, List<PlotRegion>> chunkCache = new ConcurrentHashMap<>();
-
-    /**
-     * Plot-zu-Chunks Mapping (für schnelles Invalidieren)
-     * PlotID → Set<ChunkPos>
-     */
-    private final Map<String, Set<ChunkPos>> plotToChunks = new ConcurrentHashMap<>();
-
-    /**
-     * Statistiken
-     */
-    private final AtomicLong cacheHits = new AtomicLong(0);
-    private final AtomicLong cacheMisses = new AtomicLong(0);
-    private final AtomicInteger invalidations = new AtomicInteger(0);
-
-    /**
-     * Max Cache Size (Anzahl Chunks)
-     */
-    private final int maxCacheSize;
-
-    /**
-     * LRU-Tracking für Cache Eviction
-     */
-    private final Map<ChunkPos, Long> lastAccessTime = new ConcurrentHashMap<>();
-
-    // ═══════════════════════════════════════════════════════════
-    // CONSTRUCTOR
-    // ═══════════════════════════════════════════════════════════
-
-    public PlotChunkCache(int maxCacheSize) {
-        this.maxCacheSize = maxCacheSize;
-        LOGGER.info("PlotChunkCache initialized with max size: {} chunks", maxCacheSize);
-    }
-
-    public PlotChunkCache() {
-        this(1000);  // Default: 1000 Chunks = ~4 Million Blocks
-    }
-
-    // ═══════════════════════════════════════════════════════════
-    // CORE LOOKUP
-    // ═══════════════════════════════════════════════════════════
-
-    /**
-     * Sucht Plot an Position (mit Chunk-Cache)
-     *
-     * @param pos BlockPos
-     * @param allPlots Alle verfügbaren Plots (für Cache Miss)
-     * @return PlotRegion oder null
-     */
-    @Nullable
-    public PlotRegion getPlotAt(BlockPos pos, Collection<PlotRegion> allPlots) {
-        ChunkPos chunkPos = new ChunkPos(pos);
-
-        // 1. Cache Lookup
-        List<PlotRegion> cachedPlots = chunkCache.get(chunkPos);
-
-        if (cachedPlots != null) {
-            // Cache Hit!
-            cacheHits.incrementAndGet();
-            lastAccessTime.put(chunkPos, System.currentTimeMillis());
-
-            // Suche in cached plots
-            for (PlotRegion plot : cachedPlots) {
-                if (plot.contains(pos)) {
-                    return plot;
-                }
-            }
-
-            // In diesem Chunk aber außerhalb der Plots
-            return null;
-        }
-
-        // 2. Cache Miss - Load chunk
-        cacheMisses.incrementAndGet();
-        loadChunk(chunkPos, allPlots);
-
-        // 3. Retry Lookup (jetzt sollte gecached sein)
-        cachedPlots = chunkCache.get(chunkPos);
-        if (cachedPlots != null) {
-            for (PlotRegion plot : cachedPlots) {
-                if (plot.contains(pos)) {
-                    return plot;
-                }
-            }
-        }
-
-        return null;
-    }
-
-    /**
-     * Lädt Chunk in Cache
-     */
-    private void loadChunk(ChunkPos chunkPos, Collection<PlotRegion> allPlots) {
-        // Finde alle Plots die diesen Chunk überlappen
-        List<PlotRegion> plotsInChunk = new ArrayList<>();
-
-        for (PlotRegion plot : allPlots) {
-            if (plotOverlapsChunk(plot, chunkPos)) {
-                plotsInChunk.add(plot);
-
-                // Registriere Plot → Chunk Mapping
-                plotToChunks.computeIfAbsent(plot.getPlotId(), k -> ConcurrentHashMap.newKeySet())
-                    .add(chunkPos);
-            }
-        }
-
-        // Cache einfügen
-        chunkCache.put(chunkPos, plotsInChunk);
-        lastAccessTime.put(chunkPos, System.currentTimeMillis());
-
-        // Evict LRU wenn Cache voll
-        if (chunkCache.size() > maxCacheSize) {
-            evictLRU();
-        }
-
-        LOGGER.debug("Loaded chunk {} with {} plots", chunkPos, plotsInChunk.size());
-    }
-
-    /**
-     * Prüft ob Plot mit Chunk überlappt
-     */
-    private boolean plotOverlapsChunk(PlotRegion plot, ChunkPos chunkPos) {
-        // Chunk Bounds (in Block-Koordinaten)
-        int chunkMinX = chunkPos.getMinBlockX();
-        int chunkMaxX = chunkPos.getMaxBlockX();
-        int chunkMinZ = chunkPos.getMinBlockZ();
-        int chunkMaxZ = chunkPos.getMaxBlockZ();
-
-        // Plot Bounds
-        BlockPos plotMin = plot.getMin();
-        BlockPos plotMax = plot.getMax();
-
-        // Null-Safety: min/max können nach GSON-Deserialisierung null sein
-        if (plotMin == null || plotMax == null) return false;
-
-        // AABB Overlap Check
-        boolean overlapX = plotMin.getX() <= chunkMaxX && plotMax.getX() >= chunkMinX;
-        boolean overlapZ = plotMin.getZ() <= chunkMaxZ && plotMax.getZ() >= chunkMinZ;
-
-        return overlapX && overlapZ;
-    }
-
-    // ═══════════════════════════════════════════════════════════
-    // INVALIDATION
-    // ═══════════════════════════════════════════════════════════
-
-    /**
-     * Invalidiert Cache für einen Plot
-     */
-    public void invalidatePlot(String plotId) {
-        Set<ChunkPos> affectedChunks = plotToChunks.remove(plotId);
-
-        if (affectedChunks != null) {
-            for (ChunkPos chunkPos : affectedChunks) {
-                chunkCache.remove(chunkPos);
-                lastAccessTime.remove(chunkPos);
-            }
-
-            invalidations.incrementAndGet();
-            LOGGER.debug("Invalidated {} chunks for plot {}", affectedChunks.size(), plotId);
-        }
-    }
-
-    /**
-     * Invalidiert Cache für eine Region
-     */
-    public void invalidateRegion(BlockPos min, BlockPos max) {
-        // Finde alle Chunks in der Region
-        ChunkPos chunkMin = new ChunkPos(min);
-        ChunkPos chunkMax = new ChunkPos(max);
-
-        int invalidated = 0;
-
-        for (int x = chunkMin.x; x <= chunkMax.x; x++) {
-            for (int z = chunkMin.z; z <= chunkMax.z; z++) {
-                ChunkPos chunkPos = new ChunkPos(x, z);
-                if (chunkCache.remove(chunkPos) != null) {
-                    lastAccessTime.remove(chunkPos);
-                    invalidated++;
-                }
-            }
-        }
-
-        if (invalidated > 0) {
-            invalidations.incrementAndGet();
-            LOGGER.debug("Invalidated {} chunks in region {} to {}", invalidated, min, max);
-        }
-    }
-
-    /**
-     * Invalidiert gesamten Cache
-     */
-    public void invalidateAll() {
-        int size = chunkCache.size();
-        chunkCache.clear();
-        plotToChunks.clear();
-        lastAccessTime.clear();
-        invalidations.incrementAndGet();
-        LOGGER.info("Invalidated entire cache ({} chunks)", size);
-    }
-
-    // ═══════════════════════════════════════════════════════════
-    // LRU EVICTION
-    // ═══════════════════════════════════════════════════════════
-
-    /**
-     * Entfernt ältesten Chunk aus Cache (LRU)
-     */
-    private void evictLRU() {
-        if (chunkCache.isEmpty()) {
-            return;
-        }
-
-        // Finde ältesten Chunk
-        ChunkPos oldestChunk = null;
-        long oldestTime = Long.MAX_VALUE;
-
-        for (Map.Entry<ChunkPos, Long> entry : lastAccessTime.entrySet()) {
-            if (entry.getValue() < oldestTime) {
-                oldestTime = entry.getValue();
-                oldestChunk = entry.getKey();
-            }
-        }
-
-        if (oldestChunk != null) {
-            chunkCache.remove(oldestChunk);
-            lastAccessTime.remove(oldestChunk);
-
-            // Cleanup plotToChunks
-            for (Set<ChunkPos> chunks : plotToChunks.values()) {
-                chunks.remove(oldestChunk);
-            }
-
-            LOGGER.debug("Evicted LRU chunk: {}", oldestChunk);
-        }
-    }
-
-    // ═══════════════════════════════════════════════════════════
-    // PRE-LOADING
-    // ═══════════════════════════════════════════════════════════
-
-    /**
-     * Pre-loads Chunks rund um eine Position (warm-up)
-     *
-     * @param center Center Position
-     * @param radius Chunk-Radius (z.B. 5 = 11x11 Chunks)
-     * @param allPlots Alle Plots
-     */
-    public void preloadChunks(BlockPos center, int radius, Collection<PlotRegion> allPlots) {
-        ChunkPos centerChunk = new ChunkPos(center);
-
-        int loaded = 0;
-
-        for (int x = -radius; x <= radius; x++) {
-            for (int z = -radius; z <= radius; z++) {
-                ChunkPos chunkPos = new ChunkPos(centerChunk.x + x, centerChunk.z + z);
-
-                if (!chunkCache.containsKey(chunkPos)) {
-                    loadChunk(chunkPos, allPlots);
-                    loaded++;
-                }
-            }
-        }
-
-        LOGGER.info("Pre-loaded {} chunks around {}", loaded, center);
-    }
-
-    // ═══════════════════════════════════════════════════════════
-    // STATISTICS
-    // ═══════════════════════════════════════════════════════════
-
-    public long getCacheHits() {
-        return cacheHits.get();
-    }
-
-    public long getCacheMisses() {
-        return cacheMisses.get();
-    }
-
-    public double getHitRate() {
-        long total = cacheHits.get() + cacheMisses.get();
-        return total > 0 ? (double) cacheHits.get() / total : 0.0;
-    }
-
-    public int getCachedChunkCount() {
-        return chunkCache.size();
-    }
-
-    public int getInvalidationCount() {
-        return invalidations.get();
-    }
-
-    /**
-     * Statistik-Objekt
-     */
-    public CacheStatistics getStatistics() {
-        return new CacheStatistics(
-            cacheHits.get(),
-            cacheMisses.get(),
-            getHitRate(),
-            chunkCache.size(),
-            maxCacheSize,
-            invalidations.get()
-        );
-    }
-
-    /**
-     * Setzt Statistiken zurück
-     */
-    public void resetStatistics() {
-        cacheHits.set(0);
-        cacheMisses.set(0);
-        invalidations.set(0);
-        LOGGER.info("Cache statistics reset");
-    }
-
-    /**
-     * Cache Statistics
-     */
-    public static class CacheStatistics {
-        public final long hits;
-        public final long misses;
-        public final double hitRate;
-        public final int cachedChunks;
-        public final int maxChunks;
-        public final int invalidations;
-
-        public CacheStatistics(long hits, long misses, double hitRate,
-                             int cachedChunks, int maxChunks, int invalidations) {
-            this.hits = hits;
-            this.misses = misses;
-            this.hitRate = hitRate;
-            this.cachedChunks = cachedChunks;
-            this.maxChunks = maxChunks;
-            this.invalidations = invalidations;
-        }
-
-        @Override
-        public String toString() {
-            return String.format("CacheStats{hits=%d, misses=%d, rate=%.1f%%, chunks=%d/%d, invalidations=%d}",
-                hits, misses, hitRate * 100, cachedChunks, maxChunks, invalidations);
-        }
-    }
-
-    // ═══════════════════════════════════════════════════════════
-    // UTILITY
-    // ═══════════════════════════════════════════════════════════
-
-    public void clear() {
-        chunkCache.clear();
-        plotToChunks.clear();
-        lastAccessTime.clear();
-        LOGGER.info("Cache cleared");
-    }
-
-    @Override
-    public String toString() {
-        return String.format("PlotChunkCache{chunks=%d/%d, hit-rate=%.1f%%, invalidations=%d}",
-            chunkCache.size(), maxCacheSize, getHitRate() * 100, invalidations.get());
-    }
-}
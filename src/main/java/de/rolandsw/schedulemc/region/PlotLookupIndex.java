@@ -0,0 +1,394 @@
+package de.rolandsw.schedulemc.region;
+
+import com.mojang.logging.LogUtils;
+import net.minecraft.core.BlockPos;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unveränderlicher Positions-Index für Plot-Lookups
+ *
+ * Problem (Alt):
+ * - Drei Ebenen pro Lookup: LRU-Cache (BlockPos-Key), Spatial Index (ChunkKey-Objekte,
+ *   Set&lt;String&gt; + HashMap-Lookup je Kandidat), lineare Suche als Fallback
+ * - Jeder Lookup allozierte ChunkKey-/Cache-Einträge, Cache-Invalidierung bei Plot-Änderungen
+ *
+ * Lösung (Neu):
+ * - Ein einziger Snapshot: Chunk-Spalte (x, z als gepackter long) → int[] Plot-Slots
+ * - Primitive Open-Addressing-Tabelle, Lookup ohne Allokation: Hash → Bucket → contains()
+ * - Plot-Änderungen erzeugen per Copy-on-Write einen neuen Snapshot (nur betroffene Buckets
+ *   werden kopiert), Leser sehen immer einen konsistenten Stand
+ * - Jeder Bucket ist innerster Plot zuerst sortiert (Volumen, dann Plot-ID): verschachtelte
+ *   Plots (z.B. Wohn-Plot im Government-Gebiet) gewinnen unabhängig von der Einfügereihenfolge
+ *
+ * Thread-Safety: Instanzen sind unveränderlich. Schreiber (PlotManager unter PLOT_LOCK)
+ * veröffentlichen neue Snapshots über ein volatile-Feld.
+ */
+public final class PlotLookupIndex {
+
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    private static final int CHUNK_SHIFT = 4;
+    private static final int MIN_CAPACITY = 64;
+    // Chunk-Koordinaten liegen weit innerhalb ±2^28 → dieser Key kann nicht vorkommen
+    private static final long EMPTY_KEY = Long.MIN_VALUE;
+    private static final int[] NO_SLOTS = new int[0];
+
+    static final PlotLookupIndex EMPTY = build(Collections.emptyList());
+
+    // Slot → Plot (null = entfernter Plot, wird beim nächsten Rebuild verdichtet)
+    private final PlotRegion[] regions;
+    private final Map<String, Integer> slotById;
+    private final long[] keys;
+    private final int[][] buckets;
+    private final int mask;
+    // Belegte Tabellenplätze inkl. geleerter Buckets (bestimmt den Füllgrad)
+    private final int usedKeys;
+
+    private PlotLookupIndex(PlotRegion[] regions, Map<String, Integer> slotById,
+                            long[] keys, int[][] buckets, int usedKeys) {
+        this.regions = regions;
+        this.slotById = slotById;
+        this.keys = keys;
+        this.buckets = buckets;
+        this.mask = keys.length - 1;
+        this.usedKeys = usedKeys;
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // LOOKUP
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * Findet den Plot an einer Position (allokationsfrei)
+     *
+     * Bei verschachtelten Plots gewinnt der innerste (kleinstes Volumen, bei Gleichstand
+     * die kleinere Plot-ID), unabhängig davon, wann der Plot indiziert oder ersetzt wurde.
+     *
+     * @return Der Plot oder null
+     */
+    public PlotRegion find(BlockPos pos) {
+        long key = columnKey(pos.getX() >> CHUNK_SHIFT, pos.getZ() >> CHUNK_SHIFT);
+        int index = mix(key) & mask;
+        while (true) {
+            long current = keys[index];
+            if (current == key) {
+                for (int slot : buckets[index]) {
+                    PlotRegion plot = regions[slot];
+                    if (plot.contains(pos)) {
+                        return plot;
+                    }
+                }
+                return null;
+            }
+            if (current == EMPTY_KEY) {
+                return null;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    public int getPlotCount() {
+        return slotById.size();
+    }
+
+    /**
+     * Anzahl Chunk-Spalten mit mindestens einem Plot
+     */
+    public int getColumnCount() {
+        int count = 0;
+        for (int[] bucket : buckets) {
+            if (bucket != null && bucket.length > 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int getCapacity() {
+        return keys.length;
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // COPY-ON-WRITE
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * Baut einen neuen, kompakten Snapshot aus allen Plots
+     */
+    public static PlotLookupIndex build(Collection<PlotRegion> plots) {
+        List<PlotRegion> indexed = new ArrayList<>(plots.size());
+        long columns = 0;
+        for (PlotRegion plot : plots) {
+            long plotColumns = columnCount(plot);
+            if (plotColumns == 0) {
+                continue;
+            }
+            indexed.add(plot);
+            columns += plotColumns;
+        }
+
+        int capacity = tableCapacity(columns);
+        long[] keys = new long[capacity];
+        Arrays.fill(keys, EMPTY_KEY);
+        int[][] buckets = new int[capacity][];
+        PlotRegion[] regions = indexed.toArray(new PlotRegion[0]);
+        Map<String, Integer> slotById = new HashMap<>(regions.length * 2);
+
+        int usedKeys = 0;
+        for (int slot = 0; slot < regions.length; slot++) {
+            slotById.put(regions[slot].getPlotId(), slot);
+            usedKeys += insert(keys, buckets, regions, slot);
+        }
+        return new PlotLookupIndex(regions, slotById, keys, buckets, usedKeys);
+    }
+
+    /**
+     * Neuer Snapshot mit hinzugefügtem (oder ersetztem) Plot
+     */
+    public PlotLookupIndex withPlot(PlotRegion plot) {
+        PlotLookupIndex base = slotById.containsKey(plot.getPlotId()) ? withoutPlot(plot.getPlotId()) : this;
+
+        long columns = columnCount(plot);
+        if (columns == 0) {
+            return base;
+        }
+        if ((base.usedKeys + columns) * 2 > base.keys.length) {
+            List<PlotRegion> all = base.livePlots();
+            all.add(plot);
+            return build(all);
+        }
+
+        long[] keys = base.keys.clone();
+        int[][] buckets = base.buckets.clone();
+        PlotRegion[] regions = Arrays.copyOf(base.regions, base.regions.length + 1);
+        int slot = base.regions.length;
+        regions[slot] = plot;
+        Map<String, Integer> slotById = new HashMap<>(base.slotById);
+        slotById.put(plot.getPlotId(), slot);
+
+        int usedKeys = base.usedKeys + insert(keys, buckets, regions, slot);
+        return new PlotLookupIndex(regions, slotById, keys, buckets, usedKeys);
+    }
+
+    /**
+     * Neuer Snapshot ohne den Plot (this wenn nicht indiziert)
+     */
+    public PlotLookupIndex withoutPlot(String plotId) {
+        Integer slot = slotById.get(plotId);
+        if (slot == null) {
+            return this;
+        }
+
+        // Viele tote Slots → verdichten statt weiter Löcher anzusammeln
+        int liveAfter = slotById.size() - 1;
+        if (regions.length - liveAfter > Math.max(liveAfter, 16)) {
+            List<PlotRegion> live = livePlots();
+            live.remove(regions[slot]);
+            return build(live);
+        }
+
+        PlotRegion removed = regions[slot];
+        PlotRegion[] newRegions = regions.clone();
+        newRegions[slot] = null;
+        int[][] newBuckets = buckets.clone();
+        Map<String, Integer> newSlotById = new HashMap<>(slotById);
+        newSlotById.remove(plotId);
+
+        int minX = removed.getMin().getX() >> CHUNK_SHIFT;
+        int maxX = removed.getMax().getX() >> CHUNK_SHIFT;
+        int minZ = removed.getMin().getZ() >> CHUNK_SHIFT;
+        int maxZ = removed.getMax().getZ() >> CHUNK_SHIFT;
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cz = minZ; cz <= maxZ; cz++) {
+                int index = probe(keys, columnKey(cx, cz));
+                if (keys[index] != EMPTY_KEY) {
+                    newBuckets[index] = without(newBuckets[index], slot);
+                }
+            }
+        }
+        // Keys bleiben stehen (leere Buckets) → Probe-Ketten bleiben intakt
+        return new PlotLookupIndex(newRegions, newSlotById, keys, newBuckets, usedKeys);
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // INTERNALS
+    // ═══════════════════════════════════════════════════════════
+
+    private List<PlotRegion> livePlots() {
+        List<PlotRegion> live = new ArrayList<>(slotById.size() + 1);
+        for (PlotRegion region : regions) {
+            if (region != null) {
+                live.add(region);
+            }
+        }
+        return live;
+    }
+
+    /**
+     * Trägt den Plot in alle überdeckten Chunk-Spalten ein (sortiert, innerster zuerst)
+     *
+     * Bestehende Buckets werden nie verändert, sondern ersetzt (sie können mit
+     * älteren Snapshots geteilt sein).
+     *
+     * @return Anzahl neu belegter Tabellenplätze
+     */
+    private static int insert(long[] keys, int[][] buckets, PlotRegion[] regions, int slot) {
+        PlotRegion plot = regions[slot];
+        int added = 0;
+        int minX = plot.getMin().getX() >> CHUNK_SHIFT;
+        int maxX = plot.getMax().getX() >> CHUNK_SHIFT;
+        int minZ = plot.getMin().getZ() >> CHUNK_SHIFT;
+        int maxZ = plot.getMax().getZ() >> CHUNK_SHIFT;
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cz = minZ; cz <= maxZ; cz++) {
+                long key = columnKey(cx, cz);
+                int index = probe(keys, key);
+                if (keys[index] == EMPTY_KEY) {
+                    keys[index] = key;
+                    buckets[index] = new int[] { slot };
+                    added++;
+                } else {
+                    int[] bucket = buckets[index];
+                    int position = 0;
+                    while (position < bucket.length && innerFirst(regions[bucket[position]], plot) <= 0) {
+                        position++;
+                    }
+                    int[] grown = new int[bucket.length + 1];
+                    System.arraycopy(bucket, 0, grown, 0, position);
+                    grown[position] = slot;
+                    System.arraycopy(bucket, position, grown, position + 1, bucket.length - position);
+                    buckets[index] = grown;
+                }
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Reihenfolge im Bucket: kleineres Volumen zuerst, bei Gleichstand nach Plot-ID
+     */
+    private static int innerFirst(PlotRegion a, PlotRegion b) {
+        int byVolume = Long.compare(a.getVolume(), b.getVolume());
+        return byVolume != 0 ? byVolume : a.getPlotId().compareTo(b.getPlotId());
+    }
+
+    private static int[] without(int[] bucket, int slot) {
+        int position = -1;
+        for (int i = 0; i < bucket.length; i++) {
+            if (bucket[i] == slot) {
+                position = i;
+                break;
+            }
+        }
+        if (position < 0) {
+            return bucket;
+        }
+        if (bucket.length == 1) {
+            return NO_SLOTS;
+        }
+        int[] shrunk = new int[bucket.length - 1];
+        System.arraycopy(bucket, 0, shrunk, 0, position);
+        System.arraycopy(bucket, position + 1, shrunk, position, bucket.length - position - 1);
+        return shrunk;
+    }
+
+    /**
+     * Tabellenplatz des Keys oder der erste freie Platz seiner Probe-Kette
+     */
+    private static int probe(long[] keys, long key) {
+        int mask = keys.length - 1;
+        int index = mix(key) & mask;
+        while (keys[index] != key && keys[index] != EMPTY_KEY) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    /**
+     * Anzahl überdeckter Chunk-Spalten (0 = nicht indizierbar)
+     */
+    private static long columnCount(PlotRegion plot) {
+        BlockPos min = plot.getMin();
+        BlockPos max = plot.getMax();
+
+        // Null-Safety: min/max können nach GSON-Deserialisierung null sein
+        if (min == null || max == null) {
+            LOGGER.warn("Plot {} has null min/max, skipping lookup index entry", plot.getPlotId());
+            return 0;
+        }
+        long width = (max.getX() >> CHUNK_SHIFT) - (min.getX() >> CHUNK_SHIFT) + 1L;
+        long depth = (max.getZ() >> CHUNK_SHIFT) - (min.getZ() >> CHUNK_SHIFT) + 1L;
+        return Math.max(width, 0) * Math.max(depth, 0);
+    }
+
+    private static int tableCapacity(long columns) {
+        long wanted = Math.max(MIN_CAPACITY, columns * 2);
+        if (wanted > (1 << 30)) {
+            throw new IllegalStateException("Plot lookup index too large: " + columns + " chunk columns");
+        }
+        return Integer.highestOneBit((int) wanted - 1) << 1;
+    }
+
+    private static long columnKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // STATISTIKEN
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * Lookup-Statistiken für Health-Checks
+     */
+    public static class Statistics {
+        public final int plotCount;
+        public final int columnCount;
+        public final int capacity;
+        public final long lookups;
+        public final long hits;
+        public final long rebuilds;
+        public final double hitRate;
+
+        public Statistics(int plotCount, int columnCount, int capacity,
+                          long lookups, long hits, long rebuilds) {
+            this.plotCount = plotCount;
+            this.columnCount = columnCount;
+            this.capacity = capacity;
+            this.lookups = lookups;
+            this.hits = hits;
+            this.rebuilds = rebuilds;
+            this.hitRate = lookups > 0 ? hits * 100.0 / lookups : 0.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "PlotLookupIndex[plots=%d, columns=%d/%d, lookups=%d, hits=%d, hitRate=%.1f%%, snapshots=%d]",
+                plotCount, columnCount, capacity, lookups, hits, hitRate, rebuilds
+            );
+        }
+
+        /**
+         * Gibt formatierten String für In-Game-Anzeige zurück
+         */
+        public String toDisplayString() {
+            return String.format(
+                "§7Index: §f%d §7Plots in §f%d §7Chunks | §aTreffer: §f%.1f%% §7| §eLookups: §f%d §7| §bSnapshots: §f%d",
+                plotCount, columnCount, hitRate, lookups, rebuilds
+            );
+        }
+    }
+}
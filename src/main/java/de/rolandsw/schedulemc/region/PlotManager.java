@@ -26,6 +26,9 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
 
 /**
  * PlotManager - Verwaltet alle Plots
@@ -57,14 +60,19 @@ public class PlotManager implements IncrementalSaveManager.ISaveable {
     private static final Gson GSON = GsonHelper.get();
 
     // THREAD-SAFETY: Lock für atomare Multi-Step-Operationen
-    // Schützt Konsistenz zwischen plots, spatialIndex, und plotCache
+    // Schützt Konsistenz zwischen plots und lookupIndex
     private static final Object PLOT_LOCK = new Object();
 
-    // Spatial Index für schnelle Lookups
-    private static final PlotSpatialIndex spatialIndex = new PlotSpatialIndex();
+    // Unveränderlicher Positions-Index, wird unter PLOT_LOCK per Copy-on-Write ersetzt
+    private static volatile PlotLookupIndex lookupIndex = PlotLookupIndex.EMPTY;
 
-    // Plot-Cache für Performance-Optimierung
-    private static final PlotCache plotCache = new PlotCache(1000);
+    // R-Tree für Überlappungs-/Nachbarschaftsabfragen, null = veraltet (Neuaufbau beim nächsten Zugriff)
+    private static volatile PlotRTree boxTree = PlotRTree.EMPTY;
+
+    // Lookup-Statistiken (LongAdder: keine Contention zwischen Server- und Netty-Threads)
+    private static final LongAdder lookups = new LongAdder();
+    private static final LongAdder lookupHits = new LongAdder();
+    private static final AtomicLong indexSnapshots = new AtomicLong();
 
     // THREAD-SAFETY: AtomicBoolean für atomare dirty flag Operationen
     // Verhindert race conditions bei Check-then-Act Patterns
@@ -147,8 +155,18 @@ public class PlotManager implements IncrementalSaveManager.ISaveable {
 
         // THREAD-SAFETY: Atomare Operation für Plot-Hinzufügung
         synchronized (PLOT_LOCK) {
+            // Teilweise Überlappung ist nicht erlaubt, vollständig verschachtelte Plots schon
+            // (z.B. Wohn-Plots innerhalb eines Government-Gebiets)
+            PlotRegion conflict = findConflictingPlot(min, max);
+            if (conflict != null) {
+                LOGGER.debug("Plot {} - {} partially overlaps {}", min.toShortString(), max.toShortString(),
+                    conflict.getPlotId());
+                throw new IllegalArgumentException(
+                    InputValidation.Result.failure("validation.plot.overlap").getError());
+            }
+
             plots.put(plotId, plot);
-            spatialIndex.addPlot(plot);
+            publishIndex(lookupIndex.withPlot(plot));
 
             // Automatisch ShopAccount erstellen für Shop-Plots
             if (type.isShop()) {
@@ -184,49 +202,97 @@ public class PlotManager implements IncrementalSaveManager.ISaveable {
     /**
      * Gibt Plot an einer Position zurück
      *
-     * OPTIMIERT:
-     * 1. LRU-Cache für häufige Positionen (O(1))
-     * 2. Spatial Index für Cache-Misses (O(1))
-     * 3. Fallback zur linearen Suche als Sicherheitsnetz (O(n))
+     * OPTIMIERT: Ein Lookup im unveränderlichen Chunk-Spalten-Index (O(1), allokationsfrei).
+     * Plot-Grenzen sind unveränderlich, der Index wird bei jeder Plot-Änderung neu
+     * veröffentlicht → kein Cache, keine Invalidierung, kein linearer Fallback nötig.
      *
      * @param pos Die Position
      * @return Der Plot oder null
      */
     public static PlotRegion getPlotAt(BlockPos pos) {
-        // 1. Cache-Lookup (schnellster Pfad)
-        PlotRegion cached = plotCache.get(pos);
-        if (cached != null) {
-            return cached;
+        if (pos == null) {
+            return null;
         }
+        PlotRegion plot = lookupIndex.find(pos);
+        lookups.increment();
+        if (plot != null) {
+            lookupHits.increment();
+        }
+        return plot;
+    }
 
-        // 2. Spatial Index um nur relevante Plots zu prüfen
-        Set<String> candidatePlotIds = spatialIndex.getPlotsNear(pos);
+    /**
+     * Veröffentlicht einen neuen Index-Snapshot (nur unter PLOT_LOCK aufrufen)
+     */
+    private static void publishIndex(PlotLookupIndex index) {
+        lookupIndex = index;
+        boxTree = null;
+        indexSnapshots.incrementAndGet();
+    }
 
-        for (String plotId : candidatePlotIds) {
-            PlotRegion plot = plots.get(plotId);
-            if (plot != null && plot.contains(pos)) {
-                // In Cache einfügen für zukünftige Lookups
-                plotCache.put(pos, plot);
-                return plot;
+    /**
+     * Aktueller R-Tree; nach Plot-Änderungen einmalig per Bulk Load neu aufgebaut
+     */
+    private static PlotRTree boxTree() {
+        PlotRTree tree = boxTree;
+        if (tree == null) {
+            synchronized (PLOT_LOCK) {
+                tree = boxTree;
+                if (tree == null) {
+                    tree = PlotRTree.build(plots.values());
+                    boxTree = tree;
+                }
             }
         }
+        return tree;
+    }
 
-        // 3. Fallback: Wenn Spatial Index nichts findet, prüfe alle Plots
-        // Dies fängt Edge-Cases ab und wird nur selten ausgeführt
-        for (PlotRegion plot : plots.values()) {
-            if (plot.contains(pos)) {
-                LOGGER.warn("Spatial Index Miss - Plot {} not found in index at position {}",
-                           plot.getPlotId(), pos);
-                // Re-indexiere diesen Plot
-                spatialIndex.addPlot(plot);
-                // In Cache einfügen
-                plotCache.put(pos, plot);
-                return plot;
+    /**
+     * Gibt alle Plots zurück, deren Bereich die Box [min, max] schneidet
+     * OPTIMIERT: R-Tree, O(log n + k)
+     */
+    public static List<PlotRegion> getPlotsOverlapping(BlockPos min, BlockPos max) {
+        return boxTree().findOverlapping(min, max);
+    }
+
+    /**
+     * Gibt alle Plots zurück, die die Position enthalten (verschachtelte Plots inklusive)
+     */
+    public static List<PlotRegion> getPlotsContaining(BlockPos pos) {
+        return boxTree().findContaining(pos);
+    }
+
+    /**
+     * Gibt die nächstgelegenen Plots zurück, die den Filter erfüllen (nächster zuerst)
+     *
+     * @param pos Bezugsposition
+     * @param limit Maximale Anzahl
+     * @param filter Optionaler Filter (null = alle)
+     */
+    public static List<PlotRegion> getNearestPlots(BlockPos pos, int limit, Predicate<PlotRegion> filter) {
+        return boxTree().findNearest(pos, limit, filter);
+    }
+
+    /**
+     * Findet einen Plot, der die Box [min, max] teilweise überlappt
+     * (weder enthält er die Box vollständig noch liegt er vollständig in ihr)
+     */
+    private static PlotRegion findConflictingPlot(BlockPos min, BlockPos max) {
+        for (PlotRegion other : getPlotsOverlapping(min, max)) {
+            boolean otherContainsNew = other.contains(min) && other.contains(max);
+            boolean newContainsOther = contains(min, max, other.getMin()) && contains(min, max, other.getMax());
+            if (!otherContainsNew && !newContainsOther) {
+                return other;
             }
         }
-
         return null;
     }
+
+    private static boolean contains(BlockPos min, BlockPos max, BlockPos pos) {
+        return pos.getX() >= min.getX() && pos.getX() <= max.getX()
+            && pos.getY() >= min.getY() && pos.getY() <= max.getY()
+            && pos.getZ() >= min.getZ() && pos.getZ() <= max.getZ();
+    }
     
     /**
      * Gibt Plot nach ID zurück
@@ -350,10 +416,7 @@ public class PlotManager implements IncrementalSaveManager.ISaveable {
             }
 
             plots.put(plot.getPlotId(), plot);
-            spatialIndex.addPlot(plot);
-
-            // Invalidiere Cache-Einträge in der Plot-Region
-            plotCache.invalidateRegion(plot.getMin(), plot.getMax());
+            publishIndex(lookupIndex.withPlot(plot));
 
             dirty.set(true);
         }
@@ -367,10 +430,7 @@ public class PlotManager implements IncrementalSaveManager.ISaveable {
         synchronized (PLOT_LOCK) {
             PlotRegion removed = plots.remove(plotId);
             if (removed != null) {
-                spatialIndex.removePlot(plotId);
-
-                // Invalidiere alle Cache-Einträge für diesen Plot
-                plotCache.invalidatePlot(plotId);
+                publishIndex(lookupIndex.withoutPlot(plotId));
 
                 dirty.set(true);
                 LOGGER.info("Plot removed: {}", plotId);
@@ -415,11 +475,13 @@ public class PlotManager implements IncrementalSaveManager.ISaveable {
     }
 
     /**
-     * Baut den Spatial Index neu auf (Admin-Funktion)
+     * Baut den Lookup-Index neu und kompakt auf (Admin-Funktion)
      */
     public static void rebuildSpatialIndex() {
-        spatialIndex.rebuild(plots.values());
-        LOGGER.info("Spatial index manually rebuilt");
+        synchronized (PLOT_LOCK) {
+            publishIndex(PlotLookupIndex.build(plots.values()));
+        }
+        LOGGER.info("Plot lookup index manually rebuilt");
     }
 
     // ═══════════════════════════════════════════════════════════
@@ -444,7 +506,7 @@ public class PlotManager implements IncrementalSaveManager.ISaveable {
             lastError = null;
             dirty.set(false);
             LOGGER.info("Plots loaded successfully: {} plots", plots.size());
-            LOGGER.info("Spatial Index: {}", spatialIndex.getStats());
+            LOGGER.info("Lookup Index: {}", getLookupStatistics());
         } catch (Exception e) {
             LOGGER.error("Error loading plots", e);
             lastError = "Failed to load: " + e.getMessage();
@@ -503,8 +565,8 @@ public class PlotManager implements IncrementalSaveManager.ISaveable {
 
                 plotCounter.set(maxId + 1);
 
-                // Spatial Index neu aufbauen
-                spatialIndex.rebuild(plots.values());
+                // Lookup-Index neu aufbauen
+                publishIndex(PlotLookupIndex.build(plots.values()));
             }
         }
     }
@@ -519,7 +581,7 @@ public class PlotManager implements IncrementalSaveManager.ISaveable {
 
         synchronized (PLOT_LOCK) {
             plots.clear();
-            spatialIndex.clear();
+            publishIndex(PlotLookupIndex.EMPTY);
             plotCounter.set(1);
             isHealthy = false;
             lastError = "Critical load failure - running with empty data";
@@ -701,21 +763,20 @@ public class PlotManager implements IncrementalSaveManager.ISaveable {
      * Löscht alle Plots (für Tests/Reset)
      * THREAD-SAFETY: Synchronized um Atomizität zu gewährleisten
      * MEMORY LEAK PREVENTION: Ensures no data persists across sessions.
-     * Clears all 3 static collections (plots, spatialIndex, plotCache).
+     * Clears both static structures (plots, lookupIndex).
      */
     public static void clearAllPlots() {
         synchronized (PLOT_LOCK) {
             int plotCount = plots.size();
-            int cacheCount = plotCache.getStatistics().currentSize;
+            int columnCount = lookupIndex.getColumnCount();
 
             plots.clear();
-            spatialIndex.clear();
-            plotCache.clear();
+            publishIndex(PlotLookupIndex.EMPTY);
             dirty.set(true);
             plotCounter.set(1);
 
-            LOGGER.warn("[PlotManager] All plots deleted! Cleared {} plots, {} cache entries",
-                plotCount, cacheCount);
+            LOGGER.warn("[PlotManager] All plots deleted! Cleared {} plots, {} indexed chunk columns",
+                plotCount, columnCount);
         }
     }
     
@@ -759,11 +820,11 @@ public class PlotManager implements IncrementalSaveManager.ISaveable {
      */
     public static String getHealthInfo() {
         if (isHealthy) {
-            PlotCache.CacheStatistics cacheStats = plotCache.getStatistics();
+            PlotLookupIndex.Statistics indexStats = getLookupStatistics();
             return Component.translatable("health.plot_manager.healthy",
                 plots.size(),
                 BackupManager.getBackupCount(PLOTS_FILE),
-                String.format("%.1f", cacheStats.hitRate)).getString();
+                String.format("%.1f", indexStats.hitRate)).getString();
         } else {
             return Component.translatable("health.plot_manager.unhealthy",
                 lastError != null ? lastError : "Unknown",
@@ -772,17 +833,21 @@ public class PlotManager implements IncrementalSaveManager.ISaveable {
     }
 
     /**
-     * Gibt Cache-Statistiken zurück
+     * Gibt Lookup-Index-Statistiken zurück
      */
-    public static PlotCache.CacheStatistics getCacheStatistics() {
-        return plotCache.getStatistics();
+    public static PlotLookupIndex.Statistics getLookupStatistics() {
+        PlotLookupIndex index = lookupIndex;
+        return new PlotLookupIndex.Statistics(index.getPlotCount(), index.getColumnCount(),
+            index.getCapacity(), lookups.sum(), lookupHits.sum(), indexSnapshots.get());
     }
 
     /**
-     * Setzt Cache-Statistiken zurück
+     * Setzt Lookup-Statistiken zurück
      */
-    public static void resetCacheStatistics() {
-        plotCache.resetStatistics();
+    public static void resetLookupStatistics() {
+        lookups.reset();
+        lookupHits.reset();
+        indexSnapshots.set(0);
     }
 
     // ═══════════════════════════════════════════════════════════
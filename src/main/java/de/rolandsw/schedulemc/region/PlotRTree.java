@@ -0,0 +1,343 @@
+package de.rolandsw.schedulemc.region;
+
+import net.minecraft.core.BlockPos;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+/**
+ * Bulk-geladener R-Tree über die Bounding-Boxen aller Plots
+ *
+ * Problem (Alt):
+ * - Überlappungs-, Enthaltens- und "nächster Plot"-Abfragen liefen über alle Plots (O(n))
+ *   bzw. über alle Chunks einer Region
+ *
+ * Lösung (Neu):
+ * - Sort-Tile-Recursive Bulk Load: Plots werden nach x, dann z in Kacheln sortiert und
+ *   zu Knoten mit je bis zu 16 Kindern gruppiert (volle Knoten, geringe Überlappung)
+ * - Bereichsabfragen in O(log n + k), k-Nearest per Best-First-Suche über Box-Distanzen
+ * - Flache int-Arrays statt Knoten-Objekte
+ *
+ * Thread-Safety: unveränderlich. PlotManager baut den Baum nach Plot-Änderungen
+ * beim ersten Zugriff neu auf.
+ */
+public final class PlotRTree {
+
+    private static final int NODE_CAPACITY = 16;
+
+    static final PlotRTree EMPTY = build(Collections.emptyList());
+
+    // Einträge in STR-Reihenfolge, Box als 6 ints (minX, minY, minZ, maxX, maxY, maxZ)
+    private final PlotRegion[] entries;
+    private final int[] entryBoxes;
+
+    // Knoten aller Ebenen, Wurzel an Index 0; Kinder sind Knoten oder (in Blättern) Einträge
+    private final int[] nodeBoxes;
+    private final int[] childFirst;
+    private final int[] childCount;
+    private final boolean[] leaf;
+    private final int height;
+
+    private PlotRTree(PlotRegion[] entries, int[] entryBoxes, int[] nodeBoxes,
+                      int[] childFirst, int[] childCount, boolean[] leaf, int height) {
+        this.entries = entries;
+        this.entryBoxes = entryBoxes;
+        this.nodeBoxes = nodeBoxes;
+        this.childFirst = childFirst;
+        this.childCount = childCount;
+        this.leaf = leaf;
+        this.height = height;
+    }
+
+    public int size() {
+        return entries.length;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // ABFRAGEN
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * Alle Plots deren Box die Box [min, max] schneidet (Ränder inklusive)
+     */
+    public List<PlotRegion> findOverlapping(BlockPos min, BlockPos max) {
+        int[] query = {
+            Math.min(min.getX(), max.getX()), Math.min(min.getY(), max.getY()), Math.min(min.getZ(), max.getZ()),
+            Math.max(min.getX(), max.getX()), Math.max(min.getY(), max.getY()), Math.max(min.getZ(), max.getZ())
+        };
+        List<PlotRegion> result = new ArrayList<>();
+        if (entries.length == 0) {
+            return result;
+        }
+
+        int[] stack = new int[height * NODE_CAPACITY + 1];
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            int first = childFirst[node];
+            int end = first + childCount[node];
+            if (leaf[node]) {
+                for (int entry = first; entry < end; entry++) {
+                    if (intersects(entryBoxes, entry, query)) {
+                        result.add(entries[entry]);
+                    }
+                }
+            } else {
+                for (int child = first; child < end; child++) {
+                    if (intersects(nodeBoxes, child, query)) {
+                        stack[top++] = child;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Alle Plots die die Position enthalten (bei verschachtelten Plots mehrere)
+     */
+    public List<PlotRegion> findContaining(BlockPos pos) {
+        return findOverlapping(pos, pos);
+    }
+
+    /**
+     * Die {@code limit} nächsten Plots die {@code filter} erfüllen, nächster zuerst
+     *
+     * Distanz = Abstand der Position zur Plot-Box (0 wenn innerhalb). Teilbäume werden
+     * nur geöffnet solange sie näher liegen als der k-te Treffer.
+     */
+    public List<PlotRegion> findNearest(BlockPos pos, int limit, Predicate<PlotRegion> filter) {
+        List<PlotRegion> result = new ArrayList<>(Math.min(Math.max(limit, 0), entries.length));
+        if (entries.length == 0 || limit <= 0) {
+            return result;
+        }
+
+        int x = pos.getX();
+        int y = pos.getY();
+        int z = pos.getZ();
+        // ref >= 0: Knoten, ref < 0: Eintrag -(ref + 1)
+        PriorityQueue<long[]> queue = new PriorityQueue<>(Comparator.comparingLong(item -> item[0]));
+        queue.add(new long[] { distanceSq(nodeBoxes, 0, x, y, z), 0 });
+        while (!queue.isEmpty() && result.size() < limit) {
+            long[] item = queue.poll();
+            int ref = (int) item[1];
+            if (ref < 0) {
+                result.add(entries[-(ref + 1)]);
+                continue;
+            }
+            int first = childFirst[ref];
+            int end = first + childCount[ref];
+            if (leaf[ref]) {
+                for (int entry = first; entry < end; entry++) {
+                    if (filter == null || filter.test(entries[entry])) {
+                        queue.add(new long[] { distanceSq(entryBoxes, entry, x, y, z), -(entry + 1) });
+                    }
+                }
+            } else {
+                for (int child = first; child < end; child++) {
+                    queue.add(new long[] { distanceSq(nodeBoxes, child, x, y, z), child });
+                }
+            }
+        }
+        return result;
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // BULK LOAD (Sort-Tile-Recursive)
+    // ═══════════════════════════════════════════════════════════
+
+    public static PlotRTree build(Collection<PlotRegion> plots) {
+        List<PlotRegion> valid = new ArrayList<>(plots.size());
+        for (PlotRegion plot : plots) {
+            // Null-Safety: min/max können nach GSON-Deserialisierung null sein
+            if (plot.getMin() != null && plot.getMax() != null) {
+                valid.add(plot);
+            }
+        }
+
+        int count = valid.size();
+        int[] boxes = new int[count * 6];
+        for (int i = 0; i < count; i++) {
+            BlockPos min = valid.get(i).getMin();
+            BlockPos max = valid.get(i).getMax();
+            setBox(boxes, i, min.getX(), min.getY(), min.getZ(), max.getX(), max.getY(), max.getZ());
+        }
+
+        // Ebene 0: Einträge in STR-Reihenfolge
+        int[] order = strOrder(boxes, count);
+        PlotRegion[] entries = new PlotRegion[count];
+        int[] entryBoxes = new int[count * 6];
+        for (int i = 0; i < count; i++) {
+            entries[i] = valid.get(order[i]);
+            System.arraycopy(boxes, order[i] * 6, entryBoxes, i * 6, 6);
+        }
+
+        // Ebenen von unten nach oben gruppieren; levels.get(0) = Blätter
+        List<int[]> levelBoxes = new ArrayList<>();
+        List<int[]> levelFirst = new ArrayList<>();
+        List<int[]> levelCount = new ArrayList<>();
+
+        int[] childBoxes = entryBoxes;
+        int children = count;
+        do {
+            int parents = Math.max(1, (children + NODE_CAPACITY - 1) / NODE_CAPACITY);
+            int[] parentBoxes = new int[parents * 6];
+            int[] first = new int[parents];
+            int[] size = new int[parents];
+            for (int p = 0; p < parents; p++) {
+                first[p] = p * NODE_CAPACITY;
+                size[p] = Math.min(NODE_CAPACITY, children - first[p]);
+                union(childBoxes, first[p], size[p], parentBoxes, p);
+            }
+
+            // Nächste Ebene: Knoten dieser Ebene in STR-Reihenfolge bringen
+            if (parents > 1) {
+                int[] parentOrder = strOrder(parentBoxes, parents);
+                int[] sortedBoxes = new int[parents * 6];
+                int[] sortedFirst = new int[parents];
+                int[] sortedSize = new int[parents];
+                for (int i = 0; i < parents; i++) {
+                    System.arraycopy(parentBoxes, parentOrder[i] * 6, sortedBoxes, i * 6, 6);
+                    sortedFirst[i] = first[parentOrder[i]];
+                    sortedSize[i] = size[parentOrder[i]];
+                }
+                parentBoxes = sortedBoxes;
+                first = sortedFirst;
+                size = sortedSize;
+            }
+
+            levelBoxes.add(parentBoxes);
+            levelFirst.add(first);
+            levelCount.add(size);
+            childBoxes = parentBoxes;
+            children = parents;
+        } while (children > 1);
+
+        // Ebenen von der Wurzel abwärts in flache Arrays legen
+        int height = levelBoxes.size();
+        int nodeCount = 0;
+        int[] levelOffset = new int[height];
+        for (int level = height - 1; level >= 0; level--) {
+            levelOffset[level] = nodeCount;
+            nodeCount += levelFirst.get(level).length;
+        }
+
+        int[] nodeBoxes = new int[nodeCount * 6];
+        int[] childFirst = new int[nodeCount];
+        int[] childCount = new int[nodeCount];
+        boolean[] leaf = new boolean[nodeCount];
+        for (int level = 0; level < height; level++) {
+            int offset = levelOffset[level];
+            int[] first = levelFirst.get(level);
+            int childOffset = level == 0 ? 0 : levelOffset[level - 1];
+            System.arraycopy(levelBoxes.get(level), 0, nodeBoxes, offset * 6, first.length * 6);
+            for (int i = 0; i < first.length; i++) {
+                childFirst[offset + i] = childOffset + first[i];
+                childCount[offset + i] = levelCount.get(level)[i];
+                leaf[offset + i] = level == 0;
+            }
+        }
+
+        return new PlotRTree(entries, entryBoxes, nodeBoxes, childFirst, childCount, leaf, height);
+    }
+
+    /**
+     * STR-Reihenfolge: nach Zentrum-x in vertikale Streifen, innerhalb nach Zentrum-z
+     */
+    private static int[] strOrder(int[] boxes, int count) {
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong(i -> centerTimesTwo(boxes, i, 0)));
+
+        int leaves = (count + NODE_CAPACITY - 1) / NODE_CAPACITY;
+        int slices = (int) Math.ceil(Math.sqrt(leaves));
+        int sliceSize = Math.max(1, slices * NODE_CAPACITY);
+        for (int start = 0; start < count; start += sliceSize) {
+            int end = Math.min(count, start + sliceSize);
+            Arrays.sort(order, start, end, Comparator.comparingLong(i -> centerTimesTwo(boxes, i, 2)));
+        }
+
+        int[] result = new int[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = order[i];
+        }
+        return result;
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // BOX-HELFER
+    // ═══════════════════════════════════════════════════════════
+
+    private static long centerTimesTwo(int[] boxes, int index, int axis) {
+        return (long) boxes[index * 6 + axis] + boxes[index * 6 + 3 + axis];
+    }
+
+    private static void setBox(int[] boxes, int index, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        int o = index * 6;
+        boxes[o] = Math.min(minX, maxX);
+        boxes[o + 1] = Math.min(minY, maxY);
+        boxes[o + 2] = Math.min(minZ, maxZ);
+        boxes[o + 3] = Math.max(minX, maxX);
+        boxes[o + 4] = Math.max(minY, maxY);
+        boxes[o + 5] = Math.max(minZ, maxZ);
+    }
+
+    private static void union(int[] boxes, int first, int count, int[] target, int targetIndex) {
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+        for (int i = first; i < first + count; i++) {
+            int o = i * 6;
+            minX = Math.min(minX, boxes[o]);
+            minY = Math.min(minY, boxes[o + 1]);
+            minZ = Math.min(minZ, boxes[o + 2]);
+            maxX = Math.max(maxX, boxes[o + 3]);
+            maxY = Math.max(maxY, boxes[o + 4]);
+            maxZ = Math.max(maxZ, boxes[o + 5]);
+        }
+        int o = targetIndex * 6;
+        target[o] = minX;
+        target[o + 1] = minY;
+        target[o + 2] = minZ;
+        target[o + 3] = maxX;
+        target[o + 4] = maxY;
+        target[o + 5] = maxZ;
+    }
+
+    private static boolean intersects(int[] boxes, int index, int[] query) {
+        int o = index * 6;
+        return boxes[o] <= query[3] && boxes[o + 3] >= query[0]
+            && boxes[o + 1] <= query[4] && boxes[o + 4] >= query[1]
+            && boxes[o + 2] <= query[5] && boxes[o + 5] >= query[2];
+    }
+
+    private static long distanceSq(int[] boxes, int index, int x, int y, int z) {
+        int o = index * 6;
+        long dx = axisDistance(x, boxes[o], boxes[o + 3]);
+        long dy = axisDistance(y, boxes[o + 1], boxes[o + 4]);
+        long dz = axisDistance(z, boxes[o + 2], boxes[o + 5]);
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static long axisDistance(int value, int min, int max) {
+        if (value < min) {
+            return (long) min - value;
+        }
+        if (value > max) {
+            return (long) value - max;
+        }
+        return 0;
+    }
+}
@@ -648,8 +648,8 @@ public class PlotRegion {
         // Null-Safety: min/max können nach GSON-Deserialisierung null sein
         if (this.min == null || this.max == null) return false;
 
-        // Hole alle Plots und prüfe ob ein Government-Plot dieses Plot umschließt
-        for (PlotRegion other : PlotManager.getPlots()) {
+        // OPTIMIERT: Nur Plots, die die Ecke min enthalten (R-Tree statt aller Plots)
+        for (PlotRegion other : PlotManager.getPlotsContaining(this.min)) {
             if (other.equals(this)) continue;
             if (other.getType() == PlotType.GOVERNMENT) {
                 // Prüfe ob dieses Plot komplett im Government-Plot liegt
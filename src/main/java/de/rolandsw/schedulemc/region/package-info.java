@@ -8,13 +8,13 @@
  * <h2>Core Components</h2>
  * <ul>
  *   <li>{@link de.rolandsw.schedulemc.region.PlotManager} -
- *       Central plot management with caching and spatial indexing</li>
+ *       Central plot management with spatial indexing</li>
  *   <li>{@link de.rolandsw.schedulemc.region.PlotRegion} -
  *       Represents a claimed plot with owner and permissions</li>
- *   <li>{@link de.rolandsw.schedulemc.region.PlotSpatialIndex} -
- *       Chunk-based spatial indexing for O(1) lookups</li>
- *   <li>{@link de.rolandsw.schedulemc.region.PlotCache} -
- *       LRU cache for frequently accessed plots</li>
+ *   <li>{@link de.rolandsw.schedulemc.region.PlotLookupIndex} -
+ *       Immutable chunk-column index for O(1) position lookups</li>
+ *   <li>{@link de.rolandsw.schedulemc.region.PlotRTree} -
+ *       Bulk-loaded R-tree for overlap and nearest-plot queries</li>
  *   <li>{@link de.rolandsw.schedulemc.region.PlotArea} -
  *       Geometric calculations for plot areas</li>
  *   <li>{@link de.rolandsw.schedulemc.region.PlotType} -
@@ -34,9 +34,8 @@
  *
  * <h2>Performance Optimizations</h2>
  * <ul>
- *   <li><b>Spatial Indexing</b>: Uses chunk-based indexing (16x16x16) to reduce
- *       plot lookup from O(n) to O(1) in most cases</li>
- *   <li><b>LRU Caching</b>: Frequently accessed plots are cached in memory</li>
+ *   <li><b>Spatial Indexing</b>: Packed chunk-column keys map to plot slot arrays,
+ *       lookups are O(1) without allocation; plot edits publish a new snapshot</li>
  *   <li><b>Dirty Flag Tracking</b>: Only modified data is saved</li>
  *   <li><b>Atomic Writes</b>: Prevents data corruption during saves</li>
  * </ul>
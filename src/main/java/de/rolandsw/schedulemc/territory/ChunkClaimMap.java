@@ -0,0 +1,242 @@
+package de.rolandsw.schedulemc.territory;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.longs.LongSets;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Chunk → Wert Zuordnung mit primitiven long-Keys und Region-Bitmaps
+ *
+ * Problem (Alt):
+ * - {@code Map<Long, Territory>} boxte bei jeder Abfrage den Chunk-Key
+ * - Karten-Overlay und Sync mussten jeden sichtbaren Chunk einzeln nachschlagen bzw.
+ *   jedes Territory als eigenes Objekt übertragen
+ *
+ * Lösung (Neu):
+ * - Werte in einer {@link Long2ObjectOpenHashMap} (Key wie {@link Territory#getChunkKey(int, int)})
+ * - Zusätzlich pro Region ({@value #REGION_SIZE}x{@value #REGION_SIZE} Chunks) eine Bitmap aus
+ *   {@value #BITMAP_WORDS} longs mit den belegten Chunks
+ * - {@link #forEachInArea} besucht nur belegte Chunks der betroffenen Regionen; leere Regionen
+ *   kosten einen Lookup, leere 64er-Blöcke innerhalb einer Region nichts
+ * - Die Bitmaps sind direkt das Übertragungsformat für den Full-Sync
+ *
+ * Nicht thread-safe.
+ *
+ * @param <V> Wert pro Chunk
+ */
+public class ChunkClaimMap<V> {
+
+    public static final int REGION_SHIFT = 5;
+    public static final int REGION_SIZE = 1 << REGION_SHIFT;
+    public static final int BITMAP_WORDS = REGION_SIZE * REGION_SIZE / 64;
+
+    private static final int LOCAL_MASK = REGION_SIZE - 1;
+
+    /**
+     * Besucher für belegte Chunks
+     */
+    @FunctionalInterface
+    public interface ChunkVisitor<V> {
+        void visit(int chunkX, int chunkZ, V value);
+    }
+
+    private final Long2ObjectOpenHashMap<V> chunks = new Long2ObjectOpenHashMap<>();
+    private final Long2ObjectOpenHashMap<long[]> regions = new Long2ObjectOpenHashMap<>();
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // KEYS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    public static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    public static int chunkX(long chunkKey) {
+        return (int) (chunkKey >> 32);
+    }
+
+    public static int chunkZ(long chunkKey) {
+        return (int) chunkKey;
+    }
+
+    /**
+     * Region-Key (gleiches Format wie Chunk-Keys, mit Region-Koordinaten)
+     */
+    public static long regionKey(int regionX, int regionZ) {
+        return chunkKey(regionX, regionZ);
+    }
+
+    /**
+     * Bit-Index eines Chunks innerhalb seiner Region-Bitmap (Zeile = Z, Spalte = X)
+     */
+    public static int bitIndex(int chunkX, int chunkZ) {
+        return ((chunkZ & LOCAL_MASK) << REGION_SHIFT) | (chunkX & LOCAL_MASK);
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // ZUGRIFF
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * @return vorheriger Wert oder null
+     */
+    @Nullable
+    public V put(int chunkX, int chunkZ, V value) {
+        V previous = chunks.put(chunkKey(chunkX, chunkZ), value);
+        if (previous == null) {
+            long[] bitmap = regions.computeIfAbsent(regionKey(chunkX >> REGION_SHIFT, chunkZ >> REGION_SHIFT),
+                key -> new long[BITMAP_WORDS]);
+            int bit = bitIndex(chunkX, chunkZ);
+            bitmap[bit >>> 6] |= 1L << bit;
+        }
+        return previous;
+    }
+
+    @Nullable
+    public V put(long chunkKey, V value) {
+        return put(chunkX(chunkKey), chunkZ(chunkKey), value);
+    }
+
+    /**
+     * @return entfernter Wert oder null
+     */
+    @Nullable
+    public V remove(int chunkX, int chunkZ) {
+        V removed = chunks.remove(chunkKey(chunkX, chunkZ));
+        if (removed != null) {
+            long regionKey = regionKey(chunkX >> REGION_SHIFT, chunkZ >> REGION_SHIFT);
+            long[] bitmap = regions.get(regionKey);
+            if (bitmap != null) {
+                int bit = bitIndex(chunkX, chunkZ);
+                bitmap[bit >>> 6] &= ~(1L << bit);
+                if (isEmpty(bitmap)) {
+                    regions.remove(regionKey);
+                }
+            }
+        }
+        return removed;
+    }
+
+    @Nullable
+    public V remove(long chunkKey) {
+        return remove(chunkX(chunkKey), chunkZ(chunkKey));
+    }
+
+    @Nullable
+    public V get(int chunkX, int chunkZ) {
+        return chunks.get(chunkKey(chunkX, chunkZ));
+    }
+
+    @Nullable
+    public V get(long chunkKey) {
+        return chunks.get(chunkKey);
+    }
+
+    /**
+     * Belegt-Test nur über die Region-Bitmap
+     */
+    public boolean isClaimed(int chunkX, int chunkZ) {
+        long[] bitmap = regions.get(regionKey(chunkX >> REGION_SHIFT, chunkZ >> REGION_SHIFT));
+        if (bitmap == null) {
+            return false;
+        }
+        int bit = bitIndex(chunkX, chunkZ);
+        return (bitmap[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    public int size() {
+        return chunks.size();
+    }
+
+    public boolean isEmpty() {
+        return chunks.isEmpty();
+    }
+
+    public void clear() {
+        chunks.clear();
+        regions.clear();
+    }
+
+    /**
+     * Read-only View auf alle Werte (ohne Kopie)
+     */
+    public Collection<V> values() {
+        return Collections.unmodifiableCollection(chunks.values());
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // REGIONEN
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Read-only View auf die Keys aller Regionen mit mindestens einem belegten Chunk
+     */
+    public LongSet regionKeys() {
+        return LongSets.unmodifiable(regions.keySet());
+    }
+
+    /**
+     * Bitmap einer Region (nicht verändern), oder null wenn die Region leer ist
+     */
+    @Nullable
+    public long[] getRegionBitmap(long regionKey) {
+        return regions.get(regionKey);
+    }
+
+    /**
+     * Besucht alle belegten Chunks im Rechteck (Chunk-Koordinaten, inklusive)
+     */
+    public void forEachInArea(int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ, ChunkVisitor<V> visitor) {
+        for (int regionZ = minChunkZ >> REGION_SHIFT; regionZ <= maxChunkZ >> REGION_SHIFT; regionZ++) {
+            for (int regionX = minChunkX >> REGION_SHIFT; regionX <= maxChunkX >> REGION_SHIFT; regionX++) {
+                long[] bitmap = regions.get(regionKey(regionX, regionZ));
+                if (bitmap != null) {
+                    visitRegion(regionX, regionZ, bitmap, minChunkX, minChunkZ, maxChunkX, maxChunkZ, visitor);
+                }
+            }
+        }
+    }
+
+    /**
+     * Besucht alle belegten Chunks, Region für Region
+     */
+    public void forEach(ChunkVisitor<V> visitor) {
+        for (Long2ObjectMap.Entry<long[]> entry : regions.long2ObjectEntrySet()) {
+            long regionKey = entry.getLongKey();
+            visitRegion(chunkX(regionKey), chunkZ(regionKey), entry.getValue(),
+                Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, visitor);
+        }
+    }
+
+    private void visitRegion(int regionX, int regionZ, long[] bitmap, int minChunkX, int minChunkZ,
+                             int maxChunkX, int maxChunkZ, ChunkVisitor<V> visitor) {
+        int baseX = regionX << REGION_SHIFT;
+        int baseZ = regionZ << REGION_SHIFT;
+        for (int word = 0; word < BITMAP_WORDS; word++) {
+            long bits = bitmap[word];
+            while (bits != 0) {
+                int bit = (word << 6) | Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                int chunkX = baseX + (bit & LOCAL_MASK);
+                int chunkZ = baseZ + (bit >>> REGION_SHIFT);
+                if (chunkX >= minChunkX && chunkX <= maxChunkX && chunkZ >= minChunkZ && chunkZ <= maxChunkZ) {
+                    visitor.visit(chunkX, chunkZ, chunks.get(chunkKey(chunkX, chunkZ)));
+                }
+            }
+        }
+    }
+
+    private static boolean isEmpty(long[] bitmap) {
+        for (long word : bitmap) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
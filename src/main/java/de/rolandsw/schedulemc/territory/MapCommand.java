@@ -3,7 +3,6 @@ package de.rolandsw.schedulemc.territory;
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.context.CommandContext;
 import de.rolandsw.schedulemc.territory.network.OpenMapEditorPacket;
-import de.rolandsw.schedulemc.territory.network.SyncTerritoriesPacket;
 import de.rolandsw.schedulemc.territory.network.TerritoryNetworkHandler;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
@@ -42,7 +41,7 @@ public class MapCommand {
         // Syncronisiere Territories zum Client
         TerritoryManager manager = TerritoryManager.initialize(player.server);
         if (manager != null) {
-            TerritoryNetworkHandler.sendToPlayer(new SyncTerritoriesPacket(manager.getTerritoriesMap()), player);
+            TerritoryNetworkHandler.sendToPlayer(manager.createFullSyncPacket(), player);
         }
 
         // Sende Packet an Client zum Öffnen des Editors
@@ -11,18 +11,24 @@ import javax.annotation.Nullable;
 import java.io.File;
 import java.lang.reflect.Type;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Verwaltet Chunk-basierte Territorien
  * Extends AbstractPersistenceManager
+ *
+ * OPTIMIERT: Speicherung in einer {@link ChunkClaimMap} (primitive long-Keys + Region-Bitmaps)
+ * statt {@code Map<Long, Territory>}.
+ *
+ * Thread-Safety: Die ChunkClaimMap ist nicht thread-safe. Geändert wird sie vom Server-Thread,
+ * gelesen zusätzlich vom IncrementalSaveManager (Scheduled Pool, {@link #getCurrentData()}).
+ * Alle Zugriffe laufen daher unter dem Monitor der Map; nach außen gehen nur Kopien.
  */
 public class TerritoryManager extends AbstractPersistenceManager<Map<Long, Territory>> {
     // SICHERHEIT: volatile für Double-Checked Locking Pattern
     private static volatile TerritoryManager instance;
 
-    // ChunkKey -> Territory
-    private final Map<Long, Territory> territories = new ConcurrentHashMap<>();
+    // ChunkKey -> Territory (guarded by itself)
+    private final ChunkClaimMap<Territory> territories = new ChunkClaimMap<>();
 
     private MinecraftServer server;
 
@@ -70,9 +76,10 @@ public class TerritoryManager extends AbstractPersistenceManager<Map<Long, Terri
      * Performance-Optimierung: Sendet Delta-Update statt Full Sync
      */
     public void setTerritory(int chunkX, int chunkZ, TerritoryType type, String name, @Nullable UUID ownerUUID) {
-        long key = Territory.getChunkKey(chunkX, chunkZ);
         Territory territory = new Territory(chunkX, chunkZ, type, name, ownerUUID);
-        territories.put(key, territory);
+        synchronized (territories) {
+            territories.put(chunkX, chunkZ, territory);
+        }
         markDirty();
 
         // Performance-Optimierung: Delta-Update an alle Clients senden
@@ -88,8 +95,10 @@ public class TerritoryManager extends AbstractPersistenceManager<Map<Long, Terri
      * Performance-Optimierung: Sendet Delta-Update statt Full Sync
      */
     public boolean removeTerritory(int chunkX, int chunkZ) {
-        long key = Territory.getChunkKey(chunkX, chunkZ);
-        boolean removed = territories.remove(key) != null;
+        boolean removed;
+        synchronized (territories) {
+            removed = territories.remove(chunkX, chunkZ) != null;
+        }
         if (removed) {
             markDirty();
 
@@ -108,8 +117,9 @@ public class TerritoryManager extends AbstractPersistenceManager<Map<Long, Terri
      */
     @Nullable
     public Territory getTerritory(int chunkX, int chunkZ) {
-        long key = Territory.getChunkKey(chunkX, chunkZ);
-        return territories.get(key);
+        synchronized (territories) {
+            return territories.get(chunkX, chunkZ);
+        }
     }
 
     /**
@@ -126,63 +136,73 @@ public class TerritoryManager extends AbstractPersistenceManager<Map<Long, Terri
      * Prüft ob Chunk ein Territory hat
      */
     public boolean hasTerritory(int chunkX, int chunkZ) {
-        long key = Territory.getChunkKey(chunkX, chunkZ);
-        return territories.containsKey(key);
+        synchronized (territories) {
+            return territories.isClaimed(chunkX, chunkZ);
+        }
     }
 
     /**
-     * Gibt alle Territorien zurück (read-only View ohne Kopie)
-     * OPTIMIERUNG: Collections.unmodifiableCollection statt ArrayList-Kopie
+     * Gibt alle Territorien zurück (Kopie, darf vom Aufrufer beliebig lange gehalten werden)
      */
-    public Collection<Territory> getAllTerritories() {
-        return Collections.unmodifiableCollection(territories.values());
+    public List<Territory> getAllTerritories() {
+        synchronized (territories) {
+            return new ArrayList<>(territories.values());
+        }
     }
 
     /**
      * Gibt Territorien eines Typs zurück
      */
     public List<Territory> getTerritoriesByType(TerritoryType type) {
-        return territories.values().stream()
-            .filter(t -> t.getType() == type)
-            .toList();
+        synchronized (territories) {
+            return territories.values().stream()
+                .filter(t -> t.getType() == type)
+                .toList();
+        }
     }
 
     /**
      * Gibt Territorien eines Owners zurück
      */
     public List<Territory> getTerritoriesByOwner(UUID ownerUUID) {
-        return territories.values().stream()
-            .filter(t -> ownerUUID.equals(t.getOwnerUUID()))
-            .toList();
+        synchronized (territories) {
+            return territories.values().stream()
+                .filter(t -> ownerUUID.equals(t.getOwnerUUID()))
+                .toList();
+        }
     }
 
     /**
      * Gibt Anzahl Territorien zurück
      */
     public int getTerritoryCount() {
-        return territories.size();
+        synchronized (territories) {
+            return territories.size();
+        }
     }
 
     /**
      * Löscht alle Territorien eines Typs
      */
     public int clearTerritoriesByType(TerritoryType type) {
+        List<Territory> matching = getTerritoriesByType(type);
         int removed = 0;
-        Iterator<Map.Entry<Long, Territory>> it = territories.entrySet().iterator();
-        while (it.hasNext()) {
-            Map.Entry<Long, Territory> entry = it.next();
-            if (entry.getValue().getType() == type) {
-                Territory t = entry.getValue();
-                it.remove();
-                removed++;
-                // Delta-Update an alle Clients senden
-                if (server != null) {
-                    de.rolandsw.schedulemc.territory.network.TerritoryNetworkHandler.broadcastDeltaUpdate(
-                        de.rolandsw.schedulemc.territory.network.SyncTerritoryDeltaPacket.remove(
-                            t.getChunkX(), t.getChunkZ()
-                        )
-                    );
+        for (Territory t : matching) {
+            synchronized (territories) {
+                // Nur entfernen, wenn der Chunk nicht inzwischen neu vergeben wurde
+                if (territories.get(t.getChunkX(), t.getChunkZ()) != t) {
+                    continue;
                 }
+                territories.remove(t.getChunkX(), t.getChunkZ());
+            }
+            removed++;
+            // Delta-Update an alle Clients senden
+            if (server != null) {
+                de.rolandsw.schedulemc.territory.network.TerritoryNetworkHandler.broadcastDeltaUpdate(
+                    de.rolandsw.schedulemc.territory.network.SyncTerritoryDeltaPacket.remove(
+                        t.getChunkX(), t.getChunkZ()
+                    )
+                );
             }
         }
         if (removed > 0) {
@@ -196,12 +216,16 @@ public class TerritoryManager extends AbstractPersistenceManager<Map<Long, Terri
      */
     public String getStatistics() {
         Map<TerritoryType, Integer> counts = new HashMap<>();  // NOPMD
-        for (Territory territory : territories.values()) {
-            counts.merge(territory.getType(), 1, Integer::sum);
+        int total;
+        synchronized (territories) {
+            for (Territory territory : territories.values()) {
+                counts.merge(territory.getType(), 1, Integer::sum);
+            }
+            total = territories.size();
         }
 
         StringBuilder sb = new StringBuilder();
-        sb.append("Territories: ").append(territories.size()).append('\n');
+        sb.append("Territories: ").append(total).append('\n');
         for (Map.Entry<TerritoryType, Integer> entry : counts.entrySet()) {
             sb.append("  ").append(entry.getKey().getDisplayName())
               .append(": ").append(entry.getValue()).append('\n');
@@ -214,11 +238,12 @@ public class TerritoryManager extends AbstractPersistenceManager<Map<Long, Terri
     // ═══════════════════════════════════════════════════════════
 
     /**
-     * Public getter für Map Editor (read-only View ohne Kopie)
-     * OPTIMIERUNG: Collections.unmodifiableMap statt HashMap-Kopie
+     * Erstellt den Full-Sync für den Map Editor (Region-Bitmaps statt Einzelobjekte)
      */
-    public Map<Long, Territory> getTerritoriesMap() {
-        return Collections.unmodifiableMap(territories);
+    public de.rolandsw.schedulemc.territory.network.SyncTerritoriesPacket createFullSyncPacket() {
+        synchronized (territories) {
+            return new de.rolandsw.schedulemc.territory.network.SyncTerritoriesPacket(territories);
+        }
     }
 
     // ═══════════════════════════════════════════════════════════
@@ -242,7 +267,9 @@ public class TerritoryManager extends AbstractPersistenceManager<Map<Long, Terri
             return;
         }
 
-        territories.clear();
+        synchronized (territories) {
+            territories.clear();
+        }
 
         // Check collection size
         if (data.size() > 100000) {
@@ -268,7 +295,9 @@ public class TerritoryManager extends AbstractPersistenceManager<Map<Long, Terri
                     continue;
                 }
 
-                territories.put(territoryId, territory);
+                synchronized (territories) {
+                    territories.put(territory.getChunkX(), territory.getChunkZ(), territory);
+                }
             } catch (Exception e) {
                 LOGGER.error("Error loading territory {}", entry.getKey(), e);
                 invalidCount++;
@@ -287,7 +316,14 @@ public class TerritoryManager extends AbstractPersistenceManager<Map<Long, Terri
 
     @Override
     protected Map<Long, Territory> getCurrentData() {
-        return new HashMap<>(territories);
+        // Läuft auf dem Save-Thread: Kopie unter dem Monitor, Serialisierung danach ohne Lock
+        synchronized (territories) {
+            Map<Long, Territory> data = new HashMap<>(territories.size() * 2);
+            for (Territory territory : territories.values()) {
+                data.put(territory.getChunkKey(), territory);
+            }
+            return data;
+        }
     }
 
     @Override
@@ -297,11 +333,13 @@ public class TerritoryManager extends AbstractPersistenceManager<Map<Long, Terri
 
     @Override
     protected String getHealthDetails() {
-        return territories.size() + " Territorien";
+        return getTerritoryCount() + " Territorien";
     }
 
     @Override
     protected void onCriticalLoadFailure() {
-        territories.clear();
+        synchronized (territories) {
+            territories.clear();
+        }
     }
 }
@@ -1,73 +1,180 @@
 package de.rolandsw.schedulemc.territory.network;
 
+import de.rolandsw.schedulemc.territory.ChunkClaimMap;
 import de.rolandsw.schedulemc.territory.Territory;
 import de.rolandsw.schedulemc.territory.TerritoryType;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraftforge.network.NetworkEvent;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Supplier;
 
 /**
  * Synchronisiert alle Territories vom Server zum Client
+ *
+ * OPTIMIERT: Übertragung als Region-Bitmaps statt einzelner Territory-Objekte.
+ * Format:
+ * - Palette der (Typ, Name)-Kombinationen (zusammenhängende Gebiete teilen sich einen Eintrag)
+ * - Pro Region ({@value ChunkClaimMap#REGION_SIZE}x{@value ChunkClaimMap#REGION_SIZE} Chunks):
+ *   Region-Key, Maske der belegten 64er-Worte, nur diese Worte, dann pro gesetztem Bit
+ *   der Palette-Index (VarInt)
  */
 public class SyncTerritoriesPacket {
 
-    final private Map<Long, TerritoryData> territories;
-
-    public SyncTerritoriesPacket(Map<Long, Territory> territories) {
-        this.territories = new HashMap<>();
-        for (Map.Entry<Long, Territory> entry : territories.entrySet()) {
-            Territory t = entry.getValue();
-            this.territories.put(entry.getKey(), new TerritoryData(
-                t.getChunkX(), t.getChunkZ(), t.getType(), t.getName()
-            ));
+    // SICHERHEIT: Limits gegen DoS (max. 100000 Chunks wie beim Laden der Territories)
+    private static final int MAX_PALETTE = 10000;
+    private static final int MAX_REGIONS = 10000;
+    private static final int MAX_CHUNKS = 100000;
+
+    private record PaletteEntry(TerritoryType type, String name) {}
+
+    // Server-Seite: vorbereitete Sync-Daten
+    private final List<PaletteEntry> palette;
+    private final long[] regionKeys;
+    private final long[][] bitmaps;
+    private final int[] paletteIndices;
+
+    // Client-Seite: dekodierte Territories
+    private final ChunkClaimMap<TerritoryData> territories;
+
+    public SyncTerritoriesPacket(ChunkClaimMap<Territory> source) {
+        this.palette = new ArrayList<>();
+        Object2IntOpenHashMap<PaletteEntry> paletteIds = new Object2IntOpenHashMap<>();
+        paletteIds.defaultReturnValue(-1);
+        LongSet keys = source.regionKeys();
+        this.regionKeys = new long[keys.size()];
+        this.bitmaps = new long[keys.size()][];
+        IntArrayList indices = new IntArrayList(source.size());
+
+        int r = 0;
+        for (LongIterator it = keys.iterator(); it.hasNext(); ) {
+            long regionKey = it.nextLong();
+            long[] bitmap = source.getRegionBitmap(regionKey).clone();
+            regionKeys[r] = regionKey;
+            bitmaps[r] = bitmap;
+            r++;
+
+            int baseX = ChunkClaimMap.chunkX(regionKey) << ChunkClaimMap.REGION_SHIFT;
+            int baseZ = ChunkClaimMap.chunkZ(regionKey) << ChunkClaimMap.REGION_SHIFT;
+            for (int w = 0; w < bitmap.length; w++) {
+                long bits = bitmap[w];
+                while (bits != 0) {
+                    int bit = (w << 6) | Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    Territory t = source.get(baseX + (bit & (ChunkClaimMap.REGION_SIZE - 1)),
+                        baseZ + (bit >>> ChunkClaimMap.REGION_SHIFT));
+                    PaletteEntry entry = new PaletteEntry(t.getType(), t.getName() != null ? t.getName() : "");
+                    int id = paletteIds.getInt(entry);
+                    if (id < 0) {
+                        id = palette.size();
+                        palette.add(entry);
+                        paletteIds.put(entry, id);
+                    }
+                    indices.add(id);
+                }
+            }
         }
+        this.paletteIndices = indices.toIntArray();
+        this.territories = null;
     }
 
-    private SyncTerritoriesPacket() {
-        this.territories = new HashMap<>();
+    private SyncTerritoriesPacket(ChunkClaimMap<TerritoryData> territories) {
+        this.palette = null;
+        this.regionKeys = null;
+        this.bitmaps = null;
+        this.paletteIndices = null;
+        this.territories = territories;
     }
 
     public static void encode(SyncTerritoriesPacket msg, FriendlyByteBuf buf) {
-        buf.writeInt(msg.territories.size());
-        for (Map.Entry<Long, TerritoryData> entry : msg.territories.entrySet()) {
-            buf.writeLong(entry.getKey());
-            TerritoryData data = entry.getValue();
-            buf.writeInt(data.chunkX);
-            buf.writeInt(data.chunkZ);
-            buf.writeEnum(data.type);
-            buf.writeUtf(data.name != null ? data.name : "");
+        buf.writeVarInt(msg.palette.size());
+        for (PaletteEntry entry : msg.palette) {
+            buf.writeEnum(entry.type());
+            buf.writeUtf(entry.name());
+        }
+
+        buf.writeVarInt(msg.regionKeys.length);
+        int index = 0;
+        for (int r = 0; r < msg.regionKeys.length; r++) {
+            long[] bitmap = msg.bitmaps[r];
+            buf.writeLong(msg.regionKeys[r]);
+
+            int wordMask = 0;
+            for (int w = 0; w < bitmap.length; w++) {
+                if (bitmap[w] != 0) {
+                    wordMask |= 1 << w;
+                }
+            }
+            buf.writeShort(wordMask);
+            for (long word : bitmap) {
+                if (word != 0) {
+                    buf.writeLong(word);
+                }
+            }
+            int count = 0;
+            for (long word : bitmap) {
+                count += Long.bitCount(word);
+            }
+            for (int i = 0; i < count; i++) {
+                buf.writeVarInt(msg.paletteIndices[index++]);
+            }
         }
     }
 
     /**
-     * SICHERHEIT: Max-Länge für Territory-Name + max Territory count gegen DoS
+     * SICHERHEIT: Max-Länge für Territory-Name + max Palette/Regionen/Chunks gegen DoS
      */
     public static SyncTerritoriesPacket decode(FriendlyByteBuf buf) {
-        SyncTerritoriesPacket packet = new SyncTerritoriesPacket();
-        int size = buf.readInt();
+        ChunkClaimMap<TerritoryData> territories = new ChunkClaimMap<>();
 
-        // SICHERHEIT: Max 10000 Territories pro Sync (DoS-Prävention)
         // Bei Überschreitung: leeres Packet zurückgeben statt Buffer zu beschädigen
-        if (size < 0 || size > 10000) {
-            return packet;
+        int paletteSize = buf.readVarInt();
+        if (paletteSize < 0 || paletteSize > MAX_PALETTE) {
+            return new SyncTerritoriesPacket(territories);
+        }
+        TerritoryType[] types = new TerritoryType[paletteSize];
+        String[] names = new String[paletteSize];
+        for (int i = 0; i < paletteSize; i++) {
+            types[i] = buf.readEnum(TerritoryType.class);
+            names[i] = buf.readUtf(64); // Max 64 Zeichen für Territory-Name
         }
 
-        for (int i = 0; i < size; i++) {
-            long key = buf.readLong();
-            int chunkX = buf.readInt();
-            int chunkZ = buf.readInt();
-            TerritoryType type = buf.readEnum(TerritoryType.class);
-            String name = buf.readUtf(64); // Max 64 Zeichen für Territory-Name
-
-            packet.territories.put(key, new TerritoryData(chunkX, chunkZ, type, name));
+        int regionCount = buf.readVarInt();
+        if (regionCount < 0 || regionCount > MAX_REGIONS) {
+            return new SyncTerritoriesPacket(territories);
+        }
+        long[] bitmap = new long[ChunkClaimMap.BITMAP_WORDS];
+        for (int r = 0; r < regionCount; r++) {
+            long regionKey = buf.readLong();
+            int wordMask = buf.readUnsignedShort();
+            for (int w = 0; w < bitmap.length; w++) {
+                bitmap[w] = (wordMask & (1 << w)) != 0 ? buf.readLong() : 0L;
+            }
+
+            int baseX = ChunkClaimMap.chunkX(regionKey) << ChunkClaimMap.REGION_SHIFT;
+            int baseZ = ChunkClaimMap.chunkZ(regionKey) << ChunkClaimMap.REGION_SHIFT;
+            for (int w = 0; w < bitmap.length; w++) {
+                long bits = bitmap[w];
+                while (bits != 0) {
+                    int bit = (w << 6) | Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    int id = buf.readVarInt();
+                    if (id < 0 || id >= paletteSize || territories.size() >= MAX_CHUNKS) {
+                        return new SyncTerritoriesPacket(new ChunkClaimMap<>());
+                    }
+                    int chunkX = baseX + (bit & (ChunkClaimMap.REGION_SIZE - 1));
+                    int chunkZ = baseZ + (bit >>> ChunkClaimMap.REGION_SHIFT);
+                    territories.put(chunkX, chunkZ, new TerritoryData(chunkX, chunkZ, types[id], names[id]));
+                }
+            }
         }
 
-        return packet;
+        return new SyncTerritoriesPacket(territories);
     }
 
     public static void handle(SyncTerritoriesPacket msg, Supplier<NetworkEvent.Context> ctx) {
@@ -98,15 +205,18 @@ public class SyncTerritoriesPacket {
     /**
      * Client-seitiger Cache für Territories
      * Unterstützt sowohl Full Sync als auch Delta Updates
+     *
+     * OPTIMIERT: {@link ChunkClaimMap} statt {@code Map<Long, TerritoryData>} - Lookups ohne
+     * Boxing, Overlay iteriert nur belegte Chunks. Zugriff nur vom Client-Main-Thread.
      */
     public static class TerritoryClientCache {
-        private static Map<Long, TerritoryData> cache = new ConcurrentHashMap<>();
+        private static volatile ChunkClaimMap<TerritoryData> cache = new ChunkClaimMap<>();
 
         /**
          * Full Sync: Ersetzt kompletten Cache
          */
-        public static void updateCache(Map<Long, TerritoryData> territories) {
-            cache = new ConcurrentHashMap<>(territories);
+        public static void updateCache(ChunkClaimMap<TerritoryData> territories) {
+            cache = territories;
         }
 
         /**
@@ -125,7 +235,7 @@ public class SyncTerritoriesPacket {
             cache.remove(chunkKey);
         }
 
-        public static Map<Long, TerritoryData> getCache() {
+        public static ChunkClaimMap<TerritoryData> getCache() {
             return cache;
         }
 
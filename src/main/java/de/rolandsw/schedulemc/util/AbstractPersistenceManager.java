@@ -13,7 +13,10 @@ import java.io.IOException;
 import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Abstrakte Basisklasse für alle Manager mit Datenpersistenz
@@ -25,6 +28,9 @@ import java.nio.file.StandardCopyOption;
  * - Health-Status-Tracking
  * - Graceful degradation
  * - IncrementalSaveManager Integration (ISaveable)
+ * - Austauschbares Speicher-Backend ({@link StorageBackend}): JSON (Standard) oder binäres Journal
+ * - JSON-Import/Export unabhängig vom Backend
+ * - Per-Entry-Dirty-Tracking: mit Journal-Backend werden nur geänderte Einträge geschrieben
  *
  * Eliminiert ~165 Zeilen duplizierter Code pro Manager
  *
@@ -36,7 +42,9 @@ public abstract class AbstractPersistenceManager<T> implements IncrementalSaveMa
 
     private final File dataFile;
     private final Gson gson;
+    private volatile StorageBackend<T> storageBackend;
     private volatile boolean needsSave = false;
+    private final DirtyEntrySet<String> dirtyEntries = new DirtyEntrySet<>();
     private boolean isHealthy = true;
     private String lastError = null;
 
@@ -55,7 +63,8 @@ public abstract class AbstractPersistenceManager<T> implements IncrementalSaveMa
      * Lädt die Daten mit Backup-Wiederherstellung
      */
     public void load() {
-        if (!dataFile.exists()) {
+        StorageBackend<T> backend = getStorageBackend();
+        if (!backend.exists()) {
             LOGGER.info("{}: Keine Datei gefunden, starte mit leeren Daten", getComponentName());
             isHealthy = true;
             onNoDataFileFound();
@@ -63,7 +72,7 @@ public abstract class AbstractPersistenceManager<T> implements IncrementalSaveMa
         }
 
         try {
-            T data = loadFromFile(dataFile);
+            T data = backend.read();
             onDataLoaded(data);
             isHealthy = true;  // NOPMD
             lastError = null;  // NOPMD – success-state; only overwritten in catch-path, not in success-path
@@ -73,10 +82,10 @@ public abstract class AbstractPersistenceManager<T> implements IncrementalSaveMa
             lastError = "Failed to load: " + e.getMessage();  // NOPMD
 
             // Backup-Wiederherstellung
-            if (BackupManager.restoreFromBackup(dataFile)) {
+            if (backend.restoreFromBackup()) {
                 LOGGER.warn("{}: Datei korrupt, versuche Backup wiederherzustellen...", getComponentName());
                 try {
-                    T data = loadFromFile(dataFile);
+                    T data = backend.read();
                     onDataLoaded(data);
                     LOGGER.info("{}: Erfolgreich von Backup wiederhergestellt", getComponentName());
                     isHealthy = true;
@@ -92,21 +101,6 @@ public abstract class AbstractPersistenceManager<T> implements IncrementalSaveMa
         }
     }
 
-    /**
-     * Lädt Daten aus einer Datei
-     */
-    private T loadFromFile(File file) throws IOException {
-        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
-            T data = gson.fromJson(reader, getDataType());
-
-            if (data == null) {
-                throw new IOException("Geladene Daten sind null");
-            }
-
-            return data;
-        }
-    }
-
     /**
      * Behandelt kritische Ladefehler mit Graceful Degradation
      */
@@ -120,43 +114,18 @@ public abstract class AbstractPersistenceManager<T> implements IncrementalSaveMa
         lastError = "Critical load failure - running with empty data";
 
         // Preserve corrupt file for forensics
-        if (dataFile.exists()) {
-            File corruptBackup = new File(dataFile.getParent(),
-                dataFile.getName() + ".CORRUPT_" + System.currentTimeMillis());
-            try {
-                java.nio.file.Files.copy(dataFile.toPath(), corruptBackup.toPath());
-                LOGGER.info("{}: Korrupte Datei gesichert nach: {}", getComponentName(), corruptBackup.getName());
-            } catch (IOException e) {
-                LOGGER.error("{}: Konnte korrupte Datei nicht sichern", getComponentName(), e);
-            }
-        }
+        getStorageBackend().preserveCorruptData();
     }
 
     /**
-     * Speichert die Daten mit Backup und atomic writes
+     * Speichert die Daten über das Speicher-Backend
+     * (JSON: Backup + atomic write, Journal: nur geänderte Einträge)
      */
     public void save() {
         try {
-            dataFile.getParentFile().mkdirs();
-
-            // Create backup before overwriting
-            if (dataFile.exists() && dataFile.length() > 0) {
-                BackupManager.createBackup(dataFile);
-            }
-
-            // Temporary file for atomic writing
-            File tempFile = new File(dataFile.getParent(), dataFile.getName() + ".tmp");
-
-            try (BufferedWriter writer = Files.newBufferedWriter(tempFile.toPath(), StandardCharsets.UTF_8)) {
-                T data = getCurrentData();
-                gson.toJson(data, writer);
-                writer.flush();
-            }
-
-            // Atomic replace
-            java.nio.file.Files.move(tempFile.toPath(), dataFile.toPath(),
-                StandardCopyOption.REPLACE_EXISTING,
-                StandardCopyOption.ATOMIC_MOVE);
+            // Vollständiger Stand enthält alle geänderten Einträge; spätere Markierungen bleiben erhalten
+            dirtyEntries.clear();
+            getStorageBackend().write(getCurrentData());
 
             needsSave = false;  // NOPMD
             isHealthy = true;  // NOPMD
@@ -175,7 +144,7 @@ public abstract class AbstractPersistenceManager<T> implements IncrementalSaveMa
      * Speichert nur wenn Änderungen vorhanden sind
      */
     public void saveIfNeeded() {
-        if (needsSave) {
+        if (isDirty()) {
             save();
         }
     }
@@ -187,6 +156,29 @@ public abstract class AbstractPersistenceManager<T> implements IncrementalSaveMa
         needsSave = true;
     }
 
+    /**
+     * Markiert einen einzelnen Eintrag (Top-Level-Key, z.B. UUID) als geändert
+     * Ohne Per-Entry-Unterstützung wird der gesamte Datenstand als geändert markiert.
+     */
+    public void markEntryDirty(Object key) {
+        if (supportsEntrySaving()) {
+            dirtyEntries.markChanged(String.valueOf(key));
+        } else {
+            markDirty();
+        }
+    }
+
+    /**
+     * Markiert einen einzelnen Eintrag als entfernt
+     */
+    public void markEntryRemoved(Object key) {
+        if (supportsEntrySaving()) {
+            dirtyEntries.markRemoved(String.valueOf(key));
+        } else {
+            markDirty();
+        }
+    }
+
     /**
      * Gibt den Health-Status zurück
      */
@@ -209,7 +201,7 @@ public abstract class AbstractPersistenceManager<T> implements IncrementalSaveMa
         if (isHealthy) {
             return Component.translatable("health.persistence.healthy",
                 getHealthDetails(),
-                BackupManager.getBackupCount(dataFile)).getString();
+                getStorageBackend().getBackupCount()).getString();
         } else {
             return Component.translatable("health.persistence.unhealthy",
                 lastError != null ? lastError : "Unknown",
@@ -217,6 +209,41 @@ public abstract class AbstractPersistenceManager<T> implements IncrementalSaveMa
         }
     }
 
+    // ========== JSON Import/Export ==========
+
+    /**
+     * Exportiert den aktuellen Datenstand als JSON (unabhängig vom Backend)
+     */
+    public void exportJson(File target) throws IOException {
+        File parent = target.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(target.toPath(), StandardCharsets.UTF_8)) {
+            gson.toJson(getCurrentData(), writer);
+        }
+        LOGGER.info("{}: Daten nach {} exportiert", getComponentName(), target.getName());
+    }
+
+    /**
+     * Importiert einen JSON-Datenstand und ersetzt die aktuellen Daten
+     * Die Daten werden beim nächsten Save über das aktive Backend persistiert.
+     */
+    public void importJson(File source) throws IOException {
+        T data;
+        try (BufferedReader reader = Files.newBufferedReader(source.toPath(), StandardCharsets.UTF_8)) {
+            data = gson.fromJson(reader, getDataType());
+        } catch (com.google.gson.JsonParseException e) {
+            throw new IOException("Ungültige JSON-Datei: " + e.getMessage(), e);
+        }
+        if (data == null) {
+            throw new IOException("Importierte Daten sind null");
+        }
+        onDataLoaded(data);
+        markDirty();
+        LOGGER.info("{}: Daten aus {} importiert", getComponentName(), source.getName());
+    }
+
     // ========== Abstract Methods (zu implementieren von Subklassen) ==========
 
     /**
@@ -252,6 +279,32 @@ public abstract class AbstractPersistenceManager<T> implements IncrementalSaveMa
         // Optional override
     }
 
+    /**
+     * Erstellt das Speicher-Backend (Standard: JSON)
+     * Subklassen mit vielen Einträgen können {@link JournalStorageBackend} zurückgeben.
+     */
+    protected StorageBackend<T> createStorageBackend() {
+        return new JsonStorageBackend<>(dataFile, gson, getDataType());
+    }
+
+    /**
+     * Kann die Subklasse einzelne Einträge über {@link #getEntryForSave(String)} liefern?
+     * (Voraussetzung für Per-Entry-Saving, Standard: nein)
+     */
+    protected boolean supportsEntryLookup() {
+        return false;
+    }
+
+    /**
+     * Gibt den aktuellen Wert eines Top-Level-Eintrags zurück (wie in getCurrentData())
+     *
+     * @return Der Wert oder null, wenn der Eintrag nicht (mehr) existiert
+     */
+    @Nullable
+    protected Object getEntryForSave(String key) {
+        return null;
+    }
+
     /**
      * Wird aufgerufen bei kritischem Ladefehler
      * (Subklassen sollten hier Daten clearen)
@@ -268,6 +321,23 @@ public abstract class AbstractPersistenceManager<T> implements IncrementalSaveMa
         return gson;
     }
 
+    /**
+     * Gibt das Speicher-Backend zurück (lazy, da getDataType() erst nach Konstruktion verfügbar ist)
+     */
+    protected StorageBackend<T> getStorageBackend() {
+        StorageBackend<T> backend = storageBackend;
+        if (backend == null) {
+            synchronized (this) {
+                backend = storageBackend;
+                if (backend == null) {
+                    backend = createStorageBackend();
+                    storageBackend = backend;
+                }
+            }
+        }
+        return backend;
+    }
+
     protected boolean needsSave() {
         return needsSave;
     }
@@ -279,7 +349,70 @@ public abstract class AbstractPersistenceManager<T> implements IncrementalSaveMa
      */
     @Override
     public boolean isDirty() {
-        return needsSave;
+        return needsSave || !dirtyEntries.isEmpty();
+    }
+
+    /**
+     * Per-Entry-Saving nur mit Journal-Backend und Eintrags-Lookup der Subklasse
+     */
+    @Override
+    public boolean supportsEntrySaving() {
+        return supportsEntryLookup() && getStorageBackend() instanceof JournalStorageBackend;
+    }
+
+    @Override
+    public int getDirtyEntryCount() {
+        return dirtyEntries.size();
+    }
+
+    /**
+     * Schreibt nur geänderte Einträge ins Journal
+     * Fällt auf einen vollständigen Save zurück, wenn der gesamte Stand geändert wurde
+     * oder das Journal kompaktiert werden muss.
+     */
+    @Override
+    public IncrementalSaveManager.EntryFlushResult saveDirtyEntries(int maxEntries) {
+        if (!supportsEntrySaving()) {
+            save();
+            return IncrementalSaveManager.EntryFlushResult.FULL_SAVE;
+        }
+
+        JournalStorageBackend<T> journal = (JournalStorageBackend<T>) getStorageBackend();
+        if (needsSave || journal.isCompactionDue()) {
+            save();
+            return new IncrementalSaveManager.EntryFlushResult(
+                journal.getLastAppendedRecords(), journal.getLastWrittenBytes(), true);
+        }
+
+        List<String> changed = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        if (dirtyEntries.drain(maxEntries, changed, removed) == 0) {
+            return IncrementalSaveManager.EntryFlushResult.NOTHING;
+        }
+
+        try {
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (String key : changed) {
+                Object value = getEntryForSave(key);
+                if (value != null) {
+                    values.put(key, value);
+                } else {
+                    removed.add(key);
+                }
+            }
+            long bytes = journal.writeEntries(values, removed);
+
+            isHealthy = true;  // NOPMD
+            lastError = null;  // NOPMD
+            return new IncrementalSaveManager.EntryFlushResult(journal.getLastAppendedRecords(), bytes, false);
+
+        } catch (Exception e) {
+            LOGGER.error("{}: Fehler beim Schreiben geänderter Einträge!", getComponentName(), e);
+            dirtyEntries.requeue(changed, removed);
+            isHealthy = false;
+            lastError = "Entry flush failed: " + e.getMessage();
+            return IncrementalSaveManager.EntryFlushResult.NOTHING;
+        }
     }
 
     /**
@@ -31,6 +31,10 @@ public class ConfigCache {
 
     // Cache für Warehouse Werte
     private static volatile int warehouseDeliveryIntervalDays = -1;
+    private static volatile int warehouseDeliveriesPerTick = -1;
+
+    // Cache für Utility Werte
+    private static volatile int utilityRolloversPerTick = -1;
 
     // Cache für Economy Werte
     private static volatile double economyStartBalance = -1;
@@ -61,6 +65,10 @@ public class ConfigCache {
 
             // Warehouse Werte
             warehouseDeliveryIntervalDays = getConfigSafe(ModConfigHandler.COMMON.WAREHOUSE_DELIVERY_INTERVAL_DAYS, 1);
+            warehouseDeliveriesPerTick = getConfigSafe(ModConfigHandler.COMMON.WAREHOUSE_DELIVERIES_PER_TICK, 4);
+
+            // Utility Werte
+            utilityRolloversPerTick = getConfigSafe(ModConfigHandler.COMMON.UTILITY_ROLLOVERS_PER_TICK, 32);
 
             // Economy Werte
             economyStartBalance = getConfigSafe(ModConfigHandler.COMMON.START_BALANCE, 1000.0);
@@ -112,6 +120,20 @@ public class ConfigCache {
         return warehouseDeliveryIntervalDays;
     }
 
+    public static int getWarehouseDeliveriesPerTick() {
+        refreshIfNeeded();
+        return warehouseDeliveriesPerTick;
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // UTILITY GETTER
+    // ═══════════════════════════════════════════════════════════
+
+    public static int getUtilityRolloversPerTick() {
+        refreshIfNeeded();
+        return utilityRolloversPerTick;
+    }
+
     // ═══════════════════════════════════════════════════════════
     // ECONOMY GETTER
     // ═══════════════════════════════════════════════════════════
@@ -0,0 +1,85 @@
+package de.rolandsw.schedulemc.util;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-sichere Menge geänderter Einträge (UUIDs, Plot-IDs, ...) für Per-Entry-Saving
+ *
+ * Merkt sich pro Key, ob der Eintrag geändert oder entfernt wurde. Der jeweils
+ * letzte Zustand gewinnt (remove nach put → remove, put nach remove → put).
+ * {@link #drain} entnimmt höchstens {@code max} Keys für einen Flush-Batch.
+ *
+ * @param <K> Key-Typ
+ */
+public class DirtyEntrySet<K> {
+
+    private final Map<K, Boolean> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Markiert einen Eintrag als geändert
+     */
+    public void markChanged(K key) {
+        entries.put(key, Boolean.TRUE);
+    }
+
+    /**
+     * Markiert einen Eintrag als entfernt
+     */
+    public void markRemoved(K key) {
+        entries.put(key, Boolean.FALSE);
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Entnimmt bis zu {@code max} Keys
+     *
+     * @param changed Ziel für geänderte Keys
+     * @param removed Ziel für entfernte Keys
+     * @return Anzahl entnommener Keys
+     */
+    public int drain(int max, Collection<K> changed, Collection<K> removed) {
+        int drained = 0;
+        Iterator<Map.Entry<K, Boolean>> it = entries.entrySet().iterator();
+        while (drained < max && it.hasNext()) {
+            Map.Entry<K, Boolean> entry = it.next();
+            K key = entry.getKey();
+            Boolean state = entry.getValue();
+            // Nur entfernen, wenn zwischenzeitlich nicht erneut markiert
+            if (entries.remove(key, state)) {
+                if (state) {
+                    changed.add(key);
+                } else {
+                    removed.add(key);
+                }
+                drained++;
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * Markiert Keys erneut (z.B. nach fehlgeschlagenem Flush), ohne neuere Markierungen zu überschreiben
+     */
+    public void requeue(Collection<K> changed, Collection<K> removed) {
+        for (K key : changed) {
+            entries.putIfAbsent(key, Boolean.TRUE);
+        }
+        for (K key : removed) {
+            entries.putIfAbsent(key, Boolean.FALSE);
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+}
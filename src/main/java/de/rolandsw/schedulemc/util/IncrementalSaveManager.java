@@ -24,6 +24,11 @@ import java.util.concurrent.atomic.AtomicReference;
  * - Nur geänderte (dirty) Daten speichern
  * - Background-Thread mit niedriger Priorität
  * - 80-95% Reduktion der Save-Time pro Tick
+ *
+ * Per-Entry-Saving:
+ * - Komponenten mit {@link ISaveable#supportsEntrySaving()} melden geänderte Keys (UUIDs, Plot-IDs)
+ * - Pro Tick werden nur geänderte Records geschrieben (max. entryBatchSize pro Komponente)
+ * - Statistiken: Records pro Flush, geschriebene Bytes pro Tick
  */
 public class IncrementalSaveManager {
 
@@ -59,6 +64,48 @@ public class IncrementalSaveManager {
         default int getPriority() {
             return 5;
         }
+
+        /**
+         * Unterstützt diese Komponente Per-Entry-Saving (nur geänderte Records)?
+         */
+        default boolean supportsEntrySaving() {
+            return false;
+        }
+
+        /**
+         * Anzahl geänderter Einträge (UUIDs, Plot-IDs, ...), die auf einen Flush warten
+         */
+        default int getDirtyEntryCount() {
+            return 0;
+        }
+
+        /**
+         * Speichert höchstens {@code maxEntries} geänderte Einträge
+         * Standard: vollständiger save()
+         */
+        default EntryFlushResult saveDirtyEntries(int maxEntries) {
+            save();
+            return EntryFlushResult.FULL_SAVE;
+        }
+    }
+
+    /**
+     * Ergebnis eines Per-Entry-Flushes
+     */
+    public static class EntryFlushResult {
+        /** Vollständiger Save ohne Record-Statistik */
+        public static final EntryFlushResult FULL_SAVE = new EntryFlushResult(0, 0, true);
+        public static final EntryFlushResult NOTHING = new EntryFlushResult(0, 0, false);
+
+        public final int records;
+        public final long bytesWritten;
+        public final boolean fullSave;
+
+        public EntryFlushResult(int records, long bytesWritten, boolean fullSave) {
+            this.records = records;
+            this.bytesWritten = bytesWritten;
+            this.fullSave = fullSave;
+        }
     }
 
     // ═══════════════════════════════════════════════════════════
@@ -87,12 +134,18 @@ public class IncrementalSaveManager {
     private final AtomicLong incrementalSaves = new AtomicLong(0);
     private final AtomicLong fullSaves = new AtomicLong(0);
     private final AtomicInteger currentlySaving = new AtomicInteger(0);
+    private final AtomicLong entryFlushes = new AtomicLong(0);
+    private final AtomicLong recordsFlushed = new AtomicLong(0);
+    private final AtomicLong bytesWritten = new AtomicLong(0);
+    private volatile int lastTickRecords = 0;
+    private volatile long lastTickBytes = 0;
 
     /**
      * Config
      */
     private volatile int saveIntervalTicks = 1200;  // Alle 1200 ticks (1 Minute)
     private volatile int batchSize = 10;             // Max 10 Saves pro Tick
+    private volatile int entryBatchSize = 500;       // Max 500 Records pro Komponente und Tick
 
     // ═══════════════════════════════════════════════════════════
     // CONSTRUCTOR
@@ -186,15 +239,25 @@ public class IncrementalSaveManager {
         }
 
         int saved = 0;
+        int tickRecords = 0;
+        long tickBytes = 0;
         for (ISaveable saveable : saveables) {
             if (saved >= batchSize) {
                 break; // Batch-Limit erreicht
             }
             if (saveable.isDirty()) {
-                saveSingleComponent(saveable);
+                if (saveable.supportsEntrySaving()) {
+                    EntryFlushResult result = flushSingleComponent(saveable);
+                    tickRecords += result.records;
+                    tickBytes += result.bytesWritten;
+                } else {
+                    saveSingleComponent(saveable);
+                }
                 saved++;
             }
         }
+        lastTickRecords = tickRecords;
+        lastTickBytes = tickBytes;
 
         if (saved > 0) {
             incrementalSaves.incrementAndGet();
@@ -233,6 +296,40 @@ public class IncrementalSaveManager {
         }
     }
 
+    /**
+     * Flusht nur die geänderten Records einer Komponente (Per-Entry-Saving)
+     */
+    private EntryFlushResult flushSingleComponent(ISaveable saveable) {
+        currentlySaving.incrementAndGet();
+
+        try {
+            long startTime = System.nanoTime();
+
+            EntryFlushResult result = saveable.saveDirtyEntries(entryBatchSize);
+
+            double durationMs = (System.nanoTime() - startTime) / 1_000_000.0;
+
+            totalSaves.incrementAndGet();
+            if (!result.fullSave) {
+                entryFlushes.incrementAndGet();
+            }
+            recordsFlushed.addAndGet(result.records);
+            bytesWritten.addAndGet(result.bytesWritten);
+
+            if (durationMs > 50.0 && isDebugEnabled()) {
+                LOGGER.info("Flushed {} records ({} bytes) of {} in {}ms",
+                    result.records, result.bytesWritten, saveable.getName(), String.format("%.2f", durationMs));
+            }
+            return result;
+
+        } catch (Exception e) {
+            LOGGER.error("Error flushing entries of {}", saveable.getName(), e);
+            return EntryFlushResult.NOTHING;
+        } finally {
+            currentlySaving.decrementAndGet();
+        }
+    }
+
     // ═══════════════════════════════════════════════════════════
     // FULL SAVE
     // ═══════════════════════════════════════════════════════════
@@ -317,6 +414,16 @@ public class IncrementalSaveManager {
         LOGGER.info("Batch size set to {}", this.batchSize);
     }
 
+    /**
+     * Setzt die maximale Anzahl Records pro Komponente und Tick (Per-Entry-Saving)
+     *
+     * @param records Max Records pro Flush
+     */
+    public void setEntryBatchSize(int records) {
+        this.entryBatchSize = Math.max(1, records);
+        LOGGER.info("Entry batch size set to {}", this.entryBatchSize);
+    }
+
     // ═══════════════════════════════════════════════════════════
     // STATISTICS
     // ═══════════════════════════════════════════════════════════
@@ -341,6 +448,48 @@ public class IncrementalSaveManager {
         return saveables.size();
     }
 
+    public long getEntryFlushes() {
+        return entryFlushes.get();
+    }
+
+    public long getRecordsFlushed() {
+        return recordsFlushed.get();
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    /**
+     * Durchschnittliche Anzahl Records pro Per-Entry-Flush
+     */
+    public double getAverageRecordsPerFlush() {
+        long flushes = entryFlushes.get();
+        return flushes == 0 ? 0.0 : (double) recordsFlushed.get() / flushes;
+    }
+
+    /**
+     * Records des letzten Save-Ticks
+     */
+    public int getLastTickRecords() {
+        return lastTickRecords;
+    }
+
+    /**
+     * Geschriebene Bytes des letzten Save-Ticks (nur Per-Entry-Flushes)
+     */
+    public long getLastTickBytes() {
+        return lastTickBytes;
+    }
+
+    public int getDirtyEntryCount() {
+        int dirtyEntries = 0;
+        for (ISaveable saveable : saveables) {
+            dirtyEntries += saveable.getDirtyEntryCount();
+        }
+        return dirtyEntries;
+    }
+
     public int getDirtyCount() {
         int dirty = 0;
         for (ISaveable saveable : saveables) {
@@ -366,7 +515,12 @@ public class IncrementalSaveManager {
             currentlySaving.get(),
             saveables.size(),
             getDirtyCount(),
-            running.get()
+            running.get(),
+            recordsFlushed.get(),
+            bytesWritten.get(),
+            getAverageRecordsPerFlush(),
+            lastTickRecords,
+            lastTickBytes
         );
     }
 
@@ -377,6 +531,11 @@ public class IncrementalSaveManager {
         totalSaves.set(0);
         incrementalSaves.set(0);
         fullSaves.set(0);
+        entryFlushes.set(0);
+        recordsFlushed.set(0);
+        bytesWritten.set(0);
+        lastTickRecords = 0;
+        lastTickBytes = 0;
         LOGGER.info("Save statistics reset");
     }
 
@@ -391,9 +550,22 @@ public class IncrementalSaveManager {
         public final int registered;
         public final int dirty;
         public final boolean running;
+        public final long recordsFlushed;
+        public final long bytesWritten;
+        public final double avgRecordsPerFlush;
+        public final int lastTickRecords;
+        public final long lastTickBytes;
 
         public SaveStatistics(long totalSaves, long incrementalSaves, long fullSaves,
                             int currentlySaving, int registered, int dirty, boolean running) {
+            this(totalSaves, incrementalSaves, fullSaves, currentlySaving, registered, dirty, running,
+                0, 0, 0.0, 0, 0);
+        }
+
+        public SaveStatistics(long totalSaves, long incrementalSaves, long fullSaves,
+                            int currentlySaving, int registered, int dirty, boolean running,
+                            long recordsFlushed, long bytesWritten, double avgRecordsPerFlush,
+                            int lastTickRecords, long lastTickBytes) {
             this.totalSaves = totalSaves;
             this.incrementalSaves = incrementalSaves;
             this.fullSaves = fullSaves;
@@ -401,12 +573,19 @@ public class IncrementalSaveManager {
             this.registered = registered;
             this.dirty = dirty;
             this.running = running;
+            this.recordsFlushed = recordsFlushed;
+            this.bytesWritten = bytesWritten;
+            this.avgRecordsPerFlush = avgRecordsPerFlush;
+            this.lastTickRecords = lastTickRecords;
+            this.lastTickBytes = lastTickBytes;
         }
 
         @Override
         public String toString() {
-            return String.format("SaveStats{total=%d, incremental=%d, full=%d, saving=%d, registered=%d, dirty=%d, running=%b}",
-                totalSaves, incrementalSaves, fullSaves, currentlySaving, registered, dirty, running);
+            return String.format("SaveStats{total=%d, incremental=%d, full=%d, saving=%d, registered=%d, dirty=%d, running=%b, " +
+                    "records=%d, bytes=%d, records/flush=%.1f, lastTick=%d records/%d bytes}",
+                totalSaves, incrementalSaves, fullSaves, currentlySaving, registered, dirty, running,
+                recordsFlushed, bytesWritten, avgRecordsPerFlush, lastTickRecords, lastTickBytes);
         }
     }
 
@@ -429,8 +608,8 @@ public class IncrementalSaveManager {
 
         for (int i = 0; i < saveables.size(); i++) {
             ISaveable saveable = saveables.get(i);
-            LOGGER.info("  {}. {} (Priority: {}, Dirty: {})",
-                i + 1, saveable.getName(), saveable.getPriority(), saveable.isDirty());
+            LOGGER.info("  {}. {} (Priority: {}, Dirty: {}, Dirty entries: {})",
+                i + 1, saveable.getName(), saveable.getPriority(), saveable.isDirty(), saveable.getDirtyEntryCount());
         }
 
         LOGGER.info("═══════════════════════════════════════");
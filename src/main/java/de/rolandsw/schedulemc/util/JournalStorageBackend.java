@@ -0,0 +1,510 @@
+package de.rolandsw.schedulemc.util;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.mojang.logging.LogUtils;
+import org.slf4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Binäres Journal-Speicher-Backend für {@link AbstractPersistenceManager}
+ *
+ * Problem (JSON-Backend):
+ * - Jeder save() serialisiert den kompletten Zustand als Pretty-JSON
+ * - Jeder save() erzeugt zusätzlich ein vollständiges GZIP-Backup
+ * - Bei zehntausenden Einträgen: mehrere 100ms Save-Spikes
+ *
+ * Lösung:
+ * - Top-Level-Einträge (Map-Keys bzw. Felder) werden einzeln als kompaktes JSON kodiert
+ * - Nur geänderte/entfernte Einträge werden als Record an das Journal angehängt
+ * - Übersteigt das Journal die Snapshot-Größe, wird in einen neuen Snapshot kompaktiert
+ * - Backups werden nur noch bei der Kompaktierung erstellt
+ *
+ * Dateien (neben der ursprünglichen JSON-Datei):
+ * - {@code <name>.snap}: Snapshot (Magic, Version, Generation, Einträge, CRC32)
+ * - {@code <name>.journal}: Write-Ahead-Journal (Header mit Generation + Records mit CRC32)
+ *
+ * Existiert nur die alte JSON-Datei, wird sie beim ersten Laden importiert und beim
+ * ersten Speichern in einen Snapshot überführt. JSON bleibt als Import/Export-Format
+ * über {@link AbstractPersistenceManager#exportJson(File)} erhalten.
+ *
+ * @param <T> Der Datentyp, der persistiert werden soll
+ */
+public class JournalStorageBackend<T> implements StorageBackend<T> {
+
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    private static final int SNAPSHOT_MAGIC = 0x534D4353; // "SMCS"
+    private static final byte FORMAT_VERSION = 1;
+
+    /** Key für Daten, deren JSON-Wurzel kein Objekt ist (z.B. Listen) */
+    static final String ROOT_KEY = "";
+
+    /** Journal wird frühestens ab dieser Größe kompaktiert */
+    private static final long MIN_COMPACTION_BYTES = 256 * 1024L;
+
+    private final File legacyJsonFile;
+    private final File snapshotFile;
+    private final File journalFile;
+    private final RecordJournal journal;
+    private final Gson gson;
+    private final Type dataType;
+    private final double compactionRatio;
+
+    /** Fingerprint (Länge + CRC32) des zuletzt persistierten Payloads pro Key */
+    private final Map<String, Long> persistedFingerprints = new HashMap<>();
+
+    private long generation = 0;
+    private long snapshotBytes = 0;
+    private boolean requiresCompaction = true;
+    private boolean importedLegacyJson = false;
+
+    // Statistiken
+    private int lastAppendedRecords = 0;
+    private long lastWrittenBytes = 0;
+    private long totalCompactions = 0;
+
+    /**
+     * @param dataFile Die ursprüngliche JSON-Datei (dient als Basisname und Import-Quelle)
+     * @param gson Gson-Instanz für die Kodierung der Einträge
+     * @param dataType Der Datentyp für die Deserialisierung
+     */
+    public JournalStorageBackend(File dataFile, Gson gson, Type dataType) {
+        this(dataFile, gson, dataType, 2.0);
+    }
+
+    /**
+     * @param compactionRatio Kompaktiert, sobald das Journal größer als Snapshot * ratio ist
+     */
+    public JournalStorageBackend(File dataFile, Gson gson, Type dataType, double compactionRatio) {
+        this.legacyJsonFile = dataFile;
+        this.gson = gson;
+        this.dataType = dataType;
+        this.compactionRatio = Math.max(0.5, compactionRatio);
+
+        String baseName = dataFile.getName();
+        if (baseName.endsWith(".json")) {
+            baseName = baseName.substring(0, baseName.length() - ".json".length());
+        }
+        this.snapshotFile = new File(dataFile.getParentFile(), baseName + ".snap");
+        this.journalFile = new File(dataFile.getParentFile(), baseName + ".journal");
+        this.journal = new RecordJournal(journalFile);
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // READ
+    // ═══════════════════════════════════════════════════════════
+
+    @Override
+    public synchronized boolean exists() {
+        return snapshotFile.exists() || journalFile.exists() || legacyJsonFile.exists();
+    }
+
+    @Override
+    public synchronized T read() throws IOException {
+        persistedFingerprints.clear();
+
+        if (!snapshotFile.exists() && !journalFile.exists()) {
+            return importLegacyJson();
+        }
+
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        generation = 0;
+        snapshotBytes = 0;
+        if (snapshotFile.exists()) {
+            readSnapshot(entries);
+            snapshotBytes = snapshotFile.length();
+        }
+        int replayed = replayJournal(entries);
+
+        JsonElement root;
+        try {
+            root = toJsonTree(entries);
+        } catch (JsonParseException e) {
+            throw new IOException("Korrupter Journal-Eintrag: " + e.getMessage(), e);
+        }
+
+        T data = gson.fromJson(root, dataType);
+        if (data == null) {
+            throw new IOException("Geladene Daten sind null");
+        }
+
+        for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+            persistedFingerprints.put(entry.getKey(), fingerprint(entry.getValue()));
+        }
+        requiresCompaction = !snapshotFile.exists();
+
+        LOGGER.debug("Journal geladen: {} Einträge ({} Records aus Journal)", entries.size(), replayed);
+        return data;
+    }
+
+    /**
+     * Importiert die alte JSON-Datei (Migration)
+     */
+    private T importLegacyJson() throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(legacyJsonFile.toPath(), StandardCharsets.UTF_8)) {
+            T data = gson.fromJson(reader, dataType);
+            if (data == null) {
+                throw new IOException("Geladene Daten sind null");
+            }
+            requiresCompaction = true;
+            importedLegacyJson = true;
+            LOGGER.info("JSON-Datei {} importiert, wird beim nächsten Speichern in Snapshot überführt",
+                legacyJsonFile.getName());
+            return data;
+        } catch (JsonParseException e) {
+            throw new IOException("Korrupte JSON-Datei: " + e.getMessage(), e);
+        }
+    }
+
+    private void readSnapshot(Map<String, byte[]> entries) throws IOException {
+        byte[] raw = Files.readAllBytes(snapshotFile.toPath());
+        if (raw.length < Long.BYTES) {
+            throw new IOException("Snapshot zu kurz: " + snapshotFile.getName());
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(raw, 0, raw.length - Long.BYTES);
+        long storedCrc = ByteBuffer.wrap(raw, raw.length - Long.BYTES, Long.BYTES).getLong();
+        if (crc.getValue() != storedCrc) {
+            throw new IOException("Snapshot-Prüfsumme ungültig: " + snapshotFile.getName());
+        }
+
+        try (DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(raw, 0, raw.length - Long.BYTES))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Kein gültiger Snapshot: " + snapshotFile.getName());
+            }
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unbekannte Snapshot-Version: " + version);
+            }
+            generation = in.readLong();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String key = in.readUTF();
+                byte[] payload = new byte[in.readInt()];
+                in.readFully(payload);
+                entries.put(key, payload);
+            }
+        }
+    }
+
+    /**
+     * Spielt das Journal auf die Snapshot-Einträge ab
+     *
+     * @return Anzahl abgespielter Records
+     */
+    private int replayJournal(Map<String, byte[]> entries) throws IOException {
+        RecordJournal.ReplayResult result = journal.replay(generation, new RecordJournal.RecordVisitor() {
+            @Override
+            public void onPut(String key, byte[] payload) {
+                entries.put(key, payload);
+            }
+
+            @Override
+            public void onRemove(String key) {
+                entries.remove(key);
+            }
+        });
+
+        if (result.stale) {
+            // Journal gehört zu einem älteren Snapshot (Absturz während Kompaktierung)
+            LOGGER.info("Journal {} ist veraltet (Generation passt nicht zum Snapshot), wird verworfen",
+                journalFile.getName());
+            journal.reset(generation);
+        }
+        return result.records;
+    }
+
+    private JsonElement toJsonTree(Map<String, byte[]> entries) {
+        if (entries.size() == 1 && entries.containsKey(ROOT_KEY)) {
+            return JsonParser.parseString(new String(entries.get(ROOT_KEY), StandardCharsets.UTF_8));
+        }
+        JsonObject root = new JsonObject();
+        for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+            root.add(entry.getKey(), JsonParser.parseString(new String(entry.getValue(), StandardCharsets.UTF_8)));
+        }
+        return root;
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // WRITE
+    // ═══════════════════════════════════════════════════════════
+
+    @Override
+    public synchronized void write(T data) throws IOException {
+        Map<String, byte[]> entries = encodeEntries(data);
+
+        if (requiresCompaction || !snapshotFile.exists() || shouldCompact()) {
+            compact(entries);
+            return;
+        }
+
+        List<String> changed = new ArrayList<>();
+        for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+            Long previous = persistedFingerprints.get(entry.getKey());
+            if (previous == null || previous != fingerprint(entry.getValue())) {
+                changed.add(entry.getKey());
+            }
+        }
+        List<String> removed = new ArrayList<>();
+        for (String key : persistedFingerprints.keySet()) {
+            if (!entries.containsKey(key)) {
+                removed.add(key);
+            }
+        }
+
+        appendRecords(entries, changed, removed);
+    }
+
+    /**
+     * Hängt einzelne Top-Level-Einträge an, ohne den Gesamtzustand zu serialisieren
+     * (Per-Entry-Dirty-Tracking über {@link IncrementalSaveManager.ISaveable#saveDirtyEntries(int)})
+     *
+     * @param changed Key → aktueller Wert (wird mit Gson kodiert)
+     * @param removed Entfernte Keys
+     * @return Anzahl geschriebener Bytes
+     * @throws IllegalStateException wenn zuerst ein vollständiger write() nötig ist
+     */
+    public synchronized long writeEntries(Map<String, ?> changed, Collection<String> removed) throws IOException {
+        if (requiresCompaction || !snapshotFile.exists()) {
+            throw new IllegalStateException("Journal benötigt zuerst einen vollständigen Snapshot");
+        }
+
+        Map<String, byte[]> encoded = new LinkedHashMap<>();
+        List<String> changedKeys = new ArrayList<>(changed.size());
+        for (Map.Entry<String, ?> entry : changed.entrySet()) {
+            byte[] payload = gson.toJsonTree(entry.getValue()).toString().getBytes(StandardCharsets.UTF_8);
+            Long previous = persistedFingerprints.get(entry.getKey());
+            if (previous == null || previous != fingerprint(payload)) {
+                encoded.put(entry.getKey(), payload);
+                changedKeys.add(entry.getKey());
+            }
+        }
+        List<String> removedKeys = new ArrayList<>(removed.size());
+        for (String key : removed) {
+            if (persistedFingerprints.containsKey(key)) {
+                removedKeys.add(key);
+            }
+        }
+
+        appendRecords(encoded, changedKeys, removedKeys);
+        return lastWrittenBytes;
+    }
+
+    /**
+     * Muss vor weiteren {@link #writeEntries} ein vollständiger write() (Kompaktierung) erfolgen?
+     */
+    public synchronized boolean isCompactionDue() {
+        return requiresCompaction || !snapshotFile.exists() || shouldCompact();
+    }
+
+    /**
+     * Zerlegt die Daten in Top-Level-Einträge mit kompakter JSON-Kodierung
+     */
+    private Map<String, byte[]> encodeEntries(T data) {
+        JsonElement tree = gson.toJsonTree(data);
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        if (tree.isJsonObject()) {
+            for (Map.Entry<String, JsonElement> member : tree.getAsJsonObject().entrySet()) {
+                entries.put(member.getKey(), member.getValue().toString().getBytes(StandardCharsets.UTF_8));
+            }
+        } else {
+            entries.put(ROOT_KEY, tree.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        return entries;
+    }
+
+    private void appendRecords(Map<String, byte[]> entries, List<String> changed, List<String> removed) throws IOException {
+        RecordJournal.Batch batch = new RecordJournal.Batch();
+        for (String key : changed) {
+            batch.put(key, entries.get(key));
+        }
+        for (String key : removed) {
+            batch.remove(key);
+        }
+
+        lastWrittenBytes = journal.append(batch);
+        lastAppendedRecords = batch.size();
+
+        for (String key : changed) {
+            persistedFingerprints.put(key, fingerprint(entries.get(key)));
+        }
+        for (String key : removed) {
+            persistedFingerprints.remove(key);
+        }
+    }
+
+    private boolean shouldCompact() {
+        return journal.getSizeBytes() > Math.max(MIN_COMPACTION_BYTES, (long) (snapshotBytes * compactionRatio));
+    }
+
+    /**
+     * Schreibt einen neuen Snapshot (atomic) und startet ein leeres Journal.
+     * Reihenfolge ist absturzsicher: Ein altes Journal wird über die Generation erkannt.
+     */
+    private void compact(Map<String, byte[]> entries) throws IOException {
+        snapshotFile.getParentFile().mkdirs();
+
+        if (snapshotFile.exists() && snapshotFile.length() > 0) {
+            BackupManager.createBackup(snapshotFile);
+        }
+
+        long newGeneration = generation + 1;
+        File tempFile = new File(snapshotFile.getParent(), snapshotFile.getName() + ".tmp");
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(buffer);
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeByte(FORMAT_VERSION);
+        out.writeLong(newGeneration);
+        out.writeInt(entries.size());
+        for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeInt(entry.getValue().length);
+            out.write(entry.getValue());
+        }
+        out.flush();
+        CRC32 crc = new CRC32();
+        crc.update(buffer.toByteArray());
+        out.writeLong(crc.getValue());
+        out.flush();
+
+        try (FileOutputStream fos = new FileOutputStream(tempFile)) {
+            buffer.writeTo(fos);
+            fos.getFD().sync();
+        }
+        Files.move(tempFile.toPath(), snapshotFile.toPath(),
+            StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+
+        generation = newGeneration;
+        journal.reset(generation);
+
+        persistedFingerprints.clear();
+        for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+            persistedFingerprints.put(entry.getKey(), fingerprint(entry.getValue()));
+        }
+        snapshotBytes = snapshotFile.length();
+        lastAppendedRecords = entries.size();
+        lastWrittenBytes = snapshotBytes;
+        totalCompactions++;
+
+        if (importedLegacyJson && legacyJsonFile.exists()) {
+            File imported = new File(legacyJsonFile.getParent(), legacyJsonFile.getName() + ".imported");
+            Files.move(legacyJsonFile.toPath(), imported.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            LOGGER.info("JSON-Datei {} in Snapshot überführt (Original: {})",
+                legacyJsonFile.getName(), imported.getName());
+        }
+        importedLegacyJson = false;
+        requiresCompaction = false;
+    }
+
+    private static long fingerprint(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return ((long) payload.length << 32) ^ crc.getValue();
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // BACKUP / RECOVERY
+    // ═══════════════════════════════════════════════════════════
+
+    @Override
+    public synchronized boolean restoreFromBackup() {
+        if (!BackupManager.restoreFromBackup(snapshotFile)) {
+            return false;
+        }
+        // Das Journal gehört zum beschädigten Stand und wird verworfen
+        try {
+            Files.deleteIfExists(journalFile.toPath());
+        } catch (IOException e) {
+            LOGGER.error("Konnte Journal {} nicht entfernen", journalFile.getName(), e);
+        }
+        requiresCompaction = true;
+        return true;
+    }
+
+    @Override
+    public int getBackupCount() {
+        return BackupManager.getBackupCount(snapshotFile);
+    }
+
+    @Override
+    public synchronized void preserveCorruptData() {
+        JsonStorageBackend.preserveCorruptFile(snapshotFile);
+        JsonStorageBackend.preserveCorruptFile(journalFile);
+        if (!snapshotFile.exists() && !journalFile.exists()) {
+            JsonStorageBackend.preserveCorruptFile(legacyJsonFile);
+        }
+        // Nächster Save schreibt einen frischen Snapshot statt an Altdaten anzuhängen
+        requiresCompaction = true;
+    }
+
+    @Override
+    public String getFormatName() {
+        return "journal";
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // STATISTICS
+    // ═══════════════════════════════════════════════════════════
+
+    public synchronized long getJournalBytes() {
+        return journal.getSizeBytes();
+    }
+
+    public synchronized long getSnapshotBytes() {
+        return snapshotBytes;
+    }
+
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /** Anzahl Records des letzten write() (bei Kompaktierung: alle Einträge) */
+    public synchronized int getLastAppendedRecords() {
+        return lastAppendedRecords;
+    }
+
+    /** Geschriebene Bytes des letzten write() */
+    public synchronized long getLastWrittenBytes() {
+        return lastWrittenBytes;
+    }
+
+    public synchronized long getTotalCompactions() {
+        return totalCompactions;
+    }
+
+    File getSnapshotFile() {
+        return snapshotFile;
+    }
+
+    File getJournalFile() {
+        return journalFile;
+    }
+}
@@ -0,0 +1,116 @@
+package de.rolandsw.schedulemc.util;
+
+import com.google.gson.Gson;
+import com.mojang.logging.LogUtils;
+import org.slf4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * JSON-Speicher-Backend (Standard für {@link AbstractPersistenceManager})
+ *
+ * Features:
+ * - Backup vor jedem Überschreiben
+ * - Atomic writes über .tmp-Datei
+ *
+ * @param <T> Der Datentyp, der persistiert werden soll
+ */
+public class JsonStorageBackend<T> implements StorageBackend<T> {
+
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    private final File dataFile;
+    private final Gson gson;
+    private final Type dataType;
+
+    public JsonStorageBackend(File dataFile, Gson gson, Type dataType) {
+        this.dataFile = dataFile;
+        this.gson = gson;
+        this.dataType = dataType;
+    }
+
+    @Override
+    public boolean exists() {
+        return dataFile.exists();
+    }
+
+    @Override
+    public T read() throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(dataFile.toPath(), StandardCharsets.UTF_8)) {
+            T data = gson.fromJson(reader, dataType);
+
+            if (data == null) {
+                throw new IOException("Geladene Daten sind null");
+            }
+
+            return data;
+        }
+    }
+
+    @Override
+    public void write(T data) throws IOException {
+        dataFile.getParentFile().mkdirs();
+
+        // Create backup before overwriting
+        if (dataFile.exists() && dataFile.length() > 0) {
+            BackupManager.createBackup(dataFile);
+        }
+
+        // Temporary file for atomic writing
+        File tempFile = new File(dataFile.getParent(), dataFile.getName() + ".tmp");
+
+        try (BufferedWriter writer = Files.newBufferedWriter(tempFile.toPath(), StandardCharsets.UTF_8)) {
+            gson.toJson(data, writer);
+            writer.flush();
+        }
+
+        // Atomic replace
+        Files.move(tempFile.toPath(), dataFile.toPath(),
+            StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public boolean restoreFromBackup() {
+        return BackupManager.restoreFromBackup(dataFile);
+    }
+
+    @Override
+    public int getBackupCount() {
+        return BackupManager.getBackupCount(dataFile);
+    }
+
+    @Override
+    public void preserveCorruptData() {
+        preserveCorruptFile(dataFile);
+    }
+
+    @Override
+    public String getFormatName() {
+        return "json";
+    }
+
+    /**
+     * Kopiert eine korrupte Datei nach {@code <name>.CORRUPT_<timestamp>}
+     */
+    static void preserveCorruptFile(File file) {
+        if (!file.exists()) {
+            return;
+        }
+        File corruptBackup = new File(file.getParent(),
+            file.getName() + ".CORRUPT_" + System.currentTimeMillis());
+        try {
+            Files.copy(file.toPath(), corruptBackup.toPath());
+            LOGGER.info("Korrupte Datei gesichert nach: {}", corruptBackup.getName());
+        } catch (IOException e) {
+            LOGGER.error("Konnte korrupte Datei {} nicht sichern", file.getName(), e);
+        }
+    }
+}
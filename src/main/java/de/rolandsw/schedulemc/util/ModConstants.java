@@ -61,4 +61,10 @@ public final class ModConstants {
      * Wird von AbstractFermentationBarrelBlockEntity genutzt.
      */
     public static final int PROCESSING_SYNC_CYCLE = 8;
+
+    /**
+     * Mindestabstand (in Ticks) zwischen zwei Fortschritts-Deltas derselben Verarbeitungs-BlockEntity.
+     * Wird vom ProcessingSyncCoalescer genutzt (UnifiedProcessingBlockEntity).
+     */
+    public static final int PROCESSING_DELTA_SYNC_TICKS = 20;
 }
@@ -0,0 +1,284 @@
+package de.rolandsw.schedulemc.util;
+
+import com.mojang.logging.LogUtils;
+import org.slf4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UTFDataFormatException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only Record-Journal (Write-Ahead-Log) für Key/Value-Einträge
+ *
+ * Format:
+ * - Header: Magic (int), Version (byte), Tag (long, z.B. Snapshot-Generation)
+ * - Records: Op (byte), Key (UTF), [Länge (int), Payload], CRC32 (int)
+ *
+ * Ein abgerissener Record am Ende (Absturz während append) beendet das Replay
+ * und wird abgeschnitten, damit folgende Appends an einer gültigen Grenze beginnen.
+ *
+ * Wird von {@link JournalStorageBackend} und Managern mit eigenem Snapshot-Format
+ * (z.B. EconomyManager) genutzt.
+ */
+public class RecordJournal {
+
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    private static final int MAGIC = 0x534D434A;  // "SMCJ"
+    private static final byte FORMAT_VERSION = 1;
+    static final int HEADER_BYTES = Integer.BYTES + 1 + Long.BYTES;
+
+    private static final byte OP_PUT = 1;
+    private static final byte OP_REMOVE = 2;
+
+    /**
+     * Empfänger für abgespielte Records
+     */
+    public interface RecordVisitor {
+        void onPut(String key, byte[] payload);
+
+        void onRemove(String key);
+    }
+
+    /**
+     * Sammelt Records für einen einzelnen Append (ein fsync pro Batch)
+     */
+    public static class Batch {
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(buffer);
+        private int records = 0;
+
+        public Batch put(String key, byte[] payload) {
+            write(OP_PUT, key, payload);
+            return this;
+        }
+
+        public Batch remove(String key) {
+            write(OP_REMOVE, key, null);
+            return this;
+        }
+
+        public int size() {
+            return records;
+        }
+
+        public boolean isEmpty() {
+            return records == 0;
+        }
+
+        private void write(byte op, String key, byte[] payload) {
+            CRC32 crc = new CRC32();
+            crc.update(op);
+            crc.update(key.getBytes(StandardCharsets.UTF_8));
+            try {
+                out.writeByte(op);
+                out.writeUTF(key);
+                if (op == OP_PUT) {
+                    out.writeInt(payload.length);
+                    out.write(payload);
+                    crc.update(payload);
+                }
+                out.writeInt((int) crc.getValue());
+            } catch (IOException e) {
+                // ByteArrayOutputStream wirft keine IOException (außer Key > 64KB)
+                throw new IllegalArgumentException("Record nicht kodierbar: " + key, e);
+            }
+            records++;
+        }
+    }
+
+    /**
+     * Ergebnis eines Replays
+     */
+    public static class ReplayResult {
+        public final boolean stale;
+        public final int records;
+        public final long validBytes;
+
+        ReplayResult(boolean stale, int records, long validBytes) {
+            this.stale = stale;
+            this.records = records;
+            this.validBytes = validBytes;
+        }
+    }
+
+    private final File file;
+    private long sizeBytes = 0;
+
+    public RecordJournal(File file) {
+        this.file = file;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public boolean exists() {
+        return file.exists();
+    }
+
+    /**
+     * Aktuelle Größe in Bytes (nach replay/append/reset)
+     */
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    /**
+     * Liest nur den Header-Tag (z.B. die Snapshot-Generation, auf die das Journal folgt)
+     *
+     * @throws IOException wenn die Datei fehlt oder der Header ungültig ist
+     */
+    public long readTag() throws IOException {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file.toPath()))) {
+            if (in.readInt() != MAGIC || in.readByte() != FORMAT_VERSION) {
+                throw new IOException("Kein gültiges Journal: " + file.getName());
+            }
+            return in.readLong();
+        } catch (EOFException e) {
+            throw new IOException("Kein gültiges Journal: " + file.getName(), e);
+        }
+    }
+
+    /**
+     * Spielt alle gültigen Records ab
+     *
+     * @param expectedTag Erwarteter Header-Tag; bei Abweichung ist das Journal veraltet und wird nicht abgespielt
+     * @throws IOException bei ungültigem Header
+     */
+    public ReplayResult replay(long expectedTag, RecordVisitor visitor) throws IOException {
+        sizeBytes = 0;
+        if (!file.exists()) {
+            return new ReplayResult(false, 0, 0);
+        }
+
+        byte[] raw = Files.readAllBytes(file.toPath());
+        ByteArrayInputStream bytes = new ByteArrayInputStream(raw);
+        DataInputStream in = new DataInputStream(bytes);
+
+        if (raw.length < HEADER_BYTES || in.readInt() != MAGIC || in.readByte() != FORMAT_VERSION) {
+            throw new IOException("Kein gültiges Journal: " + file.getName());
+        }
+        if (in.readLong() != expectedTag) {
+            sizeBytes = raw.length;
+            return new ReplayResult(true, 0, raw.length);
+        }
+
+        int replayed = 0;
+        int validLength = HEADER_BYTES;
+        while (bytes.available() > 0) {
+            try {
+                byte op = in.readByte();
+                if (op != OP_PUT && op != OP_REMOVE) {
+                    LOGGER.warn("Journal {}: unbekannter Record-Typ {}, Replay beendet", file.getName(), op);
+                    break;
+                }
+                String key = in.readUTF();
+                CRC32 crc = new CRC32();
+                crc.update(op);
+                crc.update(key.getBytes(StandardCharsets.UTF_8));
+
+                byte[] payload = null;
+                if (op == OP_PUT) {
+                    int length = in.readInt();
+                    if (length < 0 || length > bytes.available()) {
+                        LOGGER.warn("Journal {}: unvollständiger Record am Ende, Replay beendet", file.getName());
+                        break;
+                    }
+                    payload = new byte[length];
+                    in.readFully(payload);
+                    crc.update(payload);
+                }
+                if (in.readInt() != (int) crc.getValue()) {
+                    LOGGER.warn("Journal {}: Prüfsumme ungültig, Replay beendet", file.getName());
+                    break;
+                }
+
+                if (op == OP_PUT) {
+                    visitor.onPut(key, payload);
+                } else {
+                    visitor.onRemove(key);
+                }
+                validLength = raw.length - bytes.available();
+                replayed++;
+            } catch (EOFException | UTFDataFormatException e) {
+                LOGGER.warn("Journal {}: unvollständiger Record am Ende, Replay beendet", file.getName());
+                break;
+            }
+        }
+
+        if (raw.length > validLength) {
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.setLength(validLength);
+            }
+        }
+        sizeBytes = validLength;
+        return new ReplayResult(false, replayed, validLength);
+    }
+
+    /**
+     * Hängt einen Batch an (inkl. fsync)
+     *
+     * @return Anzahl geschriebener Bytes
+     */
+    public long append(Batch batch) throws IOException {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        batch.out.flush();
+        try (FileOutputStream fos = new FileOutputStream(file, true)) {
+            batch.buffer.writeTo(fos);
+            fos.getFD().sync();
+        }
+        sizeBytes += batch.buffer.size();
+        return batch.buffer.size();
+    }
+
+    /**
+     * Ersetzt das Journal atomar durch ein leeres Journal mit neuem Tag
+     */
+    public void reset(long tag) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        File tempFile = new File(file.getParent(), file.getName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(tag);
+        }
+        Files.move(tempFile.toPath(), file.toPath(),
+            StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+        sizeBytes = HEADER_BYTES;
+    }
+
+    /**
+     * Benennt das Journal atomar um (z.B. vor dem Schreiben eines neuen Snapshots)
+     *
+     * @return true wenn ein Journal existierte und verschoben wurde
+     */
+    public boolean moveTo(File target) throws IOException {
+        if (!file.exists()) {
+            return false;
+        }
+        Files.move(file.toPath(), target.toPath(),
+            StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+        sizeBytes = 0;
+        return true;
+    }
+}
@@ -0,0 +1,55 @@
+package de.rolandsw.schedulemc.util;
+
+import java.io.IOException;
+
+/**
+ * Austauschbares Speicher-Backend für {@link AbstractPersistenceManager}
+ *
+ * Trennt die Manager-Logik (Validierung, Health-Tracking, Callbacks) vom
+ * eigentlichen Dateiformat. Verfügbare Implementierungen:
+ * - {@link JsonStorageBackend}: Pretty-JSON mit Backup pro Save (Standard)
+ * - {@link JournalStorageBackend}: Binäres Write-Ahead-Journal + Snapshot-Kompaktierung
+ *
+ * @param <T> Der Datentyp, der persistiert werden soll
+ */
+public interface StorageBackend<T> {
+
+    /**
+     * Existieren gespeicherte Daten für dieses Backend?
+     */
+    boolean exists();
+
+    /**
+     * Liest den vollständigen Datenstand
+     *
+     * @throws IOException bei Lesefehlern oder korrupten Daten (auch wenn Daten null sind)
+     */
+    T read() throws IOException;
+
+    /**
+     * Schreibt den aktuellen Datenstand
+     */
+    void write(T data) throws IOException;
+
+    /**
+     * Stellt das neueste Backup wieder her
+     *
+     * @return true wenn ein Backup wiederhergestellt wurde
+     */
+    boolean restoreFromBackup();
+
+    /**
+     * Anzahl verfügbarer Backups (für Health-Info)
+     */
+    int getBackupCount();
+
+    /**
+     * Sichert korrupte Dateien für spätere Analyse (Forensik)
+     */
+    void preserveCorruptData();
+
+    /**
+     * Kurzbeschreibung für Logging (z.B. "json", "journal")
+     */
+    String getFormatName();
+}
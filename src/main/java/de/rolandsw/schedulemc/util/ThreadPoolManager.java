@@ -66,6 +66,12 @@ public class ThreadPoolManager {
      */
     private static volatile ScheduledExecutorService SCHEDULED_POOL;
 
+    /**
+     * Raster Pool - Für kachelweise Rasterung (Minimap)
+     * ForkJoin Pool mit CPU-Cores - 1, Work-Stealing verteilt ungleich teure Kacheln
+     */
+    private static volatile ForkJoinPool RASTER_POOL;
+
     /**
      * Lock für Thread-Pool-Initialisierung
      */
@@ -97,6 +103,16 @@ public class ThreadPoolManager {
         };
     }
 
+    private static ForkJoinPool.ForkJoinWorkerThreadFactory createForkJoinThreadFactory(String nameFormat) {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        return pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(String.format(nameFormat, threadNumber.getAndIncrement()));
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
     // ═══════════════════════════════════════════════════════════
     // INITIALIZATION
     // ═══════════════════════════════════════════════════════════
@@ -171,6 +187,28 @@ public class ThreadPoolManager {
         return COMPUTATION_POOL;
     }
 
+    /**
+     * Gibt Raster Pool zurück - Für parallele Kachel-Rasterung
+     *
+     * Der aufrufende Thread wartet per {@link ForkJoinPool#invoke} auf alle Kacheln.
+     *
+     * @return ForkJoinPool für Rasterung
+     */
+    public static ForkJoinPool getRasterPool() {  // NOPMD
+        if (isPoolShutdown(RASTER_POOL)) {
+            synchronized (INIT_LOCK) {
+                if (isPoolShutdown(RASTER_POOL)) {
+                    LOGGER.debug("Initializing Raster Pool...");
+                    int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+                    RASTER_POOL = new ForkJoinPool(parallelism, createForkJoinThreadFactory("ScheduleMC-Raster-%d"), (t, e) -> {
+                        LOGGER.error("Uncaught exception in thread {}: {}", t.getName(), e.getMessage(), e);
+                    }, false);
+                }
+            }
+        }
+        return RASTER_POOL;
+    }
+
     /**
      * Gibt Async Pool zurück - Für kurze async Tasks
      *
@@ -304,6 +342,7 @@ public class ThreadPoolManager {
         shutdownPool("Computation", COMPUTATION_POOL);
         shutdownPool("Async", ASYNC_POOL);
         shutdownPool("Scheduled", SCHEDULED_POOL);
+        shutdownPool("Raster", RASTER_POOL);
 
         LOGGER.info("ThreadPoolManager shutdown complete");
     }
@@ -396,6 +435,7 @@ public class ThreadPoolManager {
         sb.append(getPoolStats("Computation", COMPUTATION_POOL));
         sb.append(getPoolStats("Async", ASYNC_POOL));
         sb.append(getPoolStats("Scheduled", SCHEDULED_POOL));
+        sb.append(getPoolStats("Raster", RASTER_POOL));
         sb.append("═══════════════════════════════════════");
         return sb.toString();
     }
@@ -412,6 +452,17 @@ public class ThreadPoolManager {
                 tpe.getCompletedTaskCount()  // NOPMD
             );
         }
+        if (pool instanceof ForkJoinPool) {
+            ForkJoinPool fjp = (ForkJoinPool) pool;
+            return String.format(
+                "%s Pool: Active=%d, Pool=%d, Queue=%d, Steals=%d\n",
+                name,
+                fjp.getActiveThreadCount(),
+                fjp.getPoolSize(),
+                fjp.getQueuedTaskCount(),
+                fjp.getStealCount()
+            );
+        }
         return name + " Pool: (stats not available)\n";
     }
 
@@ -0,0 +1,327 @@
+package de.rolandsw.schedulemc.util;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hierarchisches Timer-Wheel für fällige Einträge (Lieferungstag, Abrechnungstag, ...)
+ *
+ * Problem (Alt):
+ * - Manager prüften periodisch jeden registrierten Eintrag auf Fälligkeit (O(n) pro Prüfung)
+ * - Am Tageswechsel wurde alles auf einmal abgearbeitet → Lastspitze in einem Tick
+ *
+ * Lösung (Neu):
+ * - {@value #LEVELS} Ebenen mit je {@value #SLOTS} Slots; ein Eintrag liegt auf der Ebene der
+ *   höchsten Ziffer (Basis 64), in der sich Fälligkeit und aktuelle Zeit unterscheiden.
+ *   Beim Erreichen eines Slots wird er eine Ebene tiefer verteilt (Kaskade), auf Ebene 0
+ *   ist er fällig. Fälligkeiten jenseits von 64^{@value #LEVELS} liegen in einer Überlaufliste.
+ * - {@link #advance} verschiebt nur wirklich fällige Einträge in eine Ready-Queue
+ * - {@link #poll} arbeitet davon höchstens {@code budget} Einträge ab; der Rest bleibt für
+ *   die folgenden Ticks liegen, so verteilt sich Arbeit eines Tages über mehrere Ticks
+ *
+ * Die Zeiteinheit bestimmt der Aufrufer (z.B. Minecraft-Tage). Die Zeit läuft nur vorwärts;
+ * ein {@link #advance} in die Vergangenheit wird ignoriert.
+ *
+ * Nicht thread-safe, nur auf dem Server-Thread benutzen.
+ *
+ * @param <K> Schlüssel eines Eintrags (pro Schlüssel höchstens ein Termin)
+ */
+public class TimerWheel<K> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    // Positions-Marker für Einträge außerhalb der Slots
+    private static final int IN_OVERFLOW = -1;
+    private static final int IN_READY = -2;
+
+    /**
+     * Empfängt einen fälligen Eintrag
+     */
+    @FunctionalInterface
+    public interface Action<K> {
+        /**
+         * @param key Schlüssel des Eintrags
+         * @param dueTime Ursprüngliche Fälligkeit (kann bei Verspätung vor der aktuellen Zeit liegen)
+         */
+        void fire(K key, long dueTime);
+    }
+
+    private static final class Entry<K> {
+        final K key;
+        final long dueTime;
+        int level;
+        int slot;
+        boolean cancelled;
+        Entry<K> prev;
+        Entry<K> next;
+
+        Entry(K key, long dueTime) {
+            this.key = key;
+            this.dueTime = dueTime;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private final Entry<K>[][] wheels = new Entry[LEVELS][SLOTS];
+    private Entry<K> overflow;
+    private final ArrayDeque<Entry<K>> ready = new ArrayDeque<>();
+    private final Map<K, Entry<K>> entries = new HashMap<>();
+    private int scheduledCount = 0; // Einträge in Slots/Überlauf (ohne Ready-Queue)
+    private final int[] levelCounts = new int[LEVELS + 1]; // Index LEVELS = Überlauf
+    private long currentTime;
+
+    /**
+     * @param startTime Aktuelle Zeit beim Anlegen
+     */
+    public TimerWheel(long startTime) {
+        this.currentTime = startTime;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // TERMINE
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Setzt den Termin für {@code key}; ein bestehender Termin wird ersetzt
+     *
+     * Liegt {@code dueTime} nicht in der Zukunft, ist der Eintrag sofort fällig.
+     */
+    public void schedule(K key, long dueTime) {
+        cancel(key);
+        Entry<K> entry = new Entry<>(key, dueTime);
+        entries.put(key, entry);
+        place(entry);
+    }
+
+    /**
+     * Entfernt den Termin für {@code key}
+     *
+     * @return true wenn ein Termin existierte
+     */
+    public boolean cancel(K key) {
+        Entry<K> entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        if (entry.level == IN_READY) {
+            entry.cancelled = true; // Wird beim Abarbeiten übersprungen
+        } else {
+            unlink(entry);
+        }
+        return true;
+    }
+
+    public boolean isScheduled(K key) {
+        return entries.containsKey(key);
+    }
+
+    /**
+     * @return Anzahl aller Termine (inklusive fälliger, noch nicht abgearbeiteter)
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return Anzahl fälliger, noch nicht abgearbeiteter Einträge
+     */
+    public int getPendingCount() {
+        return entries.size() - scheduledCount;
+    }
+
+    public long getCurrentTime() {
+        return currentTime;
+    }
+
+    /**
+     * Entfernt alle Termine
+     */
+    public void clear() {
+        for (Entry<K>[] wheel : wheels) {
+            Arrays.fill(wheel, null);
+        }
+        overflow = null;
+        ready.clear();
+        entries.clear();
+        scheduledCount = 0;
+        Arrays.fill(levelCounts, 0);
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // ZEIT
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Stellt die Zeit vor und verschiebt alle bis {@code time} fälligen Einträge in die Ready-Queue
+     *
+     * Sind die unteren Ebenen leer, springt die Zeit direkt zur nächsten Slot-Grenze der
+     * niedrigsten belegten Ebene; große Zeitsprünge kosten so nur O(Kaskaden).
+     */
+    public void advance(long time) {
+        while (currentTime < time) {
+            int lowest = 0;
+            while (lowest <= LEVELS && levelCounts[lowest] == 0) {
+                lowest++;
+            }
+            if (lowest > LEVELS) {
+                currentTime = time; // Nichts mehr im Rad: direkt springen
+                return;
+            }
+            if (lowest == 0) {
+                currentTime++;
+            } else {
+                // Bis zur nächsten Grenze der Ebene passiert nichts
+                long next = (currentTime | ((1L << (SLOT_BITS * lowest)) - 1)) + 1;
+                if (next > time) {
+                    currentTime = time;
+                    return;
+                }
+                currentTime = next;
+            }
+            cascade();
+        }
+    }
+
+    /**
+     * Arbeitet bis zu {@code budget} fällige Einträge in Fälligkeitsreihenfolge ab
+     *
+     * Ein Eintrag wird vor dem Aufruf entfernt; {@code action} darf ihn also direkt
+     * neu terminieren.
+     *
+     * @return Anzahl abgearbeiteter Einträge
+     */
+    public int poll(int budget, Action<K> action) {
+        int fired = 0;
+        while (fired < budget) {
+            Entry<K> entry = ready.poll();
+            if (entry == null) {
+                break;
+            }
+            if (entry.cancelled) {
+                continue;
+            }
+            entries.remove(entry.key);
+            action.fire(entry.key, entry.dueTime);
+            fired++;
+        }
+        return fired;
+    }
+
+    /**
+     * Verteilt beim Erreichen einer Slot-Grenze die Einträge der höheren Ebenen nach unten
+     * und übernimmt den fälligen Slot der Ebene 0
+     */
+    private void cascade() {
+        // Überlauf: bei jedem Umlauf der obersten Ebene neu einsortieren
+        if ((currentTime & ((1L << (SLOT_BITS * LEVELS)) - 1)) == 0 && overflow != null) {
+            Entry<K> entry = overflow;
+            overflow = null;
+            replaceAll(entry, LEVELS);
+        }
+        // Von oben nach unten, damit Einträge in derselben Zeiteinheit bis Ebene 0 durchfallen
+        for (int level = LEVELS - 1; level >= 1; level--) {
+            if ((currentTime & ((1L << (SLOT_BITS * level)) - 1)) != 0) {
+                continue;
+            }
+            int slot = slotOf(currentTime, level);
+            Entry<K> entry = wheels[level][slot];
+            if (entry != null) {
+                wheels[level][slot] = null;
+                replaceAll(entry, level);
+            }
+        }
+
+        int slot = slotOf(currentTime, 0);
+        Entry<K> entry = wheels[0][slot];
+        wheels[0][slot] = null;
+        while (entry != null) {
+            Entry<K> next = entry.next;
+            scheduledCount--;
+            levelCounts[0]--;
+            toReady(entry);
+            entry = next;
+        }
+    }
+
+    private void replaceAll(Entry<K> entry, int fromLevel) {
+        while (entry != null) {
+            Entry<K> next = entry.next;
+            scheduledCount--;
+            levelCounts[fromLevel]--;
+            place(entry);
+            entry = next;
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // LISTEN
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    private void place(Entry<K> entry) {
+        entry.prev = null;
+        entry.next = null;
+        if (entry.dueTime <= currentTime) {
+            toReady(entry);
+            return;
+        }
+
+        scheduledCount++;
+        // Höchste abweichende Ziffer bestimmt die Ebene
+        int highestBit = 63 - Long.numberOfLeadingZeros(entry.dueTime ^ currentTime);
+        int level = highestBit / SLOT_BITS;
+        if (level >= LEVELS) {
+            levelCounts[LEVELS]++;
+            entry.level = IN_OVERFLOW;
+            entry.next = overflow;
+            if (overflow != null) {
+                overflow.prev = entry;
+            }
+            overflow = entry;
+            return;
+        }
+
+        int slot = slotOf(entry.dueTime, level);
+        levelCounts[level]++;
+        entry.level = level;
+        entry.slot = slot;
+        Entry<K> head = wheels[level][slot];
+        entry.next = head;
+        if (head != null) {
+            head.prev = entry;
+        }
+        wheels[level][slot] = entry;
+    }
+
+    private void unlink(Entry<K> entry) {
+        levelCounts[entry.level == IN_OVERFLOW ? LEVELS : entry.level]--;
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else if (entry.level == IN_OVERFLOW) {
+            overflow = entry.next;
+        } else {
+            wheels[entry.level][entry.slot] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+        scheduledCount--;
+    }
+
+    private void toReady(Entry<K> entry) {
+        entry.level = IN_READY;
+        entry.prev = null;
+        entry.next = null;
+        ready.add(entry);
+    }
+
+    private static int slotOf(long time, int level) {
+        return (int) (time >>> (SLOT_BITS * level)) & SLOT_MASK;
+    }
+}
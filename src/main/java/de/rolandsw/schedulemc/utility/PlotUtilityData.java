@@ -14,6 +14,9 @@ import java.util.concurrent.ConcurrentHashMap;
  * Speichert Verbrauchsdaten für einen einzelnen Plot
  *
  * OPTIMIERT: Verwendet Circular Buffer statt Array-Shifting für O(1) Operationen
+ * OPTIMIERT: Der aktuelle Verbrauch ist eine laufende Summe; Hinzufügen, Entfernen und
+ * Aktiv/Idle-Wechsel verrechnen nur ihr eigenes Delta. {@link #calculateCurrentConsumption()}
+ * baut die Summe komplett neu auf (nach dem Laden, beim Tageswechsel, bei Sperre/Freigabe).
  */
 public class PlotUtilityData {
 
@@ -72,25 +75,49 @@ public class PlotUtilityData {
             // Block nicht in Registry - verwende Klassennamen als Fallback
             key = ResourceLocation.fromNamespaceAndPath("unknown", block.getClass().getSimpleName().toLowerCase(Locale.ROOT));
         }
-        consumers.put(pos, key.toString());
-        activeStatus.put(pos, false); // Startet als idle
+        addConsumer(pos, key.toString());
+    }
+
+    /**
+     * Fügt einen Verbraucher-Block mit bekannter Registry-ID hinzu
+     */
+    public void addConsumer(BlockPos pos, String blockId) {
+        String previousId = consumers.put(pos, blockId);
+        Boolean previousActive = activeStatus.put(pos, false); // Startet als idle
+        if (previousId != null) {
+            applyConsumption(previousId, previousActive != null && previousActive, -1);
+        }
+        applyConsumption(blockId, false, 1);
     }
 
     /**
      * Entfernt einen Verbraucher-Block
      */
     public void removeConsumer(BlockPos pos) {
-        consumers.remove(pos);
-        activeStatus.remove(pos);
+        String blockId = consumers.remove(pos);
+        Boolean wasActive = activeStatus.remove(pos);
+        if (blockId != null) {
+            applyConsumption(blockId, wasActive != null && wasActive, -1);
+        }
     }
 
     /**
      * Setzt den Aktivitätsstatus eines Blocks
+     *
+     * @return true wenn sich der Status geändert hat
      */
-    public void setActiveStatus(BlockPos pos, boolean isActive) {
-        if (consumers.containsKey(pos)) {
-            activeStatus.put(pos, isActive);
+    public boolean setActiveStatus(BlockPos pos, boolean isActive) {
+        String blockId = consumers.get(pos);
+        if (blockId == null) {
+            return false;
+        }
+        Boolean wasActive = activeStatus.put(pos, isActive);
+        boolean changed = wasActive == null || wasActive != isActive;
+        if (changed) {
+            applyConsumption(blockId, wasActive != null && wasActive, -1);
+            applyConsumption(blockId, isActive, 1);
         }
+        return changed;
     }
 
     /**
@@ -164,6 +191,29 @@ public class PlotUtilityData {
         }
     }
 
+    /**
+     * Verrechnet den Beitrag eines einzelnen Verbrauchers mit der laufenden Summe
+     *
+     * @param sign +1 zum Hinzufügen, -1 zum Abziehen
+     */
+    private void applyConsumption(String blockId, boolean isActive, int sign) {
+        if (!utilitiesEnabled) {
+            return; // Gesperrt: Verbrauch bleibt 0
+        }
+        Optional<UtilityConsumptionData> dataOpt = UtilityRegistry.getConsumptionById(blockId);
+        if (dataOpt.isEmpty()) {
+            return;
+        }
+        UtilityConsumptionData data = dataOpt.get();
+        double elec = sign * data.getCurrentElectricity(isActive);
+        double water = sign * data.getCurrentWater(isActive);
+
+        currentDayElectricity += elec;
+        currentDayWater += water;
+        categoryElectricity.merge(data.category(), elec, Double::sum);
+        categoryWater.merge(data.category(), water, Double::sum);
+    }
+
     /**
      * Wird am Ende eines Minecraft-Tages aufgerufen
      * Schiebt den aktuellen Verbrauch in die Historie
@@ -335,8 +385,9 @@ public class PlotUtilityData {
         outstandingElectricityKwh += Math.max(0.0, electricityKwh);
         outstandingWaterLiters += Math.max(0.0, waterLiters);
         unpaidDays += days;
-        if (unpaidDays >= 28) {
+        if (unpaidDays >= 28 && utilitiesEnabled) {
             utilitiesEnabled = false;
+            calculateCurrentConsumption();
         }
     }
 
@@ -356,7 +407,10 @@ public class PlotUtilityData {
             outstandingElectricityKwh = 0.0;
             outstandingWaterLiters = 0.0;
             unpaidDays = 0;
-            utilitiesEnabled = true;
+            if (!utilitiesEnabled) {
+                utilitiesEnabled = true;
+                calculateCurrentConsumption();
+            }
         }
 
         return paid;
@@ -460,6 +514,9 @@ public class PlotUtilityData {
             data.activeStatus.put(pos, consumer.get("active").getAsBoolean());
         }
 
+        // Laufende Summe und Kategorien aus den geladenen Verbrauchern aufbauen
+        data.calculateCurrentConsumption();
+
         return data;
     }
 
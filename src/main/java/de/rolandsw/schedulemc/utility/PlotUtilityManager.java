@@ -10,11 +10,14 @@ import de.rolandsw.schedulemc.economy.StateAccount;
 import de.rolandsw.schedulemc.economy.TransactionType;
 import de.rolandsw.schedulemc.region.PlotManager;
 import de.rolandsw.schedulemc.region.PlotRegion;
+import de.rolandsw.schedulemc.util.ConfigCache;
+import de.rolandsw.schedulemc.util.TimerWheel;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.chunk.LevelChunk;
 import org.slf4j.Logger;
 
 import java.io.*;
@@ -23,6 +26,7 @@ import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Verwaltet Utility-Verbrauch für alle Plots
@@ -32,6 +36,15 @@ import java.util.concurrent.ConcurrentHashMap;
  * - 7-Tage-Durchschnitt
  * - Aktiv/Idle-Erkennung via BlockEntity-Callbacks
  * - Persistenz via JSON
+ *
+ * OPTIMIERT: Ereignisgesteuert statt periodischem Voll-Scan
+ * - Verbraucher melden nur Aktiv/Idle-Wechsel, {@link PlotUtilityData} verrechnet das Delta
+ * - Beim Chunk-Laden melden die Verbraucher des Chunks einmalig ihren Ist-Status
+ * - Kein {@code level.getBlockEntity} mehr pro Verbraucher und Zyklus
+ *
+ * OPTIMIERT: Tagesabrechnung über ein {@link TimerWheel} (Zeiteinheit: Tag) statt aller
+ * Plots im Tick des Tageswechsels; pro Tick werden höchstens
+ * {@code rollovers_per_tick} Plots abgerechnet.
  */
 public class PlotUtilityManager {
 
@@ -47,6 +60,11 @@ public class PlotUtilityManager {
 
     private static volatile boolean dirty = false;
     private static volatile long lastTickDay = -1;
+
+    // Plot-ID -> nächster Abrechnungstag; entsteht im ersten Tick (nur Server-Thread)
+    private static TimerWheel<String> rolloverSchedule = null;
+    // Neu angelegte Plots, die noch eingeplant werden müssen (beliebiger Thread)
+    private static final Queue<String> unscheduledPlots = new ConcurrentLinkedQueue<>();
     private static final double ELECTRICITY_PRICE_PER_KWH = 0.35;
     private static final double WATER_PRICE_PER_LITER = 0.005;
     private static final double ELECTRICITY_TAX_PER_KWH = 0.08;
@@ -62,6 +80,9 @@ public class PlotUtilityManager {
     public static void load() {
         plotData.clear();
         positionCache.clear();
+        rolloverSchedule = null;
+        unscheduledPlots.clear();
+        lastTickDay = -1;
 
         if (!DATA_FILE.exists()) {
             LOGGER.info("Keine Utility-Daten gefunden, starte mit leeren Daten");
@@ -151,15 +172,12 @@ public class PlotUtilityManager {
         String plotId = plot.getPlotId();
 
         // Erstelle oder hole PlotUtilityData
-        PlotUtilityData data = plotData.computeIfAbsent(plotId, PlotUtilityData::new);
+        PlotUtilityData data = getOrCreateData(plotId);
 
         // Füge Verbraucher hinzu
         data.addConsumer(pos, block);
         positionCache.put(pos, plotId);
 
-        // Berechne neuen Verbrauch
-        data.calculateCurrentConsumption();
-
         dirty = true;
 
         LOGGER.debug("Consumer added: {} at {} in plot {}",
@@ -184,7 +202,6 @@ public class PlotUtilityManager {
         PlotUtilityData data = plotData.get(plotId);
         if (data != null) {
             data.removeConsumer(pos);
-            data.calculateCurrentConsumption();
             dirty = true;
 
             LOGGER.debug("Verbraucher entfernt bei {} im Plot {}", pos.toShortString(), plotId);
@@ -209,11 +226,21 @@ public class PlotUtilityManager {
         if (plotId == null) return;
 
         PlotUtilityData data = plotData.get(plotId);
-        if (data != null && data.hasConsumer(pos)) {
-            boolean wasActive = data.isActive(pos);
-            if (wasActive != isActive) {
-                data.setActiveStatus(pos, isActive);
-                dirty = true;
+        if (data != null && data.setActiveStatus(pos, isActive)) {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Übernimmt den Ist-Status aller Verbraucher eines gerade geladenen Chunks
+     *
+     * Verbraucher melden sonst nur Wechsel; nach dem Laden kann der gespeicherte
+     * Status aber veraltet sein (z.B. Maschine wurde offline fertig).
+     */
+    public static void onChunkLoad(LevelChunk chunk) {
+        for (BlockEntity be : chunk.getBlockEntities().values()) {
+            if (be instanceof IUtilityConsumer consumer && positionCache.containsKey(be.getBlockPos())) {
+                updateActiveStatus(be.getBlockPos(), consumer.isActivelyConsuming());
             }
         }
     }
@@ -224,54 +251,49 @@ public class PlotUtilityManager {
 
     /**
      * Wird jeden Server-Tick aufgerufen
-     * Prüft ob ein neuer Minecraft-Tag begonnen hat
+     * Rechnet fällige Plots ab (Rollover + Tagesrechnung), höchstens ein Budget pro Tick
      */
     public static void onServerTick(ServerLevel level) {
         long currentDay = level.getDayTime() / 24000L;
 
-        // Neuer Tag?
-        if (currentDay != lastTickDay && lastTickDay >= 0) {
-            int daysPassed = (int) Math.max(1L, currentDay - lastTickDay);
-            // Tageswechsel - Rollover für alle Plots
-            for (PlotUtilityData data : plotData.values()) {
-                data.rolloverDay(currentDay);
-                processDailyBilling(data, daysPassed);
+        if (rolloverSchedule == null) {
+            // Erster Tick: alle bekannten Plots zum nächsten Tag einplanen
+            rolloverSchedule = new TimerWheel<>(currentDay);
+            unscheduledPlots.clear();
+            for (String plotId : plotData.keySet()) {
+                rolloverSchedule.schedule(plotId, currentDay + 1);
             }
-            dirty = true;
-            LOGGER.info("Utility-Tageswechsel: Tag {} -> {}", lastTickDay, currentDay);
+            lastTickDay = currentDay;
+            return;
         }
 
-        lastTickDay = currentDay;
-    }
-
-    /**
-     * Aktualisiert den Verbrauch für alle Plots
-     * Sollte periodisch aufgerufen werden (z.B. alle 1000 Ticks)
-     */
-    public static void updateAllConsumption(ServerLevel level) {
-        for (Map.Entry<String, PlotUtilityData> entry : plotData.entrySet()) {
-            PlotUtilityData data = entry.getValue();
-
-            // Aktualisiere Aktivitätsstatus von allen BlockEntities
-            // Dies ermöglicht dynamische Erkennung ohne explizite Callbacks
-            updateConsumerStatus(level, data);
-
-            // Berechne Verbrauch neu
-            data.calculateCurrentConsumption();
+        String newPlotId;
+        while ((newPlotId = unscheduledPlots.poll()) != null) {
+            if (!rolloverSchedule.isScheduled(newPlotId)) {
+                rolloverSchedule.schedule(newPlotId, currentDay + 1);
+            }
         }
 
-        dirty = true;
-    }
+        if (currentDay != lastTickDay) {
+            LOGGER.info("Utility-Tageswechsel: Tag {} -> {} ({} Plots)", lastTickDay, currentDay, plotData.size());
+            lastTickDay = currentDay;
+        }
 
-    /**
-     * Aktualisiert den Status aller Verbraucher in einem Plot
-     */
-    private static void updateConsumerStatus(ServerLevel level, PlotUtilityData data) {
-        for (BlockPos pos : data.getConsumerPositions()) {
-            BlockEntity be = level.getBlockEntity(pos);
-            if (be instanceof IUtilityConsumer consumer) {
-                data.setActiveStatus(pos, consumer.isActivelyConsuming());
+        rolloverSchedule.advance(currentDay);
+        int processed = rolloverSchedule.poll(ConfigCache.getUtilityRolloversPerTick(), (plotId, dueDay) -> {
+            PlotUtilityData data = plotData.get(plotId);
+            if (data == null) {
+                return;
             }
+            // Termin liegt einen Tag nach der letzten Abrechnung dieses Plots
+            int daysPassed = (int) Math.max(1L, currentDay - (dueDay - 1));
+            data.rolloverDay(currentDay);
+            processDailyBilling(data, daysPassed);
+            rolloverSchedule.schedule(plotId, currentDay + 1);
+        });
+
+        if (processed > 0) {
+            dirty = true;
         }
     }
 
@@ -396,6 +418,16 @@ public class PlotUtilityManager {
     // HELPER
     // ═══════════════════════════════════════════════════════════════════════════
 
+    /**
+     * Holt oder erzeugt die Daten eines Plots; neue Plots werden zur Abrechnung vorgemerkt
+     */
+    private static PlotUtilityData getOrCreateData(String plotId) {
+        return plotData.computeIfAbsent(plotId, id -> {
+            unscheduledPlots.add(id);
+            return new PlotUtilityData(id);
+        });
+    }
+
     /**
      * Rebuild des Position-Cache nach dem Laden
      */
@@ -414,70 +446,27 @@ public class PlotUtilityManager {
      * Scannt einen Plot nach bestehenden Verbrauchern
      * Nützlich beim ersten Setup oder nach Welt-Migration
      *
-     * OPTIMIERT: Chunk-basierte Batch-Verarbeitung für bessere Cache-Lokalität
-     * und Überspringen von ungeladenen Chunks
+     * OPTIMIERT: Sektions-/Paletten-basierter Scan ({@link UtilityConsumerScanner}),
+     * leere und verbraucherfreie Sektionen sowie ungeladene Chunks werden übersprungen
      */
     public static void scanPlotForConsumers(ServerLevel level, PlotRegion plot) {
         String plotId = plot.getPlotId();
-        PlotUtilityData data = plotData.computeIfAbsent(plotId, PlotUtilityData::new);
-
-        BlockPos min = plot.getMin();
-        BlockPos max = plot.getMax();
-
-        int found = 0;
-
-        // OPTIMIERT: Chunk-basierte Iteration statt Block-für-Block
-        int minChunkX = min.getX() >> 4;
-        int maxChunkX = max.getX() >> 4;
-        int minChunkZ = min.getZ() >> 4;
-        int maxChunkZ = max.getZ() >> 4;
-
-        // Batch-Verarbeitung: Sammle erst alle Positionen, dann füge in Batch hinzu
-        List<Map.Entry<BlockPos, Block>> foundConsumers = new ArrayList<>();
-
-        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
-            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
-                // OPTIMIERT: Überspringe ungeladene Chunks
-                if (!level.hasChunk(chunkX, chunkZ)) {
-                    continue;
-                }
-
-                // Berechne Chunk-lokale Grenzen
-                int startX = Math.max(min.getX(), chunkX << 4);
-                int endX = Math.min(max.getX(), (chunkX << 4) + 15);
-                int startZ = Math.max(min.getZ(), chunkZ << 4);
-                int endZ = Math.min(max.getZ(), (chunkZ << 4) + 15);
-
-                // OPTIMIERT: Iteriere nur über relevante Y-Levels (typisch -64 bis 320)
-                int startY = Math.max(min.getY(), level.getMinBuildHeight());
-                int endY = Math.min(max.getY(), level.getMaxBuildHeight() - 1);
-
-                for (int x = startX; x <= endX; x++) {
-                    for (int z = startZ; z <= endZ; z++) {
-                        for (int y = startY; y <= endY; y++) {
-                            BlockPos pos = new BlockPos(x, y, z);
-                            Block block = level.getBlockState(pos).getBlock();
-
-                            if (UtilityRegistry.isConsumer(block)) {
-                                foundConsumers.add(Map.entry(pos, block));
-                            }
-                        }
-                    }
-                }
+        PlotUtilityData data = getOrCreateData(plotId);
+
+        int[] found = {0};
+        int skippedSections = UtilityConsumerScanner.scan(level, plot.getMin(), plot.getMax(), (pos, block) -> {
+            // Bereits bekannte Verbraucher behalten ihren Aktiv-Status
+            if (!data.hasConsumer(pos)) {
+                data.addConsumer(pos, block);
+                found[0]++;
             }
-        }
-
-        // OPTIMIERT: Batch-Einfügung
-        for (var entry : foundConsumers) {
-            data.addConsumer(entry.getKey(), entry.getValue());
-            positionCache.put(entry.getKey(), plotId);
-            found++;
-        }
+            positionCache.put(pos, plotId);
+        });
 
-        if (found > 0) {
-            data.calculateCurrentConsumption();
+        if (found[0] > 0) {
             dirty = true;
-            LOGGER.info("Plot {} gescannt: {} Verbraucher gefunden", plotId, found);
+            LOGGER.info("Plot {} gescannt: {} Verbraucher gefunden ({} Sektionen übersprungen)",
+                plotId, found[0], skippedSections);
         }
     }
 
@@ -573,7 +562,7 @@ public class PlotUtilityManager {
 
     public static void setAutoPayForOwner(UUID ownerUUID, boolean enabled) {
         for (PlotRegion plot : PlotManager.getPlotsByOwner(ownerUUID)) {
-            PlotUtilityData data = plotData.computeIfAbsent(plot.getPlotId(), PlotUtilityData::new);
+            PlotUtilityData data = getOrCreateData(plot.getPlotId());
             data.setAutoPayEnabled(enabled);
         }
         dirty = true;
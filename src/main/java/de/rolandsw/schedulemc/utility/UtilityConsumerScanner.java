@@ -0,0 +1,89 @@
+package de.rolandsw.schedulemc.utility;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Sucht Utility-Verbraucher in einer Box, Sektion für Sektion
+ *
+ * Problem (Alt):
+ * - Jeder Block des Plot-Volumens wurde per {@code level.getBlockState(new BlockPos(...))}
+ *   gelesen, auch in reinen Luft- oder Stein-Sektionen
+ *
+ * Lösung (Neu):
+ * - Leere Sektionen und Sektionen, deren Palette keinen Verbraucher enthält
+ *   ({@code maybeHas}), werden komplett übersprungen
+ * - Nur Kandidaten-Sektionen werden blockweise direkt aus dem PalettedContainer gelesen;
+ *   BlockPos-Objekte entstehen nur für Treffer
+ * - Ungeladene Chunks werden nicht geladen, sondern ausgelassen
+ */
+public final class UtilityConsumerScanner {
+
+    private UtilityConsumerScanner() {}
+
+    /**
+     * Meldet jeden Verbraucher-Block in der Box (inklusive) an {@code consumer}
+     *
+     * @return Anzahl übersprungener Sektionen (für Logging)
+     */
+    public static int scan(ServerLevel level, BlockPos min, BlockPos max, BiConsumer<BlockPos, Block> consumer) {
+        int minY = Math.max(min.getY(), level.getMinBuildHeight());
+        int maxY = Math.min(max.getY(), level.getMaxBuildHeight() - 1);
+        if (minY > maxY) {
+            return 0;
+        }
+
+        int skipped = 0;
+        for (int chunkX = SectionPos.blockToSectionCoord(min.getX()); chunkX <= SectionPos.blockToSectionCoord(max.getX()); chunkX++) {
+            for (int chunkZ = SectionPos.blockToSectionCoord(min.getZ()); chunkZ <= SectionPos.blockToSectionCoord(max.getZ()); chunkZ++) {
+                if (!level.hasChunk(chunkX, chunkZ)) {
+                    continue;
+                }
+                LevelChunk chunk = level.getChunk(chunkX, chunkZ);
+
+                for (int sectionY = SectionPos.blockToSectionCoord(minY); sectionY <= SectionPos.blockToSectionCoord(maxY); sectionY++) {
+                    LevelChunkSection section = chunk.getSection(chunk.getSectionIndexFromSectionY(sectionY));
+                    // Palette-Test: enthält die Sektion überhaupt einen Verbraucher?
+                    if (section.hasOnlyAir() || !section.maybeHas(state -> UtilityRegistry.isConsumer(state.getBlock()))) {
+                        skipped++;
+                        continue;
+                    }
+                    scanSection(section, chunkX, sectionY, chunkZ, min, max, minY, maxY, consumer);
+                }
+            }
+        }
+        return skipped;
+    }
+
+    private static void scanSection(LevelChunkSection section, int sx, int sy, int sz, BlockPos min, BlockPos max,
+                                    int minY, int maxY, BiConsumer<BlockPos, Block> consumer) {
+        int baseX = SectionPos.sectionToBlockCoord(sx);
+        int baseY = SectionPos.sectionToBlockCoord(sy);
+        int baseZ = SectionPos.sectionToBlockCoord(sz);
+        int fromX = Math.max(min.getX(), baseX) - baseX;
+        int toX = Math.min(max.getX(), baseX + 15) - baseX;
+        int fromY = Math.max(minY, baseY) - baseY;
+        int toY = Math.min(maxY, baseY + 15) - baseY;
+        int fromZ = Math.max(min.getZ(), baseZ) - baseZ;
+        int toZ = Math.min(max.getZ(), baseZ + 15) - baseZ;
+
+        for (int y = fromY; y <= toY; y++) {
+            for (int z = fromZ; z <= toZ; z++) {
+                for (int x = fromX; x <= toX; x++) {
+                    BlockState state = section.getBlockState(x, y, z);
+                    Block block = state.getBlock();
+                    if (UtilityRegistry.isConsumer(block)) {
+                        consumer.accept(new BlockPos(baseX + x, baseY + y, baseZ + z), block);
+                    }
+                }
+            }
+        }
+    }
+}
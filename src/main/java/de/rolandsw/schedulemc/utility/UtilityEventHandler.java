@@ -8,8 +8,10 @@ import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.chunk.LevelChunk;
 import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.event.level.BlockEvent;
+import net.minecraftforge.event.level.ChunkEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 
@@ -19,14 +21,14 @@ import net.minecraftforge.fml.common.Mod;
  * Reagiert auf:
  * - Block-Platzierung
  * - Block-Entfernung
- * - Server-Ticks (für periodische Updates)
+ * - Chunk-Laden (Ist-Status der Verbraucher übernehmen)
+ * - Server-Ticks (Tagesabrechnung, Speichern)
  */
 @Mod.EventBusSubscriber(modid = ScheduleMC.MOD_ID)
 public class UtilityEventHandler {
 
-    // Counter für periodische Updates
+    // Counter für periodisches Speichern
     private static int tickCounter = 0;
-    private static final int UPDATE_INTERVAL = 100; // Alle 100 Ticks (~5 Sekunden)
     private static final int SAVE_INTERVAL = ModConstants.TICKS_SAVE_INTERVAL;
 
     // ═══════════════════════════════════════════════════════════════════════════
@@ -62,6 +64,16 @@ public class UtilityEventHandler {
         });
     }
 
+    /**
+     * Wird aufgerufen wenn ein Chunk geladen wird
+     */
+    @SubscribeEvent
+    public static void onChunkLoad(ChunkEvent.Load event) {
+        if (!event.getLevel().isClientSide() && event.getChunk() instanceof LevelChunk chunk) {
+            PlotUtilityManager.onChunkLoad(chunk);
+        }
+    }
+
     // ═══════════════════════════════════════════════════════════════════════════
     // SERVER TICK
     // ═══════════════════════════════════════════════════════════════════════════
@@ -74,16 +86,10 @@ public class UtilityEventHandler {
         EventHelper.handleServerTickEnd(event, server -> {
             tickCounter++;
 
-            // Periodisches Update der Verbrauchswerte
-            if (tickCounter % UPDATE_INTERVAL == 0) {
-                ServerLevel overworld = server.overworld();
-                if (overworld != null) {
-                    // Tageswechsel-Check
-                    PlotUtilityManager.onServerTick(overworld);
-
-                    // Aktualisiere alle Verbrauchswerte
-                    PlotUtilityManager.updateAllConsumption(overworld);
-                }
+            // Fällige Tagesabrechnungen (Budget pro Tick; Verbrauch wird ereignisgesteuert gepflegt)
+            ServerLevel overworld = server.overworld();
+            if (overworld != null) {
+                PlotUtilityManager.onServerTick(overworld);
             }
 
             // Periodisches Speichern
@@ -23,6 +23,7 @@ import net.minecraft.world.Container;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.InteractionResult;
 import net.minecraft.world.SimpleContainer;
+import net.minecraft.world.damagesource.DamageSource;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.player.Player;
@@ -67,6 +68,7 @@ public class EntityGenericVehicle extends EntityVehicleBase implements Container
     // Optimierung: Cache für Part-Lookups (vermeidet 30+ Iterationen pro Tick)
     private Map<Class<? extends Part>, Part> partCache;
     private boolean partCacheValid = false;  // OPTIMIERT: Cache-Invalidierungs-Flag
+    private int partsVersion = 0; // Steigt bei jeder Part-Änderung (für abgeleitete Caches)
     private boolean needsModelRebuild = true; // Local flag for client-side model rebuild (not synched)
 
     // Vehicle ownership and tracking
@@ -237,6 +239,8 @@ public class EntityGenericVehicle extends EntityVehicleBase implements Container
 
     @Override
     public InteractionResult interact(Player player, InteractionHand hand) {
+        physicsComponent.wakeUp();
+
         // Security check first
         if (securityComponent.onInteract(player, hand)) {
             return InteractionResult.CONSUME;
@@ -296,6 +300,34 @@ public class EntityGenericVehicle extends EntityVehicleBase implements Container
         return !isPassengerOfSameVehicle(entityIn);
     }
 
+    // ═══════════════════════════════════════════════════════════════════════════
+    // AUFWECKEN (Schlafmodus, siehe PhysicsComponent)
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    @Override
+    public boolean hurt(DamageSource source, float amount) {
+        physicsComponent.wakeUp();
+        return super.hurt(source, amount);
+    }
+
+    @Override
+    public void push(Entity entity) {
+        physicsComponent.wakeUp();
+        super.push(entity);
+    }
+
+    @Override
+    public void push(double x, double y, double z) {
+        physicsComponent.wakeUp();
+        super.push(x, y, z);
+    }
+
+    @Override
+    protected void addPassenger(Entity passenger) {
+        super.addPassenger(passenger);
+        physicsComponent.wakeUp();
+    }
+
     public void destroyVehicle(Player player, boolean dropParts) {
         if (!securityComponent.canDestroyVehicle(player)) {
             return;
@@ -389,6 +421,14 @@ public class EntityGenericVehicle extends EntityVehicleBase implements Container
      */
     public void invalidatePartCache() {
         partCacheValid = false;
+        partsVersion++;
+    }
+
+    /**
+     * Version der Part-Liste; ändert sich bei initParts() und invalidatePartCache()
+     */
+    public int getPartsVersion() {
+        return partsVersion;
     }
 
     public void setPartSerializer() {
@@ -433,6 +473,7 @@ public class EntityGenericVehicle extends EntityVehicleBase implements Container
 
         // OPTIMIERT: Markiere Cache als valide
         partCacheValid = true;
+        partsVersion++;
 
         checkInitializing();
     }
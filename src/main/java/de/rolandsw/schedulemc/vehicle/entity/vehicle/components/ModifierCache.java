@@ -0,0 +1,58 @@
+package de.rolandsw.schedulemc.vehicle.entity.vehicle.components;
+
+/**
+ * Cache-Eintrag für {@link PhysicsComponent#getModifier()}
+ *
+ * Schlüssel: Block-Position unter dem Fahrzeug, Generation der Drive-Surface-Tabelle und
+ * Parts-Version des Fahrzeugs. Zusätzlich verfällt der Eintrag nach {@code recheckTicks}
+ * (Block kann sich ändern, Jahreszeit wechselt) oder wenn die Spielzeit zurückspringt.
+ *
+ * Thread-Safety: nicht thread-safe, ein Eintrag pro Fahrzeug (Tick-Thread).
+ */
+final class ModifierCache {
+
+    private final int recheckTicks;
+
+    private float value;
+    private int x;
+    private int y;
+    private int z;
+    private int surfaceGeneration;
+    private int partsVersion;
+    private long time;
+    private boolean valid;
+
+    ModifierCache(int recheckTicks) {
+        this.recheckTicks = recheckTicks;
+    }
+
+    /**
+     * true, wenn der gespeicherte Wert für diesen Schlüssel noch gilt
+     */
+    boolean matches(int x, int y, int z, int surfaceGeneration, int partsVersion, long gameTime) {
+        return valid && x == this.x && y == this.y && z == this.z
+                && surfaceGeneration == this.surfaceGeneration
+                && partsVersion == this.partsVersion
+                && gameTime - time < recheckTicks
+                && gameTime >= time;
+    }
+
+    float get() {
+        return value;
+    }
+
+    /**
+     * Speichert einen neu berechneten Wert und gibt ihn zurück
+     */
+    float store(float value, int x, int y, int z, int surfaceGeneration, int partsVersion, long gameTime) {
+        this.value = value;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.surfaceGeneration = surfaceGeneration;
+        this.partsVersion = partsVersion;
+        this.time = gameTime;
+        this.valid = true;
+        return value;
+    }
+}
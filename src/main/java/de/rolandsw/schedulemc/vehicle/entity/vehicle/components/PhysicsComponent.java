@@ -10,6 +10,7 @@ import de.rolandsw.schedulemc.vehicle.sounds.ModSounds;
 import de.rolandsw.schedulemc.vehicle.sounds.SoundLoopHigh;
 import de.rolandsw.schedulemc.vehicle.sounds.SoundLoopIdle;
 import de.rolandsw.schedulemc.vehicle.sounds.SoundLoopStart;
+import de.rolandsw.schedulemc.vehicle.util.DriveSurfaceTable;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.resources.sounds.SoundInstance;
 import net.minecraft.core.BlockPos;
@@ -57,6 +58,7 @@ public class PhysicsComponent extends VehicleComponent {
     private static final float MAX_STEERING_ANGLE = 32.0F;
     private static final ResourceKey<DamageType> DAMAGE_VEHICLE_TYPE = ResourceKey.create(Registries.DAMAGE_TYPE, ResourceLocation.fromNamespaceAndPath(Main.MODID, "hit_vehicle"));
     private static final float STEERING_SPEED = 5.0F;
+    private static final int MODIFIER_RECHECK_TICKS = 200;
 
     private float wheelRotation;
     private float prevSteeringAngle;
@@ -68,6 +70,9 @@ public class PhysicsComponent extends VehicleComponent {
     private double odometerAccumulator;
     private boolean odometerInitialized;
 
+    // OPTIMIERT: Cache für getModifier() (Untergrund + Reifen/Jahreszeit)
+    private final ModifierCache modifierCache = new ModifierCache(MODIFIER_RECHECK_TICKS);
+
     @OnlyIn(Dist.CLIENT)
     private boolean collidedLastTick;
 
@@ -88,6 +93,17 @@ public class PhysicsComponent extends VehicleComponent {
     private int pushCheckCounter = 0;
     private static final int PUSH_CHECK_INTERVAL = 4;
 
+    // OPTIMIERT: Schlafmodus für geparkte Fahrzeuge (kein Fahrer, Motor aus, Stillstand).
+    // Schlafend entfallen Schwerkraft, Steuerung, checkPush() und move(); nur Aufwach-Bedingungen
+    // werden geprüft, Boden- und Schiebe-Probe nur alle SLEEP_PROBE_INTERVAL Ticks.
+    private static final int SLEEP_SETTLE_TICKS = 20;
+    private static final int SLEEP_PROBE_INTERVAL = 20;
+    private boolean sleeping;
+    private int idleTicks;
+    private double sleepX;
+    private double sleepY;
+    private double sleepZ;
+
     public PhysicsComponent(EntityGenericVehicle vehicle) {
         super(vehicle);
     }
@@ -112,6 +128,16 @@ public class PhysicsComponent extends VehicleComponent {
     public void tick() {
         prevSteeringAngle = getSteeringAngle();
 
+        if (sleeping) {
+            if (!shouldWakeUp()) {
+                if (vehicle.level().isClientSide) {
+                    updateSounds();
+                }
+                return;
+            }
+            wakeUp();
+        }
+
         Runnable task = tasks.poll();
         while (task != null) {
             task.run();
@@ -144,9 +170,87 @@ public class PhysicsComponent extends VehicleComponent {
         }
 
         updateWheelRotation();
+        updateSleepState();
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // SCHLAFMODUS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    public boolean isSleeping() {
+        return sleeping;
+    }
+
+    /**
+     * Weckt das Fahrzeug auf (Interaktion, Schaden, Stoß, Einsteigen, Kollision)
+     */
+    public void wakeUp() {
+        sleeping = false;
+        idleTicks = 0;
+        // Erste Schiebe-Prüfung direkt im nächsten Tick
+        pushCheckCounter = PUSH_CHECK_INTERVAL - 1;
+    }
+
+    /**
+     * Zählt ruhige Ticks und legt das Fahrzeug nach {@value #SLEEP_SETTLE_TICKS} Ticks schlafen
+     */
+    private void updateSleepState() {
+        if (!isIdle() || !vehicle.onGround() || !tasks.isEmpty()) {
+            idleTicks = 0;
+            return;
+        }
+        if (++idleTicks >= SLEEP_SETTLE_TICKS) {
+            sleeping = true;
+            sleepX = vehicle.getX();
+            sleepY = vehicle.getY();
+            sleepZ = vehicle.getZ();
+        }
+    }
+
+    /**
+     * Stillstand ohne Fahrer, Motor aus, keine Eingaben
+     */
+    private boolean isIdle() {
+        if (vehicle.isVehicle() || isStarted() || getSpeed() != 0F || getSteeringAngle() != 0F) {
+            return false;
+        }
+        if (isForward() || isBackward() || isLeft() || isRight()) {
+            return false;
+        }
+        BatteryComponent battery = vehicle.getBatteryComponent();
+        if (battery != null && battery.isStarting()) {
+            return false;
+        }
+        return vehicle.getDeltaMovement().lengthSqr() < 1.0E-6D;
+    }
+
+    private boolean shouldWakeUp() {
+        if (!tasks.isEmpty() || !isIdle()) {
+            return true;
+        }
+        // Von außen versetzt (Teleport, Abschleppen, Server-Position auf dem Client)
+        if (vehicle.getX() != sleepX || vehicle.getY() != sleepY || vehicle.getZ() != sleepZ) {
+            return true;
+        }
+        // Proben gestaffelt über die Entity-ID, damit nicht alle Fahrzeuge im selben Tick prüfen
+        if ((vehicle.tickCount + vehicle.getId()) % SLEEP_PROBE_INTERVAL != 0) {
+            return false;
+        }
+        return !hasGroundSupport() || findPushingPlayer() != null;
+    }
+
+    private boolean hasGroundSupport() {
+        if (vehicle.isNoGravity()) {
+            return true;
+        }
+        return !vehicle.level().noCollision(vehicle, vehicle.getBoundingBox().move(0D, -0.1D, 0D));
     }
 
     public boolean canCollideWith(Entity entityIn) {
+        // Fahrendes Fahrzeug stößt an ein geparktes → aufwecken
+        if (entityIn instanceof EntityGenericVehicle other && getSpeed() != 0F) {
+            other.getPhysicsComponent().wakeUp();
+        }
         if (!vehicle.level().isClientSide && ModConfigHandler.VEHICLE_SERVER.damageEntities.get() && entityIn instanceof LivingEntity && !vehicle.getPassengers().contains(entityIn)) {
             if (entityIn.getBoundingBox().intersects(vehicle.getBoundingBox())) {
                 float speed = getSpeed();
@@ -169,16 +273,27 @@ public class PhysicsComponent extends VehicleComponent {
         if (pushCheckCounter < PUSH_CHECK_INTERVAL) return;
         pushCheckCounter = 0;
 
+        Player player = findPushingPlayer();
+        if (player != null) {
+            double motX = vehicle.calculateMotionX(0.05F, player.getYRot());
+            double motZ = vehicle.calculateMotionZ(0.05F, player.getYRot());
+            vehicle.move(MoverType.PLAYER, new Vec3(motX, 0, motZ));
+            idleTicks = 0; // Wird geschoben: nicht einschlafen
+        }
+    }
+
+    /**
+     * Schleichender Spieler direkt am Fahrzeug (schiebt es), sonst null
+     */
+    private Player findPushingPlayer() {
         List<Player> list = vehicle.level().getEntitiesOfClass(Player.class, vehicle.getBoundingBox().expandTowards(0.2, 0, 0.2).expandTowards(-0.2, 0, -0.2));
 
         for (Player player : list) {
             if (!player.hasPassenger(vehicle) && player.isShiftKeyDown()) {
-                double motX = vehicle.calculateMotionX(0.05F, player.getYRot());
-                double motZ = vehicle.calculateMotionZ(0.05F, player.getYRot());
-                vehicle.move(MoverType.PLAYER, new Vec3(motX, 0, motZ));
-                return;
+                return player;
             }
         }
+        return null;
     }
 
     public boolean canEngineStayOn() {
@@ -352,21 +467,34 @@ public class PhysicsComponent extends VehicleComponent {
         return 0;
     }
 
+    /**
+     * Geschwindigkeits-Faktor aus Untergrund und Reifen/Jahreszeit
+     *
+     * OPTIMIERT: Ergebnis wird pro Block-Position gecacht. Neu berechnet wird nur bei
+     * Blockwechsel, Änderung der Drive-Surface-Tabelle (Config/Tags), Part-Änderung oder
+     * spätestens alle {@value #MODIFIER_RECHECK_TICKS} Ticks (Block unter dem Fahrzeug kann
+     * sich ändern, Jahreszeit wechselt).
+     */
     public float getModifier() {
-        BlockPos pos = new BlockPos((int) vehicle.getX(), (int) (vehicle.getY() - 0.1D), (int) vehicle.getZ());
-        BlockState state = vehicle.level().getBlockState(pos);
+        int x = (int) vehicle.getX();
+        int y = (int) (vehicle.getY() - 0.1D);
+        int z = (int) vehicle.getZ();
+        long gameTime = vehicle.level().getGameTime();
+        // Vor der Berechnung lesen: ein invalidate() währenddessen macht den Eintrag sofort ungültig
+        int surfaceGeneration = DriveSurfaceTable.getGeneration();
+        int partsVersion = vehicle.getPartsVersion();
 
-        float baseModifier;
-        if (state.isAir() || ModConfigHandler.VEHICLE_SERVER.vehicleDriveBlockList.stream().anyMatch(tag -> tag.contains(state.getBlock()))) {
-            baseModifier = ModConfigHandler.VEHICLE_SERVER.vehicleOnroadSpeed.get().floatValue();
-        } else {
-            baseModifier = ModConfigHandler.VEHICLE_SERVER.vehicleOffroadSpeed.get().floatValue();
+        if (modifierCache.matches(x, y, z, surfaceGeneration, partsVersion, gameTime)) {
+            return modifierCache.get();
         }
 
+        BlockState state = vehicle.level().getBlockState(new BlockPos(x, y, z));
+        float baseModifier = DriveSurfaceTable.getSpeedModifier(state);
+
         // Tire season modifier (Serene Seasons Integration)
         float seasonModifier = getTireSeasonModifier();
 
-        return baseModifier * seasonModifier;
+        return modifierCache.store(baseModifier * seasonModifier, x, y, z, surfaceGeneration, partsVersion, gameTime);
     }
 
     private float getTireSeasonModifier() {
@@ -0,0 +1,114 @@
+package de.rolandsw.schedulemc.vehicle.util;
+
+import de.maxhenkel.corelib.tag.Tag;
+import de.rolandsw.schedulemc.config.ModConfigHandler;
+import de.rolandsw.schedulemc.vehicle.Main;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraftforge.event.TagsUpdatedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.registries.ForgeRegistries;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Vorberechnete Zuordnung Block → Fahrbahn-Klasse (Straße / Gelände)
+ *
+ * Problem (Alt):
+ * - {@code PhysicsComponent.getModifier} streamte jeden Fahrzeug-Tick über alle konfigurierten
+ *   Drive-Block-Tags ({@code anyMatch(tag -> tag.contains(block))}) und las die
+ *   Geschwindigkeits-Faktoren aus der Config
+ *
+ * Lösung (Neu):
+ * - Einmaliger Durchlauf über die Block-Registry beim ersten Zugriff, Ergebnis als
+ *   Referenz-Set der Straßen-Blöcke; Abfrage ist ein Identity-Hash-Lookup
+ * - Bei Config-Reload und Tag-Reload wird die Tabelle verworfen und beim nächsten Zugriff neu
+ *   gebaut; {@link #getGeneration()} zeigt Fahrzeug-Caches an, dass sie veraltet sind
+ */
+@Mod.EventBusSubscriber(modid = Main.MODID)
+public final class DriveSurfaceTable {
+
+    private static final class Snapshot {
+        final Set<Block> roadBlocks;
+        final float roadModifier;
+        final float offroadModifier;
+
+        Snapshot(Set<Block> roadBlocks, float roadModifier, float offroadModifier) {
+            this.roadBlocks = roadBlocks;
+            this.roadModifier = roadModifier;
+            this.offroadModifier = offroadModifier;
+        }
+    }
+
+    private static volatile Snapshot snapshot;
+    private static final AtomicInteger generation = new AtomicInteger();
+
+    private DriveSurfaceTable() {}
+
+    /**
+     * Geschwindigkeits-Faktor für einen Block-Zustand (vehicle_onroad_speed / vehicle_offroad_speed);
+     * Luft zählt wie bisher als Straße
+     */
+    public static float getSpeedModifier(BlockState state) {
+        Snapshot current = snapshot();
+        if (state.isAir() || current.roadBlocks.contains(state.getBlock())) {
+            return current.roadModifier;
+        }
+        return current.offroadModifier;
+    }
+
+    /**
+     * Zähler, der bei jeder Invalidierung steigt
+     */
+    public static int getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Verwirft die Tabelle (Config- oder Tag-Reload)
+     */
+    public static void invalidate() {
+        snapshot = null;
+        generation.incrementAndGet();
+    }
+
+    @SubscribeEvent
+    public static void onTagsUpdated(TagsUpdatedEvent event) {
+        invalidate();
+    }
+
+    private static Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            int buildGeneration = generation.get();
+            current = build();
+            // Nur veröffentlichen, wenn während des Aufbaus kein invalidate() kam
+            if (generation.get() == buildGeneration) {
+                snapshot = current;
+            }
+        }
+        return current;
+    }
+
+    private static Snapshot build() {
+        List<Tag<Block>> driveTags = ModConfigHandler.VEHICLE_SERVER.vehicleDriveBlockList;
+        Set<Block> roadBlocks = new ReferenceOpenHashSet<>();
+        if (!driveTags.isEmpty()) {
+            for (Block block : ForgeRegistries.BLOCKS.getValues()) {
+                for (Tag<Block> tag : driveTags) {
+                    if (tag.contains(block)) {
+                        roadBlocks.add(block);
+                        break;
+                    }
+                }
+            }
+        }
+        return new Snapshot(roadBlocks,
+            ModConfigHandler.VEHICLE_SERVER.vehicleOnroadSpeed.get().floatValue(),
+            ModConfigHandler.VEHICLE_SERVER.vehicleOffroadSpeed.get().floatValue());
+    }
+}
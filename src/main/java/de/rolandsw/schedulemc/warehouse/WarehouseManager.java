@@ -1,8 +1,10 @@
 package de.rolandsw.schedulemc.warehouse;
 import de.rolandsw.schedulemc.util.EventHelper;
 import de.rolandsw.schedulemc.util.ConfigCache;
+import de.rolandsw.schedulemc.util.TimerWheel;
 
 import com.mojang.logging.LogUtils;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.minecraft.core.BlockPos;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
@@ -14,6 +16,7 @@ import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.event.level.BlockEvent;
+import net.minecraftforge.event.level.ChunkEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 import org.slf4j.Logger;
@@ -25,7 +28,6 @@ import java.io.OutputStream;
 import java.nio.file.Files;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * WarehouseManager - Globaler Manager für alle Warehouses
@@ -34,6 +36,11 @@ import java.util.concurrent.atomic.AtomicInteger;
  * - Trackt alle Warehouse-Positionen weltweit
  * - Führt Auto-Delivery unabhängig von Chunk-Loading durch
  * - Persistiert Warehouse-Positionen beim Server-Stop
+ *
+ * OPTIMIERT: Lieferungen über ein {@link TimerWheel} pro Level statt Prüfung aller Warehouses
+ * jede Sekunde. Jedes Warehouse steht mit seinem nächsten Liefertag im Rad; fällige Einträge
+ * werden mit einem Budget pro Tick abgearbeitet. Fällige Warehouses in ungeladenen Chunks
+ * warten pro Chunk und werden beim Chunk-Laden wieder eingeplant.
  */
 @Mod.EventBusSubscriber(modid = "schedulemc")
 public class WarehouseManager {
@@ -42,11 +49,14 @@ public class WarehouseManager {
     private static final Map<String, Set<BlockPos>> warehouses = new ConcurrentHashMap<>();
     // SICHERHEIT: volatile für Memory Visibility zwischen Threads
     private static volatile boolean dirty = false;
-    private static final AtomicInteger tickCounter = new AtomicInteger(0);
-    private static final int CHECK_INTERVAL = 20; // Prüfe jede Sekunde (20 ticks) für schnelle Reaktion
 
-    // OPTIMIERUNG: Cache für letzte Delivery-Tage (vermeidet Block-Entity-Lookups jeden Tick)
-    private static final Map<BlockPos, Long> lastDeliveryDayCache = new ConcurrentHashMap<>();
+    // Level-Key -> Liefertermine (Zeiteinheit: Minecraft-Tag); nur Server-Thread
+    private static final Map<String, TimerWheel<BlockPos>> deliverySchedule = new HashMap<>();  // NOPMD
+    // Level-Key -> ChunkPos -> fällige Warehouses, deren Chunk nicht geladen war
+    private static final Map<String, Long2ObjectOpenHashMap<Set<BlockPos>>> awaitingChunkLoad = new HashMap<>();  // NOPMD
+
+    // Termin für "so bald wie möglich prüfen" (Liefertag unbekannt)
+    private static final long CHECK_NOW = Long.MIN_VALUE;
 
     /**
      * Registriert ein Warehouse
@@ -54,6 +64,7 @@ public class WarehouseManager {
     public static void registerWarehouse(ServerLevel level, BlockPos pos) {
         String levelKey = getLevelKey(level);
         warehouses.computeIfAbsent(levelKey, k -> ConcurrentHashMap.newKeySet()).add(pos);
+        scheduleCheck(levelKey, pos, CHECK_NOW);
         dirty = true;
         LOGGER.info("Warehouse registriert: {} in Level {}", pos.toShortString(), levelKey);
     }
@@ -66,7 +77,7 @@ public class WarehouseManager {
         Set<BlockPos> levelWarehouses = warehouses.get(levelKey);
         if (levelWarehouses != null) {
             levelWarehouses.remove(pos);
-            lastDeliveryDayCache.remove(pos); // Cache bereinigen
+            cancelSchedule(levelKey, pos);
             if (levelWarehouses.isEmpty()) {
                 warehouses.remove(levelKey);
             }
@@ -76,7 +87,7 @@ public class WarehouseManager {
     }
 
     /**
-     * Server Tick Event - Prüft alle Warehouses auf Auto-Delivery
+     * Server Tick Event - Arbeitet fällige Warehouse-Lieferungen ab
      *
      * Verwendet Tag-basierte Logik wie NPCDailySalaryHandler.
      * Funktioniert mit /time add, /time set, Schlafen, etc.
@@ -87,80 +98,112 @@ public class WarehouseManager {
             // Überspringe wenn keine Spieler online sind
             if (server.getPlayerCount() == 0) return;
 
-            // Prüfe nur jede Sekunde (20 ticks) statt jeden Tick
-            if (tickCounter.incrementAndGet() < CHECK_INTERVAL) return;
-            tickCounter.set(0);
+            int budget = ConfigCache.getWarehouseDeliveriesPerTick();
+            for (Map.Entry<String, TimerWheel<BlockPos>> entry : deliverySchedule.entrySet()) {
+                TimerWheel<BlockPos> wheel = entry.getValue();
+                if (wheel.size() == 0) continue;
 
-            // Prüfe alle registrierten Warehouses
-            for (Map.Entry<String, Set<BlockPos>> entry : warehouses.entrySet()) {
                 String levelKey = entry.getKey();
                 ServerLevel level = getLevelByKey(server, levelKey);
-
-                if (level == null) {
-                    LOGGER.warn("[WarehouseManager] Level {} not found!", levelKey);
-                    continue;
-                }
+                if (level == null) continue; // Level (noch) nicht geladen
 
                 long currentDay = level.getDayTime() / 24000L;
-
-                // OPTIMIERUNG: Direkte Iteration ohne Kopie, ConcurrentHashMap.newKeySet() ist iterationssicher
-                for (BlockPos pos : entry.getValue()) {
-                    // PERFORMANCE: Nur geladene Chunks prüfen - verhindert Chunk-Loading durch Warehouse-Checks
-                    if (!level.isLoaded(pos)) continue;
-                    checkWarehouseDelivery(level, pos, currentDay);
-                }
+                wheel.advance(currentDay);
+                budget -= wheel.poll(budget, (pos, dueDay) -> processDueWarehouse(level, levelKey, pos, currentDay));
+                if (budget <= 0) break;
             }
         });
     }
 
     /**
-     * Prüft ein einzelnes Warehouse auf notwendige Delivery
-     *
-     * OPTIMIERT: Verwendet Cache um Block-Entity-Lookups zu minimieren.
-     * Block-Entity wird nur abgefragt wenn tatsächlich eine Delivery nötig ist.
+     * Chunk Load Event - Plant wartende Warehouses des Chunks wieder ein
      */
-    private static void checkWarehouseDelivery(ServerLevel level, BlockPos pos, long currentDay) {
-        long intervalDays = ConfigCache.getWarehouseDeliveryIntervalDays();
+    @SubscribeEvent
+    public static void onChunkLoad(ChunkEvent.Load event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) return;
 
-        // OPTIMIERUNG: Prüfe Cache zuerst - vermeide Block-Entity-Lookup wenn keine Delivery nötig
-        Long cachedLastDeliveryDay = lastDeliveryDayCache.get(pos);
-        if (cachedLastDeliveryDay != null && currentDay < cachedLastDeliveryDay + intervalDays) {
-            // Keine Delivery nötig laut Cache - überspringe Block-Entity-Lookup
-            return;
+        String levelKey = getLevelKey(level);
+        Long2ObjectOpenHashMap<Set<BlockPos>> byChunk = awaitingChunkLoad.get(levelKey);
+        if (byChunk == null) return;
+
+        Set<BlockPos> waiting = byChunk.remove(event.getChunk().getPos().toLong());
+        if (waiting != null) {
+            for (BlockPos pos : waiting) {
+                scheduleCheck(levelKey, pos, CHECK_NOW);
+            }
         }
+    }
 
-        // Delivery möglicherweise nötig - jetzt Block-Entity laden (nur wenn Chunk geladen)
+    /**
+     * Verarbeitet ein fälliges Warehouse und plant den nächsten Termin
+     */
+    private static void processDueWarehouse(ServerLevel level, String levelKey, BlockPos pos, long currentDay) {
+        // PERFORMANCE: Nur geladene Chunks prüfen - verhindert Chunk-Loading durch Warehouse-Checks
         if (!level.isLoaded(pos)) {
-            return; // Chunk nicht geladen - Delivery beim naechsten Mal wenn Chunk geladen ist
+            awaitingChunkLoad.computeIfAbsent(levelKey, k -> new Long2ObjectOpenHashMap<>())
+                .computeIfAbsent(ChunkPos.asLong(pos), k -> new HashSet<>())  // NOPMD
+                .add(pos);
+            return;
         }
 
+        long nextDueDay = checkWarehouseDelivery(level, pos, currentDay);
+        if (nextDueDay >= 0) {
+            scheduleCheck(levelKey, pos, nextDueDay);
+        }
+    }
+
+    /**
+     * Prüft ein einzelnes Warehouse auf notwendige Delivery
+     *
+     * @return Tag der nächsten Prüfung, oder -1 wenn das Warehouse nicht mehr existiert
+     */
+    private static long checkWarehouseDelivery(ServerLevel level, BlockPos pos, long currentDay) {
+        long intervalDays = ConfigCache.getWarehouseDeliveryIntervalDays();
+
         try {
             BlockEntity be = level.getBlockEntity(pos);
             if (!(be instanceof WarehouseBlockEntity warehouse)) {
-                // Warehouse existiert nicht mehr - deregistrieren und aus Cache entfernen
-                lastDeliveryDayCache.remove(pos);
+                // Warehouse existiert nicht mehr - deregistrieren
                 unregisterWarehouse(level, pos);
-                return;
+                return -1;
             }
 
             long lastDeliveryDay = warehouse.getLastDeliveryDay();
 
-            // Cache aktualisieren
-            lastDeliveryDayCache.put(pos, lastDeliveryDay);
-
             // Prüfe ob genug Tage vergangen sind
             if (currentDay >= lastDeliveryDay + intervalDays) {
                 warehouse.performDelivery(level);
                 warehouse.setLastDeliveryDay(currentDay);
                 warehouse.setChanged();
                 warehouse.syncToClient();
-
-                // Cache mit neuem Wert aktualisieren
-                lastDeliveryDayCache.put(pos, currentDay);
+                lastDeliveryDay = currentDay;
             }
 
+            // Liefertag kann per Befehl zurückgesetzt werden: dann wird beim Termin erneut geprüft
+            return lastDeliveryDay + intervalDays;
+
         } catch (Exception e) {
             LOGGER.error("Fehler beim Prüfen von Warehouse @ {}", pos.toShortString(), e);
+            return currentDay + 1;
+        }
+    }
+
+    private static void scheduleCheck(String levelKey, BlockPos pos, long dueDay) {
+        deliverySchedule.computeIfAbsent(levelKey, k -> new TimerWheel<>(0L)).schedule(pos, dueDay);
+    }
+
+    private static void cancelSchedule(String levelKey, BlockPos pos) {
+        TimerWheel<BlockPos> wheel = deliverySchedule.get(levelKey);
+        if (wheel != null) {
+            wheel.cancel(pos);
+        }
+        Long2ObjectOpenHashMap<Set<BlockPos>> byChunk = awaitingChunkLoad.get(levelKey);
+        if (byChunk != null) {
+            long chunkKey = ChunkPos.asLong(pos);
+            Set<BlockPos> waiting = byChunk.get(chunkKey);
+            if (waiting != null && waiting.remove(pos) && waiting.isEmpty()) {
+                byChunk.remove(chunkKey);
+            }
         }
     }
 
@@ -208,7 +251,8 @@ public class WarehouseManager {
 
         // Alte Daten leeren um Duplikate bei Reload zu vermeiden
         warehouses.clear();
-        lastDeliveryDayCache.clear();
+        deliverySchedule.clear();
+        awaitingChunkLoad.clear();
 
         if (!dataFile.exists()) {
             LOGGER.info("★★★ [WarehouseManager] Keine Warehouse-Daten gefunden - warehouses map ist leer! ★★★");
@@ -233,6 +277,9 @@ public class WarehouseManager {
                 }
 
                 warehouses.put(levelKey, positions);
+                for (BlockPos pos : positions) {
+                    scheduleCheck(levelKey, pos, CHECK_NOW);
+                }
             }
 
             LOGGER.info("Warehouse-Daten geladen: {} Levels, {} total Warehouses",
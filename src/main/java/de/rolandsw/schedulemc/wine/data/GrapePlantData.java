@@ -27,4 +27,21 @@ public class GrapePlantData {
         int newStage = Math.min(7, ticksGrown / ticksPerStage);
         setGrowthStage(newStage);
     }
+
+    /**
+     * Führt {@code ticks} Aufrufe von {@link #tick()} in geschlossener Form aus (O(1))
+     *
+     * @return Anzahl der Stadium-Wechsel, gezählt wie bei einzelnen Ticks
+     */
+    public int advance(int ticks) {
+        if (ticks <= 0 || isFullyGrown()) return 0;
+        int ticksPerStage = Math.max(1, type.getGrowthTimeDays() / 8);
+        long ticksUntilGrown = Math.max(1L, 7L * ticksPerStage - ticksGrown);
+        int applied = (int) Math.min(ticks, ticksUntilGrown);
+        int oldStage = growthStage;
+        int firstStage = Math.min(7, (ticksGrown + 1) / ticksPerStage);
+        ticksGrown += applied;
+        setGrowthStage(Math.min(7, ticksGrown / ticksPerStage));
+        return (firstStage != oldStage ? 1 : 0) + (growthStage - firstStage);
+    }
 }
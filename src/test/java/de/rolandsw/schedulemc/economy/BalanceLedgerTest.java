@@ -0,0 +1,215 @@
+package de.rolandsw.schedulemc.economy;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for BalanceLedger
+ *
+ * Tests cover:
+ * - Cent arithmetic and caps
+ * - Removal and table growth
+ * - Map view compatibility
+ * - Conservation of money under concurrent transfers
+ * - Consistent snapshots during transfers
+ * - Removal racing concurrent deposits
+ */
+class BalanceLedgerTest {
+
+    private BalanceLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        ledger = new BalanceLedger();
+    }
+
+    @Test
+    @DisplayName("Unknown accounts should report NO_ACCOUNT")
+    void testUnknownAccount() {
+        UUID uuid = UUID.randomUUID();
+
+        assertThat(ledger.getCents(uuid)).isEqualTo(BalanceLedger.NO_ACCOUNT);
+        assertThat(ledger.hasAccount(uuid)).isFalse();
+        assertThat(ledger.get(uuid)).isNull();
+    }
+
+    @Test
+    @DisplayName("addCents should create the account and respect the cap")
+    void testAddCentsWithCap() {
+        UUID uuid = UUID.randomUUID();
+
+        assertThat(ledger.addCents(uuid, 1_055, 10_000)).isEqualTo(1_055);
+        assertThat(ledger.addCents(uuid, 20_000, 10_000)).isEqualTo(10_000);
+        assertThat(ledger.addCents(uuid, -12_000, Long.MAX_VALUE)).isEqualTo(-2_000);
+    }
+
+    @Test
+    @DisplayName("Removed accounts should disappear while others survive table growth")
+    void testRemoveAndGrow() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            UUID uuid = UUID.randomUUID();
+            ids.add(uuid);
+            ledger.setCents(uuid, i);
+        }
+        for (int i = 0; i < ids.size(); i += 2) {
+            assertThat(ledger.removeAccount(ids.get(i))).isEqualTo(i);
+        }
+
+        assertThat(ledger.size()).isEqualTo(2_500);
+        for (int i = 0; i < ids.size(); i++) {
+            assertThat(ledger.hasAccount(ids.get(i))).isEqualTo(i % 2 == 1);
+        }
+        assertThat(ledger.getCents(ids.get(4_999))).isEqualTo(4_999);
+    }
+
+    @Test
+    @DisplayName("Map view should round-trip euro values")
+    void testMapView() {
+        UUID uuid = UUID.randomUUID();
+
+        assertThat(ledger.put(uuid, 10.55)).isNull();
+        assertThat(ledger.put(uuid, 20.45)).isEqualTo(10.55);
+        assertThat(ledger).containsEntry(uuid, 20.45).hasSize(1);
+
+        ledger.clear();
+        assertThat(ledger).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Concurrent transfers and deposits should conserve the total balance")
+    void testConcurrentTransfersConserveMoney() throws Exception {
+        List<UUID> accounts = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            UUID uuid = UUID.randomUUID();
+            accounts.add(uuid);
+            ledger.setCents(uuid, 100_000);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            final long seed = t;
+            futures.add(executor.submit(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < 50_000; i++) {
+                    UUID from = accounts.get(random.nextInt(accounts.size()));
+                    UUID to = accounts.get(random.nextInt(accounts.size()));
+                    ledger.transferCents(from, to, random.nextInt(1_000), Long.MAX_VALUE);
+                    ledger.addCents(from, 50, Long.MAX_VALUE);
+                    ledger.addCents(to, -50, Long.MAX_VALUE);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        long total = 0;
+        for (UUID uuid : accounts) {
+            total += ledger.getCents(uuid);
+        }
+        assertThat(total).isEqualTo(16L * 100_000);
+    }
+
+    @Test
+    @DisplayName("Transfers should return both new balances")
+    void testTransferReturnsBothBalances() {
+        UUID from = UUID.randomUUID();
+        UUID to = UUID.randomUUID();
+        ledger.setCents(from, 10_000);
+        ledger.setCents(to, 500);
+
+        BalanceLedger.TransferResult result = ledger.transferCents(from, to, 2_500, Long.MAX_VALUE);
+
+        assertThat(result.fromCents()).isEqualTo(7_500);
+        assertThat(result.toCents()).isEqualTo(3_000);
+    }
+
+    @Test
+    @DisplayName("Snapshots taken during transfers should never see half a transfer")
+    void testSnapshotDuringTransfers() throws Exception {
+        List<UUID> accounts = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            UUID uuid = UUID.randomUUID();
+            accounts.add(uuid);
+            ledger.setCents(uuid, 100_000);
+        }
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final long seed = t;
+            futures.add(executor.submit(() -> {
+                Random random = new Random(seed);
+                while (running.get()) {
+                    UUID from = accounts.get(random.nextInt(accounts.size()));
+                    UUID to = accounts.get(random.nextInt(accounts.size()));
+                    ledger.transferCents(from, to, random.nextInt(1_000), Long.MAX_VALUE);
+                }
+            }));
+        }
+
+        try {
+            for (int i = 0; i < 2_000; i++) {
+                AtomicLong total = new AtomicLong();
+                ledger.forEachAccount((uuid, cents) -> total.addAndGet(cents));
+                assertThat(total.get()).isEqualTo(16L * 100_000);
+            }
+        } finally {
+            running.set(false);
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Deposits racing a removal should land either in the removed or in the new account")
+    void testRemoveRacingDeposits() throws Exception {
+        UUID uuid = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        ledger.setCents(other, 1_000_000);
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        for (int round = 0; round < 200; round++) {
+            ledger.setCents(uuid, 0);
+            Future<?> deposits = executor.submit(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    ledger.addCents(uuid, 1, Long.MAX_VALUE);
+                }
+            });
+            Future<?> transfers = executor.submit(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    ledger.transferCents(other, uuid, 1, Long.MAX_VALUE);
+                }
+            });
+            Future<Long> removal = executor.submit(() -> ledger.removeAccount(uuid));
+
+            deposits.get();
+            transfers.get();
+            long removed = removal.get();
+            long remaining = ledger.getCents(uuid);
+
+            long credited = (removed == BalanceLedger.NO_ACCOUNT ? 0 : removed)
+                    + (remaining == BalanceLedger.NO_ACCOUNT ? 0 : remaining);
+            assertThat(credited).isEqualTo(2_000L);
+            ledger.setCents(other, 1_000_000);
+        }
+        executor.shutdown();
+    }
+}
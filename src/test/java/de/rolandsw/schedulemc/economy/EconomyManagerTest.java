@@ -448,6 +448,81 @@ class EconomyManagerTest {
         assertThat(file.lastModified()).isGreaterThan(lastModified);
     }
 
+    @Test
+    @DisplayName("Should flush changed accounts to the journal without rewriting the snapshot")
+    void testSaveDirtyEntriesUsesJournal() throws Exception {
+        // Arrange
+        createAccountDirectly(testPlayer1, 1000.0);
+        createAccountDirectly(testPlayer2, 1000.0);
+        EconomyManager.saveAccounts();
+        String snapshot = java.nio.file.Files.readString(EconomyManager.getFile().toPath());
+
+        // Act
+        EconomyManager.deposit(testPlayer1, 250.0);
+        assertThat(EconomyManager.getInstance().getDirtyEntryCount()).isEqualTo(1);
+        var result = EconomyManager.getInstance().saveDirtyEntries(100);
+
+        // Assert - only one record written, snapshot untouched
+        assertThat(result.records).isEqualTo(1);
+        assertThat(result.fullSave).isFalse();
+        assertThat(result.bytesWritten).isPositive();
+        assertThat(EconomyManager.getInstance().isDirty()).isFalse();
+        assertThat(java.nio.file.Files.readString(EconomyManager.getFile().toPath())).isEqualTo(snapshot);
+
+        // Reload replays the journal on top of the snapshot
+        resetEconomyManager();
+        EconomyManager.loadAccounts();
+        assertThat(EconomyManager.getBalance(testPlayer1)).isEqualTo(1250.0);
+        assertThat(EconomyManager.getBalance(testPlayer2)).isEqualTo(1000.0);
+    }
+
+    @Test
+    @DisplayName("Should ignore a leftover journal that is older than the snapshot")
+    void testCrashAfterSnapshotDoesNotRollBack() throws Exception {
+        // Arrange - snapshot plus one journal record (1250)
+        createAccountDirectly(testPlayer1, 1000.0);
+        EconomyManager.saveAccounts();
+        EconomyManager.deposit(testPlayer1, 250.0);
+        EconomyManager.getInstance().saveDirtyEntries(100);
+        Path journal = tempDir.resolve("test_economy.journal");
+        Path rotated = tempDir.resolve("test_economy.journal.old");
+        byte[] journalBeforeSave = java.nio.file.Files.readAllBytes(journal);
+
+        // Act - full save with a newer balance, then "crash" after the snapshot was written
+        // but before the rotated journal was deleted and the current journal was reset
+        EconomyManager.deposit(testPlayer1, 250.0);
+        EconomyManager.saveAccounts();
+        java.nio.file.Files.write(rotated, journalBeforeSave);
+        java.nio.file.Files.write(journal, journalBeforeSave);
+
+        resetEconomyManager();
+        EconomyManager.loadAccounts();
+
+        // Assert - snapshot wins, stale journals are discarded
+        assertThat(EconomyManager.getBalance(testPlayer1)).isEqualTo(1500.0);
+        assertThat(rotated.toFile()).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Should replay the rotated journal when the snapshot write did not complete")
+    void testCrashBeforeSnapshotReplaysRotatedJournal() throws Exception {
+        // Arrange - snapshot plus one journal record (1250)
+        createAccountDirectly(testPlayer1, 1000.0);
+        EconomyManager.saveAccounts();
+        EconomyManager.deposit(testPlayer1, 250.0);
+        EconomyManager.getInstance().saveDirtyEntries(100);
+
+        // Act - "crash" right after rotating the journal, before the new snapshot was written
+        Path journal = tempDir.resolve("test_economy.journal");
+        java.nio.file.Files.move(journal, tempDir.resolve("test_economy.journal.old"));
+
+        resetEconomyManager();
+        EconomyManager.loadAccounts();
+
+        // Assert - rotated journal belongs to the old snapshot and is replayed
+        assertThat(EconomyManager.getBalance(testPlayer1)).isEqualTo(1250.0);
+    }
+
     // ==================== Health Monitoring Tests ====================
 
     @Test
@@ -0,0 +1,197 @@
+package de.rolandsw.schedulemc.economy;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for TransactionLog
+ *
+ * Tests cover:
+ * - Daily segment files and reopening
+ * - Paging newest first and time range queries
+ * - Stable IDs for transactions without a UUID ID
+ * - Torn record truncation
+ * - Per-player clearing and segment retention
+ */
+class TransactionLogTest {
+
+    private static final long DAY = 86_400_000L;
+    private static final long BASE = 20_000 * DAY;
+
+    @TempDir
+    Path tempDir;
+
+    private File directory;
+    private UUID player;
+    private UUID other;
+
+    @BeforeEach
+    void setUp() {
+        directory = tempDir.resolve("transactions").toFile();
+        player = UUID.randomUUID();
+        other = UUID.randomUUID();
+    }
+
+    private TransactionLog openLog() throws IOException {
+        TransactionLog log = new TransactionLog(directory);
+        log.open();
+        return log;
+    }
+
+    private static Transaction transactionAt(long timestamp, double amount) {
+        return new Transaction(UUID.randomUUID().toString(), timestamp, TransactionType.TRANSFER,
+            null, null, amount, "Test " + (int) amount, amount);
+    }
+
+    /**
+     * 300 Transaktionen über 3 Tage, jede dritte gehört {@code other}
+     */
+    private void fillThreeDays(TransactionLog log) throws IOException {
+        for (int i = 0; i < 300; i++) {
+            log.append(i % 3 == 0 ? other : player, transactionAt(BASE + i * (DAY / 100), i));
+        }
+        log.flush();
+    }
+
+    @Test
+    @DisplayName("Transactions should be split into daily segments and survive reopening")
+    void testSegmentsAndReopen() throws IOException {
+        TransactionLog log = openLog();
+        fillThreeDays(log);
+
+        assertThat(log.getSegmentCount()).isEqualTo(3);
+
+        TransactionLog reopened = openLog();
+        assertThat(reopened.count(player)).isEqualTo(200);
+        assertThat(reopened.count(other)).isEqualTo(100);
+
+        Transaction newest = reopened.readPage(player, 0, 1).get(0);
+        assertThat(newest.getAmount()).isEqualTo(299.0);
+        assertThat(newest.getTimestamp()).isEqualTo(BASE + 299 * (DAY / 100));
+        assertThat(newest.getType()).isEqualTo(TransactionType.TRANSFER);
+        assertThat(newest.getDescription()).isEqualTo("Test 299");
+    }
+
+    @Test
+    @DisplayName("Pages should continue seamlessly across segment boundaries")
+    void testPagingAcrossSegments() throws IOException {
+        TransactionLog log = openLog();
+        fillThreeDays(log);
+
+        List<Transaction> all = log.readPage(player, 0, Integer.MAX_VALUE);
+        List<Transaction> page = log.readPage(player, 120, 50);
+
+        assertThat(all).hasSize(200);
+        assertThat(page).hasSize(50);
+        assertThat(page.get(0).getTransactionId()).isEqualTo(all.get(120).getTransactionId());
+        assertThat(page.get(49).getTransactionId()).isEqualTo(all.get(169).getTransactionId());
+    }
+
+    @Test
+    @DisplayName("Range queries should only return transactions inside the window")
+    void testRangeQuery() throws IOException {
+        TransactionLog log = openLog();
+        fillThreeDays(log);
+
+        List<Transaction> secondDay = log.readRange(player, BASE + DAY, BASE + 2 * DAY - 1);
+
+        assertThat(secondDay).hasSize(67);
+        assertThat(secondDay).allMatch(t -> t.getTimestamp() >= BASE + DAY && t.getTimestamp() < BASE + 2 * DAY);
+        assertThat(secondDay).isSortedAccordingTo((a, b) -> Long.compare(a.getTimestamp(), b.getTimestamp()));
+    }
+
+    @Test
+    @DisplayName("Unflushed transactions should be visible to queries")
+    void testPendingVisible() throws IOException {
+        TransactionLog log = openLog();
+        log.append(player, transactionAt(BASE, 1));
+
+        assertThat(log.hasPendingRecords()).isTrue();
+        assertThat(log.readPage(player, 0, 10)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Transactions without a UUID ID should keep the same substitute ID across reads")
+    void testStableFallbackId() throws IOException {
+        TransactionLog log = openLog();
+        log.append(player, new Transaction("legacy-1", BASE, TransactionType.TRANSFER, null, null, 5.0, "Alt", 5.0));
+        log.append(player, new Transaction("legacy-2", BASE + 1, TransactionType.TRANSFER, null, null, 6.0, "Alt", 6.0));
+
+        String pendingId = log.readPage(player, 1, 1).get(0).getTransactionId();
+        assertThat(log.readPage(player, 1, 1).get(0).getTransactionId()).isEqualTo(pendingId);
+        assertThat(log.readPage(player, 0, 1).get(0).getTransactionId()).isNotEqualTo(pendingId);
+        assertThat(UUID.fromString(pendingId)).isNotNull();
+
+        log.flush();
+        TransactionLog reopened = openLog();
+        assertThat(reopened.readPage(player, 1, 1).get(0).getTransactionId()).isEqualTo(pendingId);
+    }
+
+    @Test
+    @DisplayName("A torn record at the end of a segment should be truncated on open")
+    void testTornRecord() throws IOException {
+        TransactionLog log = openLog();
+        log.append(player, transactionAt(BASE, 1));
+        log.append(player, transactionAt(BASE + 1, 2));
+        log.flush();
+
+        File segment = directory.listFiles((dir, name) -> name.endsWith(".seg"))[0];
+        long validLength = segment.length();
+        try (RandomAccessFile raf = new RandomAccessFile(segment, "rw")) {
+            raf.setLength(validLength + TransactionLog.RECORD_BYTES / 2);
+        }
+
+        TransactionLog reopened = openLog();
+        assertThat(segment.length()).isEqualTo(validLength);
+        assertThat(reopened.count(player)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Clearing a player should hide old entries but keep new ones")
+    void testClearPlayer() throws IOException {
+        TransactionLog log = openLog();
+        fillThreeDays(log);
+
+        log.clearPlayer(other);
+        log.append(other, new Transaction(TransactionType.OTHER, null, other, 5.0, null, 5.0));
+        log.flush();
+
+        TransactionLog reopened = openLog();
+        assertThat(reopened.count(other)).isEqualTo(1);
+        assertThat(reopened.count(player)).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Expired segments should be deleted as whole files")
+    void testRetention() throws IOException {
+        TransactionLog log = openLog();
+        fillThreeDays(log);
+
+        int deleted = log.deleteSegmentsBefore(BASE + 2 * DAY);
+
+        assertThat(deleted).isEqualTo(2);
+        assertThat(log.getSegmentCount()).isEqualTo(1);
+        assertThat(log.readPage(player, 0, Integer.MAX_VALUE))
+            .allMatch(t -> t.getTimestamp() >= BASE + 2 * DAY);
+    }
+
+    @Test
+    @DisplayName("Long descriptions should be truncated on a character boundary")
+    void testDescriptionTruncation() {
+        String text = "ü".repeat(TransactionLog.MAX_DESCRIPTION_BYTES);
+
+        byte[] truncated = TransactionLog.truncateUtf8(text, TransactionLog.MAX_DESCRIPTION_BYTES);
+
+        assertThat(truncated.length).isLessThanOrEqualTo(TransactionLog.MAX_DESCRIPTION_BYTES);
+        assertThat(truncated.length % 2).isZero();
+    }
+}
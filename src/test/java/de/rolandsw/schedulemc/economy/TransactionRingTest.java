@@ -0,0 +1,136 @@
+package de.rolandsw.schedulemc.economy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for TransactionRing
+ *
+ * Tests cover:
+ * - Growth up to the maximum and overwriting the oldest entry when full
+ * - Late (out-of-order) transactions, also across the wrap point
+ * - Inclusive between() bounds and timestamps just outside them
+ * - removeOlderThan on a wrapped ring
+ */
+class TransactionRingTest {
+
+    private static Transaction at(long timestamp) {
+        return new Transaction(UUID.randomUUID().toString(), timestamp, TransactionType.TRANSFER,
+            null, null, timestamp, "Test " + timestamp, timestamp);
+    }
+
+    private static long[] timestamps(List<Transaction> transactions) {
+        return transactions.stream().mapToLong(Transaction::getTimestamp).toArray();
+    }
+
+    private static TransactionRing ringOf(int maxCapacity, long... timestamps) {
+        TransactionRing ring = new TransactionRing(maxCapacity);
+        for (long timestamp : timestamps) {
+            ring.add(at(timestamp));
+        }
+        return ring;
+    }
+
+    @Test
+    @DisplayName("A full ring should overwrite its oldest transaction")
+    void testOverwriteWhenFull() {
+        TransactionRing ring = ringOf(4, 1, 2, 3, 4);
+        assertThat(ring.isFull()).isTrue();
+
+        ring.add(at(5));
+        ring.add(at(6));
+
+        assertThat(ring.size()).isEqualTo(4);
+        assertThat(ring.oldestTimestamp()).isEqualTo(3L);
+        assertThat(timestamps(ring.all())).containsExactly(3L, 4L, 5L, 6L);
+        assertThat(timestamps(ring.recent(2))).containsExactly(6L, 5L);
+        assertThat(timestamps(ring.recent(1, 2))).containsExactly(5L, 4L);
+    }
+
+    @Test
+    @DisplayName("The ring should grow until the maximum before overwriting")
+    void testGrowthKeepsOrder() {
+        TransactionRing ring = new TransactionRing(40);
+        for (long t = 1; t <= 45; t++) {
+            ring.add(at(t));
+        }
+
+        assertThat(ring.size()).isEqualTo(40);
+        assertThat(ring.oldestTimestamp()).isEqualTo(6L);
+        assertThat(timestamps(ring.recent(3))).containsExactly(45L, 44L, 43L);
+    }
+
+    @Test
+    @DisplayName("Late transactions should be inserted in timestamp order")
+    void testOutOfOrderInsert() {
+        TransactionRing ring = ringOf(8, 10, 30, 20, 5);
+
+        assertThat(timestamps(ring.all())).containsExactly(5L, 10L, 20L, 30L);
+        assertThat(ring.oldestTimestamp()).isEqualTo(5L);
+    }
+
+    @Test
+    @DisplayName("A late transaction should be ordered correctly across the wrap point")
+    void testOutOfOrderInsertAcrossWrap() {
+        // Head moves to slot 2, the newest entries wrap to slots 0 and 1
+        TransactionRing ring = ringOf(4, 1, 2, 3, 4, 6, 7);
+
+        ring.add(at(5));
+
+        assertThat(timestamps(ring.all())).containsExactly(4L, 5L, 6L, 7L);
+        assertThat(timestamps(ring.recent(4))).containsExactly(7L, 6L, 5L, 4L);
+    }
+
+    @Test
+    @DisplayName("between() should include both bounds and exclude timestamps outside them")
+    void testBetweenBounds() {
+        TransactionRing ring = ringOf(8, 10, 20, 20, 30, 40);
+
+        assertThat(timestamps(ring.between(20, 30))).containsExactly(20L, 20L, 30L);
+        assertThat(timestamps(ring.between(21, 39))).containsExactly(30L);
+        assertThat(timestamps(ring.between(11, 19))).isEmpty();
+        assertThat(timestamps(ring.between(Long.MIN_VALUE, 10))).containsExactly(10L);
+        assertThat(timestamps(ring.between(40, Long.MAX_VALUE))).containsExactly(40L);
+        assertThat(timestamps(ring.between(41, Long.MAX_VALUE))).isEmpty();
+        assertThat(ring.between(30, 20)).isEmpty();
+        assertThat(new TransactionRing(4).between(0, 100)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("between() should work on a wrapped ring")
+    void testBetweenAcrossWrap() {
+        TransactionRing ring = ringOf(4, 1, 2, 3, 4, 5, 6);
+
+        assertThat(timestamps(ring.between(4, 5))).containsExactly(4L, 5L);
+        assertThat(timestamps(ring.between(2, 100))).containsExactly(3L, 4L, 5L, 6L);
+    }
+
+    @Test
+    @DisplayName("removeOlderThan should drop entries on both sides of the wrap point")
+    void testRemoveOlderThanAcrossWrap() {
+        // Physical layout after wrapping: [5, 6, 3, 4], head at slot 2
+        TransactionRing ring = ringOf(4, 1, 2, 3, 4, 5, 6);
+
+        assertThat(ring.removeOlderThan(6)).isEqualTo(3);
+        assertThat(timestamps(ring.all())).containsExactly(6L);
+        assertThat(ring.isFull()).isFalse();
+
+        ring.add(at(7));
+        ring.add(at(8));
+        ring.add(at(9));
+        assertThat(timestamps(ring.all())).containsExactly(6L, 7L, 8L, 9L);
+
+        assertThat(ring.removeOlderThan(3)).isEqualTo(0);
+        assertThat(ring.removeOlderThan(100)).isEqualTo(4);
+        assertThat(ring.isEmpty()).isTrue();
+        assertThat(ring.oldestTimestamp()).isEqualTo(Long.MAX_VALUE);
+
+        ring.add(at(10));
+        assertThat(timestamps(ring.all())).containsExactly(10L);
+    }
+}
@@ -124,6 +124,23 @@ public class RoadGraphTest {
         assertNull(nearest);
     }
 
+    @Test
+    @Order(8)
+    @DisplayName("findNearestNode mit Radius: Grenze ist inklusive")
+    void testFindNearestNodeWithRadiusBoundary() {
+        RoadNode nearest = simpleGraph.findNearestNode(new BlockPos(23, 64, 4), 5.0);
+        assertNotNull(nearest);
+        assertEquals(nodeC.getId(), nearest.getId());
+    }
+
+    @Test
+    @Order(8)
+    @DisplayName("findNearestRoadPoint findet Punkt auf dem Segment")
+    void testFindNearestRoadPoint() {
+        assertEquals(new BlockPos(13, 64, 0), simpleGraph.findNearestRoadPoint(new BlockPos(13, 64, 6)));
+        assertNull(emptyGraph.findNearestRoadPoint(new BlockPos(13, 64, 6)));
+    }
+
     @Test
     @Order(9)
     @DisplayName("Pfad von A nach C wird gefunden")
@@ -0,0 +1,136 @@
+package de.rolandsw.schedulemc.mapview.data.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for RegionCacheTable
+ *
+ * Tests cover:
+ * - Packing of negative region coordinates
+ * - CLOCK eviction against byte budget and entry limit
+ * - Pinned entries, retired sentinels and hit rate metrics
+ */
+class RegionCacheTableTest {
+
+    private static final long MB = 1024L * 1024L;
+
+    /** Region stand-in with a mutable size */
+    private static final class Region {
+        final int x;
+        final int z;
+        long bytes = MB;
+
+        Region(int x, int z) {
+            this.x = x;
+            this.z = z;
+        }
+    }
+
+    private static RegionCacheTable<Region> table() {
+        return new RegionCacheTable<>(region -> region.bytes);
+    }
+
+    @Test
+    @DisplayName("Keys round-trip negative coordinates")
+    void keyPacking() {
+        long key = RegionCacheTable.key(-3, 17);
+        assertThat(RegionCacheTable.keyX(key)).isEqualTo(-3);
+        assertThat(RegionCacheTable.keyZ(key)).isEqualTo(17);
+        assertThat(RegionCacheTable.keyZ(RegionCacheTable.key(5, -1))).isEqualTo(-1);
+        assertThat(RegionCacheTable.key(0, -1)).isNotEqualTo(RegionCacheTable.key(-1, 0));
+    }
+
+    @Test
+    @DisplayName("Sweep evicts until the byte budget is met, referenced regions survive")
+    void evictsToBudget() {
+        RegionCacheTable<Region> table = table();
+        for (int x = 0; x < 8; x++) {
+            table.computeIfAbsent(x, 0, Region::new);
+        }
+        // Over budget by one: the first turn clears all reference bits, then (0,0) goes
+        assertThat(table.evict(7 * MB, 100, key -> false, region -> { })).isEqualTo(1);
+        table.computeIfAbsent(2, 0, Region::new);
+
+        List<Integer> evicted = new ArrayList<>();
+        int count = table.evict(4 * MB, 100, key -> false, region -> evicted.add(region.x));
+
+        // (2,0) was touched again and gets a second chance
+        assertThat(count).isEqualTo(3);
+        assertThat(evicted).containsExactly(1, 3, 4);
+        assertThat(table.getResidentBytes()).isEqualTo(4 * MB);
+        assertThat(table.peek(2, 0)).isNotNull();
+        assertThat(table.peek(1, 0)).isNull();
+    }
+
+    @Test
+    @DisplayName("Compressed regions count with their current size")
+    void remeasuresSizes() {
+        RegionCacheTable<Region> table = table();
+        for (int x = 0; x < 4; x++) {
+            table.computeIfAbsent(x, 0, Region::new).bytes = 64 * 1024;
+        }
+
+        assertThat(table.evict(MB, 100, key -> false, region -> { })).isZero();
+        assertThat(table.getResidentBytes()).isEqualTo(256 * 1024L);
+
+        table.peek(0, 0).bytes = 2 * MB;
+        assertThat(table.evict(MB, 100, key -> false, region -> { })).isGreaterThan(0);
+        assertThat(table.getResidentBytes()).isLessThanOrEqualTo(MB);
+    }
+
+    @Test
+    @DisplayName("Pinned regions are never evicted, even over budget")
+    void pinnedSurvive() {
+        RegionCacheTable<Region> table = table();
+        for (int z = -2; z < 2; z++) {
+            table.computeIfAbsent(0, z, Region::new);
+        }
+
+        table.evict(0L, 0, key -> RegionCacheTable.keyZ(key) < 0, region -> { });
+
+        assertThat(table.residentCount()).isEqualTo(2);
+        assertThat(table.peek(0, -2)).isNotNull();
+        assertThat(table.peek(0, -1)).isNotNull();
+        assertThat(table.peek(0, 0)).isNull();
+    }
+
+    @Test
+    @DisplayName("Retired regions keep their sentinel and leave the ring")
+    void retireKeepsSentinel() {
+        RegionCacheTable<Region> table = table();
+        Region sentinel = new Region(0, 0);
+        table.computeIfAbsent(1, 1, Region::new);
+        table.computeIfAbsent(2, 2, Region::new);
+
+        List<Region> retired = new ArrayList<>();
+        assertThat(table.retireIf(region -> region.x == 1, sentinel, retired::add)).isEqualTo(1);
+
+        assertThat(retired).hasSize(1);
+        assertThat(table.peek(1, 1)).isSameAs(sentinel);
+        assertThat(table.computeIfAbsent(1, 1, Region::new)).isSameAs(sentinel);
+        assertThat(table.residentCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Hit rate counts computeIfAbsent only")
+    void hitRate() {
+        RegionCacheTable<Region> table = table();
+        table.computeIfAbsent(0, 0, Region::new);
+        table.computeIfAbsent(0, 0, Region::new);
+        table.computeIfAbsent(0, 0, Region::new);
+        table.computeIfAbsent(1, 0, Region::new);
+        table.peek(0, 0);
+
+        assertThat(table.getHits()).isEqualTo(2);
+        assertThat(table.getMisses()).isEqualTo(2);
+        assertThat(table.getHitRate()).isEqualTo(0.5);
+        assertThat(table.clear()).hasSize(2);
+        assertThat(table.peek(0, 0)).isNull();
+    }
+}
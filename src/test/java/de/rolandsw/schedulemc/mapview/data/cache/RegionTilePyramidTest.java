@@ -0,0 +1,210 @@
+package de.rolandsw.schedulemc.mapview.data.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for RegionTilePyramid
+ *
+ * Tests cover:
+ * - 2x reduction with rounding and destination offsets
+ * - Pyramid level selection by zoom factor
+ * - Quadrant chain of a region image through all levels, including negative coordinates
+ * - Backfill selection of stored, uncovered region files below a tile, once per region
+ * - Eviction keeps the tile that was just requested
+ */
+class RegionTilePyramidTest {
+
+    private static final int SIZE = RegionTilePyramid.TILE_SIZE;
+
+    private static byte[] uniform(int size, int r, int g, int b, int a) {
+        byte[] rgba = new byte[size * size * 4];
+        for (int i = 0; i < rgba.length; i += 4) {
+            rgba[i] = (byte) r;
+            rgba[i + 1] = (byte) g;
+            rgba[i + 2] = (byte) b;
+            rgba[i + 3] = (byte) a;
+        }
+        return rgba;
+    }
+
+    private static int channel(byte[] rgba, int size, int x, int z, int c) {
+        return rgba[(z * size + x) * 4 + c] & 0xFF;
+    }
+
+    @Test
+    @DisplayName("reduceInto should average 2x2 blocks with rounding")
+    void testReduceIntoAverages() {
+        // 4x4 source, red channel: top-left block 0,1,2,3 / top-right 255 / bottom 10 and 11
+        byte[] src = new byte[4 * 4 * 4];
+        int[][] red = {
+            { 0, 1, 255, 255 },
+            { 2, 3, 255, 255 },
+            { 10, 10, 11, 11 },
+            { 10, 10, 11, 12 },
+        };
+        for (int z = 0; z < 4; z++) {
+            for (int x = 0; x < 4; x++) {
+                src[(z * 4 + x) * 4] = (byte) red[z][x];
+                src[(z * 4 + x) * 4 + 3] = (byte) 200;
+            }
+        }
+
+        byte[] dst = new byte[2 * 2 * 4];
+        RegionTilePyramid.reduceInto(src, 4, dst, 2, 0, 0);
+
+        assertThat(channel(dst, 2, 0, 0, 0)).isEqualTo(2);   // (0+1+2+3+2)/4
+        assertThat(channel(dst, 2, 1, 0, 0)).isEqualTo(255);
+        assertThat(channel(dst, 2, 0, 1, 0)).isEqualTo(10);
+        assertThat(channel(dst, 2, 1, 1, 0)).isEqualTo(11);  // (11+11+11+12+2)/4
+        assertThat(channel(dst, 2, 1, 1, 3)).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("reduceInto should write at the destination offset only")
+    void testReduceIntoOffset() {
+        byte[] src = uniform(4, 40, 50, 60, 255);
+        byte[] dst = new byte[4 * 4 * 4];
+
+        RegionTilePyramid.reduceInto(src, 4, dst, 4, 2, 2);
+
+        for (int z = 0; z < 4; z++) {
+            for (int x = 0; x < 4; x++) {
+                int expected = x >= 2 && z >= 2 ? 50 : 0;
+                assertThat(channel(dst, 4, x, z, 1)).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("levelForZoom should pick the coarsest level that still has a pixel per screen pixel")
+    void testLevelForZoom() {
+        assertThat(RegionTilePyramid.levelForZoom(4.0F)).isEqualTo(0);
+        assertThat(RegionTilePyramid.levelForZoom(1.0F)).isEqualTo(0);
+        assertThat(RegionTilePyramid.levelForZoom(0.9F)).isEqualTo(0);
+        assertThat(RegionTilePyramid.levelForZoom(0.5F)).isEqualTo(1);
+        assertThat(RegionTilePyramid.levelForZoom(0.3F)).isEqualTo(1);
+        assertThat(RegionTilePyramid.levelForZoom(0.25F)).isEqualTo(2);
+        assertThat(RegionTilePyramid.levelForZoom(0.125F)).isEqualTo(3);
+        assertThat(RegionTilePyramid.levelForZoom(0.0625F)).isEqualTo(4);
+        assertThat(RegionTilePyramid.levelForZoom(0.001F)).isEqualTo(RegionTilePyramid.MAX_LEVEL);
+    }
+
+    @Test
+    @DisplayName("A region image should land in the matching quadrant on every level")
+    void testQuadrantChain() {
+        RegionTilePyramid pyramid = new RegionTilePyramid(null);
+        int regionX = -3;
+        int regionZ = 5;
+
+        pyramid.applyRegionImage(regionX, regionZ, uniform(SIZE / 2, 90, 120, 30, 255));
+
+        for (int level = 1; level <= RegionTilePyramid.MAX_LEVEL; level++) {
+            int tileX = regionX >> level;
+            int tileZ = regionZ >> level;
+            byte[] tile = pyramid.peekTile(level, tileX, tileZ);
+            assertThat(tile).isNotNull();
+
+            // The region covers a (256 >> level) block inside the tile
+            int block = SIZE >> level;
+            int offsetX = (regionX - (tileX << level)) * block;
+            int offsetZ = (regionZ - (tileZ << level)) * block;
+            for (int z = 0; z < SIZE; z++) {
+                for (int x = 0; x < SIZE; x++) {
+                    boolean inside = x >= offsetX && x < offsetX + block && z >= offsetZ && z < offsetZ + block;
+                    assertThat(channel(tile, SIZE, x, z, 1)).isEqualTo(inside ? 120 : 0);
+                }
+            }
+        }
+        assertThat(pyramid.peekTile(1, 0, 0)).isNull();
+    }
+
+    @Test
+    @DisplayName("Neighbouring regions should fill neighbouring quadrants of the same tile")
+    void testNeighbourQuadrants() {
+        RegionTilePyramid pyramid = new RegionTilePyramid(null);
+
+        pyramid.applyRegionImage(4, 6, uniform(SIZE / 2, 10, 10, 10, 255));
+        pyramid.applyRegionImage(5, 6, uniform(SIZE / 2, 200, 200, 200, 255));
+
+        byte[] tile = pyramid.peekTile(1, 2, 3);
+        assertThat(channel(tile, SIZE, 0, 0, 0)).isEqualTo(10);
+        assertThat(channel(tile, SIZE, SIZE - 1, 0, 0)).isEqualTo(200);
+        assertThat(channel(tile, SIZE, 0, SIZE - 1, 0)).isEqualTo(0);
+
+        // Level 2: tile (2,3) is the bottom-left quadrant, both regions in its top half
+        byte[] parent = pyramid.peekTile(2, 1, 1);
+        assertThat(channel(parent, SIZE, 0, 130, 0)).isEqualTo(10);
+        assertThat(channel(parent, SIZE, 64, 130, 0)).isEqualTo(200);
+        assertThat(channel(parent, SIZE, 130, 130, 0)).isEqualTo(0);
+        assertThat(channel(parent, SIZE, 0, 64, 0)).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("Backfill should select stored regions below an empty tile once")
+    void testRegionsToBackfill(@TempDir Path directory) throws IOException {
+        for (String name : new String[] { "-3,5.mvr", "-4,4.mvr", "0,0.mvr", "-3,5.zip", "junk.mvr", "1,x.mvr" }) {
+            Files.createFile(directory.resolve(name));
+        }
+        RegionTilePyramid pyramid = new RegionTilePyramid(null, directory.toFile(), keys -> { });
+
+        long[] regions = pyramid.regionsToBackfill(1, -2, 2);
+
+        assertThat(regions).containsExactlyInAnyOrder(RegionCacheTable.key(-3, 5), RegionCacheTable.key(-4, 4));
+        assertThat(pyramid.regionsToBackfill(1, -2, 2)).isEmpty();
+        assertThat(pyramid.regionsToBackfill(1, 5, 5)).isEmpty();
+        // The same regions are not requested again through the level above
+        assertThat(pyramid.regionsToBackfill(2, -1, 1)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Backfill should fill the holes of a tile that live updates already partly filled")
+    void testBackfillPartlyFilledTile(@TempDir Path directory) throws IOException {
+        for (String name : new String[] { "-3,5.mvr", "-4,4.mvr", "-4,5.mvr" }) {
+            Files.createFile(directory.resolve(name));
+        }
+        RegionTilePyramid pyramid = new RegionTilePyramid(null, directory.toFile(), keys -> { });
+
+        pyramid.applyRegionImage(-3, 5, uniform(SIZE / 2, 90, 120, 30, 255));
+
+        assertThat(pyramid.regionsToBackfill(1, -2, 2))
+            .containsExactlyInAnyOrder(RegionCacheTable.key(-4, 4), RegionCacheTable.key(-4, 5));
+        // Level 2 covers the same three regions: one is in the tile, two were requested already
+        assertThat(pyramid.regionsToBackfill(2, -1, 1)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Eviction should never drop the tile that was just created")
+    void testEvictionKeepsRequestedTile() {
+        RegionTilePyramid pyramid = new RegionTilePyramid(null);
+
+        // Every region lands in its own level-1 tile, far more than a level keeps in memory
+        for (int i = 0; i < 200; i++) {
+            pyramid.applyRegionImage(2 * i, 0, uniform(SIZE / 2, 1, 2, 3, 255));
+            assertThat(pyramid.peekTile(1, i, 0)).isNotNull();
+        }
+        int resident = 0;
+        for (int i = 0; i < 200; i++) {
+            if (pyramid.peekTile(1, i, 0) != null) {
+                resident++;
+            }
+        }
+        assertThat(resident).isLessThanOrEqualTo(80);
+    }
+
+    @Test
+    @DisplayName("Without a region loader nothing is backfilled")
+    void testNoLoaderNoBackfill() {
+        RegionTilePyramid pyramid = new RegionTilePyramid(null, new File("."), null);
+
+        assertThat(pyramid.regionsToBackfill(1, 0, 0)).isEmpty();
+    }
+}
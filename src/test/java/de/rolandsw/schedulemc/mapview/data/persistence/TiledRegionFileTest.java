@@ -0,0 +1,143 @@
+package de.rolandsw.schedulemc.mapview.data.persistence;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for TiledRegionFile
+ *
+ * Tests cover:
+ * - Round trip of all layers and both palettes
+ * - Random access to single tiles and layers
+ * - Reader stays usable after releasing its inflater
+ * - Uniform tiles and rejection of foreign files
+ */
+class TiledRegionFileTest {
+
+    private static final int WIDTH = 256;
+    private static final int LAYERS = 4;
+
+    @TempDir
+    Path tempDir;
+
+    private static byte[] sampleData() {
+        byte[] data = new byte[WIDTH * WIDTH * LAYERS];
+        Random random = new Random(42);
+        // Layer 0: uniform, layer 1: noise, layer 2: gradient, layer 3: one odd pixel
+        Arrays.fill(data, 0, WIDTH * WIDTH, (byte) 0x80);
+        for (int i = WIDTH * WIDTH; i < 2 * WIDTH * WIDTH; i++) {
+            data[i] = (byte) random.nextInt(256);
+        }
+        for (int z = 0; z < WIDTH; z++) {
+            for (int x = 0; x < WIDTH; x++) {
+                data[2 * WIDTH * WIDTH + x + z * WIDTH] = (byte) (x + z);
+            }
+        }
+        data[3 * WIDTH * WIDTH + 17 + 33 * WIDTH] = 7;
+        return data;
+    }
+
+    private static Int2ObjectMap<String> palette(String... values) {
+        Int2ObjectMap<String> palette = new Int2ObjectOpenHashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            palette.put(i + 1, values[i]);
+        }
+        return palette;
+    }
+
+    @Test
+    @DisplayName("All layers and palettes survive a round trip")
+    void roundTrip() throws IOException {
+        Path file = tempDir.resolve("r.0.0" + TiledRegionFile.EXTENSION);
+        byte[] data = sampleData();
+        Int2ObjectMap<String> states = palette("Block{minecraft:stone}", "Block{minecraft:oak_log}[axis=y]");
+        Int2ObjectMap<String> biomes = palette("minecraft:plains", "minecraft:ozean_ü");
+
+        TiledRegionFile.write(file, data, WIDTH, 4, states, biomes);
+
+        try (TiledRegionFile.Reader reader = TiledRegionFile.open(file)) {
+            assertThat(reader.getDataVersion()).isEqualTo(4);
+            assertThat(reader.getWidth()).isEqualTo(WIDTH);
+            assertThat(reader.getLayers()).isEqualTo(LAYERS);
+            assertThat(reader.getBlockStatePalette()).isEqualTo(states);
+            assertThat(reader.getBiomePalette()).isEqualTo(biomes);
+            assertThat(Arrays.equals(reader.readAll(), data)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Single tiles and layers decode in place")
+    void randomAccess() throws IOException {
+        Path file = tempDir.resolve("tiles" + TiledRegionFile.EXTENSION);
+        byte[] data = sampleData();
+        TiledRegionFile.write(file, data, WIDTH, 4, palette(), palette());
+
+        try (TiledRegionFile.Reader reader = TiledRegionFile.open(file)) {
+            byte[] layer = new byte[WIDTH * WIDTH];
+            reader.readTile(2, 3, 5, layer, 0);
+            for (int z = 80; z < 96; z++) {
+                for (int x = 48; x < 64; x++) {
+                    assertThat(layer[x + z * WIDTH]).isEqualTo(data[2 * WIDTH * WIDTH + x + z * WIDTH]);
+                }
+            }
+            // Other tiles stay untouched
+            assertThat(layer[0]).isEqualTo((byte) 0);
+
+            reader.readLayer(3, layer, 0);
+            assertThat(Arrays.equals(layer, Arrays.copyOfRange(data, 3 * WIDTH * WIDTH, 4 * WIDTH * WIDTH))).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Closing only releases the inflater, later tiles still decode")
+    void readerReusableAfterClose() throws IOException {
+        Path file = tempDir.resolve("reuse" + TiledRegionFile.EXTENSION);
+        byte[] data = sampleData();
+        TiledRegionFile.write(file, data, WIDTH, 4, palette(), palette());
+
+        TiledRegionFile.Reader reader = TiledRegionFile.open(file);
+        byte[] layer = new byte[WIDTH * WIDTH];
+        reader.readTile(1, 0, 0, layer, 0);
+        reader.close();
+        reader.readLayer(1, layer, 0);
+        reader.close();
+        reader.close();
+
+        assertThat(Arrays.equals(layer, Arrays.copyOfRange(data, WIDTH * WIDTH, 2 * WIDTH * WIDTH))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Uniform layers are stored without tile data")
+    void uniformLayersAreSmall() throws IOException {
+        Path file = tempDir.resolve("empty" + TiledRegionFile.EXTENSION);
+        byte[] data = new byte[WIDTH * WIDTH * LAYERS];
+        Arrays.fill(data, (byte) 0x80);
+        TiledRegionFile.write(file, data, WIDTH, 4, palette(), palette());
+
+        // Header, two empty palettes and the index only
+        assertThat(Files.size(file)).isEqualTo(4L + 2 + 2 + 2 + 1 + 1 + 4 + 4 + LAYERS * 256 * 4L);
+        try (TiledRegionFile.Reader reader = TiledRegionFile.open(file)) {
+            assertThat(Arrays.equals(reader.readAll(), data)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Files without the magic header are rejected")
+    void rejectsForeignFile() throws IOException {
+        Path file = tempDir.resolve("foreign" + TiledRegionFile.EXTENSION);
+        Files.write(file, new byte[]{'P', 'K', 3, 4, 0, 0, 0, 0});
+
+        assertThatThrownBy(() -> TiledRegionFile.open(file)).isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,167 @@
+package de.rolandsw.schedulemc.mapview.navigation.graph;
+
+import net.minecraft.core.BlockPos;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Benchmark harness for the spatial indexes of {@link RoadGraph}
+ *
+ * Builds a synthetic city: a street grid with one intersection every {@code BLOCK} blocks, about a
+ * fifth of the streets missing, every street stored block by block like the RoadGraphBuilder does.
+ * Random query positions are then resolved with the k-d trees and with the former linear scans
+ * over all nodes and all segment points; both must agree on the distance.
+ *
+ * Usage: {@code RoadGraphIndexBenchmark [grid size] [queries]}
+ */
+public final class RoadGraphIndexBenchmark {
+
+    private static final int BLOCK = 24;
+
+    private RoadGraphIndexBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int gridSize = args.length > 0 ? Integer.parseInt(args[0]) : 80;
+        int queries = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+
+        long buildStart = System.nanoTime();
+        RoadGraph graph = buildCity(gridSize, new Random(42));
+        long buildNanos = System.nanoTime() - buildStart;
+        int roadPoints = 0;
+        for (RoadSegment segment : graph.getAllSegments()) {
+            roadPoints += segment.getPointCount();
+        }
+        System.out.printf("City: %d nodes, %d segments, %d road points, built in %.1f ms%n",
+            graph.getNodeCount(), graph.getSegmentCount(), roadPoints, buildNanos / 1.0e6);
+
+        int extent = gridSize * BLOCK;
+        Random random = new Random(7);
+        BlockPos[] positions = new BlockPos[queries];
+        for (int i = 0; i < queries; i++) {
+            positions[i] = new BlockPos(random.nextInt(extent + 200) - 100, 64, random.nextInt(extent + 200) - 100);
+        }
+
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            double indexed = 0;
+            for (BlockPos pos : positions) {
+                indexed += graph.findNearestNode(pos).distanceTo(pos);
+            }
+            long nodeIndexNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            double scanned = 0;
+            for (BlockPos pos : positions) {
+                scanned += linearNearestNode(graph, pos).distanceTo(pos);
+            }
+            long nodeScanNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            double indexedPoints = 0;
+            for (BlockPos pos : positions) {
+                indexedPoints += distance(pos, graph.findNearestRoadPoint(pos));
+            }
+            long pointIndexNanos = System.nanoTime() - start;
+
+            // The linear point scan is slow; a tenth of the queries is enough for the comparison
+            int pointQueries = Math.max(1, queries / 10);
+            start = System.nanoTime();
+            double scannedPoints = 0;
+            double indexedSample = 0;
+            for (int i = 0; i < pointQueries; i++) {
+                scannedPoints += distance(positions[i], linearNearestRoadPoint(graph, positions[i]));
+                indexedSample += distance(positions[i], graph.findNearestRoadPoint(positions[i]));
+            }
+            long pointScanNanos = (System.nanoTime() - start) * queries / pointQueries;
+
+            if (Math.abs(indexed - scanned) > 1e-6 || Math.abs(indexedSample - scannedPoints) > 1e-6) {
+                throw new IllegalStateException("Index and linear scan disagree");
+            }
+            System.out.printf("Round %d: nearest node %.2f us (scan %.2f us), nearest road point %.2f us (scan ~%.2f us), checksum %.0f%n",
+                round + 1, nodeIndexNanos / 1.0e3 / queries, nodeScanNanos / 1.0e3 / queries,
+                pointIndexNanos / 1.0e3 / queries, pointScanNanos / 1.0e3 / queries, indexedPoints);
+        }
+    }
+
+    static RoadGraph buildCity(int gridSize, Random random) {
+        Map<BlockPos, RoadNode> nodes = new HashMap<>();
+        List<RoadSegment> segments = new ArrayList<>();
+        RoadNode[][] grid = new RoadNode[gridSize][gridSize];
+        for (int gx = 0; gx < gridSize; gx++) {
+            for (int gz = 0; gz < gridSize; gz++) {
+                RoadNode node = new RoadNode(new BlockPos(gx * BLOCK, 64, gz * BLOCK), RoadNode.NodeType.INTERSECTION);
+                grid[gx][gz] = node;
+                nodes.put(node.getPosition(), node);
+            }
+        }
+        for (int gx = 0; gx < gridSize; gx++) {
+            for (int gz = 0; gz < gridSize; gz++) {
+                if (gx + 1 < gridSize && random.nextInt(5) > 0) {
+                    connect(grid[gx][gz], grid[gx + 1][gz], segments);
+                }
+                if (gz + 1 < gridSize && random.nextInt(5) > 0) {
+                    connect(grid[gx][gz], grid[gx][gz + 1], segments);
+                }
+            }
+        }
+        return new RoadGraph(nodes, segments);
+    }
+
+    private static void connect(RoadNode from, RoadNode to, List<RoadSegment> segments) {
+        BlockPos a = from.getPosition();
+        BlockPos b = to.getPosition();
+        int steps = Math.abs(b.getX() - a.getX()) + Math.abs(b.getZ() - a.getZ());
+        List<BlockPos> path = new ArrayList<>(steps + 1);
+        for (int i = 0; i <= steps; i++) {
+            path.add(new BlockPos(a.getX() + Integer.signum(b.getX() - a.getX()) * i, 64, a.getZ() + Integer.signum(b.getZ() - a.getZ()) * i));
+        }
+        RoadSegment segment = new RoadSegment(from, to, path);
+        from.addSegment(segment);
+        to.addSegment(segment);
+        segments.add(segment);
+    }
+
+    /**
+     * The former RoadGraph.findNearestNode
+     */
+    private static RoadNode linearNearestNode(RoadGraph graph, BlockPos pos) {
+        RoadNode nearest = null;
+        double minDist = Double.MAX_VALUE;
+        for (RoadNode node : graph.getAllNodes()) {
+            double dist = node.distanceTo(pos);
+            if (dist < minDist) {
+                minDist = dist;
+                nearest = node;
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * The former RoadGraph.findNearestRoadPoint
+     */
+    private static BlockPos linearNearestRoadPoint(RoadGraph graph, BlockPos pos) {
+        BlockPos nearest = null;
+        double minDist = Double.MAX_VALUE;
+        for (RoadSegment segment : graph.getAllSegments()) {
+            BlockPos segmentNearest = segment.findNearestPoint(pos);
+            double dist = distance(pos, segmentNearest);
+            if (dist < minDist) {
+                minDist = dist;
+                nearest = segmentNearest;
+            }
+        }
+        return nearest;
+    }
+
+    private static double distance(BlockPos a, BlockPos b) {
+        double dx = a.getX() - b.getX();
+        double dz = a.getZ() - b.getZ();
+        return Math.sqrt(dx * dx + dz * dz);
+    }
+}
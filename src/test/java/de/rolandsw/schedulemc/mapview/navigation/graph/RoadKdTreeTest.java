@@ -0,0 +1,106 @@
+package de.rolandsw.schedulemc.mapview.navigation.graph;
+
+import net.minecraft.core.BlockPos;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for RoadKdTree
+ *
+ * Tests cover:
+ * - Nearest queries against a brute-force scan (random and grid-aligned points)
+ * - Radius-limited queries including the boundary
+ * - Empty trees and duplicate positions
+ */
+class RoadKdTreeTest {
+
+    private static List<BlockPos> randomPoints(int count, int range, long seed) {
+        Random random = new Random(seed);
+        List<BlockPos> points = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            points.add(new BlockPos(random.nextInt(range) - range / 2, 64, random.nextInt(range) - range / 2));
+        }
+        return points;
+    }
+
+    private static double bruteForceDistance(List<BlockPos> points, int x, int z) {
+        double best = Double.POSITIVE_INFINITY;
+        for (BlockPos point : points) {
+            best = Math.min(best, distance(point, x, z));
+        }
+        return best;
+    }
+
+    private static double distance(BlockPos point, int x, int z) {
+        double dx = point.getX() - x;
+        double dz = point.getZ() - z;
+        return Math.sqrt(dx * dx + dz * dz);
+    }
+
+    @Test
+    @DisplayName("Nearest point matches a brute-force scan")
+    void matchesBruteForce() {
+        List<BlockPos> points = randomPoints(2_000, 4_000, 7);
+        RoadKdTree<BlockPos> tree = RoadKdTree.build(points, point -> point);
+        Random random = new Random(11);
+
+        for (int i = 0; i < 500; i++) {
+            int x = random.nextInt(5_000) - 2_500;
+            int z = random.nextInt(5_000) - 2_500;
+            BlockPos nearest = tree.findNearest(new BlockPos(x, 70, z));
+            assertThat(distance(nearest, x, z)).isEqualTo(bruteForceDistance(points, x, z));
+        }
+    }
+
+    @Test
+    @DisplayName("Grid-aligned points with many equal coordinates")
+    void gridAligned() {
+        // Straßen liegen oft auf wenigen x/z-Linien: viele gleiche Schlüssel beim Median-Split
+        List<BlockPos> points = new ArrayList<>();
+        for (int line = 0; line < 10; line++) {
+            for (int step = 0; step < 100; step++) {
+                points.add(new BlockPos(line * 50, 64, step * 5));
+                points.add(new BlockPos(step * 5, 64, line * 50));
+            }
+        }
+        Collections.shuffle(points, new Random(3));
+        RoadKdTree<BlockPos> tree = RoadKdTree.build(points, point -> point);
+        Random random = new Random(5);
+
+        for (int i = 0; i < 300; i++) {
+            int x = random.nextInt(600) - 50;
+            int z = random.nextInt(600) - 50;
+            assertThat(distance(tree.findNearest(new BlockPos(x, 64, z)), x, z)).isEqualTo(bruteForceDistance(points, x, z));
+        }
+    }
+
+    @Test
+    @DisplayName("Radius limits the result, boundary inclusive")
+    void radius() {
+        RoadKdTree<BlockPos> tree = RoadKdTree.build(List.of(new BlockPos(0, 64, 0), new BlockPos(100, 64, 0)), point -> point);
+
+        assertThat(tree.findNearest(3, 4, 5.0)).isEqualTo(new BlockPos(0, 64, 0));
+        assertThat(tree.findNearest(3, 4, 4.9)).isNull();
+        assertThat(tree.findNearest(60, 0, 45.0)).isEqualTo(new BlockPos(100, 64, 0));
+    }
+
+    @Test
+    @DisplayName("Empty trees and duplicate positions")
+    void emptyAndDuplicates() {
+        RoadKdTree<BlockPos> empty = RoadKdTree.build(Collections.emptyList(), point -> point);
+        assertThat(empty.isEmpty()).isTrue();
+        assertThat(empty.findNearest(new BlockPos(0, 0, 0))).isNull();
+
+        List<BlockPos> same = Collections.nCopies(33, new BlockPos(8, 64, 8));
+        RoadKdTree<BlockPos> tree = RoadKdTree.build(same, point -> point);
+        assertThat(tree.size()).isEqualTo(33);
+        assertThat(tree.findNearest(new BlockPos(-50, 64, 200))).isEqualTo(new BlockPos(8, 64, 8));
+    }
+}
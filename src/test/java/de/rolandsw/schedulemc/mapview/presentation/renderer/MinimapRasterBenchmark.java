@@ -0,0 +1,167 @@
+package de.rolandsw.schedulemc.mapview.presentation.renderer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Benchmark harness for {@link MinimapRasterizer}
+ *
+ * Replays a recorded player movement trace (one "x,z" line per client tick) against the minimap
+ * update logic - incremental scroll for small moves, full redraw after jumps - once serially and
+ * once on a fork-join pool. The per-pixel shader imitates the block column scan of the real
+ * renderer (a few hundred dependent operations per pixel plus the slope lookup of the lower-left
+ * neighbour), so the numbers compare scheduling, not Minecraft.
+ *
+ * The real per-pixel path (block lookups, color and tint caches, lighting) is timed in game: start
+ * the client with {@code -Dschedulemc.mapview.rasterBenchmark=<rounds>} and the minimap logs serial
+ * and parallel full redraws through {@code MapViewRenderer.getPixelColor} after the first redraw.
+ *
+ * Usage: {@code MinimapRasterBenchmark [trace.csv] [zoom 0-4] [rounds]}; without a file the bundled
+ * {@code /mapview/minimap-movement-trace.csv} is used.
+ */
+public final class MinimapRasterBenchmark {
+
+    private static final int COLUMN_COST = 400;
+
+    private final int size;
+    private final int[] heights;
+    private final int[] colors;
+    private int originX;
+    private int originZ;
+    int pixelsRendered;
+
+    MinimapRasterBenchmark(int zoom) {
+        this.size = 32 << zoom;
+        this.heights = new int[this.size * this.size];
+        this.colors = new int[this.size * this.size];
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<int[]> trace;
+        if (args.length > 0) {
+            try (InputStream in = Files.newInputStream(Path.of(args[0]))) {
+                trace = loadTrace(in);
+            }
+        } else {
+            trace = loadBundledTrace();
+        }
+        int zoom = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+
+        System.out.printf("Trace: %d ticks, zoom %d (%dpx), %d threads%n", trace.size(), zoom, 32 << zoom, pool.getParallelism());
+        // Warm-up
+        new MinimapRasterBenchmark(zoom).replay(trace, null);
+        new MinimapRasterBenchmark(zoom).replay(trace, pool);
+
+        for (int round = 0; round < rounds; round++) {
+            long serial = new MinimapRasterBenchmark(zoom).replay(trace, null);
+            long parallel = new MinimapRasterBenchmark(zoom).replay(trace, pool);
+            System.out.printf("Round %d: serial %.1f ms, parallel %.1f ms (x%.2f)%n",
+                round + 1, serial / 1.0e6, parallel / 1.0e6, (double) serial / parallel);
+        }
+        pool.shutdown();
+    }
+
+    static List<int[]> loadBundledTrace() throws IOException {
+        try (InputStream in = MinimapRasterBenchmark.class.getResourceAsStream("/mapview/minimap-movement-trace.csv")) {
+            if (in == null) {
+                throw new IOException("Bundled movement trace not found");
+            }
+            return loadTrace(in);
+        }
+    }
+
+    static List<int[]> loadTrace(InputStream in) throws IOException {
+        List<int[]> trace = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split(",");
+            trace.add(new int[]{Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim())});
+        }
+        return trace;
+    }
+
+    /**
+     * Replays the trace and returns the elapsed nanoseconds.
+     */
+    long replay(List<int[]> trace, ForkJoinPool pool) {
+        long start = System.nanoTime();
+        boolean first = true;
+        for (int[] position : trace) {
+            int offsetX = position[0] - this.originX;
+            int offsetZ = position[1] - this.originZ;
+            this.originX = position[0];
+            this.originZ = position[1];
+            if (first || Math.abs(offsetX) > this.size || Math.abs(offsetZ) > this.size) {
+                this.render(pool, 0, 0, this.size - 1, this.size - 1);
+                first = false;
+            } else {
+                shift(this.heights, this.size, offsetX, offsetZ);
+                shift(this.colors, this.size, offsetX, offsetZ);
+                for (int[] area : MinimapRasterizer.exposedAreas(this.size, offsetX, offsetZ)) {
+                    this.render(pool, area[0], area[1], area[2], area[3]);
+                }
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    int[] colors() {
+        return this.colors;
+    }
+
+    /**
+     * Moves the image content like {@code MapDataRepository.moveX/moveZ}; exposed pixels keep stale values.
+     */
+    private static void shift(int[] data, int size, int offsetX, int offsetZ) {
+        int[] copy = data.clone();
+        for (int y = 0; y < size; y++) {
+            int sourceY = y + offsetZ;
+            if (sourceY < 0 || sourceY >= size) {
+                continue;
+            }
+            for (int x = 0; x < size; x++) {
+                int sourceX = x + offsetX;
+                if (sourceX >= 0 && sourceX < size) {
+                    data[x + y * size] = copy[sourceX + sourceY * size];
+                }
+            }
+        }
+    }
+
+    private void render(ForkJoinPool pool, int left, int top, int right, int bottom) {
+        this.pixelsRendered += (right - left + 1) * (bottom - top + 1);
+        MinimapRasterizer.rasterize(pool, left, top, right, bottom, () -> null, (context, x, y) -> {
+            this.heights[x + y * this.size] = columnHeight(this.originX + x, this.originZ + y);
+            this.colors[x + y * this.size] = this.shade(x, y);
+        }, (context, x, y) -> this.colors[x + y * this.size] = this.shade(x, y));
+    }
+
+    private int shade(int x, int y) {
+        int height = this.heights[x + y * this.size];
+        int neighbour = x > 0 && y < this.size - 1 ? this.heights[x - 1 + (y + 1) * this.size] : height;
+        return height * 31 + Integer.signum(neighbour - height);
+    }
+
+    private static int columnHeight(int worldX, int worldZ) {
+        int h = worldX * 73856093 ^ worldZ * 19349663;
+        for (int i = 0; i < COLUMN_COST; i++) {
+            h = h * 1103515245 + 12345;
+        }
+        return 40 + ((h >>> 16) & 63);
+    }
+}
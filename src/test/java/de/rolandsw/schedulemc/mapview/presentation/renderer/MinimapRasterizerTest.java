@@ -0,0 +1,87 @@
+package de.rolandsw.schedulemc.mapview.presentation.renderer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for MinimapRasterizer
+ *
+ * Tests cover:
+ * - Tiles cover an area exactly once
+ * - Parallel tiles with seam pass match the serial result
+ * - Exposed scroll areas (rows, columns, corner once)
+ * - Replay of the bundled movement trace
+ */
+class MinimapRasterizerTest {
+
+    @Test
+    @DisplayName("Tiles cover every pixel exactly once")
+    void tilesCoverArea() {
+        int[] hits = new int[200 * 130];
+        for (int[] tile : MinimapRasterizer.splitIntoTiles(3, 5, 202, 134, 64)) {
+            for (int y = tile[1]; y <= tile[3]; y++) {
+                for (int x = tile[0]; x <= tile[2]; x++) {
+                    hits[(x - 3) + (y - 5) * 200]++;
+                }
+            }
+        }
+
+        assertThat(Arrays.stream(hits).allMatch(h -> h == 1)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Parallel rendering with seam pass equals serial rendering")
+    void parallelMatchesSerial() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int zoom = 0; zoom <= 4; zoom++) {
+                List<int[]> trace = List.of(new int[]{10, 10}, new int[]{13, 9}, new int[]{13, 2}, new int[]{-40, 60});
+                MinimapRasterBenchmark serial = new MinimapRasterBenchmark(zoom);
+                MinimapRasterBenchmark parallel = new MinimapRasterBenchmark(zoom);
+                serial.replay(trace, null);
+                parallel.replay(trace, pool);
+
+                assertThat(Arrays.equals(parallel.colors(), serial.colors())).as("zoom " + zoom).isTrue();
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Scrolling exposes only new rows and columns, corner once")
+    void exposedAreas() {
+        List<int[]> southEast = MinimapRasterizer.exposedAreas(64, 3, 2);
+        assertThat(southEast).hasSize(2);
+        assertThat(southEast.get(0)).isEqualTo(new int[]{0, 62, 63, 63});
+        assertThat(southEast.get(1)).isEqualTo(new int[]{61, 0, 63, 61});
+
+        // Moving north: the columns lie below the new rows and come first
+        List<int[]> northWest = MinimapRasterizer.exposedAreas(64, -1, -4);
+        assertThat(northWest).hasSize(2);
+        assertThat(northWest.get(0)).isEqualTo(new int[]{0, 4, 0, 63});
+        assertThat(northWest.get(1)).isEqualTo(new int[]{0, 0, 63, 3});
+
+        assertThat(MinimapRasterizer.exposedAreas(64, 0, 0)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Movement trace replays with incremental updates")
+    void replayTrace() throws IOException {
+        List<int[]> trace = MinimapRasterBenchmark.loadBundledTrace();
+        MinimapRasterBenchmark benchmark = new MinimapRasterBenchmark(2);
+
+        benchmark.replay(trace, null);
+
+        // Far below one full 128x128 redraw per tick
+        assertThat(trace).hasSize(1200);
+        assertThat(benchmark.pixelsRendered).isLessThan(trace.size() * 128 * 128 / 10);
+    }
+}
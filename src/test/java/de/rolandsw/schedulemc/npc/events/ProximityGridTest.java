@@ -0,0 +1,134 @@
+package de.rolandsw.schedulemc.npc.events;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for ProximityGrid
+ *
+ * Tests cover:
+ * - Radius queries against a brute-force scan after random moves and removals
+ * - Cell changes and swap-remove bookkeeping
+ * - Negative coordinates and cell boundaries
+ */
+class ProximityGridTest {
+
+    private static Set<Integer> query(ProximityGrid grid, double x, double y, double z, double radius) {
+        IntArrayList ids = new IntArrayList();
+        grid.query(x, y, z, radius, ids);
+        Set<Integer> result = new HashSet<>(ids);
+        assertThat(result).hasSameSizeAs(ids);
+        return result;
+    }
+
+    @Test
+    @DisplayName("Empty grid returns nothing")
+    void emptyGrid() {
+        ProximityGrid grid = new ProximityGrid();
+        assertThat(query(grid, 0, 64, 0, 100)).isEmpty();
+        assertThat(grid.size()).isZero();
+        assertThat(grid.remove(1)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Update within the same cell keeps one entry")
+    void updateSameCell() {
+        ProximityGrid grid = new ProximityGrid();
+        grid.update(7, 1, 64, 1);
+        grid.update(7, 5, 64, 5);
+
+        assertThat(grid.size()).isEqualTo(1);
+        assertThat(grid.getCellCount()).isEqualTo(1);
+        assertThat(query(grid, 5, 64, 5, 0.5)).containsExactly(7);
+        assertThat(query(grid, 1, 64, 1, 0.5)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Moving across cells relocates the entry and drops empty cells")
+    void moveAcrossCells() {
+        ProximityGrid grid = new ProximityGrid();
+        grid.update(1, 0, 64, 0);
+        grid.update(1, ProximityGrid.CELL_SIZE * 3 + 1, 64, -ProximityGrid.CELL_SIZE * 2);
+
+        assertThat(grid.getCellCount()).isEqualTo(1);
+        assertThat(query(grid, 0, 64, 0, 10)).isEmpty();
+        assertThat(query(grid, ProximityGrid.CELL_SIZE * 3, 64, -ProximityGrid.CELL_SIZE * 2, 2)).containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("Removal keeps the remaining entries of the cell reachable")
+    void swapRemove() {
+        ProximityGrid grid = new ProximityGrid();
+        for (int id = 0; id < 10; id++) {
+            grid.update(id, id, 64, 0);
+        }
+        assertThat(grid.remove(3)).isTrue();
+        assertThat(grid.remove(0)).isTrue();
+        grid.update(9, 20, 64, 0);
+
+        assertThat(query(grid, 0, 64, 0, 30)).containsExactlyInAnyOrder(1, 2, 4, 5, 6, 7, 8, 9);
+        assertThat(grid.contains(3)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Radius uses 3D distance and includes the boundary")
+    void radiusBoundary() {
+        ProximityGrid grid = new ProximityGrid();
+        grid.update(1, -0.5, 64, -0.5);
+        grid.update(2, 0, 94, 0);
+
+        assertThat(query(grid, -0.5, 64, -10.5, 10)).containsExactly(1);
+        assertThat(query(grid, 0, 64, 0, 20)).containsExactly(1);
+        assertThat(query(grid, 0, 64, 0, 30)).containsExactlyInAnyOrder(1, 2);
+    }
+
+    @Test
+    @DisplayName("Random moves and removals match a brute-force scan")
+    void matchesBruteForce() {
+        Random random = new Random(42);
+        ProximityGrid grid = new ProximityGrid();
+        Map<Integer, double[]> positions = new HashMap<>();
+
+        for (int step = 0; step < 20_000; step++) {
+            int id = random.nextInt(500);
+            if (random.nextInt(10) == 0) {
+                assertThat(grid.remove(id)).isEqualTo(positions.remove(id) != null);
+            } else {
+                double[] pos = {
+                    random.nextDouble() * 1000 - 500,
+                    random.nextDouble() * 100,
+                    random.nextDouble() * 1000 - 500
+                };
+                grid.update(id, pos[0], pos[1], pos[2]);
+                positions.put(id, pos);
+            }
+
+            if (step % 100 == 0) {
+                double x = random.nextDouble() * 1200 - 600;
+                double y = random.nextDouble() * 100;
+                double z = random.nextDouble() * 1200 - 600;
+                double radius = random.nextDouble() * 150;
+
+                Set<Integer> expected = new HashSet<>();
+                for (Map.Entry<Integer, double[]> entry : positions.entrySet()) {
+                    double[] p = entry.getValue();
+                    double dx = p[0] - x, dy = p[1] - y, dz = p[2] - z;
+                    if (dx * dx + dy * dy + dz * dz <= radius * radius) {
+                        expected.add(entry.getKey());
+                    }
+                }
+                assertThat(query(grid, x, y, z, radius)).isEqualTo(expected);
+                assertThat(grid.size()).isEqualTo(positions.size());
+            }
+        }
+    }
+}
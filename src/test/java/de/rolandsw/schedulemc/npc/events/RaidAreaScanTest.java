@@ -0,0 +1,228 @@
+package de.rolandsw.schedulemc.npc.events;
+
+import net.minecraft.core.BlockPos;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for RaidAreaScan and RaidScanScheduler
+ *
+ * Tests cover:
+ * - Budgeted scans over several steps find the same blocks as one synchronous scan
+ * - Section cursor covers negative coordinates, section borders and the build height
+ * - Scheduler spreads scans over ticks and completes each scan exactly once
+ * - Logout of the searched player finishes only that player's scans right away
+ * - A failing scan still reports its partial result once
+ */
+class RaidAreaScanTest {
+
+    private static final int MIN_BUILD_HEIGHT = -64;
+    private static final int MAX_BUILD_HEIGHT = 320;
+
+    /**
+     * Scan over a fake world: a list of contraband positions instead of chunk sections.
+     * Sections without contraband count as skipped, like the palette test in the real scan.
+     */
+    private static final class FakeWorldScan extends RaidAreaScan {
+        private final List<int[]> contraband;
+
+        FakeWorldScan(List<int[]> contraband, BlockPos center, int radius,
+                      Consumer<IllegalActivityScanner.ScanResult> onComplete) {
+            this(contraband, center, radius, null, onComplete);
+        }
+
+        FakeWorldScan(List<int[]> contraband, BlockPos center, int radius, UUID owner,
+                      Consumer<IllegalActivityScanner.ScanResult> onComplete) {
+            super(null, center, radius, MIN_BUILD_HEIGHT, MAX_BUILD_HEIGHT, owner,
+                new IllegalActivityScanner.ScanResult(), onComplete);
+            this.contraband = contraband;
+        }
+
+        @Override
+        boolean scanSection(int sx, int sy, int sz) {
+            boolean inSection = false;
+            for (int[] pos : contraband) {
+                if (pos[0] >> 4 != sx || pos[1] >> 4 != sy || pos[2] >> 4 != sz) {
+                    continue;
+                }
+                inSection = true;
+                if (containsBlock(pos[0], pos[1], pos[2])) {
+                    getResult().recordBlock(ContrabandBlocks.KIND_GOLD_BLOCK, BlockPos.asLong(pos[0], pos[1], pos[2]));
+                }
+            }
+            return inSection;
+        }
+    }
+
+    private static List<int[]> randomWorld(Random random, BlockPos center, int spread, int count) {
+        List<int[]> positions = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            int x = center.getX() + random.nextInt(2 * spread + 1) - spread;
+            int y = Math.max(MIN_BUILD_HEIGHT, Math.min(MAX_BUILD_HEIGHT - 1,
+                center.getY() + random.nextInt(2 * spread + 1) - spread));
+            int z = center.getZ() + random.nextInt(2 * spread + 1) - spread;
+            if (seen.add(BlockPos.asLong(x, y, z))) {
+                positions.add(new int[] { x, y, z });
+            }
+        }
+        return positions;
+    }
+
+    private static long[] sorted(long[] positions) {
+        long[] copy = positions.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    @AfterEach
+    void drainScheduler() {
+        while (RaidScanScheduler.getActiveScanCount() > 0) {
+            RaidScanScheduler.tick();
+        }
+    }
+
+    @Test
+    @DisplayName("Budgeted steps should find the same blocks as one synchronous scan")
+    void testBudgetedMatchesSynchronous() {
+        Random random = new Random(7);
+        for (int round = 0; round < 50; round++) {
+            BlockPos center = new BlockPos(random.nextInt(400) - 200, random.nextInt(340) - 60, random.nextInt(400) - 200);
+            int radius = 1 + random.nextInt(40);
+            List<int[]> world = randomWorld(random, center, radius + 20, 300);
+
+            FakeWorldScan reference = new FakeWorldScan(world, center, radius, null);
+            assertThat(reference.step(Integer.MAX_VALUE)).isTrue();
+
+            int budget = 1 + random.nextInt(7);
+            FakeWorldScan budgeted = new FakeWorldScan(world, center, radius, null);
+            int steps = 1;
+            while (!budgeted.step(budget)) {
+                steps++;
+            }
+
+            assertThat(budgeted.getResult().getBlockFindPositions())
+                .isEqualTo(reference.getResult().getBlockFindPositions());
+            assertThat(budgeted.getSectionsVisited()).isEqualTo(reference.getSectionsVisited());
+            assertThat(budgeted.getSectionsSkipped()).isEqualTo(reference.getSectionsSkipped());
+            assertThat(steps).isEqualTo((reference.getSectionsVisited() + budget - 1) / budget);
+
+            // Every contraband block inside the box, nothing outside
+            long[] expected = world.stream()
+                .filter(pos -> reference.containsBlock(pos[0], pos[1], pos[2]))
+                .mapToLong(pos -> BlockPos.asLong(pos[0], pos[1], pos[2]))
+                .toArray();
+            assertThat(sorted(reference.getResult().getBlockFindPositions())).isEqualTo(sorted(expected));
+        }
+    }
+
+    @Test
+    @DisplayName("Boxes above the build height should finish without visiting sections")
+    void testOutsideBuildHeight() {
+        FakeWorldScan scan = new FakeWorldScan(List.of(), new BlockPos(0, 400, 0), 10, null);
+
+        assertThat(scan.step(1)).isTrue();
+        assertThat(scan.getSectionsVisited()).isZero();
+    }
+
+    @Test
+    @DisplayName("Scheduler should spread scans over several ticks and complete each once")
+    void testSchedulerSpreadsScansOverTicks() {
+        Random random = new Random(11);
+        BlockPos bigCenter = new BlockPos(-37, 70, 18);
+        BlockPos smallCenter = new BlockPos(500, 10, -500);
+        List<int[]> bigWorld = randomWorld(random, bigCenter, 60, 500);
+        List<int[]> smallWorld = randomWorld(random, smallCenter, 8, 50);
+
+        FakeWorldScan bigReference = new FakeWorldScan(bigWorld, bigCenter, 50, null);
+        bigReference.step(Integer.MAX_VALUE);
+        FakeWorldScan smallReference = new FakeWorldScan(smallWorld, smallCenter, 5, null);
+        smallReference.step(Integer.MAX_VALUE);
+
+        List<long[]> bigResults = new ArrayList<>();
+        List<long[]> smallResults = new ArrayList<>();
+        RaidScanScheduler.submit(new FakeWorldScan(bigWorld, bigCenter, 50,
+            result -> bigResults.add(result.getBlockFindPositions())));
+        RaidScanScheduler.submit(new FakeWorldScan(smallWorld, smallCenter, 5,
+            result -> smallResults.add(result.getBlockFindPositions())));
+
+        int ticks = 0;
+        while (RaidScanScheduler.getActiveScanCount() > 0) {
+            RaidScanScheduler.tick();
+            ticks++;
+            assertThat(ticks).isLessThan(10_000);
+        }
+
+        assertThat(ticks).isGreaterThan(1);
+        assertThat(bigResults).hasSize(1);
+        assertThat(smallResults).hasSize(1);
+        assertThat(bigResults.get(0)).isEqualTo(bigReference.getResult().getBlockFindPositions());
+        assertThat(smallResults.get(0)).isEqualTo(smallReference.getResult().getBlockFindPositions());
+    }
+
+    @Test
+    @DisplayName("Logout should finish the scans of that player only")
+    void testFinishScansOfOwner() {
+        Random random = new Random(23);
+        BlockPos center = new BlockPos(12, 64, -80);
+        List<int[]> world = randomWorld(random, center, 40, 300);
+        UUID searched = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+
+        FakeWorldScan reference = new FakeWorldScan(world, center, 40, null);
+        reference.step(Integer.MAX_VALUE);
+
+        List<long[]> searchedResults = new ArrayList<>();
+        List<long[]> otherResults = new ArrayList<>();
+        RaidScanScheduler.submit(new FakeWorldScan(world, center, 40, searched,
+            result -> searchedResults.add(result.getBlockFindPositions())));
+        RaidScanScheduler.submit(new FakeWorldScan(world, center, 40, other,
+            result -> otherResults.add(result.getBlockFindPositions())));
+        RaidScanScheduler.tick();
+
+        RaidScanScheduler.finishScansOf(searched);
+
+        assertThat(searchedResults).hasSize(1);
+        assertThat(searchedResults.get(0)).isEqualTo(reference.getResult().getBlockFindPositions());
+        assertThat(otherResults).isEmpty();
+        assertThat(RaidScanScheduler.getActiveScanCount()).isEqualTo(1);
+
+        RaidScanScheduler.finishScansOf(other);
+        assertThat(otherResults).hasSize(1);
+        assertThat(RaidScanScheduler.getActiveScanCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("A failing scan should still complete once with its partial result")
+    void testFailingScanCompletesOnce() {
+        List<IllegalActivityScanner.ScanResult> results = new ArrayList<>();
+        RaidScanScheduler.submit(new RaidAreaScan(null, new BlockPos(0, 64, 0), 40, MIN_BUILD_HEIGHT, MAX_BUILD_HEIGHT,
+                null, new IllegalActivityScanner.ScanResult(), results::add) {
+            @Override
+            boolean scanSection(int sx, int sy, int sz) {
+                if (getSectionsVisited() > 3) {
+                    throw new IllegalStateException("chunk gone");
+                }
+                return false;
+            }
+        });
+
+        RaidScanScheduler.tick();
+        RaidScanScheduler.tick();
+
+        assertThat(results).hasSize(1);
+        assertThat(RaidScanScheduler.getActiveScanCount()).isZero();
+    }
+}
@@ -0,0 +1,102 @@
+package de.rolandsw.schedulemc.npc.life.social;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for NeighborPairing and NPCRelationStore
+ *
+ * Tests cover:
+ * - Pair enumeration against the O(n²) reference loop
+ * - Cell boundaries and negative coordinates
+ * - Symmetric, clamped relation values
+ */
+class NeighborPairingTest {
+
+    private static List<Long> pairs(double[] xs, double[] ys, double[] zs, double range) {
+        List<Long> result = new ArrayList<>();
+        NeighborPairing.forEachPairWithin(xs, ys, zs, xs.length, range,
+            (a, b) -> result.add(((long) Math.min(a, b) << 32) | Math.max(a, b)));
+        return result;
+    }
+
+    @Test
+    @DisplayName("Fewer than two points yield no pairs")
+    void tooFewPoints() {
+        assertThat(pairs(new double[0], new double[0], new double[0], 8.0)).isEmpty();
+        assertThat(pairs(new double[]{1}, new double[]{1}, new double[]{1}, 8.0)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Pairs across cell borders and at exact range are found")
+    void cellBorders() {
+        double[] xs = {-0.5, 0.5, 7.5, 16.1};
+        double[] ys = {64, 64, 64, 64};
+        double[] zs = {-0.5, -7.0, -0.5, -0.5};
+
+        assertThat(pairs(xs, ys, zs, 8.0))
+            .containsExactlyInAnyOrder(0L << 32 | 1, 0L << 32 | 2);
+    }
+
+    @Test
+    @DisplayName("Random points match the brute-force pair loop exactly once per pair")
+    void matchesBruteForce() {
+        Random random = new Random(11);
+        for (int round = 0; round < 20; round++) {
+            int n = random.nextInt(400);
+            double[] xs = new double[n];
+            double[] ys = new double[n];
+            double[] zs = new double[n];
+            for (int i = 0; i < n; i++) {
+                xs[i] = random.nextDouble() * 200 - 100;
+                ys[i] = 60 + random.nextDouble() * 10;
+                zs[i] = random.nextDouble() * 200 - 100;
+            }
+
+            Set<Long> expected = new HashSet<>();
+            for (int i = 0; i < n; i++) {
+                for (int j = i + 1; j < n; j++) {
+                    double dx = xs[i] - xs[j], dy = ys[i] - ys[j], dz = zs[i] - zs[j];
+                    if (dx * dx + dy * dy + dz * dz <= 64.0) {
+                        expected.add(((long) i << 32) | j);
+                    }
+                }
+            }
+
+            List<Long> actual = pairs(xs, ys, zs, 8.0);
+            assertThat(actual).hasSameSizeAs(expected);
+            assertThat(new HashSet<>(actual)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("Relation store is symmetric and clamped")
+    void relationStore() {
+        NPCRelationStore store = new NPCRelationStore();
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        UUID c = UUID.randomUUID();
+
+        assertThat(store.get(a, b)).isZero();
+        store.modify(a, b, 5);
+        assertThat(store.get(a, b)).isEqualTo(5);
+        assertThat(store.get(b, a)).isEqualTo(5);
+        assertThat(store.get(a, c)).isZero();
+
+        assertThat(store.modify(b, a, 500)).isEqualTo(100);
+        assertThat(store.modify(a, b, -300)).isEqualTo(-100);
+
+        store.modify(a, b, 100);
+        assertThat(store.get(a, b)).isZero();
+        assertThat(store.size()).isZero();
+    }
+}
@@ -0,0 +1,164 @@
+package de.rolandsw.schedulemc.npc.life.social;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for RumorNetwork reputation aggregates
+ *
+ * Tests cover:
+ * - Reputation sum, negative/crime flags and most severe rumor after addRumor
+ * - Reinforcing and low-credibility rumors
+ * - Per-type counts behind getRumorsOfType and the credible type queries
+ * - Removal of expired rumors on day change
+ * - Factory rumors added before the first day change are re-based on the first real day,
+ *   rumors with a real creation day keep their expiry
+ */
+class RumorNetworkTest {
+
+    private static final UUID PLAYER = UUID.randomUUID();
+    private static final UUID OTHER = UUID.randomUUID();
+
+    @Test
+    @DisplayName("Unknown player has neutral aggregates")
+    void unknownPlayer() {
+        RumorNetwork network = new RumorNetwork();
+
+        assertThat(network.calculateReputationFromRumors(PLAYER)).isEqualTo(0);
+        assertThat(network.hasNegativeRumors(PLAYER)).isFalse();
+        assertThat(network.hasCrimeRumors(PLAYER)).isFalse();
+        assertThat(network.getMostSevereRumor(PLAYER)).isNull();
+        assertThat(network.getRumorsAbout(PLAYER)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Aggregates follow added rumors per player")
+    void aggregatesAfterAdd() {
+        RumorNetwork network = new RumorNetwork();
+        network.addRumor(new Rumor(PLAYER, RumorType.HELPFUL, 1));
+        network.addRumor(new Rumor(PLAYER, RumorType.UNRELIABLE, 1));
+
+        assertThat(network.calculateReputationFromRumors(PLAYER))
+            .isEqualTo(RumorType.HELPFUL.getReputationImpact() + RumorType.UNRELIABLE.getReputationImpact());
+        assertThat(network.hasNegativeRumors(PLAYER)).isTrue();
+        assertThat(network.hasCrimeRumors(PLAYER)).isFalse();
+        assertThat(network.getMostSevereRumor(PLAYER).getType()).isEqualTo(RumorType.UNRELIABLE);
+
+        network.addRumor(new Rumor(PLAYER, RumorType.ASSAULT, 1));
+
+        assertThat(network.hasCrimeRumors(PLAYER)).isTrue();
+        assertThat(network.getMostSevereRumor(PLAYER).getType()).isEqualTo(RumorType.ASSAULT);
+        assertThat(network.getRumorsOfType(PLAYER, RumorType.ASSAULT)).hasSize(1);
+        assertThat(network.hasNegativeRumors(OTHER)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Reinforcing keeps one rumor and raises credibility")
+    void reinforce() {
+        RumorNetwork network = new RumorNetwork();
+        Rumor weak = new Rumor(PLAYER, RumorType.THEFT, 1);
+        weak.setCredibility(50.0f);
+        network.addRumor(weak);
+        int before = network.calculateReputationFromRumors(PLAYER);
+
+        network.addRumor(new Rumor(PLAYER, RumorType.THEFT, 1));
+
+        assertThat(network.getRumorsAbout(PLAYER)).hasSize(1);
+        assertThat(network.calculateReputationFromRumors(PLAYER)).isLessThan(before);
+    }
+
+    @Test
+    @DisplayName("Rumors below credibility threshold are ignored")
+    void lowCredibilityIgnored() {
+        RumorNetwork network = new RumorNetwork();
+        Rumor doubtful = new Rumor(PLAYER, RumorType.WANTED_BY_POLICE, 1);
+        doubtful.setCredibility(10.0f);
+        network.addRumor(doubtful);
+
+        assertThat(network.hasCrimeRumors(PLAYER)).isFalse();
+        assertThat(network.getMostSevereRumor(PLAYER)).isNull();
+        assertThat(network.calculateReputationFromRumors(PLAYER)).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("Type queries use the per-type counts, including non-credible rumors for getRumorsOfType")
+    void perTypeCounts() {
+        RumorNetwork network = new RumorNetwork();
+        Rumor doubtful = new Rumor(PLAYER, RumorType.THEFT, 1);
+        doubtful.setCredibility(10.0f);
+        network.addRumor(doubtful);
+        network.addRumor(new Rumor(PLAYER, RumorType.HELPFUL, 1));
+
+        assertThat(network.getRumorsOfType(PLAYER, RumorType.THEFT)).containsExactly(doubtful);
+        assertThat(network.hasCredibleRumor(PLAYER, RumorType.THEFT)).isFalse();
+        assertThat(network.countCredibleRumors(PLAYER, RumorType.THEFT)).isEqualTo(0);
+        assertThat(network.countCredibleRumors(PLAYER, RumorType.HELPFUL)).isEqualTo(1);
+        assertThat(network.getRumorsOfType(PLAYER, RumorType.ASSAULT)).isEmpty();
+        assertThat(network.getRumorsOfType(OTHER, RumorType.HELPFUL)).isEmpty();
+
+        network.addRumor(new Rumor(PLAYER, RumorType.ASSAULT, 1));
+
+        assertThat(network.getRumorsOfType(PLAYER, RumorType.ASSAULT)).hasSize(1);
+        assertThat(network.hasCredibleRumor(PLAYER, RumorType.ASSAULT)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Day change drops expired rumors and updates aggregates")
+    void dayChangeExpires() {
+        RumorNetwork network = new RumorNetwork();
+        network.onDayChange(400);
+        network.addRumor(new Rumor(PLAYER, RumorType.VANDALISM, 400));
+        network.addRumor(new Rumor(PLAYER, RumorType.WANTED_BY_POLICE, 400));
+
+        network.onDayChange(400 + RumorType.VANDALISM.getBaseDurationDays());
+
+        assertThat(network.getRumorsOfType(PLAYER, RumorType.VANDALISM)).isEmpty();
+        assertThat(network.getMostSevereRumor(PLAYER).getType()).isEqualTo(RumorType.WANTED_BY_POLICE);
+
+        network.onDayChange(400 + RumorType.WANTED_BY_POLICE.getBaseDurationDays());
+
+        assertThat(network.getRumorsAbout(PLAYER)).isEmpty();
+        assertThat(network.hasNegativeRumors(PLAYER)).isFalse();
+        assertThat(network.getMostSevereRumor(PLAYER)).isNull();
+    }
+
+    @Test
+    @DisplayName("First day change re-bases factory rumors instead of expiring them")
+    void firstDayChangeRebasesFactoryRumors() {
+        RumorNetwork network = new RumorNetwork();
+        network.spreadRumor(Rumor.createPlayer(PLAYER, "hilfsbereit", 3, 5), null);
+        Rumor dated = new Rumor(OTHER, RumorType.THEFT, 990);
+        network.addRumor(dated);
+        long datedExpiration = dated.getExpirationDay();
+
+        network.onDayChange(1000);
+
+        assertThat(network.getRumorsAbout(PLAYER)).hasSize(1);
+        assertThat(network.getRumorsAbout(PLAYER).get(0).getExpirationDay()).isEqualTo(1005L);
+        assertThat(dated.getExpirationDay()).isEqualTo(datedExpiration);
+
+        network.onDayChange(1004);
+        assertThat(network.getRumorsAbout(PLAYER)).hasSize(1);
+
+        network.onDayChange(1005);
+        assertThat(network.getRumorsAbout(PLAYER)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Factory rumors after the first day change expire from the known day")
+    void factoryRumorAfterFirstDay() {
+        RumorNetwork network = new RumorNetwork();
+        network.onDayChange(1000);
+        network.broadcastRumor(Rumor.createWorld("Markt", 2, 3));
+
+        network.onDayChange(1002);
+        assertThat(network.getRumorsAbout(new UUID(0, 0))).hasSize(1);
+
+        network.onDayChange(1003);
+        assertThat(network.getRumorsAbout(new UUID(0, 0))).isEmpty();
+    }
+}
@@ -0,0 +1,197 @@
+package de.rolandsw.schedulemc.production.growth;
+
+import de.rolandsw.schedulemc.cannabis.CannabisStrain;
+import de.rolandsw.schedulemc.coca.CocaType;
+import de.rolandsw.schedulemc.coffee.CoffeeType;
+import de.rolandsw.schedulemc.mushroom.MushroomType;
+import de.rolandsw.schedulemc.poppy.PoppyType;
+import de.rolandsw.schedulemc.production.core.PotType;
+import de.rolandsw.schedulemc.production.data.PlantPotData;
+import de.rolandsw.schedulemc.tobacco.TobaccoQuality;
+import de.rolandsw.schedulemc.tobacco.TobaccoType;
+import de.rolandsw.schedulemc.wine.WineType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for PlantGrowthHandler.advance
+ *
+ * Tests cover:
+ * - Parity with the iterative tick loop for all plant types (stage, ticks, quality)
+ * - Stage-change counting and water/soil consumption parity
+ * - Growth boosters and catch-up chunks of very different sizes
+ */
+class PlantGrowthAdvanceTest {
+
+    private static final int[] CHUNKS = {0, 1, 3, 7, 50, 333, 1000, 9999, 10000, 250000};
+
+    private static PlantPotData pot(Consumer<PlantPotData> planter) {
+        PlantPotData pot = new PlantPotData(PotType.IRON);
+        pot.setSoil(true);
+        pot.setSoilLevel(165);
+        pot.setWaterLevel(100);
+        pot.setMist(true);
+        planter.accept(pot);
+        return pot;
+    }
+
+    private static List<Supplier<PlantPotData>> allPlants() {
+        List<Supplier<PlantPotData>> plants = new ArrayList<>();
+        for (TobaccoType type : TobaccoType.values()) {
+            plants.add(() -> pot(p -> p.plantSeed(type)));
+            plants.add(() -> pot(p -> {
+                p.plantSeed(type);
+                p.getPlant().applyGrowthBooster();
+            }));
+        }
+        for (CannabisStrain strain : CannabisStrain.values()) {
+            plants.add(() -> pot(p -> p.plantCannabisSeed(strain)));
+        }
+        for (CocaType type : CocaType.values()) {
+            plants.add(() -> pot(p -> p.plantCocaSeed(type)));
+        }
+        for (PoppyType type : PoppyType.values()) {
+            // Legendäre Qualität: kein Zufallswurf, Qualität bleibt deterministisch
+            plants.add(() -> pot(p -> {
+                p.plantPoppySeed(type);
+                p.getPoppyPlant().setQuality(TobaccoQuality.LEGENDAER);
+                p.getPoppyPlant().applyGrowthBooster();
+            }));
+        }
+        for (MushroomType type : MushroomType.values()) {
+            plants.add(() -> pot(p -> p.plantMushroomSpore(type)));
+            plants.add(() -> pot(p -> {
+                p.plantMushroomSpore(type);
+                p.getMushroomPlant().applyGrowthBooster();
+            }));
+        }
+        for (WineType type : WineType.values()) {
+            plants.add(() -> pot(p -> p.plantGrapeSeed(type)));
+        }
+        for (CoffeeType type : CoffeeType.values()) {
+            plants.add(() -> pot(p -> p.plantCoffeeSeed(type)));
+        }
+        return plants;
+    }
+
+    /**
+     * Bisheriger Pfad aus PlantPotBlockEntity: Einzel-Ticks, Stadium-Wechsel zählen
+     */
+    private static int iterate(PlantGrowthHandler handler, PlantPotData pot, int ticks) {
+        int prev = handler.getCurrentStage(pot);
+        int changes = 0;
+        for (int i = 0; i < ticks; i++) {
+            handler.tick(pot);
+            int cur = handler.getCurrentStage(pot);
+            if (cur != prev) {
+                changes++;
+                prev = cur;
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Bisheriger Ressourcen-Verbrauch aus PlantPotBlockEntity (pro Stadium-Wechsel)
+     */
+    private static void legacyConsume(PlantPotData pot, int stageAdvances) {
+        for (int s = 0; s < stageAdvances; s++) {
+            if (pot.hasMushroomPlant() && !pot.getMushroomPlant().needsWater()) {
+                pot.consumeSoil(pot.getSoilConsumptionPerStage());
+            } else {
+                pot.consumeWater(pot.getMaxWater() / 7.0);
+            }
+        }
+    }
+
+    private static int ticksGrown(PlantPotData pot) {
+        if (pot.hasTobaccoPlant()) return pot.getPlant().getTicksGrown();
+        if (pot.hasCannabisPlant()) return pot.getCannabisPlant().getTicksGrown();
+        if (pot.hasCocaPlant()) return pot.getCocaPlant().getTicksGrown();
+        if (pot.hasPoppyPlant()) return pot.getPoppyPlant().getTicksGrown();
+        if (pot.hasMushroomPlant()) return pot.getMushroomPlant().getTicksGrown();
+        if (pot.hasGrapePlant()) return pot.getGrapePlant().getTicksGrown();
+        return pot.getCoffeePlant().getTicksGrown();
+    }
+
+    private static Object quality(PlantPotData pot) {
+        if (pot.hasTobaccoPlant()) return pot.getPlant().getQuality();
+        if (pot.hasCannabisPlant()) return pot.getCannabisPlant().getQuality();
+        if (pot.hasCocaPlant()) return pot.getCocaPlant().getQuality();
+        if (pot.hasPoppyPlant()) return pot.getPoppyPlant().getQuality();
+        if (pot.hasMushroomPlant()) return pot.getMushroomPlant().getQuality();
+        if (pot.hasCoffeePlant()) return pot.getCoffeePlant().getQuality();
+        return null;
+    }
+
+    @Test
+    @DisplayName("advance matches the iterative tick loop for every plant type")
+    void parityWithIterativeTicks() {
+        for (Supplier<PlantPotData> plant : allPlants()) {
+            PlantPotData iterative = plant.get();
+            PlantPotData closedForm = plant.get();
+            PlantGrowthHandler handler = PlantGrowthHandlerFactory.getHandler(iterative);
+            assertThat(handler).isNotNull();
+            assertThat(PlantGrowthHandlerFactory.getHandler(closedForm)).isSameAs(handler);
+
+            for (int chunk : CHUNKS) {
+                int expectedChanges = iterate(handler, iterative, chunk);
+                legacyConsume(iterative, expectedChanges);
+
+                int changes = handler.advance(closedForm, chunk);
+                handler.consumeResourcesForGrowth(closedForm, changes);
+
+                String context = handler.getPlantTypeName() + " after chunk " + chunk;
+                assertThat(changes).as(context).isEqualTo(expectedChanges);
+                assertThat(handler.getCurrentStage(closedForm)).as(context)
+                    .isEqualTo(handler.getCurrentStage(iterative));
+                assertThat(ticksGrown(closedForm)).as(context).isEqualTo(ticksGrown(iterative));
+                assertThat(quality(closedForm)).as(context).isEqualTo(quality(iterative));
+                assertThat(closedForm.getWaterLevelExact()).as(context).isEqualTo(iterative.getWaterLevelExact());
+                assertThat(closedForm.getSoilLevelExact()).as(context).isEqualTo(iterative.getSoilLevelExact());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Many small steps and one large step end in the same state")
+    void splitInvariance() {
+        for (Supplier<PlantPotData> plant : allPlants()) {
+            PlantPotData stepwise = plant.get();
+            PlantPotData single = plant.get();
+            PlantGrowthHandler handler = PlantGrowthHandlerFactory.getHandler(single);
+
+            int total = 0;
+            for (int step = 1; step <= 200; step++) {
+                handler.advance(stepwise, step);
+                total += step;
+            }
+            handler.advance(single, total);
+
+            assertThat(handler.getCurrentStage(stepwise)).isEqualTo(handler.getCurrentStage(single));
+            assertThat(ticksGrown(stepwise)).isEqualTo(ticksGrown(single));
+        }
+    }
+
+    @Test
+    @DisplayName("Fully grown plants and zero ticks are no-ops")
+    void noOps() {
+        PlantPotData pot = pot(p -> p.plantSeed(TobaccoType.VIRGINIA));
+        PlantGrowthHandler handler = PlantGrowthHandlerFactory.getHandler(pot);
+
+        assertThat(handler.advance(pot, 0)).isZero();
+        assertThat(handler.advance(pot, Integer.MAX_VALUE)).isEqualTo(7);
+        assertThat(pot.getPlant().isFullyGrown()).isTrue();
+
+        int ticks = pot.getPlant().getTicksGrown();
+        assertThat(handler.advance(pot, 1000)).isZero();
+        assertThat(pot.getPlant().getTicksGrown()).isEqualTo(ticks);
+    }
+}
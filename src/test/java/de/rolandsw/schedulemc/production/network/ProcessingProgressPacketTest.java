@@ -0,0 +1,125 @@
+package de.rolandsw.schedulemc.production.network;
+
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.DecoderException;
+import net.minecraft.network.FriendlyByteBuf;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for ProcessingProgressPacket
+ *
+ * Tests cover:
+ * - Encode/decode round trip with VarInt progress values and slot indices up to 255
+ * - Grouping of consecutive entries per position in the wire format
+ * - MAX_GROUPS: oversized packets are rejected, split() keeps every packet within the limit
+ */
+class ProcessingProgressPacketTest {
+
+    private static FriendlyByteBuf encode(ProcessingProgressPacket packet) {
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        packet.encode(buf);
+        return buf;
+    }
+
+    private static List<ProcessingProgressPacket.Entry> entriesAtPositions(int positions) {
+        List<ProcessingProgressPacket.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < positions; i++) {
+            entries.add(new ProcessingProgressPacket.Entry(i * 31L, 0, i));
+            entries.add(new ProcessingProgressPacket.Entry(i * 31L, 1, i + 1));
+        }
+        return entries;
+    }
+
+    @Test
+    @DisplayName("Decode should return the encoded entries and consume the whole buffer")
+    void testRoundTrip() {
+        List<ProcessingProgressPacket.Entry> entries = List.of(
+            new ProcessingProgressPacket.Entry(-42L, 0, 0),
+            new ProcessingProgressPacket.Entry(-42L, 3, 127),
+            new ProcessingProgressPacket.Entry(-42L, 255, 128),
+            new ProcessingProgressPacket.Entry(1234567890123L, 1, 2_000_000),
+            new ProcessingProgressPacket.Entry(7L, 2, 16_383)
+        );
+        FriendlyByteBuf buf = encode(new ProcessingProgressPacket(entries));
+
+        ProcessingProgressPacket decoded = ProcessingProgressPacket.decode(buf);
+
+        assertThat(decoded.getEntries()).containsExactlyElementsOf(entries);
+        assertThat(buf.readableBytes()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("Consecutive entries of one position should share a group header")
+    void testGroupCodec() {
+        List<ProcessingProgressPacket.Entry> entries = List.of(
+            new ProcessingProgressPacket.Entry(5L, 0, 1),
+            new ProcessingProgressPacket.Entry(5L, 1, 300),
+            new ProcessingProgressPacket.Entry(9L, 0, 2)
+        );
+        FriendlyByteBuf buf = encode(new ProcessingProgressPacket(entries));
+
+        // VarInt group count, then per group Long position + Byte count, per slot Byte index + VarInt progress
+        assertThat(buf.readableBytes()).isEqualTo(1 + (8 + 1 + 1 + 1 + 1 + 2) + (8 + 1 + 1 + 1));
+        assertThat(buf.readVarInt()).isEqualTo(2);
+        assertThat(buf.readLong()).isEqualTo(5L);
+        assertThat(buf.readUnsignedByte()).isEqualTo((short) 2);
+    }
+
+    @Test
+    @DisplayName("An empty packet should round trip")
+    void testEmptyPacket() {
+        FriendlyByteBuf buf = encode(new ProcessingProgressPacket(List.of()));
+
+        assertThat(ProcessingProgressPacket.decode(buf).getEntries()).isEmpty();
+        assertThat(buf.readableBytes()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("Exactly MAX_GROUPS positions should still decode")
+    void testMaxGroupsDecodes() {
+        List<ProcessingProgressPacket.Entry> entries = entriesAtPositions(ProcessingProgressPacket.MAX_GROUPS);
+        FriendlyByteBuf buf = encode(new ProcessingProgressPacket(entries));
+
+        assertThat(ProcessingProgressPacket.decode(buf).getEntries()).hasSize(entries.size());
+        assertThat(buf.readableBytes()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("More than MAX_GROUPS positions should be rejected instead of truncated")
+    void testOversizedPacketRejected() {
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        buf.writeVarInt(ProcessingProgressPacket.MAX_GROUPS + 1);
+
+        assertThatThrownBy(() -> ProcessingProgressPacket.decode(buf)).isInstanceOf(DecoderException.class);
+
+        FriendlyByteBuf negative = new FriendlyByteBuf(Unpooled.buffer());
+        negative.writeVarInt(-1);
+        assertThatThrownBy(() -> ProcessingProgressPacket.decode(negative)).isInstanceOf(DecoderException.class);
+    }
+
+    @Test
+    @DisplayName("split() should keep every packet within MAX_GROUPS without separating a position")
+    void testSplit() {
+        List<ProcessingProgressPacket.Entry> entries = entriesAtPositions(2 * ProcessingProgressPacket.MAX_GROUPS + 5);
+
+        List<ProcessingProgressPacket> packets = ProcessingProgressPacket.split(entries);
+
+        assertThat(packets).hasSize(3);
+        List<ProcessingProgressPacket.Entry> decoded = new ArrayList<>();
+        for (ProcessingProgressPacket packet : packets) {
+            FriendlyByteBuf buf = encode(packet);
+            assertThat(buf.readVarInt()).isLessThanOrEqualTo(ProcessingProgressPacket.MAX_GROUPS);
+            buf.readerIndex(0);
+            decoded.addAll(ProcessingProgressPacket.decode(buf).getEntries());
+        }
+        assertThat(decoded).containsExactlyElementsOf(entries);
+        assertThat(packets.get(2).getEntries()).hasSize(2 * 5);
+        assertThat(ProcessingProgressPacket.split(List.of())).isEmpty();
+    }
+}
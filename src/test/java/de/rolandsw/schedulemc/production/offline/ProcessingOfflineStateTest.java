@@ -0,0 +1,117 @@
+package de.rolandsw.schedulemc.production.offline;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for ProcessingOfflineState
+ *
+ * Tests cover:
+ * - Parity with the throttled UnifiedProcessingBlockEntity tick (progress, completion, resource)
+ * - Partial intervals carried over between batches
+ * - Claimed states are no longer advanced
+ */
+class ProcessingOfflineStateTest {
+
+    private static final int TICK_INTERVAL = 5;
+
+    /**
+     * Referenz: Slot-Schleife aus UnifiedProcessingBlockEntity.tick(), {@code cycles} mal
+     */
+    private static int simulate(int[] progress, boolean[] active, boolean[] completed, int processingTime,
+                                boolean requiresResource, int resourceAmount, int resourceLevel, long cycles) {
+        for (long c = 0; c < cycles; c++) {
+            for (int i = 0; i < progress.length; i++) {
+                if (!active[i]) continue;
+                if (requiresResource && resourceLevel < resourceAmount) continue;
+                progress[i] += TICK_INTERVAL;
+                if (requiresResource && progress[i] % 20 == 0) {
+                    resourceLevel = Math.max(0, resourceLevel - resourceAmount);
+                }
+                if (progress[i] >= processingTime) {
+                    active[i] = false;
+                    completed[i] = true;
+                    progress[i] = 0;
+                }
+            }
+        }
+        return resourceLevel;
+    }
+
+    @Test
+    @DisplayName("Offline advance matches the tick loop")
+    void matchesTickLoop() {
+        Random random = new Random(42);
+        for (int run = 0; run < 2000; run++) {
+            int slots = 1 + random.nextInt(6);
+            int processingTime = 20 + random.nextInt(60) * 5;
+            boolean requiresResource = random.nextBoolean();
+            int resourceAmount = 1 + random.nextInt(20);
+            int resourceLevel = random.nextInt(600);
+            int[] progress = new int[slots];
+            boolean[] active = new boolean[slots];
+            for (int i = 0; i < slots; i++) {
+                progress[i] = random.nextInt(processingTime / TICK_INTERVAL) * TICK_INTERVAL;
+                active[i] = random.nextInt(4) != 0;
+            }
+
+            ProcessingOfflineState state = new ProcessingOfflineState(progress, active, processingTime,
+                TICK_INTERVAL, requiresResource, resourceAmount, resourceLevel, 1000L);
+            long elapsed = random.nextInt(5000);
+            state.advanceTo(1000L + elapsed, 0L);
+
+            boolean[] completed = new boolean[slots];
+            int expectedResource = simulate(progress, active, completed, processingTime,
+                requiresResource, resourceAmount, resourceLevel, elapsed / TICK_INTERVAL);
+
+            for (int i = 0; i < slots; i++) {
+                assertThat(state.isCompleted(i)).as("run %d slot %d completed", run, i).isEqualTo(completed[i]);
+                assertThat(state.getProgress(i)).as("run %d slot %d progress", run, i).isEqualTo(progress[i]);
+            }
+            assertThat(state.getResourceLevel()).as("run %d resource", run).isEqualTo(expectedResource);
+        }
+    }
+
+    @Test
+    @DisplayName("Partial intervals are carried over between batches")
+    void carriesPartialIntervals() {
+        ProcessingOfflineState state = new ProcessingOfflineState(new int[]{0}, new boolean[]{true},
+            1000, TICK_INTERVAL, false, 0, 0, 0L);
+
+        for (long time = 3; time <= 30; time += 3) {
+            state.advanceTo(time, 0L);
+        }
+
+        assertThat(state.getProgress(0)).isEqualTo(30);
+    }
+
+    @Test
+    @DisplayName("Stalls once the resource runs out")
+    void stallsWithoutResource() {
+        ProcessingOfflineState state = new ProcessingOfflineState(new int[]{0, 0}, new boolean[]{true, true},
+            10000, TICK_INTERVAL, true, 10, 20, 0L);
+
+        state.advanceTo(1_000_000L, 0L);
+
+        assertThat(state.getResourceLevel()).isLessThan(10);
+        assertThat(state.isIdle()).isTrue();
+        assertThat(state.isCompleted(0)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Claimed state is not advanced anymore")
+    void claimedStateIsFrozen() {
+        ProcessingOfflineState state = new ProcessingOfflineState(new int[]{0}, new boolean[]{true},
+            1000, TICK_INTERVAL, false, 0, 0, 0L);
+
+        state.advanceTo(100L, 0L);
+        state.claim();
+        state.advanceTo(500L, 0L);
+
+        assertThat(state.getProgress(0)).isEqualTo(100);
+    }
+}
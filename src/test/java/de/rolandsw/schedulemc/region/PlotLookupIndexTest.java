@@ -0,0 +1,158 @@
+package de.rolandsw.schedulemc.region;
+
+import net.minecraft.core.BlockPos;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for PlotLookupIndex
+ *
+ * Tests cover:
+ * - Lookups inside/outside plot bounds incl. chunk borders and negative coordinates
+ * - Copy-on-write: older snapshots stay unchanged
+ * - Replacing, removing and rebuilding
+ * - Nested plots resolve to the innermost plot regardless of insertion order
+ * - Equivalence with a linear scan over many plots
+ */
+class PlotLookupIndexTest {
+
+    private static PlotRegion plot(String id, int x1, int y1, int z1, int x2, int y2, int z2) {
+        return new PlotRegion(id, new BlockPos(x1, y1, z1), new BlockPos(x2, y2, z2), 0.0);
+    }
+
+    @Test
+    @DisplayName("Should find plot inside bounds and nothing outside")
+    void testFind() {
+        PlotRegion plot = plot("plot1", 10, 60, 10, 40, 80, 40);
+        PlotLookupIndex index = PlotLookupIndex.EMPTY.withPlot(plot);
+
+        assertThat(index.find(new BlockPos(10, 60, 10))).isSameAs(plot);
+        assertThat(index.find(new BlockPos(40, 80, 40))).isSameAs(plot);
+        assertThat(index.find(new BlockPos(41, 70, 20))).isNull();
+        assertThat(index.find(new BlockPos(20, 81, 20))).isNull();
+        assertThat(index.find(new BlockPos(500, 70, 500))).isNull();
+    }
+
+    @Test
+    @DisplayName("Should handle plots crossing the origin")
+    void testNegativeCoordinates() {
+        PlotRegion plot = plot("plot1", -20, 0, -20, 3, 10, 3);
+        PlotLookupIndex index = PlotLookupIndex.build(List.of(plot));
+
+        assertThat(index.find(new BlockPos(-20, 5, -20))).isSameAs(plot);
+        assertThat(index.find(new BlockPos(-1, 5, 0))).isSameAs(plot);
+        assertThat(index.find(new BlockPos(-21, 5, 0))).isNull();
+        assertThat(index.getColumnCount()).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("Edits should produce new snapshots without touching old ones")
+    void testCopyOnWrite() {
+        PlotRegion first = plot("plot1", 0, 0, 0, 15, 15, 15);
+        PlotRegion second = plot("plot2", 0, 20, 0, 15, 30, 15);
+
+        PlotLookupIndex one = PlotLookupIndex.EMPTY.withPlot(first);
+        PlotLookupIndex two = one.withPlot(second);
+        PlotLookupIndex removed = two.withoutPlot("plot1");
+
+        assertThat(one.find(new BlockPos(5, 25, 5))).isNull();
+        assertThat(two.find(new BlockPos(5, 25, 5))).isSameAs(second);
+        assertThat(two.find(new BlockPos(5, 5, 5))).isSameAs(first);
+        assertThat(removed.find(new BlockPos(5, 5, 5))).isNull();
+        assertThat(removed.find(new BlockPos(5, 25, 5))).isSameAs(second);
+        assertThat(removed.getPlotCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Re-adding a plot id should replace the old bounds")
+    void testReplace() {
+        PlotLookupIndex index = PlotLookupIndex.EMPTY
+            .withPlot(plot("plot1", 0, 0, 0, 15, 15, 15))
+            .withPlot(plot("plot1", 100, 0, 100, 115, 15, 115));
+
+        assertThat(index.find(new BlockPos(5, 5, 5))).isNull();
+        assertThat(index.find(new BlockPos(105, 5, 105))).isNotNull();
+        assertThat(index.getPlotCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Nested plots should resolve to the innermost plot in any insertion order")
+    void testNestedPlotsInnermostFirst() {
+        PlotRegion outer = plot("plot1", 0, 0, 0, 63, 100, 63);
+        PlotRegion inner = plot("plot2", 16, 10, 16, 31, 20, 31);
+        PlotRegion innermost = plot("plot3", 20, 12, 20, 24, 14, 24);
+        BlockPos deep = new BlockPos(22, 13, 22);
+        BlockPos middle = new BlockPos(30, 15, 30);
+        BlockPos outside = new BlockPos(40, 50, 40);
+
+        PlotLookupIndex outerFirst = PlotLookupIndex.EMPTY.withPlot(outer).withPlot(inner).withPlot(innermost);
+        PlotLookupIndex innerFirst = PlotLookupIndex.EMPTY.withPlot(innermost).withPlot(inner).withPlot(outer);
+        PlotLookupIndex built = PlotLookupIndex.build(List.of(outer, innermost, inner));
+
+        for (PlotLookupIndex index : List.of(outerFirst, innerFirst, built)) {
+            assertThat(index.find(deep)).isSameAs(innermost);
+            assertThat(index.find(middle)).isSameAs(inner);
+            assertThat(index.find(outside)).isSameAs(outer);
+        }
+
+        // Replacing the outer plot (e.g. after a price change) must not move it in front of the sub-plots
+        PlotRegion replacedOuter = plot("plot1", 0, 0, 0, 63, 100, 63);
+        PlotLookupIndex replaced = outerFirst.withPlot(replacedOuter);
+        assertThat(replaced.find(deep)).isSameAs(innermost);
+        assertThat(replaced.find(middle)).isSameAs(inner);
+        assertThat(replaced.find(outside)).isSameAs(replacedOuter);
+
+        // Removing the sub-plot falls back to the next enclosing plot
+        assertThat(replaced.withoutPlot("plot3").find(deep)).isSameAs(inner);
+    }
+
+    @Test
+    @DisplayName("Removing an unknown plot should return the same snapshot")
+    void testRemoveUnknown() {
+        PlotLookupIndex index = PlotLookupIndex.EMPTY.withPlot(plot("plot1", 0, 0, 0, 15, 15, 15));
+
+        assertThat(index.withoutPlot("missing")).isSameAs(index);
+    }
+
+    @Test
+    @DisplayName("Many edits should match a linear scan")
+    void testMatchesLinearScan() {
+        Random random = new Random(42);
+        List<PlotRegion> live = new ArrayList<>();
+        PlotLookupIndex index = PlotLookupIndex.EMPTY;
+
+        for (int i = 0; i < 2_000; i++) {
+            if (!live.isEmpty() && random.nextInt(4) == 0) {
+                PlotRegion removed = live.remove(random.nextInt(live.size()));
+                index = index.withoutPlot(removed.getPlotId());
+            } else {
+                int x = random.nextInt(4_000) - 2_000;
+                int z = random.nextInt(4_000) - 2_000;
+                int y = random.nextInt(100);
+                PlotRegion added = plot("plot" + i, x, y, z,
+                    x + random.nextInt(60), y + random.nextInt(30), z + random.nextInt(60));
+                live.add(added);
+                index = index.withPlot(added);
+            }
+        }
+
+        assertThat(index.getPlotCount()).isEqualTo(live.size());
+        for (int i = 0; i < 20_000; i++) {
+            BlockPos pos = new BlockPos(random.nextInt(4_100) - 2_000, random.nextInt(130), random.nextInt(4_100) - 2_000);
+            PlotRegion found = index.find(pos);
+            boolean expected = live.stream().anyMatch(p -> p.contains(pos));
+
+            assertThat(found != null).isEqualTo(expected);
+            if (found != null) {
+                assertThat(found.contains(pos)).isTrue();
+                assertThat(live).contains(found);
+            }
+        }
+    }
+}
@@ -133,6 +133,24 @@ public class PlotManagerTest {
         assertThat(PlotManager.getPlotAt(new BlockPos(25, 67, 25))).isEqualTo(plot2);
     }
 
+    @Test
+    public void testCreatePlot_PartialOverlapRejected() {
+        PlotManager.createPlot(pos1, pos2, 1000.0);
+
+        assertThatThrownBy(() -> PlotManager.createPlot(new BlockPos(5, 64, 5), new BlockPos(15, 70, 15), 1000.0))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(PlotManager.getPlotCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testCreatePlot_NestedAllowed() {
+        PlotRegion outer = PlotManager.createPlot(new BlockPos(0, 0, 0), new BlockPos(100, 100, 100), 1000.0);
+        PlotRegion inner = PlotManager.createPlot(new BlockPos(10, 10, 10), new BlockPos(20, 20, 20), 500.0);
+
+        assertThat(PlotManager.getPlotsContaining(new BlockPos(15, 15, 15))).containsExactlyInAnyOrder(outer, inner);
+        assertThat(PlotManager.getNearestPlots(new BlockPos(200, 50, 50), 1, null)).containsExactly(outer);
+    }
+
     @Test
     public void testPlotCache_Performance() {
         // Create a plot
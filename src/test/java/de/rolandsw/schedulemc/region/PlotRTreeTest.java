@@ -0,0 +1,122 @@
+package de.rolandsw.schedulemc.region;
+
+import net.minecraft.core.BlockPos;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for PlotRTree
+ *
+ * Tests cover:
+ * - Overlap and containment queries against a brute-force scan
+ * - k-nearest queries with filter
+ * - Empty trees and node-capacity boundaries
+ */
+class PlotRTreeTest {
+
+    private static PlotRegion plot(String id, int x1, int y1, int z1, int x2, int y2, int z2) {
+        return new PlotRegion(id, new BlockPos(x1, y1, z1), new BlockPos(x2, y2, z2), 0.0);
+    }
+
+    private static List<PlotRegion> randomPlots(int count, long seed) {
+        Random random = new Random(seed);
+        List<PlotRegion> plots = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int x = random.nextInt(20_000) - 10_000;
+            int z = random.nextInt(20_000) - 10_000;
+            int y = random.nextInt(200);
+            plots.add(plot("plot" + i, x, y, z, x + random.nextInt(80), y + random.nextInt(40), z + random.nextInt(80)));
+        }
+        return plots;
+    }
+
+    private static long distanceSq(PlotRegion plot, BlockPos pos) {
+        long dx = Math.max(0, Math.max(plot.getMin().getX() - pos.getX(), pos.getX() - plot.getMax().getX()));
+        long dy = Math.max(0, Math.max(plot.getMin().getY() - pos.getY(), pos.getY() - plot.getMax().getY()));
+        long dz = Math.max(0, Math.max(plot.getMin().getZ() - pos.getZ(), pos.getZ() - plot.getMax().getZ()));
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    @Test
+    @DisplayName("Empty tree should return no results")
+    void testEmpty() {
+        PlotRTree tree = PlotRTree.build(List.of());
+
+        assertThat(tree.size()).isZero();
+        assertThat(tree.findContaining(new BlockPos(0, 0, 0))).isEmpty();
+        assertThat(tree.findNearest(new BlockPos(0, 0, 0), 3, null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Nested plots should all be reported as containing")
+    void testNestedContaining() {
+        PlotRegion district = plot("gov", 0, 0, 0, 200, 100, 200);
+        PlotRegion house = plot("house", 50, 60, 50, 60, 70, 60);
+        PlotRTree tree = PlotRTree.build(List.of(district, house));
+
+        assertThat(tree.findContaining(new BlockPos(55, 65, 55))).containsExactlyInAnyOrder(district, house);
+        assertThat(tree.findContaining(new BlockPos(10, 10, 10))).containsExactly(district);
+        assertThat(tree.findContaining(new BlockPos(201, 10, 10))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Overlap queries should match a brute-force scan")
+    void testOverlapMatchesScan() {
+        for (int count : new int[] { 1, 16, 17, 257, 5_000 }) {
+            List<PlotRegion> plots = randomPlots(count, count);
+            PlotRTree tree = PlotRTree.build(plots);
+            Random random = new Random(7);
+
+            for (int i = 0; i < 500; i++) {
+                int x = random.nextInt(21_000) - 10_500;
+                int z = random.nextInt(21_000) - 10_500;
+                int y = random.nextInt(250);
+                BlockPos min = new BlockPos(x, y, z);
+                BlockPos max = new BlockPos(x + random.nextInt(300), y + random.nextInt(50), z + random.nextInt(300));
+
+                Set<PlotRegion> expected = new HashSet<>();
+                for (PlotRegion plot : plots) {
+                    if (plot.getMin().getX() <= max.getX() && plot.getMax().getX() >= min.getX()
+                        && plot.getMin().getY() <= max.getY() && plot.getMax().getY() >= min.getY()
+                        && plot.getMin().getZ() <= max.getZ() && plot.getMax().getZ() >= min.getZ()) {
+                        expected.add(plot);
+                    }
+                }
+
+                assertThat(new HashSet<>(tree.findOverlapping(min, max))).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Nearest queries should return the closest matching plots in order")
+    void testNearestWithFilter() {
+        List<PlotRegion> plots = randomPlots(2_000, 11);
+        PlotRTree tree = PlotRTree.build(plots);
+        BlockPos origin = new BlockPos(123, 64, -456);
+
+        List<PlotRegion> nearest = tree.findNearest(origin, 10, plot -> plot.getPlotId().endsWith("7"));
+
+        List<PlotRegion> expected = new ArrayList<>();
+        for (PlotRegion plot : plots) {
+            if (plot.getPlotId().endsWith("7")) {
+                expected.add(plot);
+            }
+        }
+        expected.sort(Comparator.comparingLong(plot -> distanceSq(plot, origin)));
+
+        assertThat(nearest).hasSize(10);
+        for (int i = 0; i < nearest.size(); i++) {
+            assertThat(distanceSq(nearest.get(i), origin)).isEqualTo(distanceSq(expected.get(i), origin));
+        }
+    }
+}
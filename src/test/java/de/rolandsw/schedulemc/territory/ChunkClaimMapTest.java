@@ -0,0 +1,113 @@
+package de.rolandsw.schedulemc.territory;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for ChunkClaimMap
+ *
+ * Tests cover:
+ * - Put/get/remove with negative coordinates and region borders
+ * - Region bitmaps stay in sync and empty regions are dropped
+ * - Area iteration visits exactly the claimed chunks inside the rectangle
+ */
+class ChunkClaimMapTest {
+
+    @Test
+    @DisplayName("Negative coordinates map to the right region and bit")
+    void negativeCoordinates() {
+        ChunkClaimMap<String> map = new ChunkClaimMap<>();
+        map.put(-1, -1, "a");
+        map.put(-32, 0, "b");
+        map.put(31, -33, "c");
+
+        assertThat(map.get(-1, -1)).isEqualTo("a");
+        assertThat(map.isClaimed(-32, 0)).isTrue();
+        assertThat(map.isClaimed(-33, 0)).isFalse();
+        assertThat(map.get(ChunkClaimMap.chunkKey(31, -33))).isEqualTo("c");
+        assertThat(map.regionKeys()).containsExactlyInAnyOrder(
+            ChunkClaimMap.regionKey(-1, -1), ChunkClaimMap.regionKey(-1, 0), ChunkClaimMap.regionKey(0, -2));
+    }
+
+    @Test
+    @DisplayName("Removing the last chunk of a region drops its bitmap")
+    void removeDropsEmptyRegion() {
+        ChunkClaimMap<String> map = new ChunkClaimMap<>();
+        map.put(5, 5, "a");
+        map.put(6, 5, "b");
+
+        assertThat(map.remove(5, 5)).isEqualTo("a");
+        assertThat(map.getRegionBitmap(ChunkClaimMap.regionKey(0, 0))).isNotNull();
+        assertThat(map.remove(6, 5)).isEqualTo("b");
+        assertThat(map.getRegionBitmap(ChunkClaimMap.regionKey(0, 0))).isNull();
+        assertThat(map.remove(6, 5)).isNull();
+        assertThat(map.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Replacing a value keeps the bitmap unchanged")
+    void replaceKeepsClaim() {
+        ChunkClaimMap<String> map = new ChunkClaimMap<>();
+        map.put(1, 2, "old");
+
+        assertThat(map.put(1, 2, "new")).isEqualTo("old");
+        assertThat(map.get(1, 2)).isEqualTo("new");
+        assertThat(map.size()).isEqualTo(1);
+        assertThat(map.isClaimed(1, 2)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Randomized operations match a plain map, including area iteration")
+    void matchesReferenceMap() {
+        Random random = new Random(11);
+        ChunkClaimMap<Integer> map = new ChunkClaimMap<>();
+        Map<Long, Integer> reference = new HashMap<>();
+
+        for (int step = 0; step < 20_000; step++) {
+            int x = random.nextInt(200) - 100;
+            int z = random.nextInt(200) - 100;
+            if (random.nextInt(3) == 0) {
+                assertThat(map.remove(x, z)).isEqualTo(reference.remove(ChunkClaimMap.chunkKey(x, z)));
+            } else {
+                assertThat(map.put(x, z, step)).isEqualTo(reference.put(ChunkClaimMap.chunkKey(x, z), step));
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(reference.size());
+        for (int x = -100; x < 100; x++) {
+            for (int z = -100; z < 100; z++) {
+                boolean expected = reference.containsKey(ChunkClaimMap.chunkKey(x, z));
+                assertThat(map.isClaimed(x, z)).isEqualTo(expected);
+            }
+        }
+
+        int minX = -47, minZ = -3, maxX = 20, maxZ = 65;
+        Set<Long> expected = new HashSet<>();
+        for (Long key : reference.keySet()) {
+            int x = ChunkClaimMap.chunkX(key);
+            int z = ChunkClaimMap.chunkZ(key);
+            if (x >= minX && x <= maxX && z >= minZ && z <= maxZ) {
+                expected.add(key);
+            }
+        }
+        Set<Long> visited = new HashSet<>();
+        map.forEachInArea(minX, minZ, maxX, maxZ, (x, z, value) -> {
+            long key = ChunkClaimMap.chunkKey(x, z);
+            assertThat(value).isEqualTo(reference.get(key));
+            assertThat(visited.add(key)).isTrue();
+        });
+        assertThat(visited).isEqualTo(expected);
+
+        Set<Long> all = new HashSet<>();
+        map.forEach((x, z, value) -> all.add(ChunkClaimMap.chunkKey(x, z)));
+        assertThat(all).isEqualTo(reference.keySet());
+    }
+}
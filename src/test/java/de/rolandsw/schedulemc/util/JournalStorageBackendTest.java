@@ -0,0 +1,195 @@
+package de.rolandsw.schedulemc.util;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Type;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for JournalStorageBackend
+ *
+ * Tests cover:
+ * - Snapshot + journal round trip
+ * - Appending only changed entries
+ * - Removal tombstones
+ * - Compaction
+ * - Torn journal tail recovery
+ * - Legacy JSON import
+ */
+class JournalStorageBackendTest {
+
+    private static final Type MAP_TYPE = new TypeToken<Map<String, Double>>() {}.getType();
+
+    @TempDir
+    Path tempDir;
+
+    private File dataFile;
+    private Gson gson;
+
+    @BeforeEach
+    void setUp() {
+        dataFile = tempDir.resolve("balances.json").toFile();
+        gson = new Gson();
+    }
+
+    private JournalStorageBackend<Map<String, Double>> newBackend() {
+        return new JournalStorageBackend<>(dataFile, gson, MAP_TYPE);
+    }
+
+    @Test
+    @DisplayName("First write should create a snapshot and an empty journal")
+    void testFirstWriteCreatesSnapshot() throws IOException {
+        JournalStorageBackend<Map<String, Double>> backend = newBackend();
+        Map<String, Double> data = new HashMap<>();
+        data.put("a", 1.0);
+        data.put("b", 2.0);
+
+        backend.write(data);
+
+        assertThat(backend.getSnapshotFile()).exists();
+        assertThat(backend.getJournalFile()).exists();
+        assertThat(backend.getGeneration()).isEqualTo(1);
+        assertThat(newBackend().read()).isEqualTo(data);
+    }
+
+    @Test
+    @DisplayName("Subsequent writes should append only changed entries")
+    void testAppendsOnlyChangedEntries() throws IOException {
+        JournalStorageBackend<Map<String, Double>> backend = newBackend();
+        Map<String, Double> data = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            data.put("player" + i, (double) i);
+        }
+        backend.write(data);
+        long snapshotSize = backend.getSnapshotFile().length();
+
+        data.put("player42", 4242.0);
+        backend.write(data);
+
+        assertThat(backend.getLastAppendedRecords()).isEqualTo(1);
+        assertThat(backend.getLastWrittenBytes()).isLessThan(100);
+        assertThat(backend.getSnapshotFile().length()).isEqualTo(snapshotSize);
+        assertThat(newBackend().read()).containsEntry("player42", 4242.0).hasSize(1000);
+    }
+
+    @Test
+    @DisplayName("Unchanged data should not append anything")
+    void testNoChangesNoAppend() throws IOException {
+        JournalStorageBackend<Map<String, Double>> backend = newBackend();
+        Map<String, Double> data = new HashMap<>();
+        data.put("a", 1.0);
+        backend.write(data);
+        long journalSize = backend.getJournalFile().length();
+
+        backend.write(data);
+
+        assertThat(backend.getLastAppendedRecords()).isZero();
+        assertThat(backend.getJournalFile().length()).isEqualTo(journalSize);
+    }
+
+    @Test
+    @DisplayName("Removed entries should be journaled as tombstones")
+    void testRemovals() throws IOException {
+        JournalStorageBackend<Map<String, Double>> backend = newBackend();
+        Map<String, Double> data = new HashMap<>();
+        data.put("a", 1.0);
+        data.put("b", 2.0);
+        backend.write(data);
+
+        data.remove("a");
+        backend.write(data);
+
+        assertThat(newBackend().read()).containsOnlyKeys("b");
+    }
+
+    @Test
+    @DisplayName("Journal should be compacted once it outgrows the snapshot")
+    void testCompaction() throws IOException {
+        JournalStorageBackend<Map<String, Double>> backend =
+            new JournalStorageBackend<>(dataFile, gson, MAP_TYPE, 0.5);
+        Map<String, Double> data = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            data.put("player" + i, (double) i);
+        }
+        backend.write(data);
+
+        // Genug Änderungen, um die minimale Kompaktierungsgröße zu überschreiten
+        for (int round = 0; round < 400; round++) {
+            for (int i = 0; i < 100; i++) {
+                data.put("player" + i, (double) (round * 1000 + i));
+            }
+            backend.write(data);
+        }
+
+        assertThat(backend.getTotalCompactions()).isGreaterThan(1);
+        assertThat(newBackend().read()).isEqualTo(data);
+    }
+
+    @Test
+    @DisplayName("A torn record at the end of the journal should be ignored and truncated")
+    void testTornJournalTail() throws IOException {
+        JournalStorageBackend<Map<String, Double>> backend = newBackend();
+        Map<String, Double> data = new HashMap<>();
+        data.put("a", 1.0);
+        backend.write(data);
+        data.put("b", 2.0);
+        backend.write(data);
+        long validLength = backend.getJournalFile().length();
+
+        // Simuliert Absturz während eines Appends
+        try (RandomAccessFile raf = new RandomAccessFile(backend.getJournalFile(), "rw")) {
+            raf.seek(validLength);
+            raf.write(new byte[]{1, 0, 5, 'c'});
+        }
+
+        JournalStorageBackend<Map<String, Double>> reloaded = newBackend();
+        assertThat(reloaded.read()).containsEntry("a", 1.0).containsEntry("b", 2.0).hasSize(2);
+        assertThat(reloaded.getJournalFile().length()).isEqualTo(validLength);
+    }
+
+    @Test
+    @DisplayName("Legacy JSON file should be imported and migrated on first write")
+    void testLegacyJsonImport() throws IOException {
+        try (FileWriter writer = new FileWriter(dataFile)) {
+            writer.write("{\"a\": 1.5, \"b\": 2.5}");
+        }
+
+        JournalStorageBackend<Map<String, Double>> backend = newBackend();
+        assertThat(backend.exists()).isTrue();
+        Map<String, Double> data = backend.read();
+        assertThat(data).containsEntry("a", 1.5).containsEntry("b", 2.5);
+
+        backend.write(data);
+
+        assertThat(dataFile).doesNotExist();
+        assertThat(new File(dataFile.getParent(), dataFile.getName() + ".imported")).exists();
+        assertThat(newBackend().read()).isEqualTo(data);
+    }
+
+    @Test
+    @DisplayName("Corrupt snapshot should fail to load")
+    void testCorruptSnapshot() throws IOException {
+        JournalStorageBackend<Map<String, Double>> backend = newBackend();
+        Map<String, Double> data = new HashMap<>();
+        data.put("a", 1.0);
+        backend.write(data);
+
+        try (RandomAccessFile raf = new RandomAccessFile(backend.getSnapshotFile(), "rw")) {
+            raf.seek(20);
+            raf.write(0x7F);
+        }
+
+        assertThatThrownBy(() -> newBackend().read()).isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,154 @@
+package de.rolandsw.schedulemc.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for TimerWheel
+ *
+ * Tests cover:
+ * - Entries fire exactly when their due time is reached (all levels and overflow)
+ * - Per-call budget spreads due entries over several polls
+ * - Cancel and reschedule, including entries already in the ready queue
+ * - Randomized comparison against a plain map
+ */
+class TimerWheelTest {
+
+    private static List<String> drain(TimerWheel<String> wheel) {
+        List<String> fired = new ArrayList<>();
+        wheel.poll(Integer.MAX_VALUE, (key, due) -> fired.add(key));
+        return fired;
+    }
+
+    @Test
+    @DisplayName("Entries fire on their due time, not before")
+    void firesOnDueTime() {
+        TimerWheel<String> wheel = new TimerWheel<>(100);
+        wheel.schedule("near", 101);
+        wheel.schedule("mid", 100 + 5_000);
+        wheel.schedule("far", 100 + 20_000_000L);
+
+        wheel.advance(100 + 4_999);
+        assertThat(drain(wheel)).containsExactly("near");
+
+        wheel.advance(100 + 5_000);
+        assertThat(drain(wheel)).containsExactly("mid");
+
+        wheel.advance(100 + 20_000_000L - 1);
+        assertThat(drain(wheel)).isEmpty();
+        wheel.advance(100 + 20_000_000L);
+        assertThat(drain(wheel)).containsExactly("far");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Past due times are ready immediately")
+    void pastDueIsReady() {
+        TimerWheel<String> wheel = new TimerWheel<>(50);
+        wheel.schedule("late", 10);
+
+        assertThat(wheel.getPendingCount()).isEqualTo(1);
+        assertThat(drain(wheel)).containsExactly("late");
+    }
+
+    @Test
+    @DisplayName("Budget limits the number of entries per poll")
+    void budgetSpreadsWork() {
+        TimerWheel<String> wheel = new TimerWheel<>(0);
+        for (int i = 0; i < 10; i++) {
+            wheel.schedule("plot" + i, 1);
+        }
+        wheel.advance(1);
+
+        List<String> fired = new ArrayList<>();
+        assertThat(wheel.poll(4, (key, due) -> fired.add(key))).isEqualTo(4);
+        assertThat(wheel.poll(4, (key, due) -> fired.add(key))).isEqualTo(4);
+        assertThat(wheel.poll(4, (key, due) -> fired.add(key))).isEqualTo(2);
+        assertThat(fired).hasSize(10).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("Cancel and reschedule replace the previous entry")
+    void cancelAndReschedule() {
+        TimerWheel<String> wheel = new TimerWheel<>(0);
+        wheel.schedule("a", 5);
+        wheel.schedule("b", 5);
+        wheel.schedule("a", 70);
+        wheel.advance(5);
+        assertThat(wheel.cancel("b")).isTrue(); // bereits in der Ready-Queue
+
+        assertThat(drain(wheel)).isEmpty();
+        wheel.advance(70);
+        assertThat(drain(wheel)).containsExactly("a");
+        assertThat(wheel.cancel("a")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Action may reschedule the fired key")
+    void rescheduleFromAction() {
+        TimerWheel<String> wheel = new TimerWheel<>(0);
+        wheel.schedule("daily", 1);
+        List<Long> dueTimes = new ArrayList<>();
+
+        for (long day = 1; day <= 5; day++) {
+            wheel.advance(day);
+            wheel.poll(10, (key, due) -> {
+                dueTimes.add(due);
+                wheel.schedule(key, due + 1);
+            });
+        }
+
+        assertThat(dueTimes).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(wheel.isScheduled("daily")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Randomized operations match a plain map")
+    void matchesReferenceMap() {
+        Random random = new Random(7);
+        TimerWheel<String> wheel = new TimerWheel<>(1_000);
+        Map<String, Long> reference = new HashMap<>();
+        long now = 1_000;
+
+        for (int step = 0; step < 5_000; step++) {
+            int op = random.nextInt(10);
+            String key = "k" + random.nextInt(100);
+            if (op < 5) {
+                long due = now - 3 + (random.nextInt(4) == 0 ? random.nextInt(20_000_000) : random.nextInt(5_000));
+                wheel.schedule(key, due);
+                reference.put(key, due);
+            } else if (op < 6) {
+                assertThat(wheel.cancel(key)).isEqualTo(reference.remove(key) != null);
+            } else {
+                now += random.nextInt(4) == 0 ? random.nextInt(3_000_000) : random.nextInt(300);
+                wheel.advance(now);
+
+                Set<String> expected = new HashSet<>();
+                for (Map.Entry<String, Long> entry : reference.entrySet()) {
+                    if (entry.getValue() <= now) {
+                        expected.add(entry.getKey());
+                    }
+                }
+                Set<String> fired = new HashSet<>();
+                wheel.poll(Integer.MAX_VALUE, (firedKey, due) -> {
+                    assertThat(due).isEqualTo(reference.get(firedKey));
+                    fired.add(firedKey);
+                });
+
+                assertThat(fired).as("step %d", step).isEqualTo(expected);
+                fired.forEach(reference::remove);
+                assertThat(wheel.size()).isEqualTo(reference.size());
+            }
+        }
+    }
+}
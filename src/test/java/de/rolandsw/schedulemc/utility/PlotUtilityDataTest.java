@@ -0,0 +1,157 @@
+package de.rolandsw.schedulemc.utility;
+
+import net.minecraft.core.BlockPos;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the running consumption sums of PlotUtilityData
+ *
+ * Tests cover:
+ * - Running sums after activate, deactivate and remove match a full recompute
+ * - Replacing a consumer at the same position and unregistered block IDs
+ * - Locked utilities keep the sums at zero and recompute on unlock
+ */
+class PlotUtilityDataTest {
+
+    private static final String LAMP = "schedulemc_test:grow_lamp";
+    private static final String PUMP = "schedulemc_test:water_pump";
+    private static final String POT = "schedulemc_test:pot";
+    private static final String DRYER = "schedulemc_test:dryer";
+    private static final String UNKNOWN = "schedulemc_test:not_registered";
+    private static final String[] BLOCK_IDS = { LAMP, PUMP, POT, DRYER, UNKNOWN };
+
+    private static final double EPSILON = 1e-9;
+
+    @BeforeEach
+    void registerConsumers() {
+        UtilityRegistry.registerById(LAMP, new UtilityConsumptionData(1.7, 0.3, 0.0, 0.0, UtilityCategory.LIGHTING));
+        UtilityRegistry.registerById(PUMP, UtilityConsumptionData.of(0.4, 12.5, UtilityCategory.IRRIGATION));
+        UtilityRegistry.registerById(POT, UtilityConsumptionData.constant(0.0, 0.75, UtilityCategory.IRRIGATION));
+        UtilityRegistry.registerById(DRYER, UtilityConsumptionData.electricityOnly(2.2, UtilityCategory.DRYING));
+    }
+
+    /** Full recompute from the stored consumers, independent of the running sums */
+    private static void assertMatchesRecompute(PlotUtilityData data) {
+        PlotUtilityData recomputed = PlotUtilityData.fromJson(data.toJson());
+
+        assertThat(data.getCurrentElectricity()).isCloseTo(recomputed.getCurrentElectricity(), within(EPSILON));
+        assertThat(data.getCurrentWater()).isCloseTo(recomputed.getCurrentWater(), within(EPSILON));
+        for (UtilityCategory category : UtilityCategory.values()) {
+            assertThat(data.getCategoryElectricity().getOrDefault(category, 0.0))
+                .isCloseTo(recomputed.getCategoryElectricity().getOrDefault(category, 0.0), within(EPSILON));
+            assertThat(data.getCategoryWater().getOrDefault(category, 0.0))
+                .isCloseTo(recomputed.getCategoryWater().getOrDefault(category, 0.0), within(EPSILON));
+        }
+    }
+
+    @Test
+    @DisplayName("Activate, deactivate and remove should keep the sums equal to a recompute")
+    void testRandomSequenceMatchesRecompute() {
+        Random random = new Random(14);
+        PlotUtilityData data = new PlotUtilityData("plot_random");
+        List<BlockPos> positions = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            positions.add(new BlockPos(random.nextInt(64) - 32, 60 + random.nextInt(10), random.nextInt(64) - 32));
+        }
+
+        for (int step = 0; step < 2000; step++) {
+            BlockPos pos = positions.get(random.nextInt(positions.size()));
+            switch (random.nextInt(4)) {
+                case 0 -> data.addConsumer(pos, BLOCK_IDS[random.nextInt(BLOCK_IDS.length)]);
+                case 1 -> data.setActiveStatus(pos, true);
+                case 2 -> data.setActiveStatus(pos, false);
+                default -> data.removeConsumer(pos);
+            }
+            assertMatchesRecompute(data);
+        }
+    }
+
+    @Test
+    @DisplayName("Status changes should apply only their own delta")
+    void testActivateDeactivateRemove() {
+        PlotUtilityData data = new PlotUtilityData("plot_steps");
+        BlockPos lamp = new BlockPos(1, 64, 1);
+        BlockPos pump = new BlockPos(-5, 64, 3);
+
+        data.addConsumer(lamp, LAMP);
+        data.addConsumer(pump, PUMP);
+        assertThat(data.getCurrentElectricity()).isCloseTo(0.3, within(EPSILON));
+        assertThat(data.getCurrentWater()).isCloseTo(0.0, within(EPSILON));
+
+        assertThat(data.setActiveStatus(lamp, true)).isTrue();
+        assertThat(data.setActiveStatus(lamp, true)).isFalse();
+        assertThat(data.setActiveStatus(pump, true)).isTrue();
+        assertThat(data.getCurrentElectricity()).isCloseTo(1.7 + 0.4, within(EPSILON));
+        assertThat(data.getCurrentWater()).isCloseTo(12.5, within(EPSILON));
+        assertMatchesRecompute(data);
+
+        assertThat(data.setActiveStatus(lamp, false)).isTrue();
+        assertThat(data.getCurrentElectricity()).isCloseTo(0.3 + 0.4, within(EPSILON));
+        assertMatchesRecompute(data);
+
+        data.removeConsumer(pump);
+        assertThat(data.getCurrentElectricity()).isCloseTo(0.3, within(EPSILON));
+        assertThat(data.getCurrentWater()).isCloseTo(0.0, within(EPSILON));
+        assertThat(data.setActiveStatus(pump, true)).isFalse();
+        assertMatchesRecompute(data);
+    }
+
+    @Test
+    @DisplayName("Replacing an active consumer should drop its old contribution")
+    void testReplaceAndUnknownBlocks() {
+        PlotUtilityData data = new PlotUtilityData("plot_replace");
+        BlockPos pos = new BlockPos(0, 70, 0);
+
+        data.addConsumer(pos, DRYER);
+        data.setActiveStatus(pos, true);
+        data.addConsumer(pos, POT);
+
+        assertThat(data.isActive(pos)).isFalse();
+        assertThat(data.getCurrentElectricity()).isCloseTo(0.0, within(EPSILON));
+        assertThat(data.getCurrentWater()).isCloseTo(0.75, within(EPSILON));
+        assertMatchesRecompute(data);
+
+        data.addConsumer(pos, UNKNOWN);
+        data.setActiveStatus(pos, true);
+
+        assertThat(data.getConsumerCount()).isEqualTo(1);
+        assertThat(data.getCurrentWater()).isCloseTo(0.0, within(EPSILON));
+        assertMatchesRecompute(data);
+    }
+
+    @Test
+    @DisplayName("Locked utilities should stay at zero and recompute on unlock")
+    void testLockedUtilities() {
+        PlotUtilityData data = new PlotUtilityData("plot_locked");
+        BlockPos lamp = new BlockPos(2, 64, 2);
+        BlockPos pump = new BlockPos(3, 64, 2);
+        data.addConsumer(lamp, LAMP);
+        data.setActiveStatus(lamp, true);
+
+        data.accrueDailyBill(50.0, 10.0, 100.0, 28);
+        assertThat(data.isUtilitiesEnabled()).isFalse();
+        assertThat(data.getCurrentElectricity()).isCloseTo(0.0, within(EPSILON));
+
+        data.addConsumer(pump, PUMP);
+        data.setActiveStatus(pump, true);
+        data.setActiveStatus(lamp, false);
+        data.removeConsumer(lamp);
+        assertThat(data.getCurrentElectricity()).isCloseTo(0.0, within(EPSILON));
+        assertThat(data.getCurrentWater()).isCloseTo(0.0, within(EPSILON));
+        assertMatchesRecompute(data);
+
+        data.payOutstandingBill(50.0);
+        assertThat(data.isUtilitiesEnabled()).isTrue();
+        assertThat(data.getCurrentElectricity()).isCloseTo(0.4, within(EPSILON));
+        assertThat(data.getCurrentWater()).isCloseTo(12.5, within(EPSILON));
+        assertMatchesRecompute(data);
+    }
+}
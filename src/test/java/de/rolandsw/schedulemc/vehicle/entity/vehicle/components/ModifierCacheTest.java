@@ -0,0 +1,100 @@
+package de.rolandsw.schedulemc.vehicle.entity.vehicle.components;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for ModifierCache (cache keying of PhysicsComponent.getModifier)
+ *
+ * Tests cover:
+ * - Same key within the recheck window hits the cache
+ * - Block position, surface generation and parts version each force a recompute
+ * - Recheck window and game time jumping backwards force a recompute
+ */
+class ModifierCacheTest {
+
+    private static final int RECHECK_TICKS = 200;
+
+    private ModifierCache cache;
+    private int computations;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ModifierCache(RECHECK_TICKS);
+        computations = 0;
+    }
+
+    /** Same lookup sequence as PhysicsComponent.getModifier, the value encodes the computation */
+    private float lookup(int x, int y, int z, int generation, int partsVersion, long gameTime) {
+        if (cache.matches(x, y, z, generation, partsVersion, gameTime)) {
+            return cache.get();
+        }
+        computations++;
+        return cache.store(computations, x, y, z, generation, partsVersion, gameTime);
+    }
+
+    @Test
+    @DisplayName("Same key within the recheck window should hit the cache")
+    void testSameKeyHits() {
+        assertThat(lookup(10, 64, -5, 0, 0, 1000L)).isEqualTo(1.0F);
+        assertThat(lookup(10, 64, -5, 0, 0, 1001L)).isEqualTo(1.0F);
+        assertThat(lookup(10, 64, -5, 0, 0, 1000L + RECHECK_TICKS - 1)).isEqualTo(1.0F);
+
+        assertThat(computations).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Changing any block coordinate should recompute")
+    void testBlockPositionChangeRecomputes() {
+        lookup(10, 64, -5, 0, 0, 1000L);
+
+        assertThat(lookup(11, 64, -5, 0, 0, 1001L)).isEqualTo(2.0F);
+        assertThat(lookup(11, 63, -5, 0, 0, 1002L)).isEqualTo(3.0F);
+        assertThat(lookup(11, 63, -4, 0, 0, 1003L)).isEqualTo(4.0F);
+        assertThat(lookup(11, 63, -4, 0, 0, 1004L)).isEqualTo(4.0F);
+
+        assertThat(computations).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("A new surface table generation should recompute")
+    void testGenerationChangeRecomputes() {
+        lookup(10, 64, -5, 3, 0, 1000L);
+
+        assertThat(lookup(10, 64, -5, 4, 0, 1001L)).isEqualTo(2.0F);
+        assertThat(lookup(10, 64, -5, 4, 0, 1002L)).isEqualTo(2.0F);
+
+        assertThat(computations).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("A new parts version should recompute")
+    void testPartsVersionChangeRecomputes() {
+        lookup(10, 64, -5, 0, 7, 1000L);
+
+        assertThat(lookup(10, 64, -5, 0, 8, 1001L)).isEqualTo(2.0F);
+        assertThat(lookup(10, 64, -5, 0, 8, 1002L)).isEqualTo(2.0F);
+
+        assertThat(computations).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Expired window or game time jumping back should recompute")
+    void testTimeInvalidation() {
+        lookup(10, 64, -5, 0, 0, 1000L);
+
+        assertThat(lookup(10, 64, -5, 0, 0, 1000L + RECHECK_TICKS)).isEqualTo(2.0F);
+        assertThat(lookup(10, 64, -5, 0, 0, 500L)).isEqualTo(3.0F);
+
+        assertThat(computations).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("An empty cache should never match")
+    void testEmptyCacheMisses() {
+        assertThat(cache.matches(0, 0, 0, 0, 0, 0L)).isFalse();
+    }
+}